@@ -5,14 +5,17 @@ import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import rs.teslaris.assessment.service.interfaces.statistics.StatisticsIngestionService;
 import rs.teslaris.assessment.service.interfaces.statistics.StatisticsService;
 import rs.teslaris.core.annotation.Idempotent;
 import rs.teslaris.core.annotation.Traceable;
@@ -27,9 +30,13 @@ public class StatisticsController {
 
     private final StatisticsService statisticsService;
 
+    private final StatisticsIngestionService statisticsIngestionService;
+
     @Autowired
-    public StatisticsController(StatisticsService statisticsService) {
+    public StatisticsController(StatisticsService statisticsService,
+                                StatisticsIngestionService statisticsIngestionService) {
         this.statisticsService = statisticsService;
+        this.statisticsIngestionService = statisticsIngestionService;
         var limit = Bandwidth.classic(100, Refill.greedy(100, Duration.ofMinutes(1)));
         this.bucket = Bucket.builder()
             .addLimit(limit)
@@ -41,6 +48,12 @@ public class StatisticsController {
         return statisticsService.fetchStatisticsTypeIndicators(statisticsType);
     }
 
+    @GetMapping("/ingestion-metrics")
+    @PreAuthorize("hasAuthority('PERFORM_HEALTH_CHECK')")
+    public Map<String, Long> fetchIngestionMetrics() {
+        return statisticsIngestionService.getIngestionMetrics();
+    }
+
     @PostMapping("/person/{personId}")
     @Idempotent
     public ResponseEntity<Void> registerPersonView(@PathVariable Integer personId) {
@@ -1,5 +1,6 @@
 package rs.teslaris.assessment.repository.indicator;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -32,6 +33,11 @@ public interface DocumentIndicatorRepository extends JpaRepository<DocumentIndic
         "WHERE di.indicator.code = :code AND di.document.id = :documentId")
     Optional<DocumentIndicator> findIndicatorForCodeAndDocumentId(String code, Integer documentId);
 
+    @Query("SELECT di FROM DocumentIndicator di " +
+        "WHERE di.indicator.code = :code AND di.document.id IN :documentIds")
+    List<DocumentIndicator> findIndicatorsForCodeAndDocumentIds(String code,
+                                                                Collection<Integer> documentIds);
+
     @Query("SELECT di FROM DocumentIndicator di " +
         "WHERE di.indicator.code = :code AND " +
         "di.source = :source AND " +
@@ -45,4 +51,14 @@ public interface DocumentIndicatorRepository extends JpaRepository<DocumentIndic
         "oui.source IN :sources")
     List<DocumentIndicator> findIndicatorsForDocumentAndSources(Integer documentId,
                                                                 List<EntityIndicatorSource> sources);
+
+    @Query("SELECT di FROM DocumentIndicator di JOIN FETCH di.indicator " +
+        "WHERE di.document.id IN :documentIds AND " +
+        "di.source IN :sources")
+    List<DocumentIndicator> findIndicatorsForDocumentsAndSources(Collection<Integer> documentIds,
+                                                                 List<EntityIndicatorSource> sources);
+
+    @Query("SELECT di.document.id FROM DocumentIndicator di " +
+        "WHERE di.indicator.code = :code AND di.numericValue > 0")
+    List<Integer> findDocumentIdsWithPositiveValueForCode(String code);
 }
@@ -1,6 +1,7 @@
 package rs.teslaris.assessment.repository.indicator;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -30,6 +31,12 @@ public interface EventIndicatorRepository extends JpaRepository<EventIndicator,
         "ei.indicator.code = :code")
     Optional<EventIndicator> findIndicatorsForCodeAndEventId(String code, Integer eventId);
 
+    @Query("SELECT ei FROM EventIndicator ei WHERE " +
+        "ei.event.id IN :eventIds AND " +
+        "ei.indicator.code = :code")
+    List<EventIndicator> findIndicatorsForCodeAndEventIds(String code,
+                                                          Collection<Integer> eventIds);
+
     @Query("SELECT ei " +
         "FROM EventIndicator ei " +
         "WHERE ei.event.id = :eventId " +
@@ -39,4 +46,8 @@ public interface EventIndicatorRepository extends JpaRepository<EventIndicator,
     Optional<EventIndicator> existsByEventIdAndSourceAndYear(Integer eventId,
                                                              EntityIndicatorSource source,
                                                              LocalDate date, String indicatorCode);
+
+    @Query("SELECT ei.event.id FROM EventIndicator ei " +
+        "WHERE ei.indicator.code = :code AND ei.numericValue > 0")
+    List<Integer> findEventIdsWithPositiveValueForCode(String code);
 }
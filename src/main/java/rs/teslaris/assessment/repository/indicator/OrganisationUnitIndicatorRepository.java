@@ -1,5 +1,6 @@
 package rs.teslaris.assessment.repository.indicator;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -27,6 +28,11 @@ public interface OrganisationUnitIndicatorRepository
     Optional<OrganisationUnitIndicator> findIndicatorForCodeAndOrganisationUnitId(String code,
                                                                                   Integer organisationUnitId);
 
+    @Query("SELECT oui FROM OrganisationUnitIndicator oui " +
+        "WHERE oui.indicator.code = :code AND oui.organisationUnit.id IN :organisationUnitIds")
+    List<OrganisationUnitIndicator> findIndicatorsForCodeAndOrganisationUnitIds(String code,
+                                                                                Collection<Integer> organisationUnitIds);
+
     @Query("SELECT oui FROM OrganisationUnitIndicator oui " +
         "WHERE oui.indicator.code = :code AND " +
         "oui.source = :source AND " +
@@ -36,4 +42,8 @@ public interface OrganisationUnitIndicatorRepository
         EntityIndicatorSource source,
         Integer organisationUnitId
     );
+
+    @Query("SELECT oui.organisationUnit.id FROM OrganisationUnitIndicator oui " +
+        "WHERE oui.indicator.code = :code AND oui.numericValue > 0")
+    List<Integer> findOrganisationUnitIdsWithPositiveValueForCode(String code);
 }
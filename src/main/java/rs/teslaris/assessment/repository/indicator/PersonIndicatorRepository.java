@@ -1,5 +1,6 @@
 package rs.teslaris.assessment.repository.indicator;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -24,6 +25,11 @@ public interface PersonIndicatorRepository extends JpaRepository<PersonIndicator
         "WHERE pi.indicator.code = :code AND pi.person.id = :personId")
     Optional<PersonIndicator> findIndicatorForCodeAndPersonId(String code, Integer personId);
 
+    @Query("SELECT pi FROM PersonIndicator pi " +
+        "WHERE pi.indicator.code = :code AND pi.person.id IN :personIds")
+    List<PersonIndicator> findIndicatorsForCodeAndPersonIds(String code,
+                                                            Collection<Integer> personIds);
+
     @Transactional
     @Query("SELECT COUNT(pi) > 0 FROM PersonIndicator pi " +
         "WHERE pi.indicator.code = :code AND pi.person.id = :personId")
@@ -50,4 +56,8 @@ public interface PersonIndicatorRepository extends JpaRepository<PersonIndicator
         "ORDER BY pi.id ASC")
     List<PersonIndicator> findIndicatorsForPersonAndSources(Integer personId,
                                                             List<EntityIndicatorSource> sources);
+
+    @Query("SELECT pi.person.id FROM PersonIndicator pi " +
+        "WHERE pi.indicator.code = :code AND pi.numericValue > 0")
+    List<Integer> findPersonIdsWithPositiveValueForCode(String code);
 }
@@ -1,6 +1,7 @@
 package rs.teslaris.assessment.repository.indicator;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -120,7 +121,17 @@ public interface PublicationSeriesIndicatorRepository extends
     Optional<PublicationSeriesIndicator> findIndicatorForCodeAndPublicationSeriesId(String code,
                                                                                     Integer publicationSeriesId);
 
+    @Query("SELECT psi FROM PublicationSeriesIndicator psi JOIN FETCH psi.indicator " +
+        "WHERE psi.publicationSeries.id IN :publicationSeriesIds AND " +
+        "psi.indicator.code = :code")
+    List<PublicationSeriesIndicator> findIndicatorsForCodeAndPublicationSeriesIds(String code,
+                                                                                  Collection<Integer> publicationSeriesIds);
+
     @Query("SELECT DISTINCT psi.edition FROM PublicationSeriesIndicator psi " +
         "WHERE psi.publicationSeries.id = :publicationSeriesId")
     List<String> getEditionsJournalIsListedIn(Integer publicationSeriesId);
+
+    @Query("SELECT psi.publicationSeries.id FROM PublicationSeriesIndicator psi " +
+        "WHERE psi.indicator.code = :code AND psi.numericValue > 0")
+    List<Integer> findPublicationSeriesIdsWithPositiveValueForCode(String code);
 }
@@ -192,14 +192,14 @@ public class PersonAssessmentClassificationServiceImpl
         var organisationUnit = commissionOuOpt.get();
 
         var subOUs =
-            organisationUnitsRelationRepository.getSubOUsRecursive(organisationUnit.getId());
-        subOUs.add(organisationUnit.getId());
+            organisationUnitService.getOrganisationUnitIdsFromSubHierarchy(
+                organisationUnit.getId());
 
         var subOUsForTopLevelInstitution = new ArrayList<Integer>();
         if (Objects.nonNull(topLevelInstitutionId)) {
             subOUsForTopLevelInstitution.addAll(
-                organisationUnitsRelationRepository.getSubOUsRecursive(topLevelInstitutionId));
-            subOUsForTopLevelInstitution.add(topLevelInstitutionId);
+                organisationUnitService.getOrganisationUnitIdsFromSubHierarchy(
+                    topLevelInstitutionId));
         }
 
         var assessmentMeasures = assessmentRulebookRepository
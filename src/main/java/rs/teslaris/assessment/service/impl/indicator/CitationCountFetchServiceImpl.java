@@ -0,0 +1,199 @@
+package rs.teslaris.assessment.service.impl.indicator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.RateLimiter;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import rs.teslaris.assessment.service.interfaces.indicator.CitationCountFetchService;
+import rs.teslaris.core.util.search.StringUtil;
+import rs.teslaris.core.util.session.RestTemplateProvider;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CitationCountFetchServiceImpl implements CitationCountFetchService {
+
+    private static final String OPEN_CITATIONS_COUNT_URL =
+        "https://opencitations.net/index/api/v2/citation-count/doi:";
+
+    private static final int NO_CITATION_COUNT = -1;
+
+    private static final long BASE_BACKOFF_MILLIS = 500;
+
+    private static final long MAX_BACKOFF_MILLIS = 60 * 1000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final RestTemplateProvider restTemplateProvider;
+
+    @Qualifier("citationFetchExecutor")
+    private final Executor citationFetchExecutor;
+
+    // Shared across persons, co-authored papers are requested once per TTL
+    private final Cache<String, CachedCitationCount> openCitationsCounts =
+        CacheBuilder.newBuilder()
+            .maximumSize(200000)
+            .build();
+
+    @Value("${harvest-external-indicators.open-citations.requests-per-second}")
+    private Double openCitationsRequestsPerSecond;
+
+    @Value("${harvest-external-indicators.open-citations.max-attempts}")
+    private Integer maxAttempts;
+
+    @Value("${harvest-external-indicators.open-citations.cache-ttl-hours}")
+    private Integer cacheTimeToLiveHours;
+
+    private RateLimiter openCitationsRateLimiter;
+
+
+    @PostConstruct
+    public void init() {
+        openCitationsRateLimiter = RateLimiter.create(openCitationsRequestsPerSecond);
+    }
+
+    @Override
+    public Map<String, Integer> fetchOpenCitationsCounts(Collection<String> dois) {
+        var lookups = new HashMap<String, CompletableFuture<Integer>>();
+        dois.stream()
+            .filter(StringUtil::valueExists)
+            .map(CitationCountFetchServiceImpl::normaliseDoi)
+            .forEach(doi -> lookups.computeIfAbsent(doi,
+                key -> CompletableFuture.supplyAsync(() -> getOpenCitationsCount(key),
+                    citationFetchExecutor)));
+
+        try {
+            CompletableFuture.allOf(lookups.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+
+        var citationCounts = new HashMap<String, Integer>();
+        dois.stream().filter(StringUtil::valueExists).forEach(doi -> {
+            var citationCount = lookups.get(normaliseDoi(doi)).join();
+            if (citationCount != NO_CITATION_COUNT) {
+                citationCounts.put(doi, citationCount);
+            }
+        });
+
+        return citationCounts;
+    }
+
+    private int getOpenCitationsCount(String doi) {
+        var cached = openCitationsCounts.getIfPresent(doi);
+        if (Objects.nonNull(cached) && cached.fetchedAt()
+            .plus(Duration.ofHours(cacheTimeToLiveHours)).isAfter(Instant.now())) {
+            return cached.count();
+        }
+
+        var citationCount = fetchOpenCitationsCount(doi);
+        openCitationsCounts.put(doi, new CachedCitationCount(citationCount, Instant.now()));
+        return citationCount;
+    }
+
+    private int fetchOpenCitationsCount(String doi) {
+        for (int attempt = 1; ; attempt++) {
+            openCitationsRateLimiter.acquire();
+            try {
+                var responseEntity = restTemplateProvider.provideRestTemplate()
+                    .getForEntity(OPEN_CITATIONS_COUNT_URL + doi, String.class);
+                if (responseEntity.getStatusCode() != HttpStatus.OK) {
+                    return NO_CITATION_COUNT;
+                }
+
+                return parseOpenCitationsCount(responseEntity.getBody());
+            } catch (HttpStatusCodeException e) {
+                if (!isRetryable(e.getStatusCode()) || attempt >= maxAttempts) {
+                    throw e;
+                }
+
+                backOff(attempt, e.getResponseHeaders());
+            } catch (ResourceAccessException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+
+                backOff(attempt, null);
+            }
+        }
+    }
+
+    private int parseOpenCitationsCount(String responseBody) {
+        try {
+            var result = OBJECT_MAPPER.readValue(responseBody, OpenCitationsEntry[].class);
+            if (Objects.isNull(result) || result.length == 0 || Objects.isNull(result[0].count())) {
+                return NO_CITATION_COUNT;
+            }
+
+            return result[0].count();
+        } catch (JsonProcessingException e) {
+            log.error("JSON parsing error in OpenCitations response: {}", e.getMessage());
+            return NO_CITATION_COUNT;
+        }
+    }
+
+    private boolean isRetryable(HttpStatusCode statusCode) {
+        return statusCode.value() == HttpStatus.TOO_MANY_REQUESTS.value() ||
+            statusCode.is5xxServerError();
+    }
+
+    private void backOff(int attempt, HttpHeaders responseHeaders) {
+        var backoffMillis = Math.min(BASE_BACKOFF_MILLIS << (attempt - 1), MAX_BACKOFF_MILLIS);
+        var retryAfter =
+            Objects.nonNull(responseHeaders) ? responseHeaders.getFirst(HttpHeaders.RETRY_AFTER) :
+                null;
+        if (Objects.nonNull(retryAfter) && retryAfter.trim().matches("\\d+")) {
+            backoffMillis = Math.min(Long.parseLong(retryAfter.trim()) * 1000, MAX_BACKOFF_MILLIS);
+        }
+
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting to retry OpenCitations.");
+        }
+    }
+
+    private static String normaliseDoi(String doi) {
+        return doi.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record OpenCitationsEntry(
+        Integer count
+    ) {
+    }
+
+    private record CachedCitationCount(
+        int count,
+        Instant fetchedAt
+    ) {
+    }
+}
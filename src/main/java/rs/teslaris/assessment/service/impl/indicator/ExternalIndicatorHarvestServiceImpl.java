@@ -36,6 +36,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.ResourceAccessException;
 import rs.teslaris.assessment.model.indicator.DocumentIndicator;
 import rs.teslaris.assessment.model.indicator.EntityIndicatorSource;
@@ -45,11 +46,13 @@ import rs.teslaris.assessment.model.indicator.PersonIndicator;
 import rs.teslaris.assessment.repository.indicator.DocumentIndicatorRepository;
 import rs.teslaris.assessment.repository.indicator.OrganisationUnitIndicatorRepository;
 import rs.teslaris.assessment.repository.indicator.PersonIndicatorRepository;
+import rs.teslaris.assessment.service.interfaces.indicator.CitationCountFetchService;
 import rs.teslaris.assessment.service.interfaces.indicator.ExternalIndicatorHarvestService;
 import rs.teslaris.assessment.service.interfaces.indicator.IndicatorService;
 import rs.teslaris.assessment.util.ExternalMappingConstraintType;
 import rs.teslaris.assessment.util.IndicatorMappingConfigurationLoader;
 import rs.teslaris.core.applicationevent.HarvestExternalIndicatorsEvent;
+import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsBatchEvent;
 import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexmodel.OrganisationUnitIndex;
@@ -95,6 +98,8 @@ public class ExternalIndicatorHarvestServiceImpl implements ExternalIndicatorHar
 
     private final PersonIndexRepository personIndexRepository;
 
+    private final CitationCountFetchService citationCountFetchService;
+
     private final Lock harvestLock = new ReentrantLock();
 
     private final int MAX_RETRY_COUNT = 1;
@@ -466,12 +471,8 @@ public class ExternalIndicatorHarvestServiceImpl implements ExternalIndicatorHar
                                           Indicator yearlyCitationsIndicator,
                                           Indicator totalOutputIndicator,
                                           Indicator hIndexIndicator) {
-        var objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
         try {
-            List<Integer> allCitationCounts = new ArrayList<>();
-            var totalPublications = new AtomicInteger(0);
+            var dois = new ArrayList<String>();
 
             var harvestPeriodOffset = harvestPeriodOffsets.get("openCitations");
             var endYear = LocalDate.now().getYear();
@@ -482,48 +483,25 @@ public class ExternalIndicatorHarvestServiceImpl implements ExternalIndicatorHar
                 (pageable) -> documentPublicationIndexRepository.findByAuthorIdAndYearRangeOrUnknown(
                     person.getId(), startYear, endYear, pageable), (personDocuments) -> {
                     for (var doc : personDocuments) {
-                        var doi = doc.getDoi();
-                        if (Objects.isNull(doi) || doi.isBlank()) {
-                            continue;
-                        }
-
-                        var url =
-                            "https://opencitations.net/index/api/v2/citation-count/doi:" + doi;
-                        ResponseEntity<String> responseEntity =
-                            restTemplateProvider.provideRestTemplate()
-                                .getForEntity(url, String.class);
-
-                        if (responseEntity.getStatusCode() != HttpStatus.OK) {
-                            continue;
-                        }
-
-                        OpenCitationsEntry[] result;
-                        try {
-                            result = objectMapper.readValue(responseEntity.getBody(),
-                                OpenCitationsEntry[].class);
-                        } catch (JsonProcessingException e) {
-                            log.error("JSON parsing error in OpenCitations response: {}",
-                                e.getMessage());
-                            continue;
-                        }
-
-                        if (result.length == 0) {
-                            continue;
+                        if (StringUtil.valueExists(doc.getDoi())) {
+                            dois.add(doc.getDoi());
                         }
-
-                        int citationCount = result[0].count();
-                        totalPublications.getAndIncrement();
-                        allCitationCounts.add(citationCount);
                     }
                 });
 
+            var citationCounts = citationCountFetchService.fetchOpenCitationsCounts(dois);
+            List<Integer> allCitationCounts = dois.stream()
+                .map(citationCounts::get)
+                .filter(Objects::nonNull)
+                .toList();
+
             persistPersonCitationIndicators(person, new HashMap<>(
                     Map.of("TOTAL", allCitationCounts.stream().reduce(0, Integer::sum))),
-                totalPublications.get(), allCitationCounts, totalCitationsIndicator,
+                allCitationCounts.size(), allCitationCounts, totalCitationsIndicator,
                 yearlyCitationsIndicator, totalOutputIndicator, hIndexIndicator,
                 EntityIndicatorSource.OPEN_CITATIONS);
 
-        } catch (HttpClientErrorException e) {
+        } catch (HttpStatusCodeException e) {
             log.error("HTTP error fetching OpenCitations data: {}", e.getMessage());
         } catch (ResourceAccessException e) {
             log.error("Exception occurred during connection to OpenCitations: {}", e.getMessage());
@@ -911,6 +889,34 @@ public class ExternalIndicatorHarvestServiceImpl implements ExternalIndicatorHar
         }
     }
 
+    @EventListener
+    @Transactional(readOnly = true)
+    protected void handleExternalIndicatorBatchReindexing(
+        ReindexExternalIndicatorsBatchEvent event) {
+        if (Objects.isNull(event) || Objects.isNull(event.indexes()) ||
+            event.indexes().isEmpty()) {
+            return;
+        }
+
+        // Indexes are only enriched here, the publisher writes them in bulk
+        var indexesByDocumentId = new HashMap<Integer, DocumentPublicationIndex>();
+        event.indexes().forEach(index -> {
+            index.setTotalCitations(0L);
+            indexesByDocumentId.put(index.getDatabaseId(), index);
+        });
+
+        documentIndicatorRepository.findIndicatorsForDocumentsAndSources(
+                indexesByDocumentId.keySet(), List.of(EntityIndicatorSource.OPEN_ALEX))
+            .stream()
+            .filter(indicator -> indicator.getIndicator().getCode().equals("totalCitations"))
+            .forEach(indicator -> {
+                var index = indexesByDocumentId.get(indicator.getDocument().getId());
+                var value = Objects.nonNull(indicator.getNumericValue()) ?
+                    indicator.getNumericValue() : 0.0;
+                index.setTotalCitations((long) value);
+            });
+    }
+
     public void reindexPersonIndicators(PersonIndex index,
                                         List<EntityIndicatorSource> externalSources) {
         var personId = index.getDatabaseId();
@@ -1027,11 +1033,6 @@ public class ExternalIndicatorHarvestServiceImpl implements ExternalIndicatorHar
     ) {
     }
 
-    public record OpenCitationsEntry(
-        Integer count
-    ) {
-    }
-
     public record ScopusResults(
         @JsonProperty("search-results") SearchResults searchResults
     ) {
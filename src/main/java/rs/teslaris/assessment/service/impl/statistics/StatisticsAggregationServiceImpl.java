@@ -0,0 +1,114 @@
+package rs.teslaris.assessment.service.impl.statistics;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregationSource;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.json.JsonData;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import rs.teslaris.assessment.service.interfaces.statistics.StatisticsAggregationService;
+import rs.teslaris.core.indexmodel.statistics.StatisticsType;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsAggregationServiceImpl implements StatisticsAggregationService {
+
+    private static final int COMPOSITE_PAGE_SIZE = 5000;
+
+    private final ElasticsearchClient elasticsearchClient;
+
+
+    @Override
+    public Map<Integer, long[]> countPerEntityInPeriods(String entityIdField,
+                                                        StatisticsType statisticsType,
+                                                        List<LocalDateTime> periodStarts) {
+        var counts = new HashMap<Integer, long[]>();
+        if (periodStarts.isEmpty()) {
+            return counts;
+        }
+
+        var now = LocalDateTime.now();
+        var earliestStart = periodStarts.stream().min(LocalDateTime::compareTo).get();
+
+        var periodAggregations = new HashMap<String, Aggregation>();
+        for (int i = 0; i < periodStarts.size(); i++) {
+            var periodStart = periodStarts.get(i);
+            periodAggregations.put("period_" + i, Aggregation.of(a -> a
+                .filter(f -> f.range(r -> r
+                    .field("timestamp")
+                    .gte(JsonData.of(periodStart))
+                    .lte(JsonData.of(now))))));
+        }
+
+        Map<String, FieldValue> afterKey = null;
+        do {
+            var currentAfterKey = afterKey;
+
+            SearchResponse<Void> response;
+            try {
+                response = elasticsearchClient.search(s -> s
+                        .index("statistics")
+                        .size(0)
+                        .query(q -> q
+                            .bool(b -> b
+                                .filter(f -> f.term(t -> t.field("type")
+                                    .value(statisticsType.name())))
+                                .filter(f -> f.exists(e -> e.field(entityIdField)))
+                                .filter(f -> f.range(r -> r
+                                    .field("timestamp")
+                                    .gte(JsonData.of(earliestStart))
+                                    .lte(JsonData.of(now))))
+                            )
+                        )
+                        .aggregations("per_entity", a -> a
+                            .composite(c -> {
+                                c.size(COMPOSITE_PAGE_SIZE)
+                                    .sources(List.of(Map.of("entity_id",
+                                        CompositeAggregationSource.of(
+                                            cs -> cs.terms(t -> t.field(entityIdField))))));
+                                if (Objects.nonNull(currentAfterKey)) {
+                                    c.after(currentAfterKey);
+                                }
+                                return c;
+                            })
+                            .aggregations(periodAggregations)
+                        ),
+                    Void.class
+                );
+            } catch (IOException e) {
+                log.error("Unable to aggregate {} statistics by {}.", statisticsType,
+                    entityIdField, e);
+                throw new RuntimeException(e);
+            }
+
+            var compositeAggregate = response.aggregations().get("per_entity").composite();
+            compositeAggregate.buckets().array().forEach(bucket -> {
+                var periodCounts = new long[periodStarts.size()];
+                for (int i = 0; i < periodStarts.size(); i++) {
+                    periodCounts[i] =
+                        bucket.aggregations().get("period_" + i).filter().docCount();
+                }
+
+                counts.put((int) bucket.key().get("entity_id").longValue(), periodCounts);
+            });
+
+            afterKey = compositeAggregate.buckets().array().isEmpty() ? null :
+                compositeAggregate.afterKey();
+        } while (Objects.nonNull(afterKey) && !afterKey.isEmpty());
+
+        log.info("Aggregated {} statistics for {} entities by {}.", statisticsType,
+            counts.size(), entityIdField);
+
+        return counts;
+    }
+}
@@ -0,0 +1,421 @@
+package rs.teslaris.assessment.service.impl.statistics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rs.teslaris.assessment.model.indicator.DocumentIndicator;
+import rs.teslaris.assessment.model.indicator.EntityIndicator;
+import rs.teslaris.assessment.model.indicator.EventIndicator;
+import rs.teslaris.assessment.model.indicator.Indicator;
+import rs.teslaris.assessment.model.indicator.OrganisationUnitIndicator;
+import rs.teslaris.assessment.model.indicator.PersonIndicator;
+import rs.teslaris.assessment.model.indicator.PublicationSeriesIndicator;
+import rs.teslaris.assessment.repository.indicator.DocumentIndicatorRepository;
+import rs.teslaris.assessment.repository.indicator.EventIndicatorRepository;
+import rs.teslaris.assessment.repository.indicator.OrganisationUnitIndicatorRepository;
+import rs.teslaris.assessment.repository.indicator.PersonIndicatorRepository;
+import rs.teslaris.assessment.repository.indicator.PublicationSeriesIndicatorRepository;
+import rs.teslaris.assessment.service.interfaces.indicator.IndicatorService;
+import rs.teslaris.assessment.service.interfaces.statistics.StatisticsIngestionService;
+import rs.teslaris.assessment.util.GeoliteIPUtil;
+import rs.teslaris.assessment.util.IndicatorMappingConfigurationLoader;
+import rs.teslaris.core.indexmodel.statistics.StatisticsIndex;
+import rs.teslaris.core.indexmodel.statistics.StatisticsType;
+import rs.teslaris.core.indexrepository.statistics.StatisticsIndexRepository;
+import rs.teslaris.core.model.commontypes.BaseEntity;
+import rs.teslaris.core.repository.document.DocumentRepository;
+import rs.teslaris.core.repository.document.EventRepository;
+import rs.teslaris.core.repository.document.PublicationSeriesRepository;
+import rs.teslaris.core.repository.institution.OrganisationUnitRepository;
+import rs.teslaris.core.repository.person.PersonRepository;
+import rs.teslaris.core.util.session.YauaaBotDetector;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsIngestionServiceImpl implements StatisticsIngestionService {
+
+    private final StatisticsIndexRepository statisticsIndexRepository;
+
+    private final IndicatorService indicatorService;
+
+    private final DocumentIndicatorRepository documentIndicatorRepository;
+
+    private final PersonIndicatorRepository personIndicatorRepository;
+
+    private final OrganisationUnitIndicatorRepository organisationUnitIndicatorRepository;
+
+    private final PublicationSeriesIndicatorRepository publicationSeriesIndicatorRepository;
+
+    private final EventIndicatorRepository eventIndicatorRepository;
+
+    private final DocumentRepository documentRepository;
+
+    private final PersonRepository personRepository;
+
+    private final OrganisationUnitRepository organisationUnitRepository;
+
+    private final PublicationSeriesRepository publicationSeriesRepository;
+
+    private final EventRepository eventRepository;
+
+    private final GeoliteIPUtil geoliteIPUtil;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    private final Map<TotalCountKey, Integer> pendingTotalCounts = new HashMap<>();
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong indexedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final AtomicLong flushedTotalCount = new AtomicLong();
+
+    @Value("${statistics.ingestion.queue-capacity}")
+    private Integer queueCapacity;
+
+    @Value("${statistics.ingestion.batch-size}")
+    private Integer batchSize;
+
+    private BlockingQueue<PendingStatisticsEntry> queue;
+
+    private TransactionTemplate transactionTemplate;
+
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public boolean enqueue(StatisticsIndex statisticsEntry, String tracingContextId) {
+        if (queue.offer(new PendingStatisticsEntry(statisticsEntry, tracingContextId))) {
+            acceptedCount.incrementAndGet();
+            return true;
+        }
+
+        var dropped = droppedCount.incrementAndGet();
+        if (dropped % 1000 == 1) {
+            log.warn("Statistics ingestion queue is full ({} entries). Dropped {} entries so far.",
+                queueCapacity, dropped);
+        }
+
+        return false;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${statistics.ingestion.drain-interval-ms}")
+    public void drainQueue() {
+        if (!drainLock.tryLock()) {
+            return; // another drain (or shutdown flush) is already in progress
+        }
+
+        try {
+            drainAll();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${statistics.ingestion.counter-flush-interval-ms}")
+    public void flushTotalCounts() {
+        Map<TotalCountKey, Integer> snapshot;
+        synchronized (pendingTotalCounts) {
+            if (pendingTotalCounts.isEmpty()) {
+                return;
+            }
+
+            snapshot = new HashMap<>(pendingTotalCounts);
+            pendingTotalCounts.clear();
+        }
+
+        var groupedCounts = snapshot.entrySet().stream()
+            .collect(Collectors.groupingBy(entry -> entry.getKey().statisticsType(),
+                Collectors.groupingBy(entry -> entry.getKey().target(),
+                    Collectors.toMap(entry -> entry.getKey().entityId(), Map.Entry::getValue))));
+
+        groupedCounts.forEach((statisticsType, countsByTarget) -> {
+            var loaderName =
+                statisticsType.equals(StatisticsType.VIEW) ? "updateTotalViews" :
+                    "updateTotalDownloads";
+            var indicatorCodes =
+                IndicatorMappingConfigurationLoader.getIndicatorNameForLoaderMethodName(
+                    loaderName);
+            var indicator = indicatorCodes.isEmpty() ? null :
+                indicatorService.getIndicatorByCode(indicatorCodes.getFirst());
+
+            if (Objects.isNull(indicator)) {
+                log.error("Indicator not configured for loader: {}", loaderName);
+                return;
+            }
+
+            countsByTarget.forEach((target, counts) -> {
+                try {
+                    transactionTemplate.executeWithoutResult(
+                        status -> flushTotalCountsForTarget(target, indicator, counts));
+                    flushedTotalCount.addAndGet(counts.size());
+                } catch (Exception e) {
+                    log.error("Failed to flush {} total {} counts, retrying on next flush.",
+                        target, statisticsType, e);
+                    synchronized (pendingTotalCounts) {
+                        counts.forEach((entityId, count) -> pendingTotalCounts.merge(
+                            new TotalCountKey(statisticsType, target, entityId), count,
+                            Integer::sum));
+                    }
+                }
+            });
+        });
+    }
+
+    @Override
+    public Map<String, Long> getIngestionMetrics() {
+        var metrics = new LinkedHashMap<String, Long>();
+        metrics.put("queueCapacity", (long) queueCapacity);
+        metrics.put("queued", (long) queue.size());
+        metrics.put("accepted", acceptedCount.get());
+        metrics.put("dropped", droppedCount.get());
+        metrics.put("indexed", indexedCount.get());
+        metrics.put("failed", failedCount.get());
+
+        synchronized (pendingTotalCounts) {
+            metrics.put("pendingTotalCounts", (long) pendingTotalCounts.size());
+        }
+        metrics.put("flushedTotalCounts", flushedTotalCount.get());
+
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing statistics ingestion queue ({} entries) before shutdown.",
+            queue.size());
+
+        drainLock.lock();
+        try {
+            drainAll();
+        } finally {
+            drainLock.unlock();
+        }
+
+        flushTotalCounts();
+    }
+
+    private void drainAll() {
+        var batch = new ArrayList<PendingStatisticsEntry>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PendingStatisticsEntry> batch) {
+        var entriesToIndex = new ArrayList<StatisticsIndex>(batch.size());
+
+        batch.forEach(pendingEntry -> {
+            var index = pendingEntry.statisticsEntry();
+            var target = TotalCountTarget.of(index);
+
+            var clientIp = index.getIpAddress();
+            index.setCountryName(geoliteIPUtil.getCountry(clientIp));
+            index.setCountryCode(geoliteIPUtil.getCountryCode(clientIp));
+
+            log.info(
+                "STATISTICS - CONTEXT: {} - TRACKING_COOKIE: {} - IP: {} - COUNTRY: {} - COUNTRY_CODE: {} - TYPE: {}_{} - ID: {}",
+                pendingEntry.tracingContextId(),
+                index.getSessionId(),
+                clientIp,
+                index.getCountryName(),
+                index.getCountryCode(),
+                target.name(),
+                index.getType(),
+                target.entityIdOf(index)
+            );
+
+            var userAgent = index.getUserAgent();
+            if (!YauaaBotDetector.isValidUserAgent(userAgent)) {
+                return;
+            }
+
+            index.setBot(YauaaBotDetector.isBot(userAgent));
+
+            var deviceClassAndOS = YauaaBotDetector.getDeviceClassAndOS(userAgent);
+            index.setDeviceClass(deviceClassAndOS.a);
+            index.setOperatingSystem(deviceClassAndOS.b);
+
+            synchronized (pendingTotalCounts) {
+                pendingTotalCounts.merge(
+                    new TotalCountKey(StatisticsType.valueOf(index.getType()), target,
+                        target.entityIdOf(index)), 1, Integer::sum);
+            }
+
+            entriesToIndex.add(index);
+        });
+
+        if (entriesToIndex.isEmpty()) {
+            return;
+        }
+
+        try {
+            statisticsIndexRepository.saveAll(entriesToIndex);
+            indexedCount.addAndGet(entriesToIndex.size());
+        } catch (Exception e) {
+            failedCount.addAndGet(entriesToIndex.size());
+            log.error("Failed to bulk index {} statistics entries.", entriesToIndex.size(), e);
+        }
+    }
+
+    private void flushTotalCountsForTarget(TotalCountTarget target, Indicator indicator,
+                                           Map<Integer, Integer> counts) {
+        switch (target) {
+            case DOCUMENT -> flushTotalCounts(counts, indicator,
+                documentIndicatorRepository::findIndicatorsForCodeAndDocumentIds,
+                entityIndicator -> entityIndicator.getDocument().getId(),
+                documentRepository::findAllById, DocumentIndicator::new,
+                DocumentIndicator::setDocument, documentIndicatorRepository);
+            case PERSON -> flushTotalCounts(counts, indicator,
+                personIndicatorRepository::findIndicatorsForCodeAndPersonIds,
+                entityIndicator -> entityIndicator.getPerson().getId(),
+                personRepository::findAllById, PersonIndicator::new,
+                PersonIndicator::setPerson, personIndicatorRepository);
+            case ORGANISATION_UNIT -> flushTotalCounts(counts, indicator,
+                organisationUnitIndicatorRepository::findIndicatorsForCodeAndOrganisationUnitIds,
+                entityIndicator -> entityIndicator.getOrganisationUnit().getId(),
+                organisationUnitRepository::findAllById, OrganisationUnitIndicator::new,
+                OrganisationUnitIndicator::setOrganisationUnit,
+                organisationUnitIndicatorRepository);
+            case PUBLICATION_SERIES -> flushTotalCounts(counts, indicator,
+                publicationSeriesIndicatorRepository::findIndicatorsForCodeAndPublicationSeriesIds,
+                entityIndicator -> entityIndicator.getPublicationSeries().getId(),
+                publicationSeriesRepository::findAllById, PublicationSeriesIndicator::new,
+                PublicationSeriesIndicator::setPublicationSeries,
+                publicationSeriesIndicatorRepository);
+            case EVENT -> flushTotalCounts(counts, indicator,
+                eventIndicatorRepository::findIndicatorsForCodeAndEventIds,
+                entityIndicator -> entityIndicator.getEvent().getId(),
+                eventRepository::findAllById, EventIndicator::new,
+                EventIndicator::setEvent, eventIndicatorRepository);
+        }
+    }
+
+    private <D extends BaseEntity, I extends EntityIndicator> void flushTotalCounts(
+        Map<Integer, Integer> counts,
+        Indicator indicator,
+        BiFunction<String, Collection<Integer>, List<I>> findIndicatorsByEntityIds,
+        Function<I, Integer> getEntityId,
+        Function<Collection<Integer>, List<D>> findEntitiesByIds,
+        Supplier<I> createIndicator,
+        BiConsumer<I, D> setEntity,
+        JpaRepository<I, Integer> entityIndicatorRepository) {
+
+        var existingIndicators = findIndicatorsByEntityIds.apply(indicator.getCode(),
+                counts.keySet()).stream()
+            .collect(Collectors.toMap(getEntityId, Function.identity(), (first, second) -> first));
+
+        var indicatorsToSave = new ArrayList<I>(counts.size());
+        var now = LocalDateTime.now();
+
+        existingIndicators.forEach((entityId, entityIndicator) -> {
+            entityIndicator.setNumericValue(
+                Objects.requireNonNullElse(entityIndicator.getNumericValue(), 0.0) +
+                    counts.get(entityId));
+            entityIndicator.setTimestamp(now);
+            indicatorsToSave.add(entityIndicator);
+        });
+
+        var missingEntityIds = counts.keySet().stream()
+            .filter(entityId -> !existingIndicators.containsKey(entityId))
+            .toList();
+
+        if (!missingEntityIds.isEmpty()) {
+            var fetchedEntities = findEntitiesByIds.apply(missingEntityIds);
+            if (fetchedEntities.size() < missingEntityIds.size()) {
+                // Should not happen, but just in case
+                log.warn("{} entities do not exist in the DB. Skipping calculating '{}'.",
+                    missingEntityIds.size() - fetchedEntities.size(), indicator.getCode());
+            }
+
+            fetchedEntities.forEach(entity -> {
+                var entityIndicator = createIndicator.get();
+                setEntity.accept(entityIndicator, entity);
+                entityIndicator.setIndicator(indicator);
+                entityIndicator.setNumericValue(Double.valueOf(counts.get(entity.getId())));
+                entityIndicator.setTimestamp(now);
+                indicatorsToSave.add(entityIndicator);
+            });
+        }
+
+        entityIndicatorRepository.saveAll(indicatorsToSave);
+    }
+
+    private enum TotalCountTarget {
+        DOCUMENT,
+        PERSON,
+        ORGANISATION_UNIT,
+        PUBLICATION_SERIES,
+        EVENT;
+
+        static TotalCountTarget of(StatisticsIndex index) {
+            if (Objects.nonNull(index.getDocumentId())) {
+                return DOCUMENT;
+            } else if (Objects.nonNull(index.getPersonId())) {
+                return PERSON;
+            } else if (Objects.nonNull(index.getOrganisationUnitId())) {
+                return ORGANISATION_UNIT;
+            } else if (Objects.nonNull(index.getPublicationSeriesId())) {
+                return PUBLICATION_SERIES;
+            }
+
+            return EVENT;
+        }
+
+        Integer entityIdOf(StatisticsIndex index) {
+            return switch (this) {
+                case DOCUMENT -> index.getDocumentId();
+                case PERSON -> index.getPersonId();
+                case ORGANISATION_UNIT -> index.getOrganisationUnitId();
+                case PUBLICATION_SERIES -> index.getPublicationSeriesId();
+                case EVENT -> index.getEventId();
+            };
+        }
+    }
+
+    private record PendingStatisticsEntry(StatisticsIndex statisticsEntry,
+                                          String tracingContextId) {
+    }
+
+    private record TotalCountKey(StatisticsType statisticsType, TotalCountTarget target,
+                                 Integer entityId) {
+    }
+}
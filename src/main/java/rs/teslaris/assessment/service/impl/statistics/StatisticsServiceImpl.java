@@ -1,31 +1,36 @@
 package rs.teslaris.assessment.service.impl.statistics;
 
+import jakarta.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
-import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.codehaus.janino.ExpressionEvaluator;
+import org.hibernate.Hibernate;
 import org.springframework.context.annotation.Primary;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import rs.teslaris.assessment.model.indicator.DocumentIndicator;
 import rs.teslaris.assessment.model.indicator.EntityIndicator;
 import rs.teslaris.assessment.model.indicator.EventIndicator;
+import rs.teslaris.assessment.model.indicator.Indicator;
 import rs.teslaris.assessment.model.indicator.OrganisationUnitIndicator;
 import rs.teslaris.assessment.model.indicator.PersonIndicator;
 import rs.teslaris.assessment.model.indicator.PublicationSeriesIndicator;
@@ -35,41 +40,22 @@ import rs.teslaris.assessment.repository.indicator.OrganisationUnitIndicatorRepo
 import rs.teslaris.assessment.repository.indicator.PersonIndicatorRepository;
 import rs.teslaris.assessment.repository.indicator.PublicationSeriesIndicatorRepository;
 import rs.teslaris.assessment.service.interfaces.indicator.IndicatorService;
+import rs.teslaris.assessment.service.interfaces.statistics.StatisticsAggregationService;
+import rs.teslaris.assessment.service.interfaces.statistics.StatisticsIngestionService;
 import rs.teslaris.assessment.service.interfaces.statistics.StatisticsService;
-import rs.teslaris.assessment.util.GeoliteIPUtil;
 import rs.teslaris.assessment.util.IndicatorMappingConfigurationLoader;
-import rs.teslaris.core.indexmodel.BookSeriesIndex;
-import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
-import rs.teslaris.core.indexmodel.EventIndex;
-import rs.teslaris.core.indexmodel.JournalIndex;
-import rs.teslaris.core.indexmodel.OrganisationUnitIndex;
-import rs.teslaris.core.indexmodel.PersonIndex;
 import rs.teslaris.core.indexmodel.statistics.StatisticsIndex;
 import rs.teslaris.core.indexmodel.statistics.StatisticsType;
-import rs.teslaris.core.indexrepository.BookSeriesIndexRepository;
-import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
-import rs.teslaris.core.indexrepository.EventIndexRepository;
-import rs.teslaris.core.indexrepository.JournalIndexRepository;
-import rs.teslaris.core.indexrepository.OrganisationUnitIndexRepository;
-import rs.teslaris.core.indexrepository.PersonIndexRepository;
-import rs.teslaris.core.indexrepository.statistics.StatisticsIndexRepository;
-import rs.teslaris.core.model.document.Document;
-import rs.teslaris.core.model.document.Event;
-import rs.teslaris.core.model.document.PublicationSeries;
-import rs.teslaris.core.model.institution.OrganisationUnit;
-import rs.teslaris.core.model.person.Person;
-import rs.teslaris.core.repository.document.BookSeriesRepository;
+import rs.teslaris.core.model.commontypes.BaseEntity;
 import rs.teslaris.core.repository.document.DocumentRepository;
 import rs.teslaris.core.repository.document.EventRepository;
 import rs.teslaris.core.repository.document.PublicationSeriesRepository;
 import rs.teslaris.core.repository.institution.OrganisationUnitRepository;
 import rs.teslaris.core.repository.person.PersonRepository;
 import rs.teslaris.core.service.interfaces.document.DocumentDownloadTracker;
-import rs.teslaris.core.util.deduplication.Mergeable;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
 import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.session.SessionUtil;
-import rs.teslaris.core.util.session.YauaaBotDetector;
 
 @Service
 @Primary
@@ -78,16 +64,10 @@ import rs.teslaris.core.util.session.YauaaBotDetector;
 @Transactional
 public class StatisticsServiceImpl implements StatisticsService, DocumentDownloadTracker {
 
-    private final StatisticsIndexRepository statisticsIndexRepository;
+    private static final int INDICATOR_WRITE_BATCH_SIZE = 500;
 
     private final IndicatorService indicatorService;
 
-    private final DocumentPublicationIndexRepository documentPublicationIndexRepository;
-
-    private final PersonIndexRepository personIndexRepository;
-
-    private final OrganisationUnitIndexRepository organisationUnitIndexRepository;
-
     private final DocumentIndicatorRepository documentIndicatorRepository;
 
     private final PersonIndicatorRepository personIndicatorRepository;
@@ -108,16 +88,19 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
 
     private final EventIndicatorRepository eventIndicatorRepository;
 
-    private final JournalIndexRepository journalIndexRepository;
+    private final StatisticsIngestionService statisticsIngestionService;
 
-    private final EventIndexRepository eventIndexRepository;
+    private final StatisticsAggregationService statisticsAggregationService;
 
-    private final BookSeriesRepository bookSeriesRepository;
+    private final PlatformTransactionManager transactionManager;
 
-    private final BookSeriesIndexRepository bookSeriesIndexRepository;
+    private TransactionTemplate transactionTemplate;
 
-    private final GeoliteIPUtil geoliteIPUtil;
 
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
     public List<String> fetchStatisticsTypeIndicators(StatisticsType statisticsType) {
@@ -129,15 +112,6 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
         var statisticsEntry = new StatisticsIndex();
         statisticsEntry.setPublicationSeriesId(publicationSeriesId);
         saveView(statisticsEntry);
-        log.info(
-            "STATISTICS - CONTEXT: {} - TRACKING_COOKIE: {} - IP: {} - COUNTRY: {} - COUNTRY_CODE: {} - TYPE: PUBLICATION_SERIES_VIEW - ID: {}",
-            SessionUtil.getCurrentTracingContextId(),
-            SessionUtil.getJSessionId(),
-            SessionUtil.getCurrentClientIP(),
-            geoliteIPUtil.getCountry(SessionUtil.getCurrentClientIP()),
-            geoliteIPUtil.getCountryCode(SessionUtil.getCurrentClientIP()),
-            publicationSeriesId
-        );
     }
 
     @Override
@@ -145,15 +119,6 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
         var statisticsEntry = new StatisticsIndex();
         statisticsEntry.setEventId(eventId);
         saveView(statisticsEntry);
-        log.info(
-            "STATISTICS - CONTEXT: {} - TRACKING_COOKIE: {} - IP: {} - COUNTRY: {} - COUNTRY_CODE: {} - TYPE: EVENT_VIEW - ID: {}",
-            SessionUtil.getCurrentTracingContextId(),
-            SessionUtil.getJSessionId(),
-            SessionUtil.getCurrentClientIP(),
-            geoliteIPUtil.getCountry(SessionUtil.getCurrentClientIP()),
-            geoliteIPUtil.getCountryCode(SessionUtil.getCurrentClientIP()),
-            eventId
-        );
     }
 
     @Override
@@ -161,15 +126,6 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
         var statisticsEntry = new StatisticsIndex();
         statisticsEntry.setPersonId(personId);
         saveView(statisticsEntry);
-        log.info(
-            "STATISTICS - CONTEXT: {} - TRACKING_COOKIE: {} - IP: {} - COUNTRY: {} - COUNTRY_CODE: {} - TYPE: PERSON_VIEW - ID: {}",
-            SessionUtil.getCurrentTracingContextId(),
-            SessionUtil.getJSessionId(),
-            SessionUtil.getCurrentClientIP(),
-            geoliteIPUtil.getCountry(SessionUtil.getCurrentClientIP()),
-            geoliteIPUtil.getCountryCode(SessionUtil.getCurrentClientIP()),
-            personId
-        );
     }
 
     @Override
@@ -177,15 +133,6 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
         var statisticsEntry = new StatisticsIndex();
         statisticsEntry.setDocumentId(documentId);
         saveView(statisticsEntry);
-        log.info(
-            "STATISTICS - CONTEXT: {} - TRACKING_COOKIE: {} - IP: {} - COUNTRY: {} - COUNTRY_CODE: {} - TYPE: DOCUMENT_VIEW - ID: {}",
-            SessionUtil.getCurrentTracingContextId(),
-            SessionUtil.getJSessionId(),
-            SessionUtil.getCurrentClientIP(),
-            geoliteIPUtil.getCountry(SessionUtil.getCurrentClientIP()),
-            geoliteIPUtil.getCountryCode(SessionUtil.getCurrentClientIP()),
-            documentId
-        );
     }
 
     @Override
@@ -193,15 +140,6 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
         var statisticsEntry = new StatisticsIndex();
         statisticsEntry.setOrganisationUnitId(organisationUnitId);
         saveView(statisticsEntry);
-        log.info(
-            "STATISTICS - CONTEXT: {} - TRACKING_COOKIE: {} - IP: {} - COUNTRY: {} - COUNTRY_CODE: {} - TYPE: ORGANISATION_UNIT_VIEW - ID: {}",
-            SessionUtil.getCurrentTracingContextId(),
-            SessionUtil.getJSessionId(),
-            SessionUtil.getCurrentClientIP(),
-            geoliteIPUtil.getCountry(SessionUtil.getCurrentClientIP()),
-            geoliteIPUtil.getCountryCode(SessionUtil.getCurrentClientIP()),
-            organisationUnitId
-        );
     }
 
     @Override
@@ -209,15 +147,6 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
         var statisticsEntry = new StatisticsIndex();
         statisticsEntry.setDocumentId(documentId);
         saveDownload(statisticsEntry);
-        log.info(
-            "STATISTICS - CONTEXT: {} - TRACKING_COOKIE: {} - IP: {} - COUNTRY: {} - COUNTRY_CODE: {} - TYPE: DOCUMENT_DOWNLOAD - ID: {}",
-            SessionUtil.getCurrentTracingContextId(),
-            SessionUtil.getJSessionId(),
-            SessionUtil.getCurrentClientIP(),
-            geoliteIPUtil.getCountry(SessionUtil.getCurrentClientIP()),
-            geoliteIPUtil.getCountryCode(SessionUtil.getCurrentClientIP()),
-            documentId
-        );
     }
 
     private void saveView(StatisticsIndex index) {
@@ -233,97 +162,12 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
     private void save(StatisticsIndex index) {
         index.setTimestamp(LocalDateTime.now());
         index.setSessionId(SessionUtil.getJSessionId());
+        index.setIpAddress(SessionUtil.getCurrentClientIP());
+        index.setUserAgent(SessionUtil.getCurrentClientUserAgent());
 
-        var clientIp = SessionUtil.getCurrentClientIP();
-        index.setIpAddress(clientIp);
-        index.setCountryName(geoliteIPUtil.getCountry(clientIp));
-        index.setCountryCode(geoliteIPUtil.getCountryCode(clientIp));
-
-        var userAgent = SessionUtil.getCurrentClientUserAgent();
-        if (!YauaaBotDetector.isValidUserAgent(userAgent)) {
-            return;
-        }
-
-        index.setUserAgent(userAgent);
-        index.setBot(YauaaBotDetector.isBot(userAgent));
-
-        var deviceClassAndOS = YauaaBotDetector.getDeviceClassAndOS(userAgent);
-        index.setDeviceClass(deviceClassAndOS.a);
-        index.setOperatingSystem(deviceClassAndOS.b);
-
-        updateTotalCount(index);
-
-        statisticsIndexRepository.save(index);
-    }
-
-    protected void updateTotalCount(StatisticsIndex index) {
-        var loaderName = index.getType().equals(StatisticsType.VIEW.name()) ? "updateTotalViews" :
-            "updateTotalDownloads";
-        var indicatorCodes =
-            IndicatorMappingConfigurationLoader.getIndicatorNameForLoaderMethodName(loaderName);
-        var indicator = indicatorService.getIndicatorByCode(indicatorCodes.getFirst());
-
-        if (Objects.isNull(indicator)) {
-            log.error("Indicator not configured for loader: {}", loaderName);
-            return;
-        }
-
-        if (Objects.nonNull(index.getDocumentId())) {
-            updateIndicator(index.getDocumentId(),
-                indicator.getCode(),
-                documentRepository::findById,
-                documentIndicatorRepository::findIndicatorForCodeAndDocumentId,
-                (id) -> new DocumentIndicator(),
-                entityIndicator -> {
-                    entityIndicator.setNumericValue(entityIndicator.getNumericValue() + 1);
-                    entityIndicator.setTimestamp(LocalDateTime.now());
-                    documentIndicatorRepository.save(entityIndicator);
-                });
-        } else if (Objects.nonNull(index.getPersonId())) {
-            updateIndicator(index.getPersonId(),
-                indicator.getCode(),
-                personRepository::findById,
-                personIndicatorRepository::findIndicatorForCodeAndPersonId,
-                (id) -> new PersonIndicator(),
-                entityIndicator -> {
-                    entityIndicator.setNumericValue(entityIndicator.getNumericValue() + 1);
-                    entityIndicator.setTimestamp(LocalDateTime.now());
-                    personIndicatorRepository.save(entityIndicator);
-                });
-        } else if (Objects.nonNull(index.getOrganisationUnitId())) {
-            updateIndicator(index.getOrganisationUnitId(),
-                indicator.getCode(),
-                organisationUnitRepository::findById,
-                organisationUnitIndicatorRepository::findIndicatorForCodeAndOrganisationUnitId,
-                (id) -> new OrganisationUnitIndicator(),
-                entityIndicator -> {
-                    entityIndicator.setNumericValue(entityIndicator.getNumericValue() + 1);
-                    entityIndicator.setTimestamp(LocalDateTime.now());
-                    organisationUnitIndicatorRepository.save(entityIndicator);
-                });
-        } else if (Objects.nonNull(index.getPublicationSeriesId())) {
-            updateIndicator(index.getPublicationSeriesId(),
-                indicator.getCode(),
-                publicationSeriesRepository::findById,
-                publicationSeriesIndicatorRepository::findIndicatorForCodeAndPublicationSeriesId,
-                (id) -> new PublicationSeriesIndicator(),
-                entityIndicator -> {
-                    entityIndicator.setNumericValue(entityIndicator.getNumericValue() + 1);
-                    entityIndicator.setTimestamp(LocalDateTime.now());
-                    publicationSeriesIndicatorRepository.save(entityIndicator);
-                });
-        } else if (Objects.nonNull(index.getEventId())) {
-            updateIndicator(index.getEventId(),
-                indicator.getCode(),
-                eventRepository::findById,
-                eventIndicatorRepository::findIndicatorsForCodeAndEventId,
-                (id) -> new EventIndicator(),
-                entityIndicator -> {
-                    entityIndicator.setNumericValue(entityIndicator.getNumericValue() + 1);
-                    entityIndicator.setTimestamp(LocalDateTime.now());
-                    eventIndicatorRepository.save(entityIndicator);
-                });
-        }
+        // Geo lookup, user agent parsing, indexing and total count updates are
+        // performed in batches by the ingestion stage, off the request thread
+        statisticsIngestionService.enqueue(index, SessionUtil.getCurrentTracingContextId());
     }
 
     @Scheduled(cron = "${statistics.schedule.views}")
@@ -398,20 +242,14 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
             updateEntityStatisticInPeriod(
                 startPeriods,
                 indicatorCodes,
-                documentPublicationIndexRepository,
-                documentRepository,
-                (start, ids) -> {
-                    var totalCount = new AtomicInteger(0);
-                    ids.forEach(id -> {
-                        totalCount.addAndGet(
-                            statisticsIndexRepository.countByTimestampBetweenAndTypeAndDocumentId(
-                                start, LocalDateTime.now(), statisticsType.name(), id));
-                    });
-                    return totalCount.get();
-                },
-                DocumentPublicationIndex::getDatabaseId,
-                documentIndicatorRepository::findIndicatorForCodeAndDocumentId,
-                id -> new DocumentIndicator(),
+                statisticsType,
+                "document_id",
+                documentRepository::findAllIdsWithMergedIds,
+                documentRepository::findAllById,
+                documentIndicatorRepository::findDocumentIdsWithPositiveValueForCode,
+                documentIndicatorRepository::findIndicatorsForCodeAndDocumentIds,
+                entityIndicator -> entityIndicator.getDocument().getId(),
+                DocumentIndicator::new,
                 DocumentIndicator::setDocument,
                 documentIndicatorRepository,
                 "Document"
@@ -422,20 +260,14 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
             updateEntityStatisticInPeriod(
                 startPeriods,
                 indicatorCodes,
-                personIndexRepository,
-                personRepository,
-                (start, ids) -> {
-                    var totalCount = new AtomicInteger(0);
-                    ids.forEach(id -> {
-                        totalCount.addAndGet(
-                            statisticsIndexRepository.countByTimestampBetweenAndTypeAndPersonId(
-                                start, LocalDateTime.now(), statisticsType.name(), id));
-                    });
-                    return totalCount.get();
-                },
-                PersonIndex::getDatabaseId,
-                personIndicatorRepository::findIndicatorForCodeAndPersonId,
-                id -> new PersonIndicator(),
+                statisticsType,
+                "person_id",
+                personRepository::findAllIdsWithMergedIds,
+                personRepository::findAllById,
+                personIndicatorRepository::findPersonIdsWithPositiveValueForCode,
+                personIndicatorRepository::findIndicatorsForCodeAndPersonIds,
+                entityIndicator -> entityIndicator.getPerson().getId(),
+                PersonIndicator::new,
                 PersonIndicator::setPerson,
                 personIndicatorRepository,
                 "Person"
@@ -446,71 +278,36 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
             updateEntityStatisticInPeriod(
                 startPeriods,
                 indicatorCodes,
-                organisationUnitIndexRepository,
-                organisationUnitRepository,
-                (start, ids) -> {
-                    var totalCount = new AtomicInteger(0);
-                    ids.forEach(id -> {
-                        totalCount.addAndGet(
-                            statisticsIndexRepository.countByTimestampBetweenAndTypeAndOrganisationUnitId(
-                                start, LocalDateTime.now(), statisticsType.name(), id));
-                    });
-                    return totalCount.get();
-                },
-                OrganisationUnitIndex::getDatabaseId,
-                organisationUnitIndicatorRepository::findIndicatorForCodeAndOrganisationUnitId,
-                id -> new OrganisationUnitIndicator(),
+                statisticsType,
+                "organisation_unit_id",
+                organisationUnitRepository::findAllIdsWithMergedIds,
+                organisationUnitRepository::findAllById,
+                organisationUnitIndicatorRepository::findOrganisationUnitIdsWithPositiveValueForCode,
+                organisationUnitIndicatorRepository::findIndicatorsForCodeAndOrganisationUnitIds,
+                entityIndicator -> entityIndicator.getOrganisationUnit().getId(),
+                OrganisationUnitIndicator::new,
                 OrganisationUnitIndicator::setOrganisationUnit,
                 organisationUnitIndicatorRepository,
                 "OrganisationUnit"
             );
         });
 
-        var journalsTask = CompletableFuture.runAsync(() -> {
-            updateEntityStatisticInPeriod(
-                startPeriods,
-                indicatorCodes,
-                journalIndexRepository,
-                publicationSeriesRepository,
-                (start, ids) -> {
-                    var totalCount = new AtomicInteger(0);
-                    ids.forEach(id -> {
-                        totalCount.addAndGet(
-                            statisticsIndexRepository.countByTimestampBetweenAndTypeAndPublicationSeriesId(
-                                start, LocalDateTime.now(), statisticsType.name(), id));
-                    });
-                    return totalCount.get();
-                },
-                JournalIndex::getDatabaseId,
-                publicationSeriesIndicatorRepository::findIndicatorForCodeAndPublicationSeriesId,
-                id -> new PublicationSeriesIndicator(),
-                PublicationSeriesIndicator::setPublicationSeries,
-                publicationSeriesIndicatorRepository,
-                "Journal"
-            );
-        });
-
-        var bookSeriesTask = CompletableFuture.runAsync(() -> {
+        // Journals and book series share the publication_series_id statistics field
+        var publicationSeriesTask = CompletableFuture.runAsync(() -> {
             updateEntityStatisticInPeriod(
                 startPeriods,
                 indicatorCodes,
-                bookSeriesIndexRepository,
-                bookSeriesRepository,
-                (start, ids) -> {
-                    var totalCount = new AtomicInteger(0);
-                    ids.forEach(id -> {
-                        totalCount.addAndGet(
-                            statisticsIndexRepository.countByTimestampBetweenAndTypeAndPublicationSeriesId(
-                                start, LocalDateTime.now(), statisticsType.name(), id));
-                    });
-                    return totalCount.get();
-                },
-                BookSeriesIndex::getDatabaseId,
-                publicationSeriesIndicatorRepository::findIndicatorForCodeAndPublicationSeriesId,
-                id -> new PublicationSeriesIndicator(),
+                statisticsType,
+                "publication_series_id",
+                publicationSeriesRepository::findAllIdsWithMergedIds,
+                publicationSeriesRepository::findAllById,
+                publicationSeriesIndicatorRepository::findPublicationSeriesIdsWithPositiveValueForCode,
+                publicationSeriesIndicatorRepository::findIndicatorsForCodeAndPublicationSeriesIds,
+                entityIndicator -> entityIndicator.getPublicationSeries().getId(),
+                PublicationSeriesIndicator::new,
                 PublicationSeriesIndicator::setPublicationSeries,
                 publicationSeriesIndicatorRepository,
-                "BookSeries"
+                "PublicationSeries"
             );
         });
 
@@ -518,20 +315,14 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
             updateEntityStatisticInPeriod(
                 startPeriods,
                 indicatorCodes,
-                eventIndexRepository,
-                eventRepository,
-                (start, ids) -> {
-                    var totalCount = new AtomicInteger(0);
-                    ids.forEach(id -> {
-                        totalCount.addAndGet(
-                            statisticsIndexRepository.countByTimestampBetweenAndTypeAndEventId(
-                                start, LocalDateTime.now(), statisticsType.name(), id));
-                    });
-                    return totalCount.get();
-                },
-                EventIndex::getDatabaseId,
-                eventIndicatorRepository::findIndicatorsForCodeAndEventId,
-                id -> new EventIndicator(),
+                statisticsType,
+                "event_id",
+                eventRepository::findAllIdsWithMergedIds,
+                eventRepository::findAllById,
+                eventIndicatorRepository::findEventIdsWithPositiveValueForCode,
+                eventIndicatorRepository::findIndicatorsForCodeAndEventIds,
+                entityIndicator -> entityIndicator.getEvent().getId(),
+                EventIndicator::new,
                 EventIndicator::setEvent,
                 eventIndicatorRepository,
                 "Event"
@@ -539,8 +330,8 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
         });
 
         var allTasks =
-            CompletableFuture.allOf(documentTask, personTask, organisationTask, journalsTask,
-                eventsTask, bookSeriesTask);
+            CompletableFuture.allOf(documentTask, personTask, organisationTask,
+                publicationSeriesTask, eventsTask);
 
         try {
             allTasks.get();
@@ -550,113 +341,119 @@ public class StatisticsServiceImpl implements StatisticsService, DocumentDownloa
         }
     }
 
-    private <T, D extends Mergeable, I extends EntityIndicator> void updateEntityStatisticInPeriod(
+    private <D extends BaseEntity, I extends EntityIndicator> void updateEntityStatisticInPeriod(
         List<LocalDateTime> startPeriods,
         List<String> indicatorCodes,
-        ElasticsearchRepository<T, String> indexRepository,
-        JpaRepository<D, Integer> entityRepository,
-        BiFunction<LocalDateTime, List<Integer>, Integer> countFunction,
-        Function<T, Integer> getEntityId,
-        BiFunction<String, Integer, Optional<I>> findIndicatorByEntityId,
-        Function<Integer, I> createNewIndicator,
+        StatisticsType statisticsType,
+        String statisticsEntityIdField,
+        Supplier<List<Object[]>> findAllIdsWithMergedIds,
+        Function<Collection<Integer>, List<D>> findEntitiesByIds,
+        Function<String, List<Integer>> findEntityIdsWithPositiveValue,
+        BiFunction<String, Collection<Integer>, List<I>> findIndicatorsByEntityIds,
+        Function<I, Integer> getEntityId,
+        Supplier<I> createIndicator,
         BiConsumer<I, D> setEntity,
         JpaRepository<I, Integer> entityIndicatorRepository,
         String entityTypeName) {
 
-        int pageNumber = 0;
-        int chunkSize = 50;
-        boolean hasNextPage = true;
-
-        while (hasNextPage) {
-            List<T> chunk =
-                indexRepository.findAll(PageRequest.of(pageNumber, chunkSize)).getContent();
-
-            chunk.forEach(indexEntity -> {
-                Integer entityId = getEntityId.apply(indexEntity);
-
-                entityRepository.findById(entityId).ifPresentOrElse(dbEntity -> {
-                    FunctionalUtil.forEachWithCounter(indicatorCodes, (i, indicatorCode) -> {
-                        var allEntityIds = new ArrayList<>(dbEntity.getMergedIds());
-                        allEntityIds.add(entityId);
-
-                        Integer statisticsCount =
-                            countFunction.apply(startPeriods.get(i), allEntityIds);
-
-                        var exclusions = IndicatorMappingConfigurationLoader.getExclusionsForClass(
-                            dbEntity.getClass().getName());
-                        if (exclusions.contains(indicatorCode)) {
-                            return;
-                        }
-
-                        updateIndicator(entityId,
-                            indicatorCode,
-                            ignored -> Optional.of(dbEntity), // avoid second DB call
-                            findIndicatorByEntityId,
-                            id -> {
-                                I indicator = createNewIndicator.apply(id);
-                                setEntity.accept(indicator, dbEntity);
-                                return indicator;
-                            },
-                            entityIndicator -> {
-                                entityIndicator.setNumericValue(Double.valueOf(statisticsCount));
-                                entityIndicator.setTimestamp(LocalDateTime.now());
-                                entityIndicator.setFromDate(startPeriods.get(i).toLocalDate());
-                                entityIndicator.setToDate(LocalDate.now());
-                                entityIndicatorRepository.save(entityIndicator);
-                            });
-                    });
-                }, () -> {
-                    log.warn("{} with DB ID {} not found. Skipping indicator updates.",
-                        entityTypeName, entityId);
-                });
+        // One aggregation pass yields the counts of every entity for all periods at once
+        var rawCounts = statisticsAggregationService.countPerEntityInPeriods(
+            statisticsEntityIdField, statisticsType, startPeriods);
+
+        var survivorIds = new HashMap<Integer, Integer>();
+        findAllIdsWithMergedIds.get().forEach(row -> {
+            var mergedIds = (Collection<?>) row[1];
+            mergedIds.forEach(mergedId ->
+                survivorIds.put(((Number) mergedId).intValue(), (Integer) row[0]));
+        });
+
+        var entityCounts = new HashMap<Integer, long[]>();
+        rawCounts.forEach((entityId, periodCounts) -> {
+            var targetCounts =
+                entityCounts.computeIfAbsent(survivorIds.getOrDefault(entityId, entityId),
+                    id -> new long[startPeriods.size()]);
+            for (int i = 0; i < periodCounts.length; i++) {
+                targetCounts[i] += periodCounts[i];
+            }
+        });
+
+        FunctionalUtil.forEachWithCounter(indicatorCodes, (i, indicatorCode) -> {
+            var indicator = indicatorService.getIndicatorByCode(indicatorCode);
+            var fromDate = startPeriods.get(i).toLocalDate();
+
+            var values = new HashMap<Integer, Long>();
+            entityCounts.forEach((entityId, periodCounts) -> {
+                if (periodCounts[i] > 0) {
+                    values.put(entityId, periodCounts[i]);
+                }
             });
 
-            pageNumber++;
-            hasNextPage = chunk.size() == chunkSize;
-        }
+            // Entities without statistics in this period still need their stale values reset
+            findEntityIdsWithPositiveValue.apply(indicatorCode)
+                .forEach(entityId -> values.putIfAbsent(entityId, 0L));
+
+            var entityIds = new ArrayList<>(values.keySet());
+            for (int start = 0; start < entityIds.size(); start += INDICATOR_WRITE_BATCH_SIZE) {
+                var batchIds = entityIds.subList(start,
+                    Math.min(start + INDICATOR_WRITE_BATCH_SIZE, entityIds.size()));
+
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writePeriodIndicators(
+                        batchIds, values, indicator, fromDate, findEntitiesByIds,
+                        findIndicatorsByEntityIds, getEntityId, createIndicator, setEntity,
+                        entityIndicatorRepository));
+                } catch (Exception e) {
+                    log.error("Failed to write '{}' values for {} {} entities.", indicatorCode,
+                        batchIds.size(), entityTypeName, e);
+                }
+            }
+
+            log.info("Updated '{}' for {} {} entities.", indicatorCode, entityIds.size(),
+                entityTypeName);
+        });
     }
 
-    private synchronized <T, R> void updateIndicator(Integer id,
-                                                     String indicatorCode,
-                                                     Function<Integer, Optional<T>> findEntityById,
-                                                     BiFunction<String, Integer, Optional<R>> findIndicator,
-                                                     Function<Integer, R> createIndicator,
-                                                     Consumer<R> updateAndSaveIndicatorValue) {
-        var optionalIndicator = findIndicator.apply(indicatorCode, id);
-        R indicatorEntity;
-        if (optionalIndicator.isEmpty()) {
-            var fetchedEntity = findEntityById.apply(id);
-            if (fetchedEntity.isEmpty()) {
-                // Should not happen, but just in case
-                log.warn(
-                    "Entity with ID '{}' does not exist in the DB. Skipping calculating '{}'.", id,
-                    indicatorCode);
+    private <D extends BaseEntity, I extends EntityIndicator> void writePeriodIndicators(
+        List<Integer> batchIds,
+        Map<Integer, Long> values,
+        Indicator indicator,
+        LocalDate fromDate,
+        Function<Collection<Integer>, List<D>> findEntitiesByIds,
+        BiFunction<String, Collection<Integer>, List<I>> findIndicatorsByEntityIds,
+        Function<I, Integer> getEntityId,
+        Supplier<I> createIndicator,
+        BiConsumer<I, D> setEntity,
+        JpaRepository<I, Integer> entityIndicatorRepository) {
+
+        var existingIndicators =
+            findIndicatorsByEntityIds.apply(indicator.getCode(), batchIds).stream()
+                .collect(Collectors.toMap(getEntityId, Function.identity(),
+                    (first, second) -> first));
+
+        var now = LocalDateTime.now();
+        var indicatorsToSave = new ArrayList<I>(batchIds.size());
+
+        findEntitiesByIds.apply(batchIds).forEach(dbEntity -> {
+            var exclusions = IndicatorMappingConfigurationLoader.getExclusionsForClass(
+                Hibernate.getClass(dbEntity).getName());
+            if (exclusions.contains(indicator.getCode())) {
                 return;
             }
 
-            indicatorEntity = createIndicator.apply(id);
-
-            if (indicatorEntity instanceof DocumentIndicator) {
-                ((DocumentIndicator) indicatorEntity).setDocument((Document) fetchedEntity.get());
-            } else if (indicatorEntity instanceof PersonIndicator) {
-                ((PersonIndicator) indicatorEntity).setPerson((Person) fetchedEntity.get());
-            } else if (indicatorEntity instanceof OrganisationUnitIndicator) {
-                ((OrganisationUnitIndicator) indicatorEntity).setOrganisationUnit(
-                    (OrganisationUnit) fetchedEntity.get());
-            } else if (indicatorEntity instanceof PublicationSeriesIndicator) {
-                ((PublicationSeriesIndicator) indicatorEntity).setPublicationSeries(
-                    (PublicationSeries) fetchedEntity.get());
-            } else if (indicatorEntity instanceof EventIndicator) {
-                ((EventIndicator) indicatorEntity).setEvent((Event) fetchedEntity.get());
+            var entityIndicator = existingIndicators.get(dbEntity.getId());
+            if (Objects.isNull(entityIndicator)) {
+                entityIndicator = createIndicator.get();
+                setEntity.accept(entityIndicator, dbEntity);
+                entityIndicator.setIndicator(indicator);
             }
 
-            ((EntityIndicator) indicatorEntity).setIndicator(
-                indicatorService.getIndicatorByCode(indicatorCode));
-            ((EntityIndicator) indicatorEntity).setNumericValue(0.0);
-        } else {
-            indicatorEntity = optionalIndicator.get();
-        }
+            entityIndicator.setNumericValue(Double.valueOf(values.get(dbEntity.getId())));
+            entityIndicator.setTimestamp(now);
+            entityIndicator.setFromDate(fromDate);
+            entityIndicator.setToDate(now.toLocalDate());
+            indicatorsToSave.add(entityIndicator);
+        });
 
-        updateAndSaveIndicatorValue.accept(indicatorEntity);
+        entityIndicatorRepository.saveAll(indicatorsToSave);
     }
 }
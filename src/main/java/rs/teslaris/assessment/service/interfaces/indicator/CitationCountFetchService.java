@@ -0,0 +1,11 @@
+package rs.teslaris.assessment.service.interfaces.indicator;
+
+import java.util.Collection;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface CitationCountFetchService {
+
+    Map<String, Integer> fetchOpenCitationsCounts(Collection<String> dois);
+}
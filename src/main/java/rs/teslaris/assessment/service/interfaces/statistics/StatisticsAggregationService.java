@@ -0,0 +1,15 @@
+package rs.teslaris.assessment.service.interfaces.statistics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.indexmodel.statistics.StatisticsType;
+
+@Service
+public interface StatisticsAggregationService {
+
+    Map<Integer, long[]> countPerEntityInPeriods(String entityIdField,
+                                                 StatisticsType statisticsType,
+                                                 List<LocalDateTime> periodStarts);
+}
@@ -0,0 +1,17 @@
+package rs.teslaris.assessment.service.interfaces.statistics;
+
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.indexmodel.statistics.StatisticsIndex;
+
+@Service
+public interface StatisticsIngestionService {
+
+    boolean enqueue(StatisticsIndex statisticsEntry, String tracingContextId);
+
+    void drainQueue();
+
+    void flushTotalCounts();
+
+    Map<String, Long> getIngestionMetrics();
+}
@@ -0,0 +1,12 @@
+package rs.teslaris.core.applicationevent;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrganisationUnitHierarchyChangedEvent {
+
+    // Sub-unit whose super-unit relations changed, null when the whole hierarchy is affected
+    private Integer organisationUnitId;
+}
@@ -0,0 +1,9 @@
+package rs.teslaris.core.applicationevent;
+
+import java.util.List;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+
+public record ReindexExternalIndicatorsBatchEvent(
+    List<DocumentPublicationIndex> indexes
+) {
+}
@@ -5,6 +5,7 @@ import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
 import java.util.Objects;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tika.language.detect.LanguageDetector;
@@ -25,6 +26,7 @@ import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
 import rs.teslaris.core.util.language.TransliterationMessageSource;
+import rs.teslaris.core.util.search.IndexRebuildContext;
 
 @Configuration
 @Slf4j
@@ -39,6 +41,15 @@ public class BeanConfiguration {
     @Value("${client.localization.languages}")
     private String[] clientLocalizationLanguages;
 
+    @Value("${reindex.bulk.worker-count}")
+    private Integer bulkIndexWorkerCount;
+
+    @Value("${export-to-common.bulk.worker-count}")
+    private Integer commonExportWorkerCount;
+
+    @Value("${harvest-external-indicators.fetch.worker-count}")
+    private Integer citationFetchWorkerCount;
+
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -142,6 +153,44 @@ public class BeanConfiguration {
         executor.setMaxPoolSize(16);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("ReindexThread-");
+        executor.setTaskDecorator(IndexRebuildContext::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "bulkIndexExecutor")
+    public Executor bulkIndexExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(bulkIndexWorkerCount);
+        executor.setMaxPoolSize(bulkIndexWorkerCount);
+        executor.setQueueCapacity(bulkIndexWorkerCount * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("BulkIndexWorker-");
+        executor.setTaskDecorator(IndexRebuildContext::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "commonExportExecutor")
+    public Executor commonExportExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(commonExportWorkerCount);
+        executor.setMaxPoolSize(commonExportWorkerCount);
+        executor.setQueueCapacity(commonExportWorkerCount * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("CommonExportWorker-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "citationFetchExecutor")
+    public Executor citationFetchExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(citationFetchWorkerCount);
+        executor.setMaxPoolSize(citationFetchWorkerCount);
+        executor.setQueueCapacity(citationFetchWorkerCount * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("CitationFetchWorker-");
         executor.initialize();
         return executor;
     }
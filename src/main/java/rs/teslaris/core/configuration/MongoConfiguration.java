@@ -11,6 +11,7 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import rs.teslaris.core.util.debugging.SlowMongoQueryLogger;
 
 @Configuration
 public class MongoConfiguration extends AbstractMongoClientConfiguration {
@@ -21,6 +22,9 @@ public class MongoConfiguration extends AbstractMongoClientConfiguration {
     @Value("${mongo.database}")
     private String database;
 
+    @Value("${mongo.slow-query-threshold-ms}")
+    private Long slowQueryThresholdMs;
+
 
     @NotNull
     @Override
@@ -48,6 +52,7 @@ public class MongoConfiguration extends AbstractMongoClientConfiguration {
                 .minSize(5)
                 .maxWaitTime(10, TimeUnit.SECONDS)
             )
+            .addCommandListener(new SlowMongoQueryLogger(slowQueryThresholdMs))
             .build();
 
         return MongoClients.create(mongoClientSettings);
@@ -139,6 +139,7 @@ public class DocumentPublicationController {
         @RequestParam(value = "noContributionsProceedingsOnly", required = false)
         Boolean noContributionsProceedingsOnly,
         @RequestParam(value = "authorId", required = false) Integer authorId,
+        @RequestParam(value = "cursor", required = false) String cursor,
         @RequestHeader(value = "Authorization", defaultValue = "") String bearerToken,
         Pageable pageable) {
         StringUtil.sanitizeTokens(tokens);
@@ -152,7 +153,7 @@ public class DocumentPublicationController {
         var isCommission = !bearerToken.isEmpty() &&
             tokenUtil.extractUserRoleFromToken(bearerToken).equals(UserRole.COMMISSION.name());
 
-        return documentPublicationService.searchDocumentPublications(tokens, pageable,
+        return documentPublicationService.searchDocumentPublications(tokens, pageable, cursor,
             SearchRequestType.SIMPLE, institutionId, (isCommission && unclassified) ?
                 userService.getUserCommissionId(tokenUtil.extractUserIdFromToken(bearerToken)) :
                 null, authorReprint, unmanaged, allowedTypes, notArchivedOnly, showProceedings,
@@ -174,6 +175,7 @@ public class DocumentPublicationController {
         @RequestParam(value = "noContributionsProceedingsOnly", required = false)
         Boolean noContributionsProceedingsOnly,
         @RequestParam(value = "authorId", required = false) Integer authorId,
+        @RequestParam(value = "cursor", required = false) String cursor,
         @RequestHeader(value = "Authorization", defaultValue = "") String bearerToken,
         Pageable pageable) {
         if (bearerToken.isEmpty() ||
@@ -185,7 +187,7 @@ public class DocumentPublicationController {
         var isCommission = !bearerToken.isEmpty() &&
             tokenUtil.extractUserRoleFromToken(bearerToken).equals(UserRole.COMMISSION.name());
 
-        return documentPublicationService.searchDocumentPublications(tokens, pageable,
+        return documentPublicationService.searchDocumentPublications(tokens, pageable, cursor,
             SearchRequestType.ADVANCED, institutionId, (isCommission && unclassified) ?
                 userService.getUserCommissionId(tokenUtil.extractUserIdFromToken(bearerToken)) :
                 null, null, null, allowedTypes, notArchivedOnly, showProceedings,
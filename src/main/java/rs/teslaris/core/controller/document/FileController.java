@@ -1,12 +1,9 @@
 package rs.teslaris.core.controller.document;
 
-import io.minio.GetObjectResponse;
+import io.minio.GenericResponse;
+import io.minio.StatObjectResponse;
 import jakarta.servlet.http.HttpServletRequest;
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -15,14 +12,14 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import javax.imageio.ImageIO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
 import org.apache.tika.Tika;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,10 +44,12 @@ import rs.teslaris.core.service.interfaces.document.DocumentDownloadTracker;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
 import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.service.interfaces.document.ImageDerivativeService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.person.PersonService;
 import rs.teslaris.core.service.interfaces.user.UserService;
 import rs.teslaris.core.util.exceptionhandling.ErrorResponseUtil;
+import rs.teslaris.core.util.files.ConditionalRequestUtil;
 import rs.teslaris.core.util.files.StreamingUtil;
 import rs.teslaris.core.util.jwt.JwtUtil;
 import rs.teslaris.core.util.search.StringUtil;
@@ -83,6 +82,8 @@ public class FileController {
 
     private final DocumentLookupService documentLookupService;
 
+    private final ImageDerivativeService imageDerivativeService;
+
 
     @GetMapping("/{filename}")
     @ResponseBody
@@ -94,7 +95,7 @@ public class FileController {
         @CookieValue(value = "jwt-security-fingerprint", required = false) String fingerprintCookie)
         throws IOException {
 
-        var file = fileService.loadAsResource(filename);
+        var fileMetadata = fileService.statObject(filename);
         var documentFile = documentFileService.getDocumentByServerFilename(filename);
         var accessRights = documentFile.getAccessRights();
         var isVerifiedDocument = documentFile.getIsVerifiedData();
@@ -109,7 +110,7 @@ public class FileController {
                 Objects.requireNonNullElse(documentFile.getIsArchived(), false).equals(false) &&
                 List.of(ResourceType.PREPRINT, ResourceType.SUPPLEMENT)
                     .contains(documentFile.getResourceType())) || isOpenAccess) {
-                return serveFile(filename, documentFile, file, inline);
+                return serveFile(request, filename, documentFile, fileMetadata, inline);
             }
 
             if (authenticatedUser) {
@@ -117,7 +118,7 @@ public class FileController {
                 if (Stream.of(UserRole.ADMIN, UserRole.INSTITUTIONAL_LIBRARIAN,
                         UserRole.HEAD_OF_LIBRARY).map(Enum::name).toList()
                     .contains(userAuthority)) {
-                    return serveFile(filename, documentFile, file, inline);
+                    return serveFile(request, filename, documentFile, fileMetadata, inline);
                 }
 
                 return handleUnauthorisedUser(request);
@@ -198,23 +199,61 @@ public class FileController {
             }
         }
 
-        return serveFile(filename, documentFile, file, inline);
+        return serveFile(request, filename, documentFile, fileMetadata, inline);
     }
 
-    private ResponseEntity<StreamingResponseBody> serveFile(String filename,
+    private ResponseEntity<StreamingResponseBody> serveFile(HttpServletRequest request,
+                                                            String filename,
                                                             DocumentFile documentFile,
-                                                            GetObjectResponse file,
-                                                            boolean inline) {
-        recordDownloadIfApplicable(filename, documentFile.getResourceType());
+                                                            StatObjectResponse fileMetadata,
+                                                            boolean inline) throws IOException {
+        var etag = ConditionalRequestUtil.toStrongETag(fileMetadata.etag());
+        var lastModified = fileMetadata.lastModified().toInstant().toEpochMilli();
+
+        if (ConditionalRequestUtil.isNotModified(request, etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+        }
 
-        var headers = getFileHeaders(file, inline, null);
+        ConditionalRequestUtil.ByteRange byteRange;
+        try {
+            byteRange = ConditionalRequestUtil.resolveByteRange(request, etag, lastModified,
+                fileMetadata.size());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + fileMetadata.size())
+                .build();
+        }
+
+        // Seeking or resuming must not count as another download
+        if (Objects.isNull(byteRange) || byteRange.start() == 0) {
+            recordDownloadIfApplicable(filename, documentFile.getResourceType());
+        }
+
+        var headers = getFileHeaders(fileMetadata, inline, null);
         FairSignpostingL1Utility.addHeadersForDocumentFileItems(headers, documentFile);
+        headers.setETag(etag);
+        headers.setLastModified(lastModified);
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (Objects.isNull(byteRange)) {
+            return ResponseEntity.ok()
+                .headers(headers)
+                .body(StreamingUtil.createStreamingBodyFromS3Response(
+                    fileService.loadAsResource(filename)));
+        }
 
-        var body = StreamingUtil.createStreamingBodyFromS3Response(file);
+        headers.setContentLength(byteRange.length());
+        headers.set(HttpHeaders.CONTENT_RANGE, byteRange.toContentRange());
 
-        return ResponseEntity.ok()
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
             .headers(headers)
-            .body(body);
+            .body(StreamingUtil.createStreamingBodyFromS3Response(
+                fileService.loadAsResource(filename, byteRange.start(), byteRange.length())));
     }
 
     private ResponseEntity<StreamingResponseBody> handleUnauthorisedUser(
@@ -244,7 +283,8 @@ public class FileController {
 
     @GetMapping("/image/{personId}")
     @ResponseBody
-    public ResponseEntity<Object> serveImageFile(@PathVariable Integer personId,
+    public ResponseEntity<Object> serveImageFile(HttpServletRequest request,
+                                                 @PathVariable Integer personId,
                                                  @RequestParam Boolean fullSize)
         throws IOException {
         var person = personService.findOne(personId);
@@ -255,22 +295,12 @@ public class FileController {
         }
 
         var filename = person.getProfilePhoto().getImageServerName();
-        var file = fileService.loadAsResource(filename);
-
-        var outputStream = new ByteArrayOutputStream();
-        Thumbnails.of(file)
-            .size(person.getProfilePhoto().getWidth(), person.getProfilePhoto().getHeight())
-            .sourceRegion(person.getProfilePhoto().getLeftOffset(),
-                person.getProfilePhoto().getTopOffset(), person.getProfilePhoto().getWidth(),
-                person.getProfilePhoto().getHeight()).toOutputStream(outputStream);
+        if (fullSize) {
+            return serveOriginalImage(filename);
+        }
 
-        return ResponseEntity.ok()
-            .header(HttpHeaders.CONTENT_DISPOSITION,
-                StringUtil.contentDisposition(file.headers().get("Content-Disposition")))
-            .header(HttpHeaders.CONTENT_TYPE, Files.probeContentType(Path.of(filename)))
-            .header(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION)
-            .body(fullSize ? new InputStreamResource(fileService.loadAsResource(filename)) :
-                new ByteArrayResource(outputStream.toByteArray()));
+        return serveImageDerivative(request,
+            imageDerivativeService.getProfilePhotoDerivative(person.getProfilePhoto()), filename);
     }
 
     @GetMapping("/raw-image/{personId}")
@@ -304,7 +334,8 @@ public class FileController {
 
     @GetMapping("/logo/{organisationUnitId}")
     @ResponseBody
-    public ResponseEntity<Object> serveLogoFile(@PathVariable Integer organisationUnitId,
+    public ResponseEntity<Object> serveLogoFile(HttpServletRequest request,
+                                                @PathVariable Integer organisationUnitId,
                                                 @RequestParam Boolean fullSize)
         throws IOException {
         var organisationUnit = organisationUnitService.findOne(organisationUnitId);
@@ -315,46 +346,46 @@ public class FileController {
         }
 
         var filename = organisationUnit.getLogo().getImageServerName();
-        var file = fileService.loadAsResource(filename);
-
-        var outputStream = new ByteArrayOutputStream();
-        var croppedResized = Thumbnails.of(file)
-            .size(organisationUnit.getLogo().getWidth(),
-                organisationUnit.getLogo().getHeight())
-            .sourceRegion(organisationUnit.getLogo().getLeftOffset(),
-                organisationUnit.getLogo().getTopOffset(),
-                organisationUnit.getLogo().getWidth(),
-                organisationUnit.getLogo().getHeight()).asBufferedImage();
+        if (fullSize) {
+            return serveOriginalImage(filename);
+        }
 
-        int cropWidth = organisationUnit.getLogo().getWidth();
-        int cropHeight = organisationUnit.getLogo().getHeight();
+        return serveImageDerivative(request,
+            imageDerivativeService.getLogoDerivative(organisationUnit.getLogo()), filename);
+    }
 
-        int canvasSize = Math.max(cropWidth, cropHeight);
-        int x = (canvasSize - cropWidth) / 2;
-        int y = (canvasSize - cropHeight) / 2;
+    private ResponseEntity<Object> serveOriginalImage(String filename) throws IOException {
+        var file = fileService.loadAsResource(filename);
 
-        var canvas = new BufferedImage(canvasSize, canvasSize, BufferedImage.TYPE_INT_RGB);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                StringUtil.contentDisposition(file.headers().get("Content-Disposition")))
+            .header(HttpHeaders.CONTENT_TYPE, Files.probeContentType(Path.of(filename)))
+            .header(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION)
+            .body(new InputStreamResource(file));
+    }
 
-        Graphics2D g2d = canvas.createGraphics();
-        if (Objects.nonNull(organisationUnit.getLogo().getBackgroundHex())) {
-            g2d.setColor(Color.decode(organisationUnit.getLogo().getBackgroundHex()));
-        } else {
-            g2d.setColor(Color.decode("#a8b2bd"));
+    private ResponseEntity<Object> serveImageDerivative(HttpServletRequest request,
+                                                        ImageDerivativeService.ImageDerivative derivative,
+                                                        String filename) throws IOException {
+        // Image URLs do not change with the crop box, clients have to revalidate every time
+        var cacheControl = CacheControl.noCache().cachePublic();
+
+        if (ConditionalRequestUtil.isNotModified(request, derivative.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(derivative.etag())
+                .cacheControl(cacheControl)
+                .build();
         }
 
-        g2d.fillRect(0, 0, canvasSize, canvasSize);
-        g2d.drawImage(croppedResized, x, y, null);
-        g2d.dispose();
-
-        ImageIO.write(canvas, "png", outputStream);
-
         return ResponseEntity.ok()
             .header(HttpHeaders.CONTENT_DISPOSITION,
-                StringUtil.contentDisposition(file.headers().get("Content-Disposition")))
+                StringUtil.contentDisposition(derivative.contentDisposition()))
             .header(HttpHeaders.CONTENT_TYPE, Files.probeContentType(Path.of(filename)))
             .header(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION)
-            .body(fullSize ? new InputStreamResource(fileService.loadAsResource(filename)) :
-                new ByteArrayResource(outputStream.toByteArray()));
+            .eTag(derivative.etag())
+            .cacheControl(cacheControl)
+            .body(new ByteArrayResource(derivative.content()));
     }
 
     private boolean isOpenAccess(DocumentFile documentFile) {
@@ -393,7 +424,7 @@ public class FileController {
         }
     }
 
-    private HttpHeaders getFileHeaders(GetObjectResponse file, Boolean inline, byte[] fileBytes) {
+    private HttpHeaders getFileHeaders(GenericResponse file, Boolean inline, byte[] fileBytes) {
         HttpHeaders headers = new HttpHeaders();
 
         var contentDisposition = file.headers().get("Content-Disposition");
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -17,12 +18,14 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import rs.teslaris.core.annotation.Idempotent;
 import rs.teslaris.core.annotation.Traceable;
+import rs.teslaris.core.dto.commontypes.ReindexQueueStatusDTO;
 import rs.teslaris.core.dto.commontypes.ReindexRequestDTO;
 import rs.teslaris.core.indexmodel.DocumentPublicationType;
 import rs.teslaris.core.indexmodel.EntityType;
 import rs.teslaris.core.model.commontypes.RecurrenceType;
 import rs.teslaris.core.model.commontypes.ScheduledTaskMetadata;
 import rs.teslaris.core.model.commontypes.ScheduledTaskType;
+import rs.teslaris.core.service.interfaces.commontypes.ReindexRequestQueueService;
 import rs.teslaris.core.service.interfaces.commontypes.ReindexService;
 import rs.teslaris.core.service.interfaces.commontypes.TaskManagerService;
 import rs.teslaris.core.util.jwt.JwtUtil;
@@ -35,6 +38,8 @@ public class ReindexController {
 
     private final ReindexService reindexService;
 
+    private final ReindexRequestQueueService reindexRequestQueueService;
+
     private final TaskManagerService taskManagerService;
 
     private final JwtUtil tokenUtil;
@@ -86,4 +91,10 @@ public class ReindexController {
         reindexService.reindexDatabase(reindexRequest.getIndexesToRepopulate(),
             reharvestCitationIndicators, concreteTypeToReindex);
     }
+
+    @GetMapping("/queue-status")
+    @PreAuthorize("hasAuthority('REINDEX_DATABASE')")
+    public ReindexQueueStatusDTO getReindexQueueStatus() {
+        return reindexRequestQueueService.getQueueStatus();
+    }
 }
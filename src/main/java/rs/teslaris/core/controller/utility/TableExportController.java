@@ -2,7 +2,7 @@ package rs.teslaris.core.controller.utility;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import rs.teslaris.core.annotation.Traceable;
 import rs.teslaris.core.dto.commontypes.DocumentExportRequestDTO;
 import rs.teslaris.core.dto.commontypes.ExportFileType;
@@ -21,6 +22,7 @@ import rs.teslaris.core.util.search.StringUtil;
 @RestController
 @RequestMapping("/api/table-export")
 @RequiredArgsConstructor
+@Slf4j
 @Traceable
 public class TableExportController {
 
@@ -32,33 +34,46 @@ public class TableExportController {
     }
 
     @PostMapping("/documents")
-    public ResponseEntity<InputStreamResource> downloadDocumentCSVExport(@RequestBody @Valid
-                                                                         DocumentExportRequestDTO request) {
-        var exportDocument = tableExportService.exportDocumentsToFile(request);
-        return serveResponseFile(exportDocument, request.getExportFileType());
+    public ResponseEntity<StreamingResponseBody> downloadDocumentCSVExport(@RequestBody @Valid
+                                                                           DocumentExportRequestDTO request) {
+        return serveResponseFile(
+            outputStream -> tableExportService.exportDocuments(request, outputStream),
+            request.getExportFileType());
     }
 
     @PostMapping("/persons")
-    public ResponseEntity<InputStreamResource> downloadPersonCSVExport(
+    public ResponseEntity<StreamingResponseBody> downloadPersonCSVExport(
         @RequestBody @Valid TableExportRequestDTO request) {
-        var exportDocument = tableExportService.exportPersonsToCSV(request);
-        return serveResponseFile(exportDocument, request.getExportFileType());
+        return serveResponseFile(
+            outputStream -> tableExportService.exportPersons(request, outputStream),
+            request.getExportFileType());
     }
 
     @PostMapping("/organisation-units")
-    public ResponseEntity<InputStreamResource> downloadOrganisationUnitCSVExport(
+    public ResponseEntity<StreamingResponseBody> downloadOrganisationUnitCSVExport(
         @RequestBody @Valid TableExportRequestDTO request) {
-        var exportDocument = tableExportService.exportOrganisationUnitsToCSV(request);
-        return serveResponseFile(exportDocument, request.getExportFileType());
+        return serveResponseFile(
+            outputStream -> tableExportService.exportOrganisationUnits(request, outputStream),
+            request.getExportFileType());
     }
 
-    private ResponseEntity<InputStreamResource> serveResponseFile(
-        InputStreamResource exportDocument, ExportFileType exportFileType) {
+    private ResponseEntity<StreamingResponseBody> serveResponseFile(
+        StreamingResponseBody exportDocument, ExportFileType exportFileType) {
         return ResponseEntity.ok()
             .contentType(MediaType.APPLICATION_OCTET_STREAM)
             .header(HttpHeaders.CONTENT_DISPOSITION,
                 StringUtil.contentDisposition(
                     "attachment; filename=export" + exportFileType.getValue()))
-            .body(exportDocument);
+            .body(outputStream -> {
+                try {
+                    exportDocument.writeTo(outputStream);
+                } catch (RuntimeException e) {
+                    // Response is usually committed by now, rethrowing aborts the download
+                    // instead of letting it end as a seemingly complete file
+                    log.error("Table export failed while streaming. Reason: {}",
+                        e.getMessage());
+                    throw e;
+                }
+            });
     }
 }
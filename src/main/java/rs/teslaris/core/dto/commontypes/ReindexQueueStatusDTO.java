@@ -0,0 +1,12 @@
+package rs.teslaris.core.dto.commontypes;
+
+import java.util.Map;
+import rs.teslaris.core.model.commontypes.ReindexRequestType;
+
+public record ReindexQueueStatusDTO(
+    Map<ReindexRequestType, Integer> pendingRequests,
+    long oldestRequestAgeMillis,
+    long processedRequests,
+    long coalescedRequests
+) {
+}
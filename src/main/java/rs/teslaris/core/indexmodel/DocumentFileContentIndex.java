@@ -0,0 +1,30 @@
+package rs.teslaris.core.indexmodel;
+
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(indexName = "document_file_content")
+public class DocumentFileContentIndex {
+
+    @Id
+    private String id; // SHA-256 of the file content
+
+    @Field(type = FieldType.Text, name = "pdf_text", index = false)
+    private String pdfText;
+
+    @Field(type = FieldType.Keyword, name = "content_language", index = false)
+    private String contentLanguage;
+
+    @Field(type = FieldType.Integer, name = "page_count", index = false)
+    private Integer pageCount;
+}
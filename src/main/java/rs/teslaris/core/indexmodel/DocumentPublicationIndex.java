@@ -23,7 +23,7 @@ import rs.teslaris.core.util.functional.Triple;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(indexName = "document_publication")
+@Document(indexName = "#{T(rs.teslaris.core.util.search.IndexRebuildContext).resolve('document_publication')}")
 @Setting(settingPath = "/configuration/index-config.json")
 public class DocumentPublicationIndex implements ExternallyEnrichable {
 
@@ -21,7 +21,7 @@ import rs.teslaris.core.util.functional.Triple;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(indexName = "events")
+@Document(indexName = "#{T(rs.teslaris.core.util.search.IndexRebuildContext).resolve('events')}")
 @Setting(settingPath = "/configuration/index-config.json")
 public class EventIndex {
 
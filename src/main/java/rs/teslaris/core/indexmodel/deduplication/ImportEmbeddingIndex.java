@@ -0,0 +1,27 @@
+package rs.teslaris.core.indexmodel.deduplication;
+
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(indexName = "import_embedding")
+public class ImportEmbeddingIndex {
+
+    public static final int EMBEDDING_DIMENSIONS = 384; // all-MiniLM-L6-v2
+
+    @Id
+    private String id; // same as the document import id
+
+    @Field(type = FieldType.Dense_Vector, dims = EMBEDDING_DIMENSIONS, similarity = "cosine",
+        name = "embedding")
+    private float[] embedding;
+}
@@ -0,0 +1,10 @@
+package rs.teslaris.core.indexrepository;
+
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.stereotype.Repository;
+import rs.teslaris.core.indexmodel.DocumentFileContentIndex;
+
+@Repository
+public interface DocumentFileContentIndexRepository
+    extends ElasticsearchRepository<DocumentFileContentIndex, String> {
+}
@@ -1,6 +1,7 @@
 package rs.teslaris.core.indexrepository.deduplication;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.elasticsearch.annotations.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
@@ -25,4 +26,6 @@ public interface DocumentDeduplicationBlacklistRepository
         "] } } ] } }")
     Optional<DeduplicationBlacklist> findByEntityIdsAndEntityType(Integer leftId, Integer rightId,
                                                                   String entityType);
+
+    Stream<DeduplicationBlacklist> findByEntityType(String entityType);
 }
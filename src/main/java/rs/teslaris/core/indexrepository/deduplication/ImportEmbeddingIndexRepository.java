@@ -0,0 +1,10 @@
+package rs.teslaris.core.indexrepository.deduplication;
+
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.stereotype.Repository;
+import rs.teslaris.core.indexmodel.deduplication.ImportEmbeddingIndex;
+
+@Repository
+public interface ImportEmbeddingIndexRepository
+    extends ElasticsearchRepository<ImportEmbeddingIndex, String> {
+}
@@ -0,0 +1,12 @@
+package rs.teslaris.core.model.commontypes;
+
+/**
+ * Kinds of queued reindex work, declared in drain order. Requests that fan out into other
+ * requests come first, so fanned-out IDs are merged before the costly document work starts.
+ */
+public enum ReindexRequestType {
+    ORGANISATION_UNIT_EMPLOYEES,
+    PERSON_EMPLOYMENT,
+    PERSON_PUBLICATIONS,
+    DOCUMENT_EMPLOYMENT
+}
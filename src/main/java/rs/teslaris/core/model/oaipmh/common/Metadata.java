@@ -2,6 +2,7 @@ package rs.teslaris.core.model.oaipmh.common;
 
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAnyElement;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlElements;
 import jakarta.xml.bind.annotation.XmlRootElement;
@@ -11,6 +12,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.w3c.dom.Element;
 import rs.teslaris.core.model.oaipmh.dspaceinternal.Dim;
 import rs.teslaris.core.model.oaipmh.dublincore.DC;
 import rs.teslaris.core.model.oaipmh.etdms.ETDMSThesis;
@@ -76,4 +78,8 @@ public class Metadata {
         @XmlElement(name = "dc", type = DC.class, namespace = "http://www.openarchives.org/OAI/2.0/oai_dc/")
     })
     private ProductConvertable product;
+
+    // Pre-rendered payload spliced in by the exporter instead of one of the typed fields
+    @XmlAnyElement
+    private Element fragment;
 }
@@ -1,9 +1,8 @@
 package rs.teslaris.core.repository.document;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -20,11 +19,15 @@ public interface BookSeriesRepository extends JpaRepository<BookSeries, Integer>
         nativeQuery = true)
     Optional<BookSeries> findRaw(Integer bookSeriesId);
 
-    @Query(value = "SELECT * FROM book_series bs WHERE " +
+    @Query(value = "SELECT bs.id FROM book_series bs WHERE bs.id > :lastId AND " +
         "(:allTime = TRUE OR bs.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') " +
-        " ORDER BY bs.id",
+        " ORDER BY bs.id LIMIT :limit",
         nativeQuery = true)
-    Page<BookSeries> findAllModified(Pageable pageable, boolean allTime);
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM book_series bs WHERE bs.id IN :ids",
+        nativeQuery = true)
+    List<BookSeries> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Query("""
             SELECT DISTINCT inst.id
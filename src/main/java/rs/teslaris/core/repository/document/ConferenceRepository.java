@@ -1,8 +1,7 @@
 package rs.teslaris.core.repository.document;
 
+import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -11,10 +10,14 @@ import rs.teslaris.core.model.document.Conference;
 @Repository
 public interface ConferenceRepository extends JpaRepository<Conference, Integer> {
 
-    @Query(value = "SELECT * FROM conferences c WHERE " +
+    @Query(value = "SELECT c.id FROM conferences c WHERE c.id > :lastId AND " +
         "(:allTime = TRUE OR c.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') " +
-        " ORDER BY c.id", nativeQuery = true)
-    Page<Conference> findAllModified(Pageable pageable, boolean allTime);
+        " ORDER BY c.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM conferences c WHERE c.id IN :ids",
+        nativeQuery = true)
+    List<Conference> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Query("SELECT c FROM Conference c WHERE c.confId = :confId")
     Optional<Conference> findConferenceByConfId(String confId);
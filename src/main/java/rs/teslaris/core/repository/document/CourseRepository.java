@@ -1,7 +1,6 @@
 package rs.teslaris.core.repository.document;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,8 +9,12 @@ import rs.teslaris.core.model.document.Course;
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Integer> {
 
-    @Query(value = "SELECT * FROM courses c WHERE " +
+    @Query(value = "SELECT c.id FROM courses c WHERE c.id > :lastId AND " +
         "(:allTime = TRUE OR c.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') " +
-        " ORDER BY c.id", nativeQuery = true)
-    Page<Course> findAllModified(Pageable pageable, boolean allTime);
+        " ORDER BY c.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM courses c WHERE c.id IN :ids",
+        nativeQuery = true)
+    List<Course> findAllByIdIncludingDeleted(List<Integer> ids);
 }
@@ -1,7 +1,6 @@
 package rs.teslaris.core.repository.document;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,8 +9,12 @@ import rs.teslaris.core.model.document.Dataset;
 @Repository
 public interface DatasetRepository extends JpaRepository<Dataset, Integer> {
 
-    @Query(value = "SELECT * FROM datasets d WHERE " +
+    @Query(value = "SELECT d.id FROM datasets d WHERE d.id > :lastId AND " +
         "(:allTime = TRUE OR d.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "d.approve_status = 1 ORDER BY d.id", nativeQuery = true)
-    Page<Dataset> findAllModified(Pageable pageable, boolean allTime);
+        "d.approve_status = 1 ORDER BY d.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM datasets d WHERE d.id IN :ids",
+        nativeQuery = true)
+    List<Dataset> findAllByIdIncludingDeleted(List<Integer> ids);
 }
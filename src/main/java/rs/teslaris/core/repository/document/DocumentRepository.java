@@ -198,4 +198,7 @@ public interface DocumentRepository extends JpaRepository<Document, Integer> {
         "JOIN cont.person p " +
         "WHERE doc.id = :documentId AND p IS NOT NULL")
     List<Integer> findPersonIdsByDocumentId(Integer documentId);
+
+    @Query("SELECT d.id, d.mergedIds FROM Document d WHERE d.mergedIds IS NOT NULL")
+    List<Object[]> findAllIdsWithMergedIds();
 }
@@ -1,5 +1,6 @@
 package rs.teslaris.core.repository.document;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -67,4 +68,7 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
     Set<Integer> findEmploymentInstitutionIdsByEventIdAndAuthorContribution(
         Integer eventId
     );
+
+    @Query("SELECT e.id, e.mergedIds FROM Event e WHERE e.mergedIds IS NOT NULL")
+    List<Object[]> findAllIdsWithMergedIds();
 }
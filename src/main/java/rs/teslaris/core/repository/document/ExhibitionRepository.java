@@ -1,8 +1,7 @@
 package rs.teslaris.core.repository.document;
 
+import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -18,8 +17,12 @@ public interface ExhibitionRepository extends JpaRepository<Exhibition, Integer>
     @Query(value = "SELECT * FROM exhibitions e WHERE e.id = :exhibitionId", nativeQuery = true)
     Optional<Exhibition> findRaw(Integer exhibitionId);
 
-    @Query(value = "SELECT * FROM exhibitions e WHERE " +
+    @Query(value = "SELECT e.id FROM exhibitions e WHERE e.id > :lastId AND " +
         "(:allTime = TRUE OR e.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') " +
-        " ORDER BY e.id", nativeQuery = true)
-    Page<Exhibition> findAllModified(Pageable pageable, boolean allTime);
+        " ORDER BY e.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM exhibitions e WHERE e.id IN :ids",
+        nativeQuery = true)
+    List<Exhibition> findAllByIdIncludingDeleted(List<Integer> ids);
 }
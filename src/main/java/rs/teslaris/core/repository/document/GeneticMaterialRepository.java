@@ -1,7 +1,6 @@
 package rs.teslaris.core.repository.document;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,8 +9,12 @@ import rs.teslaris.core.model.document.GeneticMaterial;
 @Repository
 public interface GeneticMaterialRepository extends JpaRepository<GeneticMaterial, Integer> {
 
-    @Query(value = "SELECT * FROM genetic_materials s WHERE " +
+    @Query(value = "SELECT s.id FROM genetic_materials s WHERE s.id > :lastId AND " +
         "(:allTime = TRUE OR s.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "s.approve_status = 1 ORDER BY s.id", nativeQuery = true)
-    Page<GeneticMaterial> findAllModified(Pageable pageable, boolean allTime);
+        "s.approve_status = 1 ORDER BY s.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM genetic_materials s WHERE s.id IN :ids",
+        nativeQuery = true)
+    List<GeneticMaterial> findAllByIdIncludingDeleted(List<Integer> ids);
 }
@@ -1,7 +1,6 @@
 package rs.teslaris.core.repository.document;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,8 +9,12 @@ import rs.teslaris.core.model.document.JournalPublication;
 @Repository
 public interface JournalPublicationRepository extends JpaRepository<JournalPublication, Integer> {
 
-    @Query(value = "SELECT * FROM journal_publications jp WHERE " +
+    @Query(value = "SELECT jp.id FROM journal_publications jp WHERE jp.id > :lastId AND " +
         "(:allTime = TRUE OR jp.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "jp.approve_status = 1 ORDER BY jp.id", nativeQuery = true)
-    Page<JournalPublication> findAllModified(Pageable pageable, boolean allTime);
+        "jp.approve_status = 1 ORDER BY jp.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM journal_publications jp WHERE jp.id IN :ids",
+        nativeQuery = true)
+    List<JournalPublication> findAllByIdIncludingDeleted(List<Integer> ids);
 }
@@ -1,9 +1,8 @@
 package rs.teslaris.core.repository.document;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -25,11 +24,15 @@ public interface JournalRepository extends JpaRepository<Journal, Integer> {
         "old_ids @> to_jsonb(array[cast(?1 as int)]) AND deleted = FALSE", nativeQuery = true)
     Optional<Journal> findByOldIdsContains(Integer oldId);
 
-    @Query(value = "SELECT * FROM journals j WHERE " +
+    @Query(value = "SELECT j.id FROM journals j WHERE j.id > :lastId AND " +
         "(:allTime = TRUE OR j.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') " +
-        " ORDER BY j.id",
+        " ORDER BY j.id LIMIT :limit",
         nativeQuery = true)
-    Page<Journal> findAllModified(Pageable pageable, boolean allTime);
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM journals j WHERE j.id IN :ids",
+        nativeQuery = true)
+    List<Journal> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Query("SELECT DISTINCT inst.id " +
         "FROM JournalPublication jp " +
@@ -1,8 +1,7 @@
 package rs.teslaris.core.repository.document;
 
+import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,10 +12,14 @@ import rs.teslaris.core.model.document.MonographPublication;
 public interface MonographPublicationRepository
     extends JpaRepository<MonographPublication, Integer> {
 
-    @Query(value = "SELECT * FROM monograph_publications m WHERE " +
+    @Query(value = "SELECT m.id FROM monograph_publications m WHERE m.id > :lastId AND " +
         "(:allTime = TRUE OR m.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "m.approve_status = 1 ORDER BY m.id", nativeQuery = true)
-    Page<MonographPublication> findAllModified(Pageable pageable, boolean allTime);
+        "m.approve_status = 1 ORDER BY m.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM monograph_publications m WHERE m.id IN :ids",
+        nativeQuery = true)
+    List<MonographPublication> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Modifying
     @Query("UPDATE MonographPublication mp SET mp.documentDate = :date " +
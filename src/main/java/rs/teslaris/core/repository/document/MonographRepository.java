@@ -2,8 +2,6 @@ package rs.teslaris.core.repository.document;
 
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -21,10 +19,14 @@ public interface MonographRepository extends JpaRepository<Monograph, Integer> {
         "FROM Monograph m WHERE (m.printISBN = :printISBN OR m.eISBN = :printISBN) AND (:id IS NULL OR m.id <> :id)")
     boolean existsByPrintISBN(String printISBN, Integer id);
 
-    @Query(value = "SELECT * FROM monographs m WHERE " +
+    @Query(value = "SELECT m.id FROM monographs m WHERE m.id > :lastId AND " +
         "(:allTime = TRUE OR m.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "m.approve_status = 1 ORDER BY m.id", nativeQuery = true)
-    Page<Monograph> findAllModified(Pageable pageable, boolean allTime);
+        "m.approve_status = 1 ORDER BY m.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM monographs m WHERE m.id IN :ids",
+        nativeQuery = true)
+    List<Monograph> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Query("SELECT COUNT(p) > 0 FROM MonographPublication p " +
         "JOIN p.monograph m " +
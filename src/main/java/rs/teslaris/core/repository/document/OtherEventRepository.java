@@ -1,7 +1,6 @@
 package rs.teslaris.core.repository.document;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,8 +9,12 @@ import rs.teslaris.core.model.document.OtherEvent;
 @Repository
 public interface OtherEventRepository extends JpaRepository<OtherEvent, Integer> {
 
-    @Query(value = "SELECT * FROM other_events oe WHERE " +
+    @Query(value = "SELECT oe.id FROM other_events oe WHERE oe.id > :lastId AND " +
         "(:allTime = TRUE OR oe.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') " +
-        " ORDER BY oe.id", nativeQuery = true)
-    Page<OtherEvent> findAllModified(Pageable pageable, boolean allTime);
+        " ORDER BY oe.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM other_events oe WHERE oe.id IN :ids",
+        nativeQuery = true)
+    List<OtherEvent> findAllByIdIncludingDeleted(List<Integer> ids);
 }
@@ -1,8 +1,6 @@
 package rs.teslaris.core.repository.document;
 
 import java.util.List;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -20,10 +18,14 @@ public interface ProceedingsPublicationRepository
     List<ProceedingsPublication> findProceedingsPublicationsForEventId(Integer eventId,
                                                                        Integer authorId);
 
-    @Query(value = "SELECT * FROM proceedings_publications pp WHERE " +
+    @Query(value = "SELECT pp.id FROM proceedings_publications pp WHERE pp.id > :lastId AND " +
         "(:allTime = TRUE OR pp.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "pp.approve_status = 1 ORDER BY pp.id", nativeQuery = true)
-    Page<ProceedingsPublication> findAllModified(Pageable pageable, boolean allTime);
+        "pp.approve_status = 1 ORDER BY pp.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM proceedings_publications pp WHERE pp.id IN :ids",
+        nativeQuery = true)
+    List<ProceedingsPublication> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Modifying
     @Query("UPDATE ProceedingsPublication pp SET pp.documentDate = :date " +
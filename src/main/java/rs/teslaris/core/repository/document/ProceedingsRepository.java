@@ -2,8 +2,6 @@ package rs.teslaris.core.repository.document;
 
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -29,10 +27,14 @@ public interface ProceedingsRepository extends JpaRepository<Proceedings, Intege
         "FROM Proceedings p WHERE (p.printISBN = :printISBN OR p.eISBN = :printISBN) AND (:id IS NULL OR p.id <> :id)")
     boolean existsByPrintISBN(String printISBN, Integer id);
 
-    @Query(value = "SELECT * FROM proceedings p WHERE " +
+    @Query(value = "SELECT p.id FROM proceedings p WHERE p.id > :lastId AND " +
         "(:allTime = TRUE OR p.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "p.approve_status = 1 ORDER BY p.id", nativeQuery = true)
-    Page<Proceedings> findAllModified(Pageable pageable, boolean allTime);
+        "p.approve_status = 1 ORDER BY p.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM proceedings p WHERE p.id IN :ids",
+        nativeQuery = true)
+    List<Proceedings> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Modifying
     @Query("UPDATE ProceedingsPublication pp SET pp.deleted = true " +
@@ -43,4 +43,7 @@ public interface PublicationSeriesRepository extends JpaRepository<PublicationSe
             (:eISSN != '' AND ps.printISSN = :eISSN)
         """)
     List<PublicationSeries> findPublicationSeriesByeISSNOrPrintISSN(String eISSN, String printISSN);
+
+    @Query("SELECT ps.id, ps.mergedIds FROM PublicationSeries ps WHERE ps.mergedIds IS NOT NULL")
+    List<Object[]> findAllIdsWithMergedIds();
 }
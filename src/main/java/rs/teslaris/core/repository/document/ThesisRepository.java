@@ -3,7 +3,6 @@ package rs.teslaris.core.repository.document;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -23,11 +22,15 @@ public interface ThesisRepository extends JpaRepository<Thesis, Integer> {
         "FROM Thesis t WHERE (t.printISBN = :printISBN OR t.eISBN = :printISBN) AND (:id IS NULL OR t.id <> :id)")
     boolean existsByPrintISBN(String printISBN, Integer id);
 
-    @Query(value = "SELECT * FROM theses t WHERE " +
+    @Query(value = "SELECT t.id FROM theses t WHERE t.id > :lastId AND " +
         "t.is_on_public_review = FALSE AND t.is_on_public_review_pause = FALSE AND " +
         "(:allTime = TRUE OR t.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "t.approve_status = 1 ORDER BY t.id", nativeQuery = true)
-    Page<Thesis> findAllModified(Pageable pageable, boolean allTime);
+        "t.approve_status = 1 ORDER BY t.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM theses t WHERE t.id IN :ids",
+        nativeQuery = true)
+    List<Thesis> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Query("SELECT t FROM Thesis t WHERE t.isOnPublicReview = TRUE")
     List<Thesis> findAllOnPublicReview();
@@ -83,11 +83,15 @@ public interface OrganisationUnitRepository extends JpaRepository<OrganisationUn
         "FROM OrganisationUnit ou WHERE ou.taxNumber = :taxNumber AND (:id IS NULL OR ou.id <> :id)")
     boolean existsByTaxNumber(String taxNumber, Integer id);
 
-    @Query(value = "SELECT * FROM organisation_units ou WHERE " +
+    @Query(value = "SELECT ou.id FROM organisation_units ou WHERE ou.id > :lastId AND " +
         "(:allTime = TRUE OR ou.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "ou.approve_status = 1 ORDER BY ou.id",
+        "ou.approve_status = 1 ORDER BY ou.id LIMIT :limit",
         nativeQuery = true)
-    Page<OrganisationUnit> findAllModified(Pageable pageable, boolean allTime);
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM organisation_units ou WHERE ou.id IN :ids",
+        nativeQuery = true)
+    List<OrganisationUnit> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Query("SELECT t FROM Thesis t WHERE t.organisationUnit.id = :organisationUnitId")
     Page<Thesis> fetchAllThesesForOU(Integer organisationUnitId, Pageable pageable);
@@ -118,4 +122,7 @@ public interface OrganisationUnitRepository extends JpaRepository<OrganisationUn
     @Query(value = "SELECT * FROM organisation_units ou WHERE ou.id = :organisationUnitId",
         nativeQuery = true)
     Optional<OrganisationUnit> findRaw(Integer organisationUnitId);
+
+    @Query("SELECT ou.id, ou.mergedIds FROM OrganisationUnit ou WHERE ou.mergedIds IS NOT NULL")
+    List<Object[]> findAllIdsWithMergedIds();
 }
@@ -32,41 +32,15 @@ public interface OrganisationUnitsRelationRepository
         " AND our.approveStatus = 1 AND our.relationType = 1")
     List<OrganisationUnitsRelation> getSuperOUsMemberOf(Integer sourceId);
 
-    @Query(value = """
-        WITH RECURSIVE hierarchy AS (
-            SELECT our.source_organisation_unit_id, our.target_organisation_unit_id
-            FROM organisation_units_relations our
-            WHERE our.source_organisation_unit_id = :sourceId
-              AND our.approve_status = 1
-              AND our.relation_type = 0
-              AND our.deleted = false
-            UNION ALL
-            SELECT our.source_organisation_unit_id, our.target_organisation_unit_id
-            FROM organisation_units_relations our
-            INNER JOIN hierarchy h ON our.source_organisation_unit_id = h.target_organisation_unit_id
-            WHERE our.approve_status = 1 AND our.relation_type = 0 AND our.deleted = false
-        )
-        SELECT target_organisation_unit_id FROM hierarchy
-        """, nativeQuery = true)
-    List<Integer> getSuperOUsRecursive(Integer sourceId);
+    @Query("SELECT our.sourceOrganisationUnit.id, our.targetOrganisationUnit.id" +
+        " FROM OrganisationUnitsRelation our" +
+        " WHERE our.approveStatus = 1 AND our.relationType = 0")
+    List<Object[]> getAllSuperOURelationPairs();
 
-    @Query(value = """
-        WITH RECURSIVE hierarchy AS (
-            SELECT our.target_organisation_unit_id, our.source_organisation_unit_id
-            FROM organisation_units_relations our
-            WHERE our.target_organisation_unit_id = :sourceId
-              AND our.approve_status = 1
-              AND our.relation_type = 0
-              AND our.deleted = false
-            UNION ALL
-            SELECT our.target_organisation_unit_id, our.source_organisation_unit_id
-            FROM organisation_units_relations our
-            INNER JOIN hierarchy h ON our.target_organisation_unit_id = h.source_organisation_unit_id
-            WHERE our.approve_status = 1 AND our.relation_type = 0 AND our.deleted = false
-        )
-        SELECT source_organisation_unit_id FROM hierarchy
-        """, nativeQuery = true)
-    List<Integer> getSubOUsRecursive(Integer sourceId);
+    @Query("SELECT our.targetOrganisationUnit.id FROM OrganisationUnitsRelation our" +
+        " WHERE our.sourceOrganisationUnit.id = :sourceId" +
+        " AND our.approveStatus = 1 AND our.relationType = 0")
+    List<Integer> getSuperOUIds(Integer sourceId);
 
     @Query(value = """
         WITH RECURSIVE hierarchy AS (
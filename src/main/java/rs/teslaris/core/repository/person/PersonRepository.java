@@ -112,10 +112,14 @@ public interface PersonRepository extends JpaRepository<Person, Integer> {
         "(:id IS NULL OR p.id <> :id)")
     boolean existsByWebOfScienceId(String webOfScienceResearcherId, Integer id);
 
-    @Query(value = "SELECT * FROM persons p WHERE " +
+    @Query(value = "SELECT p.id FROM persons p WHERE p.id > :lastId AND " +
         "(:allTime = TRUE OR p.last_modification >= CURRENT_TIMESTAMP - INTERVAL '1 DAY') AND " +
-        "p.approve_status = 1 ORDER BY p.id", nativeQuery = true)
-    Page<Person> findAllModified(Pageable pageable, boolean allTime);
+        "p.approve_status = 1 ORDER BY p.id LIMIT :limit", nativeQuery = true)
+    List<Integer> findAllModifiedIds(Integer lastId, boolean allTime, int limit);
+
+    @Query(value = "SELECT * FROM persons p WHERE p.id IN :ids",
+        nativeQuery = true)
+    List<Person> findAllByIdIncludingDeleted(List<Integer> ids);
 
     @Query("SELECT i.organisationUnit.id FROM Involvement i WHERE " +
         "i.personInvolved.id = :personId AND " +
@@ -153,4 +157,7 @@ public interface PersonRepository extends JpaRepository<Person, Integer> {
         WHERE p.id = :personId
         """)
     Optional<Person> findOneWithInvolvementsAndPrizes(Integer personId);
+
+    @Query("SELECT p.id, p.mergedIds FROM Person p WHERE p.mergedIds IS NOT NULL")
+    List<Object[]> findAllIdsWithMergedIds();
 }
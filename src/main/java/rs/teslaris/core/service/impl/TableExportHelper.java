@@ -2,21 +2,33 @@ package rs.teslaris.core.service.impl;
 
 import com.opencsv.CSVWriter;
 import jakarta.annotation.Nullable;
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.data.elasticsearch.annotations.Field;
@@ -28,9 +40,11 @@ import rs.teslaris.core.dto.commontypes.ExportFileType;
 import rs.teslaris.core.dto.commontypes.TableExportRequestDTO;
 import rs.teslaris.core.dto.document.CitationResponseDTO;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+import rs.teslaris.core.model.commontypes.BaseEntity;
+import rs.teslaris.core.repository.document.EventRepository;
+import rs.teslaris.core.repository.document.PublicationSeriesRepository;
 import rs.teslaris.core.service.interfaces.document.CitationService;
-import rs.teslaris.core.service.interfaces.document.EventService;
-import rs.teslaris.core.service.interfaces.document.PublicationSeriesService;
+import rs.teslaris.core.util.exceptionhandling.exception.StorageException;
 import rs.teslaris.core.util.search.SearchFieldsLoader;
 
 @Component
@@ -46,156 +60,159 @@ public class TableExportHelper {
             CitationResponseDTO::getHarvard, "Harvard",
             CitationResponseDTO::getVancouver, "Vancouver"
         );
+
+    private static final int XLSX_ROW_ACCESS_WINDOW = 100;
+
+    private static final Map<Class<?>, Map<String, Function<Object, Object>>> FIELD_ACCESSORS =
+        new ConcurrentHashMap<>();
+
     private static SearchFieldsLoader searchFieldsLoader;
-    private static PublicationSeriesService publicationSeriesService;
-    private static EventService eventService;
+
+    private static PublicationSeriesRepository publicationSeriesRepository;
+
+    private static EventRepository eventRepository;
 
 
     @Autowired
     public TableExportHelper(SearchFieldsLoader searchFieldsLoader,
-                             PublicationSeriesService publicationSeriesService,
-                             EventService eventService) {
+                             PublicationSeriesRepository publicationSeriesRepository,
+                             EventRepository eventRepository) {
         TableExportHelper.searchFieldsLoader = searchFieldsLoader;
-        TableExportHelper.publicationSeriesService = publicationSeriesService;
-        TableExportHelper.eventService = eventService;
+        TableExportHelper.publicationSeriesRepository = publicationSeriesRepository;
+        TableExportHelper.eventRepository = eventRepository;
     }
 
-    public static InputStreamResource createExportFile(List<List<String>> rowsData,
-                                                       ExportFileType exportFileType) {
+    public static InputStreamResource exportToResource(Consumer<OutputStream> export) {
+        var outputStream = new ByteArrayOutputStream();
+        export.accept(outputStream);
+        return new InputStreamResource(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    public static TableRowWriter openTableWriter(OutputStream outputStream,
+                                                 ExportFileType exportFileType) {
         return switch (exportFileType) {
-            case CSV -> createCSVInputStream(rowsData);
-            case XLSX -> createXLSXInputStream(rowsData);
+            case CSV -> new CsvRowWriter(outputStream);
+            case XLSX -> new XlsxRowWriter(outputStream);
             default -> throw new IllegalStateException(
                 "Unexpected value: " + exportFileType); // should never happen
         };
     }
 
-    public static InputStreamResource createExportFile(ArrayList<String> exportedEntities,
-                                                       ExportFileType exportFileType) {
+    public static void writeBibliographicRecords(Iterable<String> exportedEntities,
+                                                 ExportFileType exportFileType,
+                                                 OutputStream outputStream) {
         if (List.of(ExportFileType.CSV, ExportFileType.XLSX).contains(exportFileType)) {
             throw new IllegalStateException("Unexpected value: " + exportFileType);
         }
 
-        var outputStream = new ByteArrayOutputStream();
-        try (var writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+        // Not closed, the output stream belongs to the caller
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream,
+            StandardCharsets.UTF_8));
+        try {
             for (var record : exportedEntities) {
                 writer.write(record);
                 writer.write("\n");
             }
+            writer.flush();
         } catch (IOException e) {
-            throw new RuntimeException(e); // should never happen
+            throw new StorageException("Failed to write export file.");
         }
-
-        return new InputStreamResource(new ByteArrayInputStream(outputStream.toByteArray()));
     }
 
     @Nullable
     public static Object getFieldValueByElasticsearchName(Object obj, String indexFieldName) {
-        Class<?> clazz = obj.getClass();
+        var accessor = FIELD_ACCESSORS.computeIfAbsent(obj.getClass(),
+            TableExportHelper::compileFieldAccessors).get(indexFieldName);
+
+        if (Objects.isNull(accessor)) {
+            log.warn("No field found for field name: {}", indexFieldName);
+            return null;
+        }
+
+        return accessor.apply(obj);
+    }
+
+    private static Map<String, Function<Object, Object>> compileFieldAccessors(Class<?> clazz) {
+        var accessors = new HashMap<String, Function<Object, Object>>();
 
         for (var field : clazz.getDeclaredFields()) {
             var fieldAnnotation = field.getAnnotation(Field.class);
-            if (fieldAnnotation != null && fieldAnnotation.name().equals(indexFieldName)) {
-                String javaFieldName = field.getName(); // Get the Java field name
-
-                String getterName = "get" + Character.toUpperCase(javaFieldName.charAt(0)) +
-                    javaFieldName.substring(1);
-
-                Method getterMethod;
-                try {
-                    getterMethod = clazz.getMethod(getterName);
-                    return getterMethod.invoke(obj);
-                } catch (NoSuchMethodException | InvocationTargetException |
-                         IllegalAccessException e) {
+            if (Objects.isNull(fieldAnnotation) ||
+                accessors.containsKey(fieldAnnotation.name())) {
+                continue;
+            }
+
+            var getterName = "get" + Character.toUpperCase(field.getName().charAt(0)) +
+                field.getName().substring(1);
+            try {
+                accessors.put(fieldAnnotation.name(), compileGetter(clazz.getMethod(getterName)));
+            } catch (NoSuchMethodException e) {
+                accessors.put(fieldAnnotation.name(), entity -> {
                     throw new RuntimeException(e);
-                }
+                });
             }
         }
-        log.warn("No field found for field name: {}", indexFieldName);
-        return null;
-    }
 
-    private static String applyRule(String value, String fieldName, String configFileName,
-                                    String language) {
-        var fieldConfiguration =
-            searchFieldsLoader.getConfiguration(configFileName).fields().stream()
-                .filter(field -> field.fieldName().equalsIgnoreCase(fieldName)).findFirst();
+        return accessors;
+    }
 
-        if (fieldConfiguration.isEmpty() || value.isEmpty()) {
-            return "";
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compileGetter(Method getter) {
+        MethodHandle getterHandle;
+        try {
+            var lookup = MethodHandles.lookup();
+            getterHandle = lookup.unreflect(getter);
+            return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class), getterHandle,
+                    getterHandle.type().wrap())
+                .getTarget().invoke();
+        } catch (Throwable e) {
+            log.debug("Falling back to reflective access for {}: {}", getter, e.getMessage());
         }
 
-        return switch (Objects.requireNonNullElse(fieldConfiguration.get().rule(), "NONE")) {
-            case "POSITIVE" -> Integer.parseInt(value) > 0 ? value : "";
-            case "POSITIVE_OR_ZERO" -> Integer.parseInt(value) >= 0 ? value : "";
-            case "NEGATIVE" -> Integer.parseInt(value) < 0 ? value : "";
-            case "INLINE" -> value.replace("\n", "; ");
-            case "JOURNAL" -> {
-                var journal = publicationSeriesService.findOne(Integer.parseInt(value));
-                yield MultilingualContentConverter.getLocalizedContent(journal.getTitle(), language,
-                    null) + journal.getIssnString();
+        return entity -> {
+            try {
+                return getter.invoke(entity);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException(e);
             }
-            case "EVENT" -> MultilingualContentConverter.getLocalizedContent(
-                eventService.findOne(Integer.parseInt(value)).getName(), language, null);
-            default -> value.replace("\n", "");
         };
     }
 
-    public static List<String> constructRowData(Object entity, List<String> columnNames,
-                                                String configFileName, String language) {
-        var rowData = new ArrayList<String>();
-
-        columnNames.forEach(columnName -> {
-            var value = getFieldValueByElasticsearchName(entity, columnName);
-            rowData.add(applyRule(Objects.requireNonNullElse(value, "").toString(), columnName,
-                configFileName, language));
-        });
-
-        return rowData;
+    /**
+     * Resolves search field rules once per export. JOURNAL and EVENT columns are looked up for
+     * a whole page of entities at a time instead of once per row.
+     */
+    public static TableRowMapper createRowMapper(List<String> columnNames,
+                                                 String configFileName, String language) {
+        var fieldRules = new HashMap<String, String>();
+        searchFieldsLoader.getConfiguration(configFileName).fields().forEach(field ->
+            fieldRules.putIfAbsent(field.fieldName().toLowerCase(),
+                Objects.requireNonNullElse(field.rule(), "NONE")));
+
+        var columnRules = columnNames.stream()
+            .map(columnName -> fieldRules.get(columnName.toLowerCase()))
+            .toList();
+
+        return new TableRowMapper(columnNames, columnRules, language);
     }
 
-    private static InputStreamResource createCSVInputStream(List<List<String>> rowsData) {
-        try {
-            var byteArrayOutputStream = new ByteArrayOutputStream();
-            var outputStreamWriter = new OutputStreamWriter(byteArrayOutputStream);
-            var csvWriter = new CSVWriter(outputStreamWriter);
-
-            for (List<String> row : rowsData) {
-                csvWriter.writeNext(row.toArray(new String[0]));
-            }
-
-            csvWriter.close();
-            return new InputStreamResource(
-                new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
-        } catch (IOException e) {
-            throw new RuntimeException("Error generating CSV file", e);
+    private static String applyRule(String value, @Nullable String rule,
+                                    Map<String, Map<Integer, String>> references) {
+        if (Objects.isNull(rule) || value.isEmpty()) {
+            return "";
         }
-    }
-
-    private static InputStreamResource createXLSXInputStream(List<List<String>> rowsData) {
-        try (var workbook = new XSSFWorkbook();
-             var byteArrayOutputStream = new ByteArrayOutputStream()) {
-
-            var sheet = workbook.createSheet("Export Data");
-
-            for (int rowIndex = 0; rowIndex < rowsData.size(); rowIndex++) {
-                var row = sheet.createRow(rowIndex);
-                List<String> rowData = rowsData.get(rowIndex);
 
-                for (int colIndex = 0; colIndex < rowData.size(); colIndex++) {
-                    var cell = row.createCell(colIndex);
-                    cell.setCellValue(rowData.get(colIndex));
-                }
-            }
-
-            workbook.write(byteArrayOutputStream);
-
-            return new InputStreamResource(
-                new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
-
-        } catch (IOException e) {
-            throw new RuntimeException("Error generating XLSX file", e);
-        }
+        return switch (rule) {
+            case "POSITIVE" -> Integer.parseInt(value) > 0 ? value : "";
+            case "POSITIVE_OR_ZERO" -> Integer.parseInt(value) >= 0 ? value : "";
+            case "NEGATIVE" -> Integer.parseInt(value) < 0 ? value : "";
+            case "INLINE" -> value.replace("\n", "; ");
+            case "JOURNAL", "EVENT" ->
+                references.get(rule).getOrDefault(Integer.parseInt(value), "");
+            default -> value.replace("\n", "");
+        };
     }
 
     public static List<String> getTableHeaders(TableExportRequestDTO request,
@@ -250,4 +267,154 @@ public class TableExportHelper {
             default -> false;
         };
     }
+
+    public interface TableRowWriter extends AutoCloseable {
+
+        void writeRow(List<String> row) throws IOException;
+
+        /**
+         * Completes the exported document, left out when the export fails so that a partial
+         * table is not passed off as a complete one.
+         */
+        void finish() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    public static class TableRowMapper {
+
+        private final List<String> columnNames;
+
+        private final List<String> columnRules;
+
+        private final String language;
+
+
+        private TableRowMapper(List<String> columnNames, List<String> columnRules,
+                               String language) {
+            this.columnNames = columnNames;
+            this.columnRules = columnRules;
+            this.language = language;
+        }
+
+        public List<List<String>> mapRows(List<?> entities) {
+            var references = new HashMap<String, Map<Integer, String>>();
+            references.put("JOURNAL", resolveReferences(entities, "JOURNAL",
+                publicationSeriesRepository::findAllById,
+                journal -> MultilingualContentConverter.getLocalizedContent(journal.getTitle(),
+                    language, null) + journal.getIssnString()));
+            references.put("EVENT", resolveReferences(entities, "EVENT",
+                eventRepository::findAllById,
+                event -> MultilingualContentConverter.getLocalizedContent(event.getName(),
+                    language, null)));
+
+            var rows = new ArrayList<List<String>>(entities.size());
+            for (var entity : entities) {
+                var rowData = new ArrayList<String>(columnNames.size());
+                for (int i = 0; i < columnNames.size(); i++) {
+                    rowData.add(applyRule(cellValue(entity, columnNames.get(i)),
+                        columnRules.get(i), references));
+                }
+                rows.add(rowData);
+            }
+
+            return rows;
+        }
+
+        private <E extends BaseEntity> Map<Integer, String> resolveReferences(
+            List<?> entities, String rule, Function<Iterable<Integer>, List<E>> finder,
+            Function<E, String> formatter) {
+            var ids = new HashSet<Integer>();
+            for (int i = 0; i < columnNames.size(); i++) {
+                if (!rule.equals(columnRules.get(i))) {
+                    continue;
+                }
+
+                for (var entity : entities) {
+                    var value = cellValue(entity, columnNames.get(i));
+                    if (!value.isEmpty()) {
+                        ids.add(Integer.parseInt(value));
+                    }
+                }
+            }
+
+            if (ids.isEmpty()) {
+                return Collections.emptyMap();
+            }
+
+            return finder.apply(ids).stream()
+                .collect(Collectors.toMap(BaseEntity::getId, formatter));
+        }
+
+        private String cellValue(Object entity, String columnName) {
+            return Objects.requireNonNullElse(
+                getFieldValueByElasticsearchName(entity, columnName), "").toString();
+        }
+    }
+
+    private static class CsvRowWriter implements TableRowWriter {
+
+        private final CSVWriter csvWriter;
+
+
+        private CsvRowWriter(OutputStream outputStream) {
+            this.csvWriter = new CSVWriter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public void writeRow(List<String> row) {
+            csvWriter.writeNext(row.toArray(new String[0]));
+        }
+
+        @Override
+        public void finish() throws IOException {
+            csvWriter.flush();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release, the output stream belongs to the caller
+        }
+    }
+
+    /**
+     * Keeps only the last {@link #XLSX_ROW_ACCESS_WINDOW} rows in memory, older rows are
+     * flushed to a temporary sheet file until the workbook is written out.
+     */
+    private static class XlsxRowWriter implements TableRowWriter {
+
+        private final OutputStream outputStream;
+
+        private final SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_ACCESS_WINDOW);
+
+        private final Sheet sheet = workbook.createSheet("Export Data");
+
+        private int rowIndex;
+
+
+        private XlsxRowWriter(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void writeRow(List<String> rowData) {
+            var row = sheet.createRow(rowIndex++);
+            for (int colIndex = 0; colIndex < rowData.size(); colIndex++) {
+                row.createCell(colIndex).setCellValue(rowData.get(colIndex));
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            workbook.write(outputStream);
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Also deletes the temporary sheet files
+            workbook.close();
+        }
+    }
 }
@@ -0,0 +1,148 @@
+package rs.teslaris.core.service.impl.commontypes;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.service.interfaces.commontypes.IndexRebuildService;
+import rs.teslaris.core.util.search.IndexRebuildContext;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IndexRebuildServiceImpl implements IndexRebuildService {
+
+    private static final String DEFAULT_REFRESH_INTERVAL = "1s";
+
+    private static final String DEFAULT_NUMBER_OF_REPLICAS = "1";
+
+    private final ElasticsearchClient elasticsearchClient;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+
+    @Override
+    public void rebuildIndex(String aliasName, Class<?> indexClass, Runnable populator,
+                             Runnable catchUpPopulator) {
+        var rebuildStart = new Date();
+        var newIndexName = aliasName + "_v" + rebuildStart.getTime();
+
+        try {
+            var liveIndexNames = findIndexesBehindAlias(aliasName);
+            var liveSettings = readLiveSettings(aliasName);
+
+            createVersionedIndex(newIndexName, indexClass);
+            updateSettings(newIndexName, "-1", "0");
+            log.info("Rebuilding {} into {}.", aliasName, newIndexName);
+
+            IndexRebuildContext.runWithTarget(aliasName, newIndexName, null, populator);
+            if (Objects.nonNull(catchUpPopulator)) {
+                // Catch-up upserts find the documents of the full pass by search
+                elasticsearchClient.indices().refresh(r -> r.index(newIndexName));
+
+                // Picks up entities edited on the live index while the full pass was running
+                IndexRebuildContext.runWithTarget(aliasName, newIndexName, rebuildStart,
+                    catchUpPopulator);
+            }
+
+            updateSettings(newIndexName, liveSettings.refreshInterval, liveSettings.replicas);
+            elasticsearchClient.indices().refresh(r -> r.index(newIndexName));
+
+            swapAlias(aliasName, newIndexName, liveIndexNames);
+            log.info("Alias {} now points to {}.", aliasName, newIndexName);
+        } catch (Exception e) {
+            log.error("Rebuild of {} failed, alias is left unchanged. Reason: ", aliasName, e);
+            deleteQuietly(newIndexName);
+        }
+    }
+
+    private List<String> findIndexesBehindAlias(String aliasName) throws IOException {
+        if (!elasticsearchClient.indices().existsAlias(e -> e.name(aliasName)).value()) {
+            return Collections.emptyList();
+        }
+
+        return new ArrayList<>(
+            elasticsearchClient.indices().getAlias(g -> g.name(aliasName)).result().keySet());
+    }
+
+    private LiveSettings readLiveSettings(String aliasName) throws IOException {
+        if (!elasticsearchClient.indices().exists(e -> e.index(aliasName)).value()) {
+            return new LiveSettings(DEFAULT_REFRESH_INTERVAL, DEFAULT_NUMBER_OF_REPLICAS);
+        }
+
+        var state = elasticsearchClient.indices().getSettings(g -> g.index(aliasName))
+            .result().values().stream().findFirst();
+        if (state.isEmpty() || Objects.isNull(state.get().settings())) {
+            return new LiveSettings(DEFAULT_REFRESH_INTERVAL, DEFAULT_NUMBER_OF_REPLICAS);
+        }
+
+        IndexSettings settings = Objects.nonNull(state.get().settings().index()) ?
+            state.get().settings().index() : state.get().settings();
+
+        var refreshInterval = Objects.nonNull(settings.refreshInterval()) ?
+            settings.refreshInterval().time() : DEFAULT_REFRESH_INTERVAL;
+        var replicas = Objects.nonNull(settings.numberOfReplicas()) ?
+            settings.numberOfReplicas() : DEFAULT_NUMBER_OF_REPLICAS;
+
+        return new LiveSettings(refreshInterval, replicas);
+    }
+
+    private void createVersionedIndex(String newIndexName, Class<?> indexClass) {
+        var templateOperations = elasticsearchOperations.indexOps(indexClass);
+        elasticsearchOperations.indexOps(IndexCoordinates.of(newIndexName)).create(
+            templateOperations.createSettings(indexClass),
+            templateOperations.createMapping(indexClass));
+    }
+
+    private void updateSettings(String indexName, String refreshInterval, String replicas)
+        throws IOException {
+        elasticsearchClient.indices().putSettings(p -> p
+            .index(indexName)
+            .settings(s -> s
+                .refreshInterval(Time.of(t -> t.time(refreshInterval)))
+                .numberOfReplicas(replicas)));
+    }
+
+    private void swapAlias(String aliasName, String newIndexName, List<String> liveIndexNames)
+        throws IOException {
+        var actions = new ArrayList<Action>();
+        actions.add(Action.of(a -> a.add(add -> add.index(newIndexName).alias(aliasName))));
+
+        if (liveIndexNames.isEmpty() &&
+            elasticsearchClient.indices().exists(e -> e.index(aliasName)).value()) {
+            // Legacy concrete index carrying the alias name, replaced in the same request
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(aliasName))));
+        } else {
+            liveIndexNames.forEach(liveIndexName -> actions.add(
+                Action.of(a -> a.remove(r -> r.index(liveIndexName).alias(aliasName)))));
+        }
+
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+
+        liveIndexNames.forEach(this::deleteQuietly);
+    }
+
+    private void deleteQuietly(String indexName) {
+        try {
+            if (elasticsearchClient.indices().exists(e -> e.index(indexName)).value()) {
+                elasticsearchClient.indices().delete(d -> d.index(indexName));
+            }
+        } catch (Exception e) {
+            log.warn("Unable to delete index {}: {}", indexName, e.getMessage());
+        }
+    }
+
+    private record LiveSettings(String refreshInterval, String replicas) {
+    }
+}
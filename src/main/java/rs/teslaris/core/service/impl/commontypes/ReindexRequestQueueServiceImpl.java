@@ -0,0 +1,241 @@
+package rs.teslaris.core.service.impl.commontypes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.dto.commontypes.ReindexQueueStatusDTO;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+import rs.teslaris.core.indexmodel.PersonIndex;
+import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
+import rs.teslaris.core.indexrepository.PersonIndexRepository;
+import rs.teslaris.core.model.commontypes.ReindexRequestType;
+import rs.teslaris.core.model.person.Person;
+import rs.teslaris.core.repository.person.PersonRepository;
+import rs.teslaris.core.service.interfaces.commontypes.ReindexRequestQueueService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationService;
+import rs.teslaris.core.service.interfaces.person.PersonService;
+import rs.teslaris.core.service.interfaces.person.PrizeService;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReindexRequestQueueServiceImpl implements ReindexRequestQueueService {
+
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    // Entity IDs waiting per type, in arrival order, mapped to their first enqueue time
+    private final Map<ReindexRequestType, LinkedHashMap<Integer, Long>> pendingRequests =
+        createPendingRequests();
+
+    private final AtomicLong processedRequests = new AtomicLong();
+
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    private final PersonIndexRepository personIndexRepository;
+
+    private final PersonRepository personRepository;
+
+    private final PersonService personService;
+
+    private final PrizeService prizeService;
+
+    private final DocumentPublicationIndexRepository documentPublicationIndexRepository;
+
+    private final DocumentPublicationService documentPublicationService;
+
+    @Value("${reindex-queue.coalescing-window-ms}")
+    private Long coalescingWindowMillis;
+
+    @Value("${reindex-queue.batch-size}")
+    private Integer batchSize;
+
+
+    private static Map<ReindexRequestType, LinkedHashMap<Integer, Long>> createPendingRequests() {
+        var requests = new EnumMap<ReindexRequestType, LinkedHashMap<Integer, Long>>(
+            ReindexRequestType.class);
+        for (var type : ReindexRequestType.values()) {
+            requests.put(type, new LinkedHashMap<>());
+        }
+        return requests;
+    }
+
+    @Override
+    public void enqueue(ReindexRequestType type, Integer entityId) {
+        enqueueAll(type, List.of(entityId));
+    }
+
+    @Override
+    public void enqueueAll(ReindexRequestType type, Collection<Integer> entityIds) {
+        var now = System.currentTimeMillis();
+        synchronized (pendingRequests) {
+            var requests = pendingRequests.get(type);
+            entityIds.stream().filter(Objects::nonNull).forEach(entityId -> {
+                if (Objects.nonNull(requests.putIfAbsent(entityId, now))) {
+                    coalescedRequests.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${reindex-queue.coalescing-window-ms}")
+    public void processPendingRequests() {
+        Batch batch;
+        while (Objects.nonNull(batch = takeNextBatch())) {
+            try {
+                processBatch(batch);
+            } catch (Exception e) {
+                log.error("Failed to process {} reindex requests of type {}. Reason: {}",
+                    batch.entityIds().size(), batch.type(), e.getMessage());
+            }
+            processedRequests.addAndGet(batch.entityIds().size());
+        }
+    }
+
+    @Override
+    public ReindexQueueStatusDTO getQueueStatus() {
+        var now = System.currentTimeMillis();
+        var pendingCounts = new EnumMap<ReindexRequestType, Integer>(ReindexRequestType.class);
+        var oldestEnqueueTime = now;
+
+        synchronized (pendingRequests) {
+            for (var entry : pendingRequests.entrySet()) {
+                pendingCounts.put(entry.getKey(), entry.getValue().size());
+                if (!entry.getValue().isEmpty()) {
+                    oldestEnqueueTime = Math.min(oldestEnqueueTime,
+                        entry.getValue().values().iterator().next());
+                }
+            }
+        }
+
+        return new ReindexQueueStatusDTO(pendingCounts, now - oldestEnqueueTime,
+            processedRequests.get(), coalescedRequests.get());
+    }
+
+    /**
+     * Takes up to one batch of IDs of the highest priority type that has requests older than
+     * the coalescing window. Newer requests stay queued so repeats arriving in the window merge.
+     */
+    private Batch takeNextBatch() {
+        var eligibleBefore = System.currentTimeMillis() - coalescingWindowMillis;
+
+        synchronized (pendingRequests) {
+            for (var entry : pendingRequests.entrySet()) {
+                var entityIds = new ArrayList<Integer>();
+                var iterator = entry.getValue().entrySet().iterator();
+                while (iterator.hasNext() && entityIds.size() < batchSize) {
+                    var request = iterator.next();
+                    if (request.getValue() > eligibleBefore) {
+                        break;
+                    }
+
+                    entityIds.add(request.getKey());
+                    iterator.remove();
+                }
+
+                if (!entityIds.isEmpty()) {
+                    return new Batch(entry.getKey(), entityIds);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void processBatch(Batch batch) {
+        switch (batch.type()) {
+            case ORGANISATION_UNIT_EMPLOYEES -> batch.entityIds().forEach(
+                organisationUnitId -> enqueueAll(ReindexRequestType.PERSON_EMPLOYMENT,
+                    findEmployeeIds(organisationUnitId)));
+            case PERSON_EMPLOYMENT -> {
+                reindexPersonEmployments(batch.entityIds());
+                enqueueAll(ReindexRequestType.PERSON_PUBLICATIONS, batch.entityIds());
+            }
+            case PERSON_PUBLICATIONS -> batch.entityIds().forEach(
+                personId -> enqueueAll(ReindexRequestType.DOCUMENT_EMPLOYMENT,
+                    findPublicationIds(personId)));
+            case DOCUMENT_EMPLOYMENT -> documentPublicationService
+                .reindexEmploymentInformationForPublications(batch.entityIds());
+        }
+    }
+
+    private List<Integer> findEmployeeIds(Integer organisationUnitId) {
+        var employeeIds = new ArrayList<Integer>();
+        int pageNumber = 0;
+        boolean hasNextPage = true;
+
+        while (hasNextPage) {
+            var chunk = personIndexRepository.findByInstitutionId(organisationUnitId,
+                PageRequest.of(pageNumber, LOOKUP_CHUNK_SIZE,
+                    Sort.by(Sort.Direction.ASC, "databaseId"))).getContent();
+            chunk.forEach(index -> employeeIds.add(index.getDatabaseId()));
+
+            pageNumber++;
+            hasNextPage = chunk.size() == LOOKUP_CHUNK_SIZE;
+        }
+
+        return employeeIds;
+    }
+
+    private List<Integer> findPublicationIds(Integer personId) {
+        var publicationIds = new ArrayList<Integer>();
+        int pageNumber = 0;
+        boolean hasNextPage = true;
+
+        while (hasNextPage) {
+            var chunk = documentPublicationIndexRepository.findByAuthorIds(personId,
+                PageRequest.of(pageNumber, LOOKUP_CHUNK_SIZE,
+                    Sort.by(Sort.Direction.ASC, "databaseId"))).getContent();
+            chunk.stream().map(DocumentPublicationIndex::getDatabaseId)
+                .forEach(publicationIds::add);
+
+            pageNumber++;
+            hasNextPage = chunk.size() == LOOKUP_CHUNK_SIZE;
+        }
+
+        return publicationIds;
+    }
+
+    private void reindexPersonEmployments(List<Integer> personIds) {
+        var indexes = new ArrayList<PersonIndex>();
+        var people = new ArrayList<Person>();
+
+        personIndexRepository.findByDatabaseIdIn(personIds, PageRequest.of(0, personIds.size()))
+            .forEach(index -> {
+                var person =
+                    personRepository.findOneWithInvolvementsAndPrizes(index.getDatabaseId())
+                        .orElse(null);
+                if (Objects.isNull(person)) {
+                    return;
+                }
+
+                personService.setPersonIndexEmploymentDetails(index, person);
+                person.getEmploymentInstitutionsIdHierarchy().addAll(
+                    index.getEmploymentInstitutionsIdHierarchy());
+
+                indexes.add(index);
+                people.add(person);
+            });
+
+        personIndexRepository.saveAll(indexes);
+        personRepository.saveAll(people);
+
+        people.forEach(person -> person.getPrizes().forEach(prize ->
+            prizeService.reindexPrizeVolatileInformation(prize, null, true, false)));
+    }
+
+    private record Batch(ReindexRequestType type, List<Integer> entityIds) {
+    }
+}
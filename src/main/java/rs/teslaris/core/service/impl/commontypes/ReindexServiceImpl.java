@@ -5,8 +5,10 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -15,8 +17,11 @@ import rs.teslaris.core.applicationevent.AllResearcherPointsReindexingEvent;
 import rs.teslaris.core.applicationevent.HarvestExternalIndicatorsEvent;
 import rs.teslaris.core.applicationevent.ProjectEventReindexingEvent;
 import rs.teslaris.core.applicationevent.RegistryBookInfoReindexEvent;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexmodel.DocumentPublicationType;
 import rs.teslaris.core.indexmodel.EntityType;
+import rs.teslaris.core.indexmodel.EventIndex;
+import rs.teslaris.core.service.interfaces.commontypes.IndexRebuildService;
 import rs.teslaris.core.service.interfaces.commontypes.ReindexService;
 import rs.teslaris.core.service.interfaces.document.BookSeriesService;
 import rs.teslaris.core.service.interfaces.document.ConferenceService;
@@ -24,7 +29,6 @@ import rs.teslaris.core.service.interfaces.document.CourseService;
 import rs.teslaris.core.service.interfaces.document.DatasetService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentPublicationService;
-import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.ExhibitionService;
 import rs.teslaris.core.service.interfaces.document.GeneticMaterialService;
 import rs.teslaris.core.service.interfaces.document.IntangibleProductService;
@@ -51,6 +55,10 @@ import rs.teslaris.core.service.interfaces.user.UserService;
 @Traceable
 public class ReindexServiceImpl implements ReindexService {
 
+    private static final String PUBLICATION_INDEX_ALIAS = "document_publication";
+
+    private static final String EVENT_INDEX_ALIAS = "events";
+
     private final UserService userService;
 
     private final PublisherService publisherService;
@@ -71,8 +79,6 @@ public class ReindexServiceImpl implements ReindexService {
 
     private final OtherEventService otherEventService;
 
-    private final EventService eventService;
-
     private final DocumentPublicationService documentPublicationService;
 
     private final DocumentFileService documentFileService;
@@ -105,6 +111,11 @@ public class ReindexServiceImpl implements ReindexService {
 
     private final PrizeService prizeService;
 
+    private final IndexRebuildService indexRebuildService;
+
+    @Qualifier("reindexExecutor")
+    private final Executor reindexExecutor;
+
 
     @Override
     public void reindexDatabase(List<EntityType> indexesToRepopulate,
@@ -137,11 +148,7 @@ public class ReindexServiceImpl implements ReindexService {
         }
 
         if (indexesToRepopulate.contains(EntityType.EVENT)) {
-            eventService.deleteIndexes();
-            futures.add(conferenceService.reindexConferences());
-            futures.add(exhibitionService.reindexExhibitions());
-            futures.add(courseService.reindexCourses());
-            futures.add(otherEventService.reindexOtherEvents());
+            futures.add(reindexEvents());
         }
 
         if (indexesToRepopulate.contains(EntityType.DOCUMENT_FILE)) {
@@ -185,40 +192,70 @@ public class ReindexServiceImpl implements ReindexService {
         }
     }
 
+    private CompletableFuture<Void> reindexEvents() {
+        // Submitted explicitly, an @Async method called on this would run synchronously
+        return CompletableFuture.runAsync(() -> indexRebuildService.rebuildIndex(
+            EVENT_INDEX_ALIAS, EventIndex.class, this::reindexAllEventTypes, null),
+            reindexExecutor);
+    }
+
+    private void reindexAllEventTypes() {
+        CompletableFuture.allOf(
+            conferenceService.reindexConferences(),
+            exhibitionService.reindexExhibitions(),
+            courseService.reindexCourses(),
+            otherEventService.reindexOtherEvents()
+        ).join();
+    }
+
     @Async("reindexExecutor")
     public CompletableFuture<Void> reindexPublications() {
-        safeReindex(documentPublicationService::deleteIndexes,
-            "Error deleting document publication indexes");
-        safeReindex(thesisService::reindexTheses, "Error reindexing theses");
-        safeReindex(proceedingsService::reindexProceedings, "Error reindexing proceedings");
+        // Catch-up pass re-runs the same populators restricted to records modified meanwhile
+        indexRebuildService.rebuildIndex(PUBLICATION_INDEX_ALIAS, DocumentPublicationIndex.class,
+            this::reindexAllPublicationTypes, this::reindexAllPublicationTypes);
+
+        applicationEventPublisher.publishEvent(new RegistryBookInfoReindexEvent());
+
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void reindexAllPublicationTypes() {
+        var failures = new ArrayList<String>();
+        safeReindex(thesisService::reindexTheses, "Error reindexing theses", failures);
+        safeReindex(proceedingsService::reindexProceedings, "Error reindexing proceedings",
+            failures);
         safeReindex(journalPublicationService::reindexJournalPublications,
-            "Error reindexing journal publications");
+            "Error reindexing journal publications", failures);
         safeReindex(proceedingsPublicationService::reindexProceedingsPublications,
-            "Error reindexing proceedings publications");
-        safeReindex(patentService::reindexPatents, "Error reindexing patents");
+            "Error reindexing proceedings publications", failures);
+        safeReindex(patentService::reindexPatents, "Error reindexing patents", failures);
         safeReindex(intangibleProductService::reindexIntangibleProduct,
-            "Error reindexing intangible products");
-        safeReindex(datasetService::reindexDatasets, "Error reindexing datasets");
-        safeReindex(monographService::reindexMonographs, "Error reindexing monographs");
+            "Error reindexing intangible products", failures);
+        safeReindex(datasetService::reindexDatasets, "Error reindexing datasets", failures);
+        safeReindex(monographService::reindexMonographs, "Error reindexing monographs",
+            failures);
         safeReindex(monographPublicationService::reindexMonographPublications,
-            "Error reindexing monograph publications");
+            "Error reindexing monograph publications", failures);
         safeReindex(materialProductService::reindexMaterialProducts,
-            "Error reindexing material products");
+            "Error reindexing material products", failures);
         safeReindex(geneticMaterialService::reindexGeneticMaterials,
-            "Error reindexing genetic materials");
+            "Error reindexing genetic materials", failures);
         safeReindex(performanceRelatedOutputService::reindexPerformanceRelatedOutputs,
-            "Error reindexing performance related outputs");
+            "Error reindexing performance related outputs", failures);
 
-        applicationEventPublisher.publishEvent(new RegistryBookInfoReindexEvent());
-
-        return CompletableFuture.completedFuture(null);
+        // Populators write into the new index, a partial rebuild must not replace the live one
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Publication reindexing failed: " + failures);
+        }
     }
 
-    private void safeReindex(Runnable reindexOperation, String errorMessage) {
+    private void safeReindex(Runnable reindexOperation, String errorMessage,
+                             List<String> failures) {
         try {
             reindexOperation.run();
         } catch (Exception e) {
             log.error("Error during publication reindexing: {}", errorMessage, e);
+            failures.add(errorMessage);
         }
     }
 
@@ -3,14 +3,24 @@ package rs.teslaris.core.service.impl.commontypes;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -20,13 +30,15 @@ import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHitSupport;
-import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.data.elasticsearch.core.query.Query.PointInTime;
 import org.springframework.stereotype.Service;
 import rs.teslaris.core.annotation.Traceable;
 import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.util.functional.Pair;
+import rs.teslaris.core.util.search.SearchCursor;
+import rs.teslaris.core.util.search.SearchCursorPage;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +46,10 @@ import rs.teslaris.core.util.functional.Pair;
 @Slf4j
 public class SearchServiceImplES<T> implements SearchService<T> {
 
+    private static final int MAX_WALK_BATCH_SIZE = 10000; // default ES result window
+
+    private static final int MAX_BOUNDARIES_PER_QUERY = 10000;
+
     private final ElasticsearchOperations elasticsearchTemplate;
 
     private final ElasticsearchClient elasticsearchClient;
@@ -46,18 +62,84 @@ public class SearchServiceImplES<T> implements SearchService<T> {
         "full_text_sr", "full_text_other", "description_sr", "description_other"
     );
 
+    @Value("${search.cursor.keep-alive-minutes}")
+    private Integer cursorKeepAliveMinutes;
+
+    @Value("${search.cursor.max-age-minutes}")
+    private Integer cursorMaxAgeMinutes;
+
+    @Value("${search.cursor.cache-size}")
+    private Integer cursorCacheSize;
+
+    @Value("${search.cursor.signing-key}")
+    private String cursorSigningKey;
+
+    private byte[] cursorSigningKeyBytes;
+
+    private Cache<String, CursorState> cursorStates;
+
+
+    @PostConstruct
+    public void init() {
+        if (Objects.isNull(cursorSigningKey) || cursorSigningKey.isBlank()) {
+            log.warn("No search cursor signing key configured, cursors will not be accepted " +
+                "after a restart or by other instances.");
+            cursorSigningKeyBytes = new byte[32];
+            new SecureRandom().nextBytes(cursorSigningKeyBytes);
+        } else {
+            cursorSigningKeyBytes = cursorSigningKey.getBytes(StandardCharsets.UTF_8);
+        }
+
+        // Hot queries must not keep reading an old snapshot, states are rebuilt once aged out
+        cursorStates = CacheBuilder.newBuilder()
+            .maximumSize(cursorCacheSize)
+            .expireAfterWrite(Duration.ofMinutes(cursorMaxAgeMinutes))
+            .removalListener((RemovalNotification<String, CursorState> notification) ->
+                closePointInTime(notification.getValue()))
+            .build();
+    }
+
 
     @Override
     public Page<T> runQuery(Query query, Pageable pageable, Class<T> clazz, String indexName) {
         int targetPage = pageable.isUnpaged() ? -1 : pageable.getPageNumber();
 
         // For first 100 records, use regular pagination (it's faster for small offsets)
-        if (targetPage < 10) {
+        if (targetPage < SearchCursor.FIRST_CURSOR_PAGE) {
             return runRegularQuery(query, pageable, clazz, indexName);
         }
 
-        // For deep pages, use search_after with geometric sequential fetching
-        return runSearchAfterSequential(query, pageable, clazz, indexName);
+        // Deep pages are read from a point-in-time, positioned by remembered sort values.
+        // Cursors are only handed out on the cursor paging path.
+        var page = runCursorQuery(query, pageable, null, clazz, indexName);
+        return new PageImpl<>(page.getContent(), page.getPageable(), page.getTotalElements());
+    }
+
+    @Override
+    public List<List<T>> runMultiQuery(List<Query> queries, int resultsPerQuery, Class<T> clazz,
+                                       String indexName) {
+        if (queries.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // One _msearch round trip instead of one request per query
+        var searchQueries = queries.stream()
+            .map(query -> new NativeQueryBuilder()
+                .withQuery(query)
+                .withPageable(PageRequest.of(0, resultsPerQuery))
+                .withSourceFilter(new FetchSourceFilterBuilder()
+                    .withExcludes(!indexesExcludedFromFieldOmission.contains(indexName) ?
+                        fieldsToOmit.toArray(new String[0]) : new String[] {})
+                    .build())
+                .build())
+            .toList();
+
+        return elasticsearchTemplate.multiSearch(searchQueries, clazz,
+                IndexCoordinates.of(indexName)).stream()
+            .map(searchHits -> searchHits.getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .toList())
+            .toList();
     }
 
     private Page<T> runRegularQuery(Query query, Pageable pageable, Class<T> clazz,
@@ -79,66 +161,187 @@ public class SearchServiceImplES<T> implements SearchService<T> {
         return (Page<T>) SearchHitSupport.unwrapSearchHits(searchHitsPaged);
     }
 
-    private Page<T> runSearchAfterSequential(Query query, Pageable pageable, Class<T> clazz,
-                                             String indexName) {
-        int targetPage = pageable.getPageNumber() + 1;
-        int uiPageSize = pageable.getPageSize();
-        int targetOffset = targetPage * uiPageSize;
-
+    @Override
+    public SearchCursorPage<T> runCursorQuery(Query query, Pageable pageable, String cursor,
+                                              Class<T> clazz, String indexName) {
         var stableSort = buildStableSort(pageable.getSort());
+        var queryHash = Hashing.sha256()
+            .hashString(indexName + "|" + query + "|" + stableSort, StandardCharsets.UTF_8)
+            .toString();
+
+        var position = Optional.ofNullable(cursor)
+            .flatMap(token -> SearchCursor.decode(token, cursorSigningKeyBytes))
+            .filter(decoded -> queryHash.equals(decoded.queryHash()) && decoded.size() > 0);
+        if (position.isEmpty() &&
+            (pageable.isUnpaged() || pageable.getPageNumber() < SearchCursor.FIRST_CURSOR_PAGE)) {
+            var regularPage = runRegularQuery(query, pageable, clazz, indexName);
+            return new SearchCursorPage<>(regularPage.getContent(), regularPage.getPageable(),
+                regularPage.getTotalElements(), null, null);
+        }
+
+        var page = position.map(SearchCursor::page).orElse(pageable.getPageNumber());
+        var size = position.map(SearchCursor::size).orElse(pageable.getPageSize());
+
+        var state = cursorStates.asMap().computeIfAbsent(queryHash, key -> new CursorState());
+        position.ifPresent(decoded -> state.adoptPosition(decoded, (long) page * size));
+
+        var reusedPointInTime = Objects.nonNull(state.pointInTimeId);
+        try {
+            return fetchPage(query, stableSort, pageable.getSort(), state, queryHash, page, size,
+                clazz, indexName);
+        } catch (RuntimeException e) {
+            if (!reusedPointInTime) {
+                throw e;
+            }
+
+            // Point-in-time expired or was closed, sort values stay valid on a fresh one
+            log.debug("Reopening point-in-time for {}. Reason: {}", indexName, e.getMessage());
+            state.discardPointInTime();
+            return fetchPage(query, stableSort, pageable.getSort(), state, queryHash, page, size,
+                clazz, indexName);
+        }
+    }
+
+    private SearchCursorPage<T> fetchPage(Query query, Sort stableSort, Sort requestedSort,
+                                          CursorState state, String queryHash, int page,
+                                          int size, Class<T> clazz, String indexName) {
+        var pageable = PageRequest.of(page, size, requestedSort);
+        var offset = (long) page * size;
+
+        var pointInTimeId = openPointInTimeIfNeeded(state, indexName);
+        var searchAfter = resolveSearchAfter(query, stableSort, state, pointInTimeId, offset,
+            size, clazz, indexName);
+        if (searchAfter.isEmpty()) {
+            return new SearchCursorPage<>(Collections.emptyList(), pageable,
+                Objects.requireNonNullElse(state.totalHits, offset), null, null);
+        }
+
+        var knownTotalHits = state.totalHits;
+        var trackTotalHits = Objects.isNull(knownTotalHits);
+        var searchQueryBuilder = new NativeQueryBuilder()
+            .withQuery(query)
+            .withSort(stableSort)
+            .withPageable(PageRequest.of(0, size))
+            .withTrackTotalHits(trackTotalHits)
+            .withPointInTime(new PointInTime(pointInTimeId, keepAlive()))
+            .withSourceFilter(new FetchSourceFilterBuilder()
+                .withExcludes(!indexesExcludedFromFieldOmission.contains(indexName) ?
+                    fieldsToOmit.toArray(new String[0]) : new String[] {})
+                .build());
+
+        if (!searchAfter.get().isEmpty()) {
+            searchQueryBuilder.withSearchAfter(searchAfter.get());
+        }
+
+        var searchHits = elasticsearchTemplate.search(searchQueryBuilder.build(), clazz,
+            IndexCoordinates.of(indexName));
+        state.updatePointInTime(searchHits.getPointInTimeId());
+        var totalHits = trackTotalHits ? searchHits.getTotalHits() : knownTotalHits;
+        state.totalHits = totalHits;
+
+        var content = searchHits.getSearchHits().stream()
+            .map(SearchHit::getContent)
+            .toList();
+
+        String nextCursor = null;
+        if (!content.isEmpty()) {
+            var lastSortValues = searchHits.getSearchHits().getLast().getSortValues();
+            state.recordBoundary(offset + content.size(), lastSortValues);
 
-        List<Object> searchAfter = null;
-        SearchHits<T> currentPageHits = null;
-
-        int processed = 0;
-        while (processed <= targetOffset) {
-            int remaining = targetOffset - processed;
-
-            int pageSize;
-            if (remaining > 10000) { // cap at 10k, default ES fetch limit
-                pageSize = 10000;
-            } else if (remaining > 1000) {
-                pageSize = 1000;
-            } else if (remaining > 100) {
-                pageSize = 100;
-            } else {
-                pageSize = uiPageSize;
+            if (offset + content.size() < totalHits) {
+                nextCursor = new SearchCursor(queryHash, state.pointInTimeId, page + 1, size,
+                    lastSortValues, totalHits).encode(cursorSigningKeyBytes);
             }
+        }
+
+        String previousCursor = null;
+        if (page > 0) {
+            previousCursor = new SearchCursor(queryHash, state.pointInTimeId, page - 1, size,
+                state.boundaries.get(offset - size), totalHits).encode(cursorSigningKeyBytes);
+        }
+
+        return new SearchCursorPage<>(content, pageable, totalHits, previousCursor, nextCursor);
+    }
+
+    /**
+     * Returns the search_after values that position a query at the given offset, an empty list
+     * for the first hit, or nothing when the offset lies past the last hit. Unknown positions are
+     * reached by walking forward from the closest remembered one with source-less batches,
+     * remembering every page boundary on the way.
+     */
+    private Optional<List<Object>> resolveSearchAfter(Query query, Sort stableSort,
+                                                      CursorState state,
+                                                      String pointInTimeId, long offset,
+                                                      int size, Class<T> clazz,
+                                                      String indexName) {
+        if (offset == 0) {
+            return Optional.of(Collections.emptyList());
+        }
+
+        var closest = state.boundaries.floorEntry(offset);
+        var position = Objects.nonNull(closest) ? closest.getKey() : 0L;
+        List<Object> searchAfter = Objects.nonNull(closest) ? closest.getValue() : null;
+
+        while (position < offset) {
+            var batchSize = (int) Math.min(offset - position, MAX_WALK_BATCH_SIZE);
 
             var searchQueryBuilder = new NativeQueryBuilder()
                 .withQuery(query)
                 .withSort(stableSort)
-                .withPageable(PageRequest.of(0, pageSize))
-                .withTrackTotalHits(true)
-                .withSourceFilter(new FetchSourceFilterBuilder()
-                    .withExcludes(!indexesExcludedFromFieldOmission.contains(indexName) ?
-                        fieldsToOmit.toArray(new String[0]) : new String[] {})
-                    .build());
+                .withPageable(PageRequest.of(0, batchSize))
+                .withTrackTotalHits(false)
+                .withPointInTime(new PointInTime(pointInTimeId, keepAlive()))
+                .withSourceFilter(new FetchSourceFilterBuilder().withExcludes("*").build());
 
             if (Objects.nonNull(searchAfter)) {
                 searchQueryBuilder.withSearchAfter(searchAfter);
             }
 
-            var searchQuery = searchQueryBuilder.build();
-            currentPageHits =
-                elasticsearchTemplate.search(searchQuery, clazz, IndexCoordinates.of(indexName));
-            var currentPageHitsCount = currentPageHits.getSearchHits().size();
+            var searchHits = elasticsearchTemplate.search(searchQueryBuilder.build(), clazz,
+                IndexCoordinates.of(indexName));
+            state.updatePointInTime(searchHits.getPointInTimeId());
 
-            if (!currentPageHits.hasSearchHits() || currentPageHits.getSearchHits().isEmpty()) {
-                break;
+            for (var searchHit : searchHits.getSearchHits()) {
+                position++;
+                searchAfter = searchHit.getSortValues();
+                if (position % size == 0) {
+                    state.recordBoundary(position, searchAfter);
+                }
             }
 
-            processed += currentPageHitsCount;
+            if (searchHits.getSearchHits().size() < batchSize) {
+                break;
+            }
+        }
 
-            var lastHit = currentPageHits.getSearchHits().getLast();
-            searchAfter = lastHit.getSortValues();
+        return position == offset ? Optional.of(searchAfter) : Optional.empty();
+    }
 
-            if (processed >= targetOffset || currentPageHitsCount < pageSize) {
-                break;
+    private String openPointInTimeIfNeeded(CursorState state, String indexName) {
+        synchronized (state) {
+            if (Objects.isNull(state.pointInTimeId)) {
+                state.pointInTimeId =
+                    elasticsearchTemplate.openPointInTime(IndexCoordinates.of(indexName),
+                        keepAlive());
             }
+            return state.pointInTimeId;
+        }
+    }
+
+    private void closePointInTime(CursorState state) {
+        if (Objects.isNull(state.pointInTimeId)) {
+            return;
+        }
+
+        try {
+            elasticsearchTemplate.closePointInTime(state.pointInTimeId);
+        } catch (Exception e) {
+            log.debug("Unable to close point-in-time. Reason: {}", e.getMessage());
         }
+    }
 
-        return convertSearchHitsToPage(currentPageHits, pageable);
+    private Duration keepAlive() {
+        return Duration.ofMinutes(cursorKeepAliveMinutes);
     }
 
     private Sort buildStableSort(Sort originalSort) {
@@ -160,20 +363,6 @@ public class SearchServiceImplES<T> implements SearchService<T> {
         return Sort.by(orders);
     }
 
-    private Page<T> convertSearchHitsToPage(SearchHits<T> searchHits, Pageable originalPageable) {
-        if (Objects.isNull(searchHits) || !searchHits.hasSearchHits()) {
-            return new PageImpl<>(Collections.emptyList(), originalPageable, 0);
-        }
-
-        List<T> content = searchHits.getSearchHits().stream()
-            .map(SearchHit::getContent)
-            .collect(Collectors.toList());
-
-        long totalElements = searchHits.getTotalHits();
-
-        return new PageImpl<>(content, originalPageable, totalElements);
-    }
-
     @Override
     public List<Pair<String, Long>> runWordCloudSearch(Query query, String indexName,
                                                        boolean foreignLanguage) {
@@ -223,4 +412,48 @@ public class SearchServiceImplES<T> implements SearchService<T> {
             return 0L;
         }
     }
+
+    /**
+     * Paging state shared by all requests for the same query, sort and index: the point-in-time
+     * they read from, its total hit count and the search_after values found at known offsets.
+     */
+    private static final class CursorState {
+
+        private final ConcurrentSkipListMap<Long, List<Object>> boundaries =
+            new ConcurrentSkipListMap<>();
+
+        private volatile String pointInTimeId;
+
+        private volatile Long totalHits;
+
+
+        // Point-in-time and total always come from this state, a cursor only lends its
+        // position, and only when it was issued against the same snapshot (or none is open yet)
+        private void adoptPosition(SearchCursor cursor, long offset) {
+            var currentPointInTimeId = pointInTimeId;
+            if (Objects.nonNull(cursor.searchAfter()) && offset > 0 &&
+                (Objects.isNull(currentPointInTimeId) ||
+                    currentPointInTimeId.equals(cursor.pointInTimeId()))) {
+                recordBoundary(offset, cursor.searchAfter());
+            }
+        }
+
+        private void recordBoundary(long offset, List<Object> searchAfter) {
+            if (boundaries.size() < MAX_BOUNDARIES_PER_QUERY ||
+                boundaries.containsKey(offset)) {
+                boundaries.put(offset, searchAfter);
+            }
+        }
+
+        private void updatePointInTime(String newPointInTimeId) {
+            if (Objects.nonNull(newPointInTimeId)) {
+                pointInTimeId = newPointInTimeId;
+            }
+        }
+
+        private synchronized void discardPointInTime() {
+            pointInTimeId = null;
+            totalHits = null;
+        }
+    }
 }
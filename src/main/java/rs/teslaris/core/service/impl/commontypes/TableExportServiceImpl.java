@@ -1,8 +1,12 @@
 package rs.teslaris.core.service.impl.commontypes;
 
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
@@ -22,6 +26,7 @@ import rs.teslaris.core.converter.document.DocumentPublicationConverter;
 import rs.teslaris.core.dto.commontypes.DocumentExportRequestDTO;
 import rs.teslaris.core.dto.commontypes.ExportFileType;
 import rs.teslaris.core.dto.commontypes.TableExportRequestDTO;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexmodel.DocumentPublicationType;
 import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
 import rs.teslaris.core.indexrepository.OrganisationUnitIndexRepository;
@@ -38,6 +43,7 @@ import rs.teslaris.core.service.interfaces.document.DocumentPublicationService;
 import rs.teslaris.core.service.interfaces.document.ProceedingsPublicationService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.person.PersonService;
+import rs.teslaris.core.util.exceptionhandling.exception.StorageException;
 import rs.teslaris.core.util.functional.Triple;
 import rs.teslaris.core.util.search.SearchRequestType;
 
@@ -47,6 +53,8 @@ import rs.teslaris.core.util.search.SearchRequestType;
 @Traceable
 public class TableExportServiceImpl implements TableExportService {
 
+    private static final int EXPORT_BATCH_SIZE = 100;
+
     private final DocumentPublicationIndexRepository documentPublicationIndexRepository;
 
     private final PersonIndexRepository personIndexRepository;
@@ -97,50 +105,67 @@ public class TableExportServiceImpl implements TableExportService {
 
     @Override
     public InputStreamResource exportDocumentsToFile(DocumentExportRequestDTO request) {
+        return TableExportHelper.exportToResource(
+            outputStream -> exportDocuments(request, outputStream));
+    }
+
+    @Override
+    public InputStreamResource exportPersonsToCSV(TableExportRequestDTO request) {
+        return TableExportHelper.exportToResource(
+            outputStream -> exportPersons(request, outputStream));
+    }
+
+    @Override
+    public InputStreamResource exportOrganisationUnitsToCSV(TableExportRequestDTO request) {
+        return TableExportHelper.exportToResource(
+            outputStream -> exportOrganisationUnits(request, outputStream));
+    }
+
+    @Override
+    public void exportDocuments(DocumentExportRequestDTO request, OutputStream outputStream) {
         String documentFieldsConfigurationFile = "documentSearchFieldConfiguration.json";
 
         if (List.of(ExportFileType.CSV, ExportFileType.XLSX)
             .contains(request.getExportFileType())) {
-            return exportData(
+            exportData(
                 request,
+                outputStream,
                 documentPublicationIndexRepository,
-                documentFieldsConfigurationFile,
                 DocumentPublicationIndexRepository::findDocumentPublicationIndexByDatabaseId,
                 (rowData, entity, req) -> TableExportHelper.addCitationData(rowData, entity,
                     (DocumentExportRequestDTO) req, citationService),
                 documentFieldsConfigurationFile, request.getOnlyUnmanaged()
             );
         } else {
-            return exportData(request, request.getOnlyUnmanaged());
+            exportData(request, outputStream, request.getOnlyUnmanaged());
         }
     }
 
     @Override
-    public InputStreamResource exportPersonsToCSV(TableExportRequestDTO request) {
-        String personFieldsConfigurationFile = "personSearchFieldConfiguration.json";
-        return exportData(
+    public void exportPersons(TableExportRequestDTO request, OutputStream outputStream) {
+        exportData(
             request,
+            outputStream,
             personIndexRepository,
-            personFieldsConfigurationFile,
             PersonIndexRepository::findByDatabaseId,
             (rowData, entity, req) -> {
             },
-            personFieldsConfigurationFile,
+            "personSearchFieldConfiguration.json",
             null
         );
     }
 
     @Override
-    public InputStreamResource exportOrganisationUnitsToCSV(TableExportRequestDTO request) {
-        String ouFieldsConfigurationFile = "organisationUnitSearchFieldConfiguration.json";
-        return exportData(
+    public void exportOrganisationUnits(TableExportRequestDTO request,
+                                        OutputStream outputStream) {
+        exportData(
             request,
+            outputStream,
             organisationUnitIndexRepository,
-            ouFieldsConfigurationFile,
             OrganisationUnitIndexRepository::findOrganisationUnitIndexByDatabaseId,
             (rowData, entity, req) -> {
             },
-            ouFieldsConfigurationFile,
+            "organisationUnitSearchFieldConfiguration.json",
             null
         );
     }
@@ -150,77 +175,90 @@ public class TableExportServiceImpl implements TableExportService {
         return maximumExportAmount;
     }
 
-    private InputStreamResource exportData(TableExportRequestDTO request, Boolean onlyUnmanaged) {
+    private void exportData(TableExportRequestDTO request, OutputStream outputStream,
+                            Boolean onlyUnmanaged) {
         var documentSpecificFilters =
-            handleDocumentSpecificFieldsAndFilters(request, new ArrayList<>(), new ArrayList<>());
-
-        var exportedEntities = new ArrayList<String>();
+            handleDocumentSpecificFieldsAndFilters(request, new ArrayList<>());
 
+        List<Integer> documentIds;
         if (request.getExportMaxPossibleAmount()) {
-            returnBulkDataFromDefinedEndpoint(request.getEndpointType(),
+            documentIds = returnBulkDataFromDefinedEndpoint(request.getEndpointType(),
                 request.getEndpointTokenParameters(),
                 PageRequest.of(request.getBulkExportOffset(), maximumExportAmount),
                 documentPublicationIndexRepository,
                 documentSpecificFilters, onlyUnmanaged)
-                .forEach(entity -> exportedEntities.add(
-                    DocumentPublicationConverter.getBibliographicExportEntity(request,
-                        documentPublicationService.findOne(entity.getDatabaseId()))));
+                .map(DocumentPublicationIndex::getDatabaseId).getContent();
         } else {
-            request.getExportEntityIds().forEach(entityId -> exportedEntities.add(
-                DocumentPublicationConverter.getBibliographicExportEntity(request,
-                    documentPublicationService.findOne(entityId))));
+            documentIds = request.getExportEntityIds();
         }
 
-        return TableExportHelper.createExportFile(exportedEntities, request.getExportFileType());
+        // Records are rendered one at a time while they are being written out
+        TableExportHelper.writeBibliographicRecords(() -> documentIds.stream()
+            .map(documentId -> DocumentPublicationConverter.getBibliographicExportEntity(request,
+                documentPublicationService.findOne(documentId)))
+            .iterator(), request.getExportFileType(), outputStream);
     }
 
-    private <T, R extends ElasticsearchRepository<T, ?>> InputStreamResource exportData(
+    private <T, R extends ElasticsearchRepository<T, ?>> void exportData(
         TableExportRequestDTO request,
+        OutputStream outputStream,
         R repository,
-        String fieldsConfig,
         BiFunction<R, Integer, Optional<T>> findByDatabaseId,
         TriConsumer<List<String>, T, TableExportRequestDTO> additionalProcessing,
         String configurationFile, Boolean onlyUnmanaged) {
 
-        var rowsData = new ArrayList<List<String>>();
         var tableHeaders = TableExportHelper.getTableHeaders(request, configurationFile);
+        var documentSpecificFilters = handleDocumentSpecificFieldsAndFilters(request, tableHeaders);
+        var rowMapper = TableExportHelper.createRowMapper(request.getColumns(), configurationFile,
+            request.getExportLanguage());
 
-        var documentSpecificFilters =
-            handleDocumentSpecificFieldsAndFilters(request, tableHeaders, rowsData);
-
-        if (request.getExportMaxPossibleAmount()) {
+        // Resolved before the first write, a failure here can still be reported to the client
+        var bulkEntities = request.getExportMaxPossibleAmount() ?
             returnBulkDataFromDefinedEndpoint(request.getEndpointType(),
                 request.getEndpointTokenParameters(),
-                PageRequest.of(request.getBulkExportOffset(), maximumExportAmount), repository,
-                documentSpecificFilters, onlyUnmanaged)
-                .forEach(entity -> {
-                    var rowData =
-                        TableExportHelper.constructRowData(entity, request.getColumns(),
-                            fieldsConfig,
-                            request.getExportLanguage());
-                    additionalProcessing.accept(rowData, entity, request);
-                    rowsData.add(rowData);
-                });
-        } else {
-            request.getExportEntityIds().forEach(entityId -> {
-                findByDatabaseId.apply(repository, entityId)
-                    .ifPresent(entity -> {
-                        var rowData =
-                            TableExportHelper.constructRowData(entity, request.getColumns(),
-                                fieldsConfig,
-                                request.getExportLanguage());
-                        additionalProcessing.accept(rowData, entity, request);
-                        rowsData.add(rowData);
-                    });
-            });
+                PageRequest.of(request.getBulkExportOffset(), maximumExportAmount),
+                repository, documentSpecificFilters, onlyUnmanaged).getContent() : null;
+
+        try (var writer = TableExportHelper.openTableWriter(outputStream,
+            request.getExportFileType())) {
+            writer.writeRow(tableHeaders);
+
+            if (Objects.nonNull(bulkEntities)) {
+                writeRows(writer, rowMapper, bulkEntities, additionalProcessing, request);
+            } else {
+                for (var entityIds : Lists.partition(request.getExportEntityIds(),
+                    EXPORT_BATCH_SIZE)) {
+                    writeRows(writer, rowMapper, entityIds.stream()
+                            .map(entityId -> findByDatabaseId.apply(repository, entityId))
+                            .flatMap(Optional::stream)
+                            .toList(),
+                        additionalProcessing, request);
+                }
+            }
+
+            writer.finish();
+        } catch (IOException e) {
+            log.error("Failed to write table export. Reason: {}", e.getMessage());
+            throw new StorageException("Failed to write export file.");
         }
+    }
 
-        return TableExportHelper.createExportFile(rowsData, request.getExportFileType());
+    private <T> void writeRows(
+        TableExportHelper.TableRowWriter writer,
+        TableExportHelper.TableRowMapper rowMapper,
+        List<T> entities,
+        TriConsumer<List<String>, T, TableExportRequestDTO> additionalProcessing,
+        TableExportRequestDTO request) throws IOException {
+        var rowsData = rowMapper.mapRows(entities);
+        for (int i = 0; i < entities.size(); i++) {
+            var rowData = rowsData.get(i);
+            additionalProcessing.accept(rowData, entities.get(i), request);
+            writer.writeRow(rowData);
+        }
     }
 
     private Triple<ArrayList<DocumentPublicationType>, Integer, Integer> handleDocumentSpecificFieldsAndFilters(
-        TableExportRequestDTO request, List<String> tableHeaders,
-        ArrayList<List<String>> rowsData) {
+        TableExportRequestDTO request, List<String> tableHeaders) {
         var allowedDocumentTypes = new ArrayList<DocumentPublicationType>();
         Integer institutionId = null, commissionId = null;
 
@@ -230,7 +268,6 @@ public class TableExportServiceImpl implements TableExportService {
             institutionId = ((DocumentExportRequestDTO) request).getInstitutionId();
             commissionId = ((DocumentExportRequestDTO) request).getCommissionId();
         }
-        rowsData.add(tableHeaders);
 
         return new Triple<>(allowedDocumentTypes, institutionId, commissionId);
     }
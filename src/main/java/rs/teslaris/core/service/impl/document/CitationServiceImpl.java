@@ -1,6 +1,8 @@
 package rs.teslaris.core.service.impl.document;
 
-import de.undercouch.citeproc.CSL;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import de.undercouch.citeproc.csl.CSLItemData;
 import de.undercouch.citeproc.csl.CSLItemDataBuilder;
 import de.undercouch.citeproc.csl.CSLName;
@@ -10,8 +12,9 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
-import org.jsoup.Jsoup;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
@@ -24,6 +27,7 @@ import rs.teslaris.core.repository.document.JournalPublicationRepository;
 import rs.teslaris.core.repository.document.ProceedingsPublicationRepository;
 import rs.teslaris.core.repository.document.PublisherRepository;
 import rs.teslaris.core.service.interfaces.document.CitationService;
+import rs.teslaris.core.util.citation.CitationEnginePool;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
 import rs.teslaris.core.util.search.StringUtil;
 import rs.teslaris.core.util.session.SessionUtil;
@@ -42,6 +46,14 @@ public class CitationServiceImpl implements CitationService {
 
     public final PublisherRepository publisherRepository;
 
+    private final CitationEnginePool citationEnginePool;
+
+    // Container titles and publishers do not bump the document's last edit, hence the expiry
+    private final Cache<CitationKey, String> renderedCitations = CacheBuilder.newBuilder()
+        .maximumSize(50_000)
+        .expireAfterWrite(1, TimeUnit.HOURS)
+        .build();
+
 
     private static void setPageInformation(CSLItemDataBuilder itemBuilder,
                                            PrintedPageable document) {
@@ -53,23 +65,53 @@ public class CitationServiceImpl implements CitationService {
 
     @Override
     public CitationResponseDTO craftCitations(DocumentPublicationIndex index, String languageCode) {
-        var itemBuilder = getGenericItemBuilder(index, languageCode);
+        // Built at most once, and not at all when every style is already cached
+        var item = Suppliers.memoize(() -> getGenericItemBuilder(index, languageCode).build());
 
-        return generateCitations(itemBuilder.build());
+        var response = new CitationResponseDTO();
+        try {
+            response.setApa(renderCitation("apa", index, languageCode, item));
+            response.setMla(
+                renderCitation("modern-language-association", index, languageCode, item));
+            response.setChicago(renderCitation("chicago-author-date", index, languageCode, item));
+            response.setHarvard(
+                renderCitation("harvard-cite-them-right", index, languageCode, item));
+            response.setVancouver(renderCitation("vancouver", index, languageCode, item));
+        } catch (IOException e) {
+            throw new RuntimeException(e); // Should never trigger.
+        }
+        return response;
     }
 
     @Override
     public String craftCitationInGivenStyle(String style, DocumentPublicationIndex index,
                                             String languageCode) {
-        var itemBuilder = getGenericItemBuilder(index, languageCode);
-
         try {
-            return extractCitationText(style, itemBuilder.build());
+            return renderCitation(style, index, languageCode,
+                () -> getGenericItemBuilder(index, languageCode).build());
         } catch (IOException e) {
             return "";
         }
     }
 
+    private String renderCitation(String style, DocumentPublicationIndex index,
+                                  String languageCode, Supplier<CSLItemData> item)
+        throws IOException {
+        if (Objects.isNull(index.getDatabaseId()) || Objects.isNull(index.getLastEdited())) {
+            return citationEnginePool.render(style, item.get());
+        }
+
+        var key = new CitationKey(index.getDatabaseId(), index.getLastEdited().getTime(), style,
+            languageCode);
+        var citation = renderedCitations.getIfPresent(key);
+        if (Objects.isNull(citation)) {
+            citation = citationEnginePool.render(style, item.get());
+            renderedCitations.put(key, citation);
+        }
+
+        return citation;
+    }
+
     private CSLItemDataBuilder getGenericItemBuilder(DocumentPublicationIndex index,
                                                      String languageCode) {
         var itemBuilder = new CSLItemDataBuilder()
@@ -179,25 +221,6 @@ public class CitationServiceImpl implements CitationService {
         }
     }
 
-    private CitationResponseDTO generateCitations(CSLItemData item) {
-        var response = new CitationResponseDTO();
-        try {
-            response.setApa(extractCitationText("apa", item));
-            response.setMla(extractCitationText("modern-language-association", item));
-            response.setChicago(extractCitationText("chicago-author-date", item));
-            response.setHarvard(extractCitationText("harvard-cite-them-right", item));
-            response.setVancouver(extractCitationText("vancouver", item));
-        } catch (IOException e) {
-            throw new RuntimeException(e); // Should never trigger.
-        }
-        return response;
-    }
-
-    private String extractCitationText(String style, CSLItemData item) throws IOException {
-        return Jsoup.parse(CSL.makeAdhocBibliography(style, item).makeString())
-            .selectFirst(".csl-entry").text();
-    }
-
     private String getContent(Set<MultiLingualContent> contentList, String languageCode) {
         var localisedContent = contentList.stream()
             .filter(mc -> mc.getLanguage().getLanguageTag().equalsIgnoreCase(languageCode))
@@ -245,4 +268,8 @@ public class CitationServiceImpl implements CitationService {
             default -> CSLType.ARTICLE; // Should never return
         };
     }
+
+    private record CitationKey(Integer documentId, long lastEdited, String style,
+                               String languageCode) {
+    }
 }
@@ -6,11 +6,9 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
-import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.converter.document.DatasetConverter;
 import rs.teslaris.core.dto.document.DatasetDTO;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
@@ -29,6 +27,7 @@ import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DatasetService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.PublisherService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitOutputConfigurationService;
@@ -36,7 +35,6 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
-import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.search.ExpressionTransformer;
 import rs.teslaris.core.util.search.SearchFieldsLoader;
@@ -71,6 +69,7 @@ public class DatasetServiceImpl extends DocumentPublicationServiceImpl implement
                               OrganisationUnitOutputConfigurationService organisationUnitOutputConfigurationService,
                               DocumentLookupService documentLookupService,
                               CountryService countryService,
+                              DocumentPublicationBulkIndexingService bulkIndexingService,
                               DatasetJPAServiceImpl datasetJPAService,
                               PublisherService publisherService) {
         super(multilingualContentService, documentPublicationIndexRepository, searchService,
@@ -80,7 +79,7 @@ public class DatasetServiceImpl extends DocumentPublicationServiceImpl implement
             commissionRepository, searchFieldsLoader, organisationUnitTrustConfigurationService,
             involvementRepository, organisationUnitOutputConfigurationService,
             documentLookupService,
-            countryService);
+            countryService, bulkIndexingService);
         this.datasetJPAService = datasetJPAService;
         this.publisherService = publisherService;
     }
@@ -188,15 +187,8 @@ public class DatasetServiceImpl extends DocumentPublicationServiceImpl implement
     public void reindexDatasets() {
         // Super service does the initial deletion
 
-        FunctionalUtil.processAllPages(
-            100,
-            Sort.by(Sort.Direction.ASC, "id"),
-            datasetJPAService::findAll,
-            dataset -> {
-                var index = indexDataset(dataset, new DocumentPublicationIndex());
-                applicationEventPublisher.publishEvent(new ReindexExternalIndicatorsEvent(index));
-            }
-        );
+        bulkIndexingService.reindexByKeyset(Dataset.class,
+            dataset -> indexDataset(dataset, new DocumentPublicationIndex()));
     }
 
     @Override
@@ -218,7 +210,7 @@ public class DatasetServiceImpl extends DocumentPublicationServiceImpl implement
 
         index.setApa(
             citationService.craftCitationInGivenStyle("apa", index, LanguageAbbreviations.ENGLISH));
-        documentPublicationIndexRepository.save(index);
+        saveIndex(index);
 
         return index;
     }
@@ -1,17 +1,23 @@
 package rs.teslaris.core.service.impl.document;
 
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch._types.query_dsl.ScriptQuery;
 import jakarta.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,6 +25,12 @@ import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.scheduling.annotation.Async;
@@ -37,13 +49,6 @@ import rs.teslaris.core.indexmodel.PersonIndex;
 import rs.teslaris.core.indexmodel.PublisherIndex;
 import rs.teslaris.core.indexmodel.deduplication.DeduplicationBlacklist;
 import rs.teslaris.core.indexmodel.deduplication.DeduplicationSuggestion;
-import rs.teslaris.core.indexrepository.BookSeriesIndexRepository;
-import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
-import rs.teslaris.core.indexrepository.EventIndexRepository;
-import rs.teslaris.core.indexrepository.JournalIndexRepository;
-import rs.teslaris.core.indexrepository.OrganisationUnitIndexRepository;
-import rs.teslaris.core.indexrepository.PersonIndexRepository;
-import rs.teslaris.core.indexrepository.PublisherIndexRepository;
 import rs.teslaris.core.indexrepository.deduplication.DocumentDeduplicationBlacklistRepository;
 import rs.teslaris.core.indexrepository.deduplication.DocumentDeduplicationSuggestionRepository;
 import rs.teslaris.core.service.interfaces.commontypes.NotificationService;
@@ -60,21 +65,17 @@ import rs.teslaris.core.util.notificationhandling.NotificationFactory;
 @Traceable
 public class DeduplicationServiceImpl implements DeduplicationService {
 
-    private static final Integer CHUNK_SIZE = 20;
+    private static final Integer CHUNK_SIZE = 100;
 
-    private static volatile boolean deduplicationLock = false;
-
-    private final AtomicInteger currentSessionCounter = new AtomicInteger(0);
-
-    private final DocumentPublicationIndexRepository documentPublicationIndexRepository;
-
-    private final JournalIndexRepository journalIndexRepository;
+    private static final Query MATCH_ALL = Query.of(q -> q.matchAll(m -> m));
 
-    private final PublisherIndexRepository publisherIndexRepository;
+    // Only needed for full-text search, never for comparison
+    private static final String[] LARGE_FIELDS =
+        {"full_text_sr", "full_text_other", "description_sr", "description_other"};
 
-    private final EventIndexRepository eventIndexRepository;
+    private static volatile boolean deduplicationLock = false;
 
-    private final PersonIndexRepository personIndexRepository;
+    private final AtomicInteger currentSessionCounter = new AtomicInteger(0);
 
     private final DocumentDeduplicationSuggestionRepository deduplicationSuggestionRepository;
 
@@ -92,16 +93,14 @@ public class DeduplicationServiceImpl implements DeduplicationService {
 
     private final SearchService<BookSeriesIndex> bookSeriesSearchService;
 
-    private final BookSeriesIndexRepository bookSeriesIndexRepository;
-
     private final SearchService<OrganisationUnitIndex> organisationUnitSearchService;
 
-    private final OrganisationUnitIndexRepository organisationUnitIndexRepository;
-
     private final SearchService<EventIndex> eventSearchService;
 
     private final SearchService<PersonIndex> personSearchService;
 
+    private final ElasticsearchOperations elasticsearchOperations;
+
     @Value("${deduplication.allowed}")
     private Boolean deduplicationAllowed;
 
@@ -219,8 +218,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
     private void performScheduledDocumentDeduplication() {
         performScheduledDeduplication(
             EntityType.PUBLICATION.name(),
-            (pageNumber) -> documentPublicationIndexRepository.findByTypeIn(
-                List.of(
+            Query.of(q -> q.terms(t -> t.field("type").terms(tf -> tf.value(
+                Stream.of(
                     DocumentPublicationType.MONOGRAPH.name(),
                     DocumentPublicationType.MONOGRAPH_PUBLICATION.name(),
                     DocumentPublicationType.PROCEEDINGS.name(),
@@ -233,8 +232,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
                     DocumentPublicationType.MATERIAL_PRODUCT.name(),
                     DocumentPublicationType.GENETIC_MATERIAL.name(),
                     DocumentPublicationType.PERFORMANCE_RELATED_OUTPUT.name()
-                ),
-                PageRequest.of(pageNumber, CHUNK_SIZE)).getContent(),
+                ).map(FieldValue::of).toList())))),
+            DocumentPublicationIndex.class,
             documentSearchService,
             item -> BoolQuery.of(q -> q.must(mb -> mb.bool(b -> {
                 b.must(bq -> {
@@ -277,8 +276,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
     private void performScheduledJournalDeduplication() {
         performScheduledDeduplication(
             EntityType.JOURNAL.name(),
-            (pageNumber) -> journalIndexRepository.findAll(PageRequest.of(pageNumber, CHUNK_SIZE))
-                .getContent(),
+            MATCH_ALL,
+            JournalIndex.class,
             journalSearchService,
             item -> BoolQuery.of(q -> q.must(mb -> mb.bool(b -> {
                 b.must(bq -> {
@@ -312,8 +311,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
     private void performScheduledPublisherDeduplication() {
         performScheduledDeduplication(
             EntityType.PUBLISHER.name(),
-            (pageNumber) -> publisherIndexRepository.findAll(PageRequest.of(pageNumber, CHUNK_SIZE))
-                .getContent(),
+            MATCH_ALL,
+            PublisherIndex.class,
             publisherSearchService,
             item -> BoolQuery.of(q -> q.must(mb -> mb.bool(b -> {
                 b.must(bq -> {
@@ -347,8 +346,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
     private void performScheduledBookSeriesDeduplication() {
         performScheduledDeduplication(
             EntityType.BOOK_SERIES.name(),
-            (pageNumber) -> bookSeriesIndexRepository.findAll(
-                PageRequest.of(pageNumber, CHUNK_SIZE)).getContent(),
+            MATCH_ALL,
+            BookSeriesIndex.class,
             bookSeriesSearchService,
             item -> BoolQuery.of(q -> q.must(mb -> mb.bool(b -> {
                 b.must(bq -> {
@@ -382,8 +381,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
     private void performScheduledOrganisationUnitsDeduplication() {
         performScheduledDeduplication(
             EntityType.ORGANISATION_UNIT.name(),
-            (pageNumber) -> organisationUnitIndexRepository.findAll(
-                PageRequest.of(pageNumber, CHUNK_SIZE)).getContent(),
+            MATCH_ALL,
+            OrganisationUnitIndex.class,
             organisationUnitSearchService,
             item -> BoolQuery.of(q -> q.must(mb -> mb.bool(b -> {
                 b.must(bq -> {
@@ -427,8 +426,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
     private void performScheduledEventDeduplication() {
         performScheduledDeduplication(
             EntityType.EVENT.name(),
-            (pageNumber) -> eventIndexRepository.findAll(PageRequest.of(pageNumber, CHUNK_SIZE))
-                .getContent(),
+            MATCH_ALL,
+            EventIndex.class,
             eventSearchService,
             item -> BoolQuery.of(q -> q.must(mb -> mb.bool(b -> {
                 b.must(bq -> {
@@ -460,8 +459,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
     private void performScheduledPersonDeduplication() {
         performScheduledDeduplication(
             EntityType.PERSON.name(),
-            (pageNumber) -> personIndexRepository.findAll(PageRequest.of(pageNumber, CHUNK_SIZE))
-                .getContent(),
+            MATCH_ALL,
+            PersonIndex.class,
             personSearchService,
             item -> BoolQuery.of(q -> q.must(mb -> mb.bool(b -> {
                 b.should(sh -> sh.bool(outerBool -> {
@@ -517,7 +516,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
 
     private <T> void performScheduledDeduplication(
         String indexType,
-        Function<Integer, List<T>> fetchChunk,
+        Query scope,
+        Class<T> indexClass,
         SearchService<T> searchService,
         Function<T, BoolQuery> constructQuery,
         Function<T, Integer> getDatabaseId,
@@ -529,66 +529,104 @@ public class DeduplicationServiceImpl implements DeduplicationService {
         log.info("Deduplication of {} started.", indexType);
         deduplicationSuggestionRepository.deleteByEntityType(indexType);
 
-        int pageNumber = 0;
+        var entityType = EntityType.valueOf(indexType.toUpperCase());
+        var blacklistedPairs = loadBlacklistedPairs(entityType);
+        var suggestedPairs = new HashSet<Long>();
+        var duplicatesFound = new HashSet<Integer>();
+
+        List<Object> searchAfter = null;
         boolean hasNextPage = true;
-        var duplicatesFound = new ConcurrentSkipListSet<Integer>();
 
         while (hasNextPage) {
-            List<T> chunk = fetchChunk.apply(pageNumber);
+            var chunkHits = fetchChunk(scope, indexClass, collection, searchAfter);
+            if (chunkHits.isEmpty()) {
+                break;
+            }
+
+            searchAfter = chunkHits.getSearchHits().getLast().getSortValues();
+            hasNextPage = chunkHits.getSearchHits().size() == CHUNK_SIZE;
+
+            var candidates = chunkHits.getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .filter(item -> !duplicatesFound.contains(getDatabaseId.apply(item)))
+                .toList();
 
-            chunk.forEach(item -> {
+            var similarItemsPerCandidate = searchService.runMultiQuery(
+                candidates.stream().map(item -> constructQuery.apply(item)._toQuery()).toList(),
+                2, indexClass, collection);
+
+            var suggestions = new ArrayList<DeduplicationSuggestion>();
+            for (int i = 0; i < candidates.size(); i++) {
+                var item = candidates.get(i);
+
+                // Earlier candidates of the same chunk can mark this one as a duplicate
                 if (duplicatesFound.contains(getDatabaseId.apply(item))) {
-                    return;
+                    continue;
                 }
 
-                var deduplicationQuery = constructQuery.apply(item);
-                var similarItems = searchService.runQuery(
-                    deduplicationQuery._toQuery(),
-                    PageRequest.of(0, 2),
-                    (Class<T>) item.getClass(),
-                    collection
-                ).getContent();
-
+                var similarItems = similarItemsPerCandidate.get(i);
                 if (!similarItems.isEmpty()) {
-                    handleDuplicate(
-                        item, similarItems, duplicatesFound,
-                        EntityType.valueOf(indexType.toUpperCase()),
-                        getDatabaseId, getTitleSr, getTitleOther, getType
-                    );
+                    suggestions.addAll(handleDuplicate(
+                        item, similarItems, duplicatesFound, blacklistedPairs, suggestedPairs,
+                        entityType, getDatabaseId, getTitleSr, getTitleOther, getType
+                    ));
                 }
-            });
+            }
+
+            if (!suggestions.isEmpty()) {
+                deduplicationSuggestionRepository.saveAll(suggestions);
+            }
+        }
+    }
+
+    private <T> SearchHits<T> fetchChunk(Query scope, Class<T> indexClass, String collection,
+                                         List<Object> searchAfter) {
+        var query = NativeQuery.builder()
+            .withQuery(scope)
+            .withSourceFilter(new FetchSourceFilter(null, LARGE_FIELDS))
+            .withSort(s -> s.field(f -> f.field("databaseId").order(SortOrder.Asc)))
+            .withPageable(PageRequest.of(0, CHUNK_SIZE))
+            .build();
+
+        if (Objects.nonNull(searchAfter)) {
+            query.setSearchAfter(searchAfter);
+        }
+
+        return elasticsearchOperations.search(query, indexClass, IndexCoordinates.of(collection));
+    }
 
-            pageNumber++;
-            hasNextPage = chunk.size() == CHUNK_SIZE;
+    private Set<Long> loadBlacklistedPairs(EntityType entityType) {
+        try (var blacklist = documentDeduplicationBlacklistRepository.findByEntityType(
+            entityType.name())) {
+            return blacklist
+                .map(entry -> pairKey(entry.getLeftEntityId(), entry.getRightEntityId()))
+                .collect(Collectors.toCollection(HashSet::new));
         }
     }
 
-    private <T> void handleDuplicate(
+    private long pairKey(int firstId, int secondId) {
+        return ((long) Math.min(firstId, secondId) << 32) |
+            (Math.max(firstId, secondId) & 0xFFFFFFFFL);
+    }
+
+    private <T> List<DeduplicationSuggestion> handleDuplicate(
         T entity,
         List<T> similarEntities,
-        ConcurrentSkipListSet<Integer> foundDuplicates,
+        Set<Integer> foundDuplicates,
+        Set<Long> blacklistedPairs,
+        Set<Long> suggestedPairs,
         EntityType indexType,
         Function<T, Integer> getIdFunction,
         Function<T, String> getTitleSrFunction,
         Function<T, String> getTitleOtherFunction,
         Function<T, String> getTypeFunction
     ) {
-        for (T similarEntity : similarEntities) {
-
-            var blacklistEntry = documentDeduplicationBlacklistRepository
-                .findByEntityIdsAndEntityType(
-                    getIdFunction.apply(entity),
-                    getIdFunction.apply(similarEntity),
-                    indexType.name()
-                );
+        var suggestions = new ArrayList<DeduplicationSuggestion>();
 
-            if (blacklistEntry.isPresent()) {
-                continue;
-            }
+        for (T similarEntity : similarEntities) {
+            var pairKey = pairKey(getIdFunction.apply(entity), getIdFunction.apply(similarEntity));
 
-            if (!deduplicationSuggestionRepository.findByTwoEntitiesAndType(
-                    getIdFunction.apply(entity), getIdFunction.apply(similarEntity), indexType.name())
-                .isEmpty()) {
+            if (blacklistedPairs.contains(pairKey) || !suggestedPairs.add(pairKey)) {
                 continue;
             }
 
@@ -604,7 +642,7 @@ public class DeduplicationServiceImpl implements DeduplicationService {
             if (indexType.equals(EntityType.PUBLICATION)) {
                 var leftDocument = (DocumentPublicationIndex) entity;
                 var rightDocument = (DocumentPublicationIndex) similarEntity;
-                deduplicationSuggestionRepository.save(
+                suggestions.add(
                     new DeduplicationSuggestion(
                         getIdFunction.apply(entity),
                         getIdFunction.apply(similarEntity),
@@ -621,7 +659,7 @@ public class DeduplicationServiceImpl implements DeduplicationService {
                     )
                 );
             } else {
-                deduplicationSuggestionRepository.save(
+                suggestions.add(
                     new DeduplicationSuggestion(
                         getIdFunction.apply(entity),
                         getIdFunction.apply(similarEntity),
@@ -638,6 +676,8 @@ public class DeduplicationServiceImpl implements DeduplicationService {
                 );
             }
         }
+
+        return suggestions;
     }
 
     private DeduplicationSuggestion findDeduplicationSuggestionById(
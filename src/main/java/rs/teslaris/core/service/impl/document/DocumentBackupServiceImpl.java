@@ -52,7 +52,8 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.util.exceptionhandling.exception.BackupException;
 import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
 import rs.teslaris.core.util.exceptionhandling.exception.StorageException;
-import rs.teslaris.core.util.files.BackupZipBuilder;
+import rs.teslaris.core.util.files.BackupZipWriter;
+import rs.teslaris.core.util.files.BackupZipWriterFactory;
 import rs.teslaris.core.util.scheduling.DateUtil;
 import rs.teslaris.core.util.search.SearchAfterResult;
 import rs.teslaris.core.util.search.StringUtil;
@@ -82,6 +83,8 @@ public class DocumentBackupServiceImpl implements DocumentBackupService {
 
     private final TableExportService tableExportService;
 
+    private final BackupZipWriterFactory backupZipWriterFactory;
+
 
     private final Map<DocumentFileSection, Function<Document, Set<DocumentFile>>> sectionAccessors =
         Map.of(
@@ -139,10 +142,11 @@ public class DocumentBackupServiceImpl implements DocumentBackupService {
             organisationUnitService.getOrganisationUnitIdsFromSubHierarchy(institutionId)
         );
 
-        BackupZipBuilder zipBuilder = null;
-        try {
-            zipBuilder = new BackupZipBuilder("document-backup");
+        var institution = organisationUnitService.findOne(institutionId);
+        var serverFilename = generateBackupFileName(from, to, institution, language);
 
+        try (var zipWriter = backupZipWriterFactory.open(serverFilename.split("\\.")[0],
+            serverFilename)) {
             var processedDocumentIds = new ArrayList<Integer>();
             for (var documentType : types) {
                 Object[] searchAfter = null;
@@ -170,7 +174,7 @@ public class DocumentBackupServiceImpl implements DocumentBackupService {
                             documentRepository.findDocumentByIdIn(dbChunk, Pageable.unpaged());
 
                         for (var document : chunk) {
-                            processDocument(document, documentFileSections, zipBuilder, language);
+                            processDocument(document, documentFileSections, zipWriter, language);
                             processedDocumentIds.add(document.getId());
                         }
                     }
@@ -179,12 +183,9 @@ public class DocumentBackupServiceImpl implements DocumentBackupService {
                 }
             }
 
-            createMetadataCSV(processedDocumentIds, language, types, zipBuilder, metadataFormat);
+            createMetadataCSV(processedDocumentIds, language, types, zipWriter, metadataFormat);
 
-            var institution = organisationUnitService.findOne(institutionId);
-            var serverFilename = generateBackupFileName(from, to, institution, language);
-            serverFilename = fileService.store(zipBuilder.buildZipAndGetResource(),
-                serverFilename.split("\\.")[0], serverFilename);
+            serverFilename = zipWriter.finish();
 
             var newBackupFile = new DocumentFileBackup();
             newBackupFile.setInstitution(institution);
@@ -192,16 +193,12 @@ public class DocumentBackupServiceImpl implements DocumentBackupService {
             documentFileBackupRepository.save(newBackupFile);
         } catch (IOException e) {
             throw new StorageException("Failed to generate backup file.");
-        } finally {
-            if (Objects.nonNull(zipBuilder)) {
-                zipBuilder.cleanup();
-            }
         }
     }
 
     private void createMetadataCSV(List<Integer> exportEntityIds, String language,
                                    List<DocumentPublicationType> types,
-                                   BackupZipBuilder zipBuilder, ExportFileType metadataFormat) {
+                                   BackupZipWriter zipWriter, ExportFileType metadataFormat) {
         var exportRequest = new DocumentExportRequestDTO();
         exportRequest.setExportMaxPossibleAmount(false);
         exportRequest.setExportEntityIds(exportEntityIds);
@@ -221,10 +218,10 @@ public class DocumentBackupServiceImpl implements DocumentBackupService {
         exportRequest.setAllowedTypes(types);
 
         var metadataFile = tableExportService.exportDocumentsToFile(exportRequest);
-        try {
-            zipBuilder.copyFileToRoot(metadataFile.getInputStream(), "metadata.csv");
+        try (var metadataStream = metadataFile.getInputStream()) {
+            zipWriter.addEntry("metadata.csv", metadataStream);
         } catch (IOException e) {
-            throw new RuntimeException(e); // should never happen
+            throw new StorageException("Failed to write backup metadata.");
         }
     }
 
@@ -268,7 +265,7 @@ public class DocumentBackupServiceImpl implements DocumentBackupService {
     }
 
     private void processDocument(Document document, List<DocumentFileSection> documentFileSections,
-                                 BackupZipBuilder zipBuilder, String language)
+                                 BackupZipWriter zipWriter, String language)
         throws IOException {
         var author = document.getContributors().stream()
             .filter(contributor -> contributor.getContributionType()
@@ -280,10 +277,10 @@ public class DocumentBackupServiceImpl implements DocumentBackupService {
             return;
         }
 
-        var documentDir = zipBuilder.createSubDir("documents/" +
+        var documentDir = "documents/" +
             author.get().getAffiliationStatement().getDisplayPersonName().toString()
                 .replace(" ", "_")
-            + "_" + document.getId());
+            + "_" + document.getId();
 
         for (var section : documentFileSections) {
             var fileItems = sectionAccessors.get(section).apply(document);
@@ -292,14 +289,10 @@ public class DocumentBackupServiceImpl implements DocumentBackupService {
             }
 
             var sectionPaths = getSectionPaths(language);
-            var sectionDir =
-                zipBuilder.createSubDir(documentDir.resolve(sectionPaths.get(section)).toString());
+            var sectionDir = documentDir + "/" + sectionPaths.get(section);
             for (var fileItem : fileItems) {
-                try (var file = fileService.loadAsResource(fileItem.getServerFilename())) {
-                    zipBuilder.copyFile(file, sectionDir.resolve(fileItem.getFilename()));
-                } catch (IOException e) {
-                    log.warn("Failed to load file {}", fileItem.getServerFilename(), e);
-                }
+                zipWriter.addFile(sectionDir + "/" + fileItem.getFilename(),
+                    fileItem.getServerFilename());
             }
         }
     }
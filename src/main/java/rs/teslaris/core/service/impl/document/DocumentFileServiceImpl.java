@@ -2,6 +2,8 @@ package rs.teslaris.core.service.impl.document;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
 import io.minio.GetObjectResponse;
 import jakarta.annotation.Nullable;
 import java.io.ByteArrayInputStream;
@@ -9,16 +11,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.tika.Tika;
 import org.apache.tika.io.FilenameUtils;
 import org.apache.tika.language.detect.LanguageDetector;
@@ -37,7 +41,9 @@ import rs.teslaris.core.annotation.Traceable;
 import rs.teslaris.core.converter.document.DocumentFileConverter;
 import rs.teslaris.core.dto.document.DocumentFileDTO;
 import rs.teslaris.core.dto.document.DocumentFileResponseDTO;
+import rs.teslaris.core.indexmodel.DocumentFileContentIndex;
 import rs.teslaris.core.indexmodel.DocumentFileIndex;
+import rs.teslaris.core.indexrepository.DocumentFileContentIndexRepository;
 import rs.teslaris.core.indexrepository.DocumentFileIndexRepository;
 import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
 import rs.teslaris.core.model.commontypes.ApproveStatus;
@@ -56,6 +62,7 @@ import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
 import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.service.interfaces.document.PdfTextExtractionService;
 import rs.teslaris.core.util.exceptionhandling.exception.CantEditException;
 import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
 import rs.teslaris.core.util.exceptionhandling.exception.MissingDataException;
@@ -89,6 +96,10 @@ public class DocumentFileServiceImpl extends JPAServiceImpl<DocumentFile>
 
     private final DocumentFileIndexRepository documentFileIndexRepository;
 
+    private final DocumentFileContentIndexRepository documentFileContentIndexRepository;
+
+    private final PdfTextExtractionService pdfTextExtractionService;
+
     private final LanguageDetector languageDetector;
 
     private final SearchService<DocumentFileIndex> searchService;
@@ -513,15 +524,12 @@ public class DocumentFileServiceImpl extends JPAServiceImpl<DocumentFile>
         }
 
         try (var inputStream = multipartPdfFile.getInputStream()) {
-            var documentContent = extractDocumentContent(inputStream);
+            var documentContent = findOrExtractContent(inputStream);
             var documentTitle = Objects.nonNull(documentFile.getId()) ? documentFile.getFilename() :
                 extractDocumentTitle(multipartPdfFile);
 
-            var contentLanguageDetected = detectLanguage(documentContent);
-            var titleLanguageDetected = detectLanguage(documentTitle);
-
-            saveDocumentIndex(documentContent, documentTitle, contentLanguageDetected,
-                titleLanguageDetected, documentFile, serverFilename, documentIndex);
+            populateDocumentIndex(documentContent, documentTitle, documentFile, serverFilename,
+                documentIndex);
         } catch (IOException e) {
             throw new LoadingException("Error while trying to index PDF file content.");
         }
@@ -539,13 +547,13 @@ public class DocumentFileServiceImpl extends JPAServiceImpl<DocumentFile>
             return;
         }
 
-        var documentContent = extractDocumentContent(inputStream);
-
-        var contentLanguageDetected = detectLanguage(documentContent);
-        var titleLanguageDetected = detectLanguage(documentTitle);
-
-        saveDocumentIndex(documentContent, documentTitle, contentLanguageDetected,
-            titleLanguageDetected, documentFile, serverFilename, documentIndex);
+        try {
+            var documentContent = findOrExtractContent(inputStream);
+            populateDocumentIndex(documentContent, documentTitle, documentFile, serverFilename,
+                documentIndex);
+        } catch (IOException e) {
+            throw new LoadingException("Error while trying to index PDF file content.");
+        }
 
         documentFileIndexRepository.save(documentIndex);
     }
@@ -584,7 +592,25 @@ public class DocumentFileServiceImpl extends JPAServiceImpl<DocumentFile>
                         PageRequest.of(pageNumber, chunkSize, Sort.by(Sort.Direction.ASC, "id")))
                     .getContent();
 
-            chunk.forEach(this::reindexDocumentFile);
+            // Changed files of the whole chunk are queued for extraction before any is awaited
+            var pendingReindexes = chunk.stream()
+                .map(this::startReindex)
+                .flatMap(Optional::stream)
+                .toList();
+
+            // Unchanged files are served from the content store, both stores get one bulk write
+            var extractedContents = new ArrayList<DocumentFileContentIndex>();
+            var documentIndexes = new ArrayList<DocumentFileIndex>(chunk.size());
+            pendingReindexes.forEach(pendingReindex ->
+                completeReindex(pendingReindex, extractedContents::add)
+                    .ifPresent(documentIndexes::add));
+
+            if (!extractedContents.isEmpty()) {
+                documentFileContentIndexRepository.saveAll(extractedContents);
+            }
+            if (!documentIndexes.isEmpty()) {
+                documentFileIndexRepository.saveAll(documentIndexes);
+            }
 
             pageNumber++;
             hasNextPage = chunk.size() == chunkSize;
@@ -596,18 +622,11 @@ public class DocumentFileServiceImpl extends JPAServiceImpl<DocumentFile>
     @Override
     @Transactional(readOnly = true)
     public DocumentFileIndex reindexDocumentFile(DocumentFile documentFile) {
-        try {
-            var resource = fileService.loadAsResource(documentFile.getServerFilename());
-            parseAndIndexPdfDocument(documentFile,
-                getMultipartFileFromObjectResponse(resource, documentFile),
-                documentFile.getServerFilename(), new DocumentFileIndex());
-        } catch (Exception e) {
-            log.error(
-                "Error reindexing ('{}','{}'). Skipping reindexing. Reason: {}",
-                documentFile.getServerFilename(), documentFile.getFilename(), e.getMessage());
-        }
-
-        return findDocumentFileIndexByDatabaseId(documentFile.getId()).orElse(null);
+        return startReindex(documentFile)
+            .flatMap(pendingReindex -> completeReindex(pendingReindex,
+                documentFileContentIndexRepository::save))
+            .map(documentFileIndexRepository::save)
+            .orElseGet(() -> findDocumentFileIndexByDatabaseId(documentFile.getId()).orElse(null));
     }
 
     @Override
@@ -667,12 +686,109 @@ public class DocumentFileServiceImpl extends JPAServiceImpl<DocumentFile>
         }
     }
 
-    private String extractDocumentContent(InputStream inputStream) {
-        try (var pdDocument = Loader.loadPDF(inputStream.readAllBytes())) {
-            var textStripper = new PDFTextStripper();
-            return textStripper.getText(pdDocument);
-        } catch (IOException e) {
+    private Optional<PendingReindex> startReindex(DocumentFile documentFile) {
+        if (!Objects.equals(documentFile.getMimeType(), "application/pdf")) {
+            return Optional.empty();
+        }
+
+        Path spooledFile = null;
+        try {
+            spooledFile = Files.createTempFile("reindex-", ".pdf");
+            String contentHash;
+            try (var resource = fileService.loadAsResource(documentFile.getServerFilename())) {
+                contentHash = spoolAndHash(resource, spooledFile);
+            }
+
+            if (!tika.detect(spooledFile).equals("application/pdf")) {
+                throw new LoadingException("MIME type mismatch for indexable document.");
+            }
+
+            var storedContent = documentFileContentIndexRepository.findById(contentHash);
+            if (storedContent.isPresent()) {
+                deleteSpooledFile(spooledFile);
+                return Optional.of(new PendingReindex(documentFile, null,
+                    CompletableFuture.completedFuture(storedContent.get()), false));
+            }
+
+            return Optional.of(new PendingReindex(documentFile, spooledFile,
+                pdfTextExtractionService.extractContent(contentHash, spooledFile), true));
+        } catch (Exception e) {
+            logReindexError(documentFile, e);
+            deleteSpooledFile(spooledFile);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<DocumentFileIndex> completeReindex(PendingReindex pendingReindex,
+                                                        Consumer<DocumentFileContentIndex> extractedContentSink) {
+        var documentFile = pendingReindex.documentFile();
+        try {
+            var documentContent = pendingReindex.content().join();
+            if (pendingReindex.extracted()) {
+                extractedContentSink.accept(documentContent);
+            }
+
+            var documentIndex = new DocumentFileIndex();
+            populateDocumentIndex(documentContent, documentFile.getFilename(), documentFile,
+                documentFile.getServerFilename(), documentIndex);
+            return Optional.of(documentIndex);
+        } catch (Exception e) {
+            logReindexError(documentFile,
+                e instanceof CompletionException && Objects.nonNull(e.getCause()) ?
+                    e.getCause() : e);
+            return Optional.empty();
+        } finally {
+            deleteSpooledFile(pendingReindex.spooledFile());
+        }
+    }
+
+    private void logReindexError(DocumentFile documentFile, Throwable e) {
+        log.error(
+            "Error reindexing ('{}','{}'). Skipping reindexing. Reason: {}",
+            documentFile.getServerFilename(), documentFile.getFilename(), e.getMessage());
+    }
+
+    private DocumentFileContentIndex findOrExtractContent(InputStream inputStream)
+        throws IOException {
+        var spooledFile = Files.createTempFile("document-file-", ".pdf");
+        try {
+            var contentHash = spoolAndHash(inputStream, spooledFile);
+            var storedContent = documentFileContentIndexRepository.findById(contentHash);
+            if (storedContent.isPresent()) {
+                return storedContent.get();
+            }
+
+            var extractedContent =
+                pdfTextExtractionService.extractContent(contentHash, spooledFile).join();
+            documentFileContentIndexRepository.save(extractedContent);
+            return extractedContent;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
             throw new LoadingException("Error while trying to load PDF file content.");
+        } finally {
+            deleteSpooledFile(spooledFile);
+        }
+    }
+
+    // Hashed while spooled to disk, the file is never held in memory as a whole
+    private String spoolAndHash(InputStream inputStream, Path spooledFile) throws IOException {
+        try (var hashingStream = new HashingInputStream(Hashing.sha256(), inputStream)) {
+            Files.copy(hashingStream, spooledFile, StandardCopyOption.REPLACE_EXISTING);
+            return hashingStream.hash().toString();
+        }
+    }
+
+    private void deleteSpooledFile(Path spooledFile) {
+        if (Objects.isNull(spooledFile)) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(spooledFile);
+        } catch (IOException e) {
+            log.warn("Unable to delete temporary file {}: {}", spooledFile, e.getMessage());
         }
     }
 
@@ -683,19 +799,23 @@ public class DocumentFileServiceImpl extends JPAServiceImpl<DocumentFile>
     }
 
     private String detectLanguage(String text) {
-        return languageDetector.detect(text).getLanguage().toUpperCase();
+        // Detector is not thread-safe, PDF extraction workers lock on the same instance
+        synchronized (languageDetector) {
+            return languageDetector.detect(text).getLanguage().toUpperCase();
+        }
     }
 
-    private void saveDocumentIndex(String documentContent, String documentTitle,
-                                   String contentLanguageDetected, String titleLanguageDetected,
-                                   DocumentFile documentFile, String serverFilename,
-                                   DocumentFileIndex documentIndex) {
+    private void populateDocumentIndex(DocumentFileContentIndex documentContent,
+                                       String documentTitle, DocumentFile documentFile,
+                                       String serverFilename, DocumentFileIndex documentIndex) {
+        var contentLanguageDetected = documentContent.getContentLanguage();
+        var titleLanguageDetected = detectLanguage(documentTitle);
 
         if (contentLanguageDetected.equals(LanguageAbbreviations.CROATIAN) ||
             contentLanguageDetected.equals(LanguageAbbreviations.SERBIAN)) {
-            documentIndex.setPdfTextSr(documentContent);
+            documentIndex.setPdfTextSr(documentContent.getPdfText());
         } else {
-            documentIndex.setPdfTextOther(documentContent);
+            documentIndex.setPdfTextOther(documentContent.getPdfText());
         }
 
         if (titleLanguageDetected.equals(LanguageAbbreviations.CROATIAN) ||
@@ -722,8 +842,6 @@ public class DocumentFileServiceImpl extends JPAServiceImpl<DocumentFile>
 
         documentIndex.setServerFilename(serverFilename);
         documentIndex.setDatabaseId(documentFile.getId());
-
-        documentFileIndexRepository.save(documentIndex);
     }
 
     public MultipartFile getMultipartFileFromObjectResponse(GetObjectResponse file,
@@ -736,4 +854,9 @@ public class DocumentFileServiceImpl extends JPAServiceImpl<DocumentFile>
             new ByteArrayInputStream(file.readAllBytes()) // content
         );
     }
+
+    private record PendingReindex(DocumentFile documentFile, @Nullable Path spooledFile,
+                                  CompletableFuture<DocumentFileContentIndex> content,
+                                  boolean extracted) {
+    }
 }
@@ -0,0 +1,151 @@
+package rs.teslaris.core.service.impl.document;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsBatchEvent;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
+import rs.teslaris.core.model.document.Document;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
+import rs.teslaris.core.util.persistence.KeysetBatchDriver;
+import rs.teslaris.core.util.search.BulkIndexingContext;
+import rs.teslaris.core.util.search.IndexRebuildContext;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentPublicationBulkIndexingServiceImpl
+    implements DocumentPublicationBulkIndexingService {
+
+    private final EntityManager entityManager;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final DocumentPublicationIndexRepository documentPublicationIndexRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    @Qualifier("bulkIndexExecutor")
+    private final Executor bulkIndexExecutor;
+
+    @Value("${reindex.bulk.batch-size}")
+    private Integer batchSize;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public <T extends Document> void reindexByKeyset(Class<T> entityClass,
+                                                     Function<T, DocumentPublicationIndex> indexBuilder) {
+        var entityName = entityManager.getMetamodel().entity(entityClass).getName();
+        var modifiedSince = IndexRebuildContext.getModifiedSince();
+
+        var result = KeysetBatchDriver.run("bulk reindex of " + entityName, bulkIndexExecutor,
+            batchSize, lastId -> fetchNextIdBatch(entityName, lastId, modifiedSince),
+            (ids, recordFailure) -> indexBatch(entityName, ids, indexBuilder,
+                Objects.nonNull(modifiedSince), recordFailure));
+
+        // A lost batch would leave a rebuilt index incomplete, so it must not be swapped in
+        if (result.failedBatchCount() > 0) {
+            throw new IllegalStateException(
+                "Bulk reindex of " + entityName + " lost " + result.failedBatchCount() +
+                    " batches.");
+        }
+
+        // Following passes look these documents up by search, e.g. containers counting their
+        // publications, and a rebuild target is created with refreshes disabled
+        elasticsearchOperations.indexOps(DocumentPublicationIndex.class).refresh();
+    }
+
+    private List<Integer> fetchNextIdBatch(String entityName, int lastId, Date modifiedSince) {
+        var ids = readOnlyTransactionTemplate.execute(status -> {
+            var query = entityManager.createQuery("SELECT e.id FROM " + entityName + " e " +
+                    "WHERE e.id > :lastId " +
+                    (Objects.nonNull(modifiedSince) ? "AND e.lastModification >= :since " : "") +
+                    "ORDER BY e.id", Integer.class)
+                .setParameter("lastId", lastId)
+                .setMaxResults(batchSize);
+
+            if (Objects.nonNull(modifiedSince)) {
+                query.setParameter("since", modifiedSince);
+            }
+
+            return query.getResultList();
+        });
+
+        return ids == null ? Collections.emptyList() : ids;
+    }
+
+    private <T extends Document> int indexBatch(String entityName, List<Integer> ids,
+                                                Function<T, DocumentPublicationIndex> indexBuilder,
+                                                boolean upsert, Runnable recordFailure) {
+        var indexes = readOnlyTransactionTemplate.execute(status ->
+            BulkIndexingContext.runWithDeferredWrites(() -> {
+                var builtIndexes = new ArrayList<DocumentPublicationIndex>(ids.size());
+
+                for (var entity : this.<T>loadBatch(entityName, ids)) {
+                    try {
+                        builtIndexes.add(indexBuilder.apply(entity));
+                    } catch (Exception e) {
+                        recordFailure.run();
+                        log.warn("Error processing {} ID {}: {}", entityName,
+                            entity.getId(), e.getMessage(), e);
+                    }
+                }
+
+                if (!builtIndexes.isEmpty()) {
+                    applicationEventPublisher.publishEvent(
+                        new ReindexExternalIndicatorsBatchEvent(builtIndexes));
+                }
+
+                return builtIndexes;
+            }));
+
+        if (indexes == null || indexes.isEmpty()) {
+            return 0;
+        }
+
+        // Catch-up passes overwrite records already written by the full pass
+        if (upsert) {
+            indexes.forEach(index -> documentPublicationIndexRepository
+                .findDocumentPublicationIndexByDatabaseId(index.getDatabaseId())
+                .ifPresent(existingIndex -> index.setId(existingIndex.getId())));
+        }
+
+        documentPublicationIndexRepository.saveAll(indexes);
+        return indexes.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Document> List<T> loadBatch(String entityName, List<Integer> ids) {
+        return (List<T>) entityManager
+            .createQuery("SELECT e FROM " + entityName + " e " +
+                "LEFT JOIN FETCH e.contributors WHERE e.id IN :ids ORDER BY e.id")
+            .setParameter("ids", ids)
+            .getResultList();
+    }
+}
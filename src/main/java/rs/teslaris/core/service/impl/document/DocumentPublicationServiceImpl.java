@@ -79,6 +79,7 @@ import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.DocumentPublicationService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitOutputConfigurationService;
@@ -97,8 +98,10 @@ import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.language.SerbianTransliteration;
 import rs.teslaris.core.util.notificationhandling.NotificationFactory;
 import rs.teslaris.core.util.persistence.IdentifierUtil;
+import rs.teslaris.core.util.search.BulkIndexingContext;
 import rs.teslaris.core.util.search.CollectionOperations;
 import rs.teslaris.core.util.search.ExpressionTransformer;
+import rs.teslaris.core.util.search.SearchCursor;
 import rs.teslaris.core.util.search.SearchFieldsLoader;
 import rs.teslaris.core.util.search.SearchRequestType;
 import rs.teslaris.core.util.search.StringUtil;
@@ -149,6 +152,8 @@ public class DocumentPublicationServiceImpl extends JPAServiceImpl<Document>
 
     private final CountryService countryService;
 
+    protected final DocumentPublicationBulkIndexingService bulkIndexingService;
+
     private final Pattern doiPattern =
         Pattern.compile("^10\\.\\d{4,9}/[-,._;():a-zA-Z0-9]+$", Pattern.CASE_INSENSITIVE);
 
@@ -561,6 +566,12 @@ public class DocumentPublicationServiceImpl extends JPAServiceImpl<Document>
         }
     }
 
+    protected void saveIndex(DocumentPublicationIndex index) {
+        if (!BulkIndexingContext.areWritesDeferred()) {
+            documentPublicationIndexRepository.save(index);
+        }
+    }
+
     @Transactional
     private void setBasicMetadata(Document document, DocumentPublicationIndex index) {
         index.setLastEdited(Objects.nonNull(document.getLastModification())
@@ -883,29 +894,46 @@ public class DocumentPublicationServiceImpl extends JPAServiceImpl<Document>
                     PageRequest.of(pageNumber, chunkSize, Sort.by(Sort.Direction.ASC, "databaseId")))
                 .getContent();
 
-            indexChunk.forEach(index -> {
-                var document = documentLookupService.fastDocumentLookup(index);
-
-                setEmploymentIndexInformation(
-                    index,
-                    new ArrayList<>(document.getContributors()),
-                    new HashSet<>(index.getOrganisationUnitIdsSpecified()),
-                    document instanceof Thesis
-                );
-
-                if (Objects.nonNull(document.getEvent())) {
-                    eventService.indexActiveEmploymentRelations(null,
-                        document.getEvent().getId());
-                }
-            });
-
-            documentPublicationIndexRepository.saveAll(indexChunk);
+            reindexEmploymentInformation(indexChunk);
 
             pageNumber++;
             hasNextPage = indexChunk.size() == chunkSize;
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void reindexEmploymentInformationForPublications(List<Integer> documentIds) {
+        int chunkSize = 200;
+        for (int i = 0; i < documentIds.size(); i += chunkSize) {
+            var idChunk = documentIds.subList(i, Math.min(i + chunkSize, documentIds.size()));
+            reindexEmploymentInformation(
+                documentPublicationIndexRepository.findDocumentPublicationIndexByDatabaseIdIn(
+                    idChunk, PageRequest.of(0, idChunk.size())).getContent());
+        }
+    }
+
+    private void reindexEmploymentInformation(List<DocumentPublicationIndex> indexChunk) {
+        var eventIds = new HashSet<Integer>();
+        indexChunk.forEach(index -> {
+            var document = documentLookupService.fastDocumentLookup(index);
+
+            setEmploymentIndexInformation(
+                index,
+                new ArrayList<>(document.getContributors()),
+                new HashSet<>(index.getOrganisationUnitIdsSpecified()),
+                document instanceof Thesis
+            );
+
+            if (Objects.nonNull(document.getEvent())) {
+                eventIds.add(document.getEvent().getId());
+            }
+        });
+
+        documentPublicationIndexRepository.saveAll(indexChunk);
+        eventIds.forEach(eventId -> eventService.indexActiveEmploymentRelations(null, eventId));
+    }
+
     @Override
     @Transactional
     public void deleteNonManagedDocuments() {
@@ -1365,21 +1393,43 @@ public class DocumentPublicationServiceImpl extends JPAServiceImpl<Document>
                                                                      Boolean emptyProceedingsOnly,
                                                                      Boolean noContributionsProceedingsOnly,
                                                                      Integer authorId) {
-        if (type.equals(SearchRequestType.SIMPLE)) {
-            return searchService.runQuery(
-                buildSimpleSearchQuery(tokens, institutionId, commissionId, authorReprint,
-                    unmanaged, allowedTypes, notArchivedOnly, showProceedings, emptyProceedingsOnly,
-                    noContributionsProceedingsOnly, authorId),
-                pageable,
-                DocumentPublicationIndex.class, "document_publication");
-        }
+        return searchDocumentPublications(tokens, pageable, null, type, institutionId,
+            commissionId, authorReprint, unmanaged, allowedTypes, notArchivedOnly,
+            showProceedings, emptyProceedingsOnly, noContributionsProceedingsOnly, authorId);
+    }
 
-        return searchService.runQuery(
+    @Override
+    @Transactional
+    public Page<DocumentPublicationIndex> searchDocumentPublications(List<String> tokens,
+                                                                     Pageable pageable,
+                                                                     String cursor,
+                                                                     SearchRequestType type,
+                                                                     Integer institutionId,
+                                                                     Integer commissionId,
+                                                                     Boolean authorReprint,
+                                                                     Boolean unmanaged,
+                                                                     List<DocumentPublicationType> allowedTypes,
+                                                                     Boolean notArchivedOnly,
+                                                                     Boolean showProceedings,
+                                                                     Boolean emptyProceedingsOnly,
+                                                                     Boolean noContributionsProceedingsOnly,
+                                                                     Integer authorId) {
+        var query = type.equals(SearchRequestType.SIMPLE) ?
+            buildSimpleSearchQuery(tokens, institutionId, commissionId, authorReprint, unmanaged,
+                allowedTypes, notArchivedOnly, showProceedings, emptyProceedingsOnly,
+                noContributionsProceedingsOnly, authorId) :
             buildAdvancedSearchQuery(tokens, institutionId, commissionId, authorReprint,
                 unmanaged, allowedTypes, notArchivedOnly, showProceedings, emptyProceedingsOnly,
-                authorId),
-            pageable,
-            DocumentPublicationIndex.class, "document_publication");
+                authorId);
+
+        if (Objects.nonNull(cursor) ||
+            (pageable.isPaged() && pageable.getPageNumber() >= SearchCursor.FIRST_CURSOR_PAGE)) {
+            return searchService.runCursorQuery(query, pageable, cursor,
+                DocumentPublicationIndex.class, "document_publication");
+        }
+
+        return searchService.runQuery(query, pageable, DocumentPublicationIndex.class,
+            "document_publication");
     }
 
     @Override
@@ -1,13 +1,22 @@
 package rs.teslaris.core.service.impl.document;
 
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
 import io.minio.GetObjectResponse;
+import io.minio.StatObjectResponse;
+import io.minio.Time;
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
 import java.util.Objects;
@@ -104,6 +113,33 @@ public class FileServiceFileSystemImpl implements FileService {
         return serverFilename + "." + extension;
     }
 
+    @Override
+    public String storeStream(InputStream inputStream, String serverFilename,
+                              String originalFilename) {
+        var originalFilenameTokens = originalFilename.split("\\.");
+        var extension = originalFilenameTokens[originalFilenameTokens.length - 1];
+        var destinationFilePath = Paths.get(rootLocation, serverFilename + "." + extension)
+            .normalize().toAbsolutePath();
+
+        if (!destinationFilePath.getParent().endsWith(rootLocation)) {
+            throw new StorageException(
+                "Cannot store file outside current directory.");
+        }
+
+        try {
+            Files.copy(inputStream, destinationFilePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(destinationFilePath);
+            } catch (IOException ignored) {
+                // the partial file is left behind
+            }
+            throw new StorageException("Failed to store file.");
+        }
+
+        return serverFilename + "." + extension;
+    }
+
     @Override
     public void delete(String serverFilename) {
         var rootPath = Paths.get(rootLocation).toAbsolutePath().normalize();
@@ -123,46 +159,49 @@ public class FileServiceFileSystemImpl implements FileService {
 
     @Override
     public GetObjectResponse loadAsResource(String filename) {
-        var rootPath = Paths.get(rootLocation).toAbsolutePath().normalize();
-        var filepath = rootPath.resolve(filename).normalize();
+        var filePath = resolveReadableFile(filename);
 
-        if (!filepath.startsWith(rootPath)) {
-            throw new StorageException("Access denied: " + filename);
+        try {
+            var inputStream = Files.newInputStream(filePath);
+            try {
+                return createObjectResponse(filename, filePath, inputStream);
+            } catch (IOException | RuntimeException e) {
+                closeAfterFailure(inputStream, e);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new StorageException("Could not read file: " + filename + " - " + e.getMessage());
         }
+    }
 
-        if (!Files.exists(filepath) || !Files.isReadable(filepath)) {
-            throw new NotFoundException("Document " + filename + " does not exist.");
-        }
+    @Override
+    public GetObjectResponse loadAsResource(String filename, long offset, long length) {
+        var filePath = resolveReadableFile(filename);
 
         try {
-            var filePath = filepath.toAbsolutePath();
-            long fileSize = Files.size(filePath);
-            var contentType = Files.probeContentType(filePath);
-            var etag = calculateFileETag(filePath);
-
-            var headersMap = new HashMap<String, String>();
-            headersMap.put("Content-Type",
-                Objects.requireNonNullElse(contentType, "application/octet-stream"));
-            headersMap.put("Content-Length", String.valueOf(fileSize));
-            headersMap.put("ETag", etag);
-            headersMap.put("Content-Disposition", "attachment; filename=\"" + filename + "\"");
-
-            var headers = Headers.of(headersMap);
-            var inputStream = Files.newInputStream(filePath);
+            var fileChannel = FileChannel.open(filePath, StandardOpenOption.READ);
+            try {
+                fileChannel.position(offset);
+                var inputStream =
+                    ByteStreams.limit(Channels.newInputStream(fileChannel), length);
+
+                return createObjectResponse(filename, filePath, inputStream);
+            } catch (IOException | RuntimeException e) {
+                closeAfterFailure(fileChannel, e);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new StorageException("Could not read file: " + filename + " - " + e.getMessage());
+        }
+    }
 
-            return new GetObjectResponse(headers, null, null, null, inputStream) {
-                @Override
-                public void close() {
-                    try {
-                        inputStream.close();
-                    } catch (IOException e) {
-                        // Log warning but don't throw
-                        System.err.println(
-                            "Warning: Failed to close input stream: " + e.getMessage());
-                    }
-                }
-            };
+    @Override
+    public StatObjectResponse statObject(String filename) {
+        var filePath = resolveReadableFile(filename);
 
+        try {
+            return new StatObjectResponse(createHeaders(filename, filePath), null, null,
+                filename);
         } catch (IOException e) {
             throw new StorageException("Could not read file: " + filename + " - " + e.getMessage());
         }
@@ -205,10 +244,67 @@ public class FileServiceFileSystemImpl implements FileService {
         }
     }
 
-    private String calculateFileETag(Path filePath) throws IOException {
+    private Path resolveReadableFile(String filename) {
+        var rootPath = Paths.get(rootLocation).toAbsolutePath().normalize();
+        var filepath = rootPath.resolve(filename).normalize();
+
+        if (!filepath.startsWith(rootPath)) {
+            throw new StorageException("Access denied: " + filename);
+        }
+
+        if (!Files.exists(filepath) || !Files.isReadable(filepath)) {
+            throw new NotFoundException("Document " + filename + " does not exist.");
+        }
+
+        return filepath.toAbsolutePath();
+    }
+
+    private GetObjectResponse createObjectResponse(String filename, Path filePath,
+                                                   InputStream inputStream) throws IOException {
+        return new GetObjectResponse(createHeaders(filename, filePath), null, null, filename,
+            inputStream) {
+            @Override
+            public void close() {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    // Log warning but don't throw
+                    System.err.println(
+                        "Warning: Failed to close input stream: " + e.getMessage());
+                }
+            }
+        };
+    }
+
+    private void closeAfterFailure(Closeable source, Exception failure) {
+        // Only a successfully built response takes over closing the source
+        try {
+            source.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private Headers createHeaders(String filename, Path filePath) throws IOException {
         var fileAttributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        var contentType = Files.probeContentType(filePath);
+
+        var headersMap = new HashMap<String, String>();
+        headersMap.put("Content-Type",
+            Objects.requireNonNullElse(contentType, "application/octet-stream"));
+        headersMap.put("Content-Length", String.valueOf(fileAttributes.size()));
+        headersMap.put("ETag", calculateFileETag(filePath, fileAttributes));
+        headersMap.put("Last-Modified", Time.HTTP_HEADER_DATE_FORMAT.format(
+            fileAttributes.lastModifiedTime().toInstant().atZone(Time.UTC)));
+        headersMap.put("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+
+        return Headers.of(headersMap);
+    }
+
+    private String calculateFileETag(Path filePath, BasicFileAttributes fileAttributes) {
         var eTagData =
-            filePath.toString() + fileAttributes.lastModifiedTime() + fileAttributes.size();
-        return "\"" + Integer.toHexString(eTagData.hashCode()) + "\"";
+            filePath.toString() + fileAttributes.lastModifiedTime().toMillis() +
+                fileAttributes.size();
+        return "\"" + Hashing.sha256().hashString(eTagData, StandardCharsets.UTF_8) + "\"";
     }
 }
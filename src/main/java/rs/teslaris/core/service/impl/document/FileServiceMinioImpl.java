@@ -36,6 +36,8 @@ import rs.teslaris.core.util.functional.Pair;
 @Slf4j
 public class FileServiceMinioImpl implements FileService {
 
+    private static final long STREAM_PART_SIZE = 16 * 1024 * 1024;
+
     private final MinioClient minioClient;
 
     @Value("${spring.minio.bucket}")
@@ -121,6 +123,31 @@ public class FileServiceMinioImpl implements FileService {
         return serverFilename + "." + extension;
     }
 
+    @Override
+    public String storeStream(InputStream inputStream, String serverFilename,
+                              String originalFilename) {
+        var originalFilenameTokens = originalFilename.split("\\.");
+        var extension = originalFilenameTokens[originalFilenameTokens.length - 1];
+
+        try {
+            // Unknown size, uploaded as multipart so only one part is buffered at a time
+            minioClient.putObject(PutObjectArgs.builder()
+                .bucket(bucketName)
+                .object(serverFilename + "." + extension)
+                .headers(Map.of(
+                    "Content-Disposition",
+                    "attachment; filename=\"" + originalFilename + "\""
+                ))
+                .stream(inputStream, -1, STREAM_PART_SIZE)
+                .build());
+        } catch (Exception e) {
+            throw new StorageException(
+                "Error while storing file in Minio. Reason: " + e.getMessage());
+        }
+
+        return serverFilename + "." + extension;
+    }
+
     @Override
     public void delete(String serverFilename) {
         try {
@@ -157,6 +184,36 @@ public class FileServiceMinioImpl implements FileService {
         }
     }
 
+    @Override
+    public GetObjectResponse loadAsResource(String serverFilename, long offset, long length) {
+        try {
+            var args = GetObjectArgs.builder()
+                .bucket(bucketName)
+                .object(serverFilename)
+                .offset(offset)
+                .length(length)
+                .build();
+
+            return Objects.requireNonNull(minioClient.getObject(args));
+        } catch (Exception e) {
+            throw new NotFoundException("Document " + serverFilename + " does not exist.");
+        }
+    }
+
+    @Override
+    public StatObjectResponse statObject(String serverFilename) {
+        try {
+            return minioClient.statObject(
+                StatObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(serverFilename)
+                    .build()
+            );
+        } catch (Exception e) {
+            throw new NotFoundException("Document " + serverFilename + " does not exist.");
+        }
+    }
+
     @Override
     public Pair<String, InputStream> duplicateFile(String serverFilename) {
         try {
@@ -6,11 +6,9 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
-import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.converter.document.GeneticMaterialConverter;
 import rs.teslaris.core.dto.document.GeneticMaterialDTO;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
@@ -28,6 +26,7 @@ import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.GeneticMaterialService;
 import rs.teslaris.core.service.interfaces.document.PublisherService;
@@ -36,7 +35,6 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
-import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.search.ExpressionTransformer;
 import rs.teslaris.core.util.search.SearchFieldsLoader;
@@ -72,6 +70,7 @@ public class GeneticMaterialServiceImpl extends DocumentPublicationServiceImpl i
                                       OrganisationUnitOutputConfigurationService organisationUnitOutputConfigurationService,
                                       DocumentLookupService documentLookupService,
                                       CountryService countryService,
+                                      DocumentPublicationBulkIndexingService bulkIndexingService,
                                       GeneticMaterialJPAServiceImpl geneticMaterialJPAService,
                                       PublisherService publisherService) {
         super(multilingualContentService, documentPublicationIndexRepository, searchService,
@@ -81,7 +80,7 @@ public class GeneticMaterialServiceImpl extends DocumentPublicationServiceImpl i
             commissionRepository, searchFieldsLoader, organisationUnitTrustConfigurationService,
             involvementRepository, organisationUnitOutputConfigurationService,
             documentLookupService,
-            countryService);
+            countryService, bulkIndexingService);
         this.geneticMaterialJPAService = geneticMaterialJPAService;
         this.publisherService = publisherService;
     }
@@ -182,15 +181,9 @@ public class GeneticMaterialServiceImpl extends DocumentPublicationServiceImpl i
     public void reindexGeneticMaterials() {
         // Super service does the initial deletion
 
-        FunctionalUtil.processAllPages(
-            100,
-            Sort.by(Sort.Direction.ASC, "id"),
-            geneticMaterialJPAService::findAll,
-            geneticMaterial -> {
-                var index = indexGeneticMaterial(geneticMaterial, new DocumentPublicationIndex());
-                applicationEventPublisher.publishEvent(new ReindexExternalIndicatorsEvent(index));
-            }
-        );
+        bulkIndexingService.reindexByKeyset(GeneticMaterial.class,
+            geneticMaterial -> indexGeneticMaterial(geneticMaterial,
+                new DocumentPublicationIndex()));
     }
 
     @Override
@@ -233,7 +226,7 @@ public class GeneticMaterialServiceImpl extends DocumentPublicationServiceImpl i
                 "apa", index, LanguageAbbreviations.ENGLISH)
         );
 
-        documentPublicationIndexRepository.save(index);
+        saveIndex(index);
 
         return index;
     }
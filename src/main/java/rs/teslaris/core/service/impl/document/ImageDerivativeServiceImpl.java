@@ -0,0 +1,217 @@
+package rs.teslaris.core.service.impl.document;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.minio.GetObjectResponse;
+import jakarta.annotation.PostConstruct;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.model.commontypes.ProfilePhotoOrLogo;
+import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.service.interfaces.document.ImageDerivativeService;
+import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
+import rs.teslaris.core.util.exceptionhandling.exception.StorageException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageDerivativeServiceImpl implements ImageDerivativeService {
+
+    private static final String DERIVATIVE_PREFIX = "derived-";
+
+    private static final String DEFAULT_LOGO_BACKGROUND = "#a8b2bd";
+
+    private static final Pattern FILENAME_PATTERN = Pattern.compile("filename=\"([^\"]*)\"");
+
+    private final FileService fileService;
+
+    @Value("${image-derivative.memory-cache-size-mb}")
+    private Long memoryCacheSizeMegabytes;
+
+    private Cache<String, ImageDerivative> derivativeCache;
+
+
+    @PostConstruct
+    public void init() {
+        derivativeCache = CacheBuilder.newBuilder()
+            .maximumWeight(memoryCacheSizeMegabytes * 1024 * 1024)
+            .weigher((String name, ImageDerivative derivative) -> derivative.content().length)
+            .build();
+    }
+
+    @Override
+    public ImageDerivative getProfilePhotoDerivative(ProfilePhotoOrLogo profilePhoto)
+        throws IOException {
+        return getDerivative(DerivativeKind.PROFILE_PHOTO, profilePhoto);
+    }
+
+    @Override
+    public ImageDerivative getLogoDerivative(ProfilePhotoOrLogo logo) throws IOException {
+        return getDerivative(DerivativeKind.LOGO, logo);
+    }
+
+    @Override
+    public void evictProfilePhotoDerivative(ProfilePhotoOrLogo profilePhoto) {
+        evictDerivative(DerivativeKind.PROFILE_PHOTO, profilePhoto);
+    }
+
+    @Override
+    public void evictLogoDerivative(ProfilePhotoOrLogo logo) {
+        evictDerivative(DerivativeKind.LOGO, logo);
+    }
+
+    private ImageDerivative getDerivative(DerivativeKind kind, ProfilePhotoOrLogo image)
+        throws IOException {
+        var derivativeName = derivativeName(kind, image);
+
+        try {
+            return derivativeCache.get(derivativeName,
+                () -> loadOrRenderDerivative(kind, image, derivativeName));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new StorageException("Unable to render " + derivativeName + ".");
+        }
+    }
+
+    private void evictDerivative(DerivativeKind kind, ProfilePhotoOrLogo image) {
+        if (Objects.isNull(image) || Objects.isNull(image.getImageServerName())) {
+            return;
+        }
+
+        var derivativeName = derivativeName(kind, image);
+        derivativeCache.invalidate(derivativeName);
+
+        try {
+            fileService.delete(derivativeName);
+        } catch (Exception e) {
+            log.debug("No stored derivative {} to delete: {}", derivativeName, e.getMessage());
+        }
+    }
+
+    private ImageDerivative loadOrRenderDerivative(DerivativeKind kind, ProfilePhotoOrLogo image,
+                                                   String derivativeName) throws IOException {
+        var etag = "\"" + derivativeName + "\"";
+
+        try (var storedDerivative = fileService.loadAsResource(derivativeName)) {
+            return new ImageDerivative(storedDerivative.readAllBytes(),
+                storedDerivative.headers().get("Content-Disposition"), etag);
+        } catch (NotFoundException e) {
+            // Not rendered yet
+        }
+
+        byte[] content;
+        String contentDisposition;
+        try (var original = fileService.loadAsResource(image.getImageServerName())) {
+            contentDisposition = original.headers().get("Content-Disposition");
+            content = kind.equals(DerivativeKind.LOGO) ? renderLogo(original, image) :
+                renderProfilePhoto(original, image);
+        }
+
+        try {
+            // Stored under the original file name, so a later load returns the same disposition
+            fileService.store(new ByteArrayResource(content),
+                derivativeName.substring(0, derivativeName.lastIndexOf('.')),
+                extractFilename(contentDisposition, image.getImageServerName()));
+        } catch (StorageException e) {
+            log.warn("Unable to store image derivative {}: {}", derivativeName, e.getMessage());
+        }
+
+        return new ImageDerivative(content, contentDisposition, etag);
+    }
+
+    private byte[] renderProfilePhoto(GetObjectResponse original, ProfilePhotoOrLogo profilePhoto)
+        throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        Thumbnails.of(original)
+            .size(profilePhoto.getWidth(), profilePhoto.getHeight())
+            .sourceRegion(profilePhoto.getLeftOffset(), profilePhoto.getTopOffset(),
+                profilePhoto.getWidth(), profilePhoto.getHeight())
+            .toOutputStream(outputStream);
+
+        return outputStream.toByteArray();
+    }
+
+    private byte[] renderLogo(GetObjectResponse original, ProfilePhotoOrLogo logo)
+        throws IOException {
+        var croppedResized = Thumbnails.of(original)
+            .size(logo.getWidth(), logo.getHeight())
+            .sourceRegion(logo.getLeftOffset(), logo.getTopOffset(), logo.getWidth(),
+                logo.getHeight()).asBufferedImage();
+
+        int canvasSize = Math.max(logo.getWidth(), logo.getHeight());
+        int x = (canvasSize - logo.getWidth()) / 2;
+        int y = (canvasSize - logo.getHeight()) / 2;
+
+        var canvas = new BufferedImage(canvasSize, canvasSize, BufferedImage.TYPE_INT_RGB);
+
+        var g2d = canvas.createGraphics();
+        g2d.setColor(Color.decode(
+            Objects.requireNonNullElse(logo.getBackgroundHex(), DEFAULT_LOGO_BACKGROUND)));
+        g2d.fillRect(0, 0, canvasSize, canvasSize);
+        g2d.drawImage(croppedResized, x, y, null);
+        g2d.dispose();
+
+        var outputStream = new ByteArrayOutputStream();
+        ImageIO.write(canvas, "png", outputStream);
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Every input of the rendering is part of the name, so a changed crop box or background
+     * never hits a stale derivative even before the old one is evicted.
+     */
+    private String derivativeName(DerivativeKind kind, ProfilePhotoOrLogo image) {
+        var serverFilename = image.getImageServerName();
+        var key = String.join("|", kind.name(), serverFilename,
+            String.valueOf(image.getLeftOffset()), String.valueOf(image.getTopOffset()),
+            String.valueOf(image.getWidth()), String.valueOf(image.getHeight()),
+            kind.equals(DerivativeKind.LOGO) ? String.valueOf(image.getBackgroundHex()) : "");
+
+        return DERIVATIVE_PREFIX +
+            Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString().substring(0, 32) +
+            "." + extension(serverFilename);
+    }
+
+    private String extractFilename(String contentDisposition, String fallbackFilename) {
+        if (Objects.nonNull(contentDisposition)) {
+            var matcher = FILENAME_PATTERN.matcher(contentDisposition);
+            if (matcher.find() &&
+                extension(matcher.group(1)).equals(extension(fallbackFilename))) {
+                return matcher.group(1);
+            }
+        }
+
+        return fallbackFilename;
+    }
+
+    private String extension(String filename) {
+        var filenameTokens = filename.split("\\.");
+        return filenameTokens[filenameTokens.length - 1];
+    }
+
+    private enum DerivativeKind {
+        PROFILE_PHOTO,
+        LOGO
+    }
+}
@@ -9,12 +9,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
 import rs.teslaris.core.applicationevent.ReassessEntityEvent;
-import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.converter.document.JournalPublicationConverter;
 import rs.teslaris.core.dto.document.JournalPublicationDTO;
 import rs.teslaris.core.dto.document.JournalPublicationResponseDTO;
@@ -35,6 +33,7 @@ import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.JournalPublicationService;
 import rs.teslaris.core.service.interfaces.document.JournalService;
@@ -43,7 +42,6 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
-import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.search.ExpressionTransformer;
 import rs.teslaris.core.util.search.SearchFieldsLoader;
@@ -83,6 +81,7 @@ public class JournalPublicationServiceImpl extends DocumentPublicationServiceImp
                                          OrganisationUnitOutputConfigurationService organisationUnitOutputConfigurationService,
                                          DocumentLookupService documentLookupService,
                                          CountryService countryService,
+                                         DocumentPublicationBulkIndexingService bulkIndexingService,
                                          JournalPublicationJPAServiceImpl journalPublicationJPAService,
                                          JournalService journalService,
                                          DocumentPublicationIndexRepository documentPublicationIndexRepository1,
@@ -94,7 +93,7 @@ public class JournalPublicationServiceImpl extends DocumentPublicationServiceImp
             commissionRepository, searchFieldsLoader, organisationUnitTrustConfigurationService,
             involvementRepository, organisationUnitOutputConfigurationService,
             documentLookupService,
-            countryService);
+            countryService, bulkIndexingService);
         this.journalPublicationJPAService = journalPublicationJPAService;
         this.journalService = journalService;
         this.documentPublicationIndexRepository = documentPublicationIndexRepository1;
@@ -251,7 +250,7 @@ public class JournalPublicationServiceImpl extends DocumentPublicationServiceImp
 
         index.setApa(
             citationService.craftCitationInGivenStyle("apa", index, LanguageAbbreviations.ENGLISH));
-        documentPublicationIndexRepository.save(index);
+        saveIndex(index);
 
         return index;
     }
@@ -304,16 +303,9 @@ public class JournalPublicationServiceImpl extends DocumentPublicationServiceImp
     public void reindexJournalPublications() {
         // Super service does the initial deletion
 
-        FunctionalUtil.processAllPages(
-            100,
-            Sort.by(Sort.Direction.ASC, "id"),
-            journalPublicationJPAService::findAll,
-            journalPublication -> {
-                var index =
-                    indexJournalPublication(journalPublication, new DocumentPublicationIndex());
-                applicationEventPublisher.publishEvent(new ReindexExternalIndicatorsEvent(index));
-            }
-        );
+        bulkIndexingService.reindexByKeyset(JournalPublication.class,
+            journalPublication -> indexJournalPublication(journalPublication,
+                new DocumentPublicationIndex()));
     }
 
     private void setJournalPublicationRelatedFields(JournalPublication publication,
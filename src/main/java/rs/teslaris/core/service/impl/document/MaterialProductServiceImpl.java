@@ -7,11 +7,9 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
-import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.converter.document.MaterialProductConverter;
 import rs.teslaris.core.dto.document.MaterialProductDTO;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
@@ -30,6 +28,7 @@ import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.MaterialProductService;
 import rs.teslaris.core.service.interfaces.document.PublisherService;
@@ -38,7 +37,6 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
-import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.search.ExpressionTransformer;
 import rs.teslaris.core.util.search.SearchFieldsLoader;
@@ -76,6 +74,7 @@ public class MaterialProductServiceImpl extends DocumentPublicationServiceImpl i
                                       OrganisationUnitOutputConfigurationService organisationUnitOutputConfigurationService,
                                       DocumentLookupService documentLookupService,
                                       CountryService countryService,
+                                      DocumentPublicationBulkIndexingService bulkIndexingService,
                                       MaterialProductJPAServiceImpl materialProductJPAService,
                                       PublisherService publisherService,
                                       ResearchAreaService researchAreaService) {
@@ -86,7 +85,7 @@ public class MaterialProductServiceImpl extends DocumentPublicationServiceImpl i
             commissionRepository, searchFieldsLoader, organisationUnitTrustConfigurationService,
             involvementRepository, organisationUnitOutputConfigurationService,
             documentLookupService,
-            countryService);
+            countryService, bulkIndexingService);
         this.materialProductJPAService = materialProductJPAService;
         this.publisherService = publisherService;
         this.researchAreaService = researchAreaService;
@@ -189,15 +188,9 @@ public class MaterialProductServiceImpl extends DocumentPublicationServiceImpl i
     public void reindexMaterialProducts() {
         // Super service does the initial deletion
 
-        FunctionalUtil.processAllPages(
-            100,
-            Sort.by(Sort.Direction.ASC, "id"),
-            materialProductJPAService::findAll,
-            materialProduct -> {
-                var index = indexMaterialProduct(materialProduct, new DocumentPublicationIndex());
-                applicationEventPublisher.publishEvent(new ReindexExternalIndicatorsEvent(index));
-            }
-        );
+        bulkIndexingService.reindexByKeyset(MaterialProduct.class,
+            materialProduct -> indexMaterialProduct(materialProduct,
+                new DocumentPublicationIndex()));
     }
 
     @Override
@@ -244,7 +237,7 @@ public class MaterialProductServiceImpl extends DocumentPublicationServiceImpl i
 
         index.setApa(
             citationService.craftCitationInGivenStyle("apa", index, LanguageAbbreviations.ENGLISH));
-        documentPublicationIndexRepository.save(index);
+        saveIndex(index);
 
         return index;
     }
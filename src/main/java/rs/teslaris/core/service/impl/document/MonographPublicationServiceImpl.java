@@ -10,11 +10,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
-import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.converter.document.MonographPublicationConverter;
 import rs.teslaris.core.dto.document.MonographPublicationDTO;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
@@ -34,6 +32,7 @@ import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.MonographPublicationService;
 import rs.teslaris.core.service.interfaces.document.MonographService;
@@ -42,7 +41,6 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
-import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.search.ExpressionTransformer;
 import rs.teslaris.core.util.search.SearchFieldsLoader;
@@ -80,6 +78,7 @@ public class MonographPublicationServiceImpl extends DocumentPublicationServiceI
                                            OrganisationUnitOutputConfigurationService organisationUnitOutputConfigurationService,
                                            DocumentLookupService documentLookupService,
                                            CountryService countryService,
+                                           DocumentPublicationBulkIndexingService bulkIndexingService,
                                            MonographPublicationJPAServiceImpl monographPublicationJPAService,
                                            MonographService monographService,
                                            MonographPublicationRepository monographPublicationRepository) {
@@ -90,7 +89,7 @@ public class MonographPublicationServiceImpl extends DocumentPublicationServiceI
             commissionRepository, searchFieldsLoader, organisationUnitTrustConfigurationService,
             involvementRepository, organisationUnitOutputConfigurationService,
             documentLookupService,
-            countryService);
+            countryService, bulkIndexingService);
         this.monographPublicationJPAService = monographPublicationJPAService;
         this.monographService = monographService;
         this.monographPublicationRepository = monographPublicationRepository;
@@ -227,16 +226,9 @@ public class MonographPublicationServiceImpl extends DocumentPublicationServiceI
     public void reindexMonographPublications() {
         // Super service does the initial deletion
 
-        FunctionalUtil.processAllPages(
-            100,
-            Sort.by(Sort.Direction.ASC, "id"),
-            monographPublicationJPAService::findAll,
-            monographPublication -> {
-                var index =
-                    indexMonographPublication(monographPublication, new DocumentPublicationIndex());
-                applicationEventPublisher.publishEvent(new ReindexExternalIndicatorsEvent(index));
-            }
-        );
+        bulkIndexingService.reindexByKeyset(MonographPublication.class,
+            monographPublication -> indexMonographPublication(monographPublication,
+                new DocumentPublicationIndex()));
     }
 
     private void setMonographPublicationRelatedFields(MonographPublication monographPublication,
@@ -289,18 +281,24 @@ public class MonographPublicationServiceImpl extends DocumentPublicationServiceI
 
         index.setApa(
             citationService.craftCitationInGivenStyle("apa", index, LanguageAbbreviations.ENGLISH));
-        documentPublicationIndexRepository.save(index);
+        saveIndex(index);
 
         monographIds.forEach(
             monographId ->
                 documentPublicationIndexRepository.findDocumentPublicationIndexByDatabaseId(
                         monographId)
                     .ifPresent(monographIndex -> {
-                        monographIndex.setHasPublications(Objects.nonNull(monographId) &&
-                            (documentPublicationIndexRepository
-                                .countByMonographId(monographId) > 0));
-
-                        documentPublicationIndexRepository.save(monographIndex);
+                        // Current monograph contains at least this publication, even when
+                        // its index write is deferred to a bulk request
+                        var hasPublications = Objects.nonNull(monographId) &&
+                            (monographId.equals(monographPublication.getMonograph().getId()) ||
+                                documentPublicationIndexRepository
+                                    .countByMonographId(monographId) > 0);
+                        if (!Objects.equals(monographIndex.getHasPublications(),
+                            hasPublications)) {
+                            monographIndex.setHasPublications(hasPublications);
+                            documentPublicationIndexRepository.save(monographIndex);
+                        }
                     }));
 
         return index;
@@ -6,11 +6,9 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
-import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.converter.document.PatentConverter;
 import rs.teslaris.core.dto.document.PatentDTO;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
@@ -29,6 +27,7 @@ import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.PatentService;
 import rs.teslaris.core.service.interfaces.document.PublisherService;
@@ -37,7 +36,6 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
-import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.search.ExpressionTransformer;
 import rs.teslaris.core.util.search.SearchFieldsLoader;
@@ -73,6 +71,7 @@ public class PatentServiceImpl extends DocumentPublicationServiceImpl implements
                              OrganisationUnitOutputConfigurationService organisationUnitOutputConfigurationService,
                              DocumentLookupService documentLookupService,
                              CountryService countryService,
+                             DocumentPublicationBulkIndexingService bulkIndexingService,
                              PatentJPAServiceImpl patentJPAService,
                              PublisherService publisherService,
                              PatentRepository patentRepository) {
@@ -83,7 +82,7 @@ public class PatentServiceImpl extends DocumentPublicationServiceImpl implements
             commissionRepository, searchFieldsLoader, organisationUnitTrustConfigurationService,
             involvementRepository, organisationUnitOutputConfigurationService,
             documentLookupService,
-            countryService);
+            countryService, bulkIndexingService);
         this.patentJPAService = patentJPAService;
         this.publisherService = publisherService;
         this.patentRepository = patentRepository;
@@ -204,15 +203,8 @@ public class PatentServiceImpl extends DocumentPublicationServiceImpl implements
     public void reindexPatents() {
         // Super service does the initial deletion
 
-        FunctionalUtil.processAllPages(
-            100,
-            Sort.by(Sort.Direction.ASC, "id"),
-            patentJPAService::findAll,
-            patent -> {
-                var index = indexPatent(patent, new DocumentPublicationIndex());
-                applicationEventPublisher.publishEvent(new ReindexExternalIndicatorsEvent(index));
-            }
-        );
+        bulkIndexingService.reindexByKeyset(Patent.class,
+            patent -> indexPatent(patent, new DocumentPublicationIndex()));
     }
 
     @Override
@@ -236,7 +228,7 @@ public class PatentServiceImpl extends DocumentPublicationServiceImpl implements
 
         index.setApa(
             citationService.craftCitationInGivenStyle("apa", index, LanguageAbbreviations.ENGLISH));
-        documentPublicationIndexRepository.save(index);
+        saveIndex(index);
 
         return index;
     }
@@ -0,0 +1,232 @@
+package rs.teslaris.core.service.impl.document;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.apache.tika.language.detect.LanguageDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.indexmodel.DocumentFileContentIndex;
+import rs.teslaris.core.service.interfaces.document.PdfTextExtractionService;
+import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PdfTextExtractionServiceImpl implements PdfTextExtractionService {
+
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+
+    private final LanguageDetector languageDetector;
+
+    private final AtomicLong completedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final AtomicLong truncatedCount = new AtomicLong();
+
+    private final AtomicLong totalExtractionMillis = new AtomicLong();
+
+    @Value("${pdf-extraction.queue-capacity}")
+    private Integer queueCapacity;
+
+    @Value("${pdf-extraction.max-pages}")
+    private Integer maxPages;
+
+    @Value("${pdf-extraction.max-characters}")
+    private Integer maxCharacters;
+
+    @Value("${pdf-extraction.timeout-seconds}")
+    private Long timeoutSeconds;
+
+    @Value("${pdf-extraction.max-main-memory-mb}")
+    private Long maxMainMemoryMegabytes;
+
+    private ThreadPoolExecutor extractionExecutor;
+
+
+    @PostConstruct
+    public void init() {
+        var workerCount = Runtime.getRuntime().availableProcessors();
+
+        // Full queue runs the extraction on the submitting thread, which throttles producers
+        extractionExecutor = new ThreadPoolExecutor(workerCount, workerCount, 0L,
+            TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("PdfExtractionWorker-"),
+            (task, executor) -> {
+                if (executor.isShutdown()) {
+                    cancel(task);
+                } else {
+                    task.run();
+                }
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        extractionExecutor.shutdownNow().forEach(this::cancel);
+    }
+
+    @Override
+    public CompletableFuture<DocumentFileContentIndex> extractContent(String contentHash,
+                                                                      Path pdfFile) {
+        var extractionTask = new ExtractionTask(contentHash, pdfFile);
+        extractionExecutor.execute(extractionTask);
+        return extractionTask.result;
+    }
+
+    private void cancel(Runnable task) {
+        if (task instanceof ExtractionTask extractionTask) {
+            extractionTask.result.completeExceptionally(
+                new LoadingException("PDF text extraction was cancelled by shutdown."));
+        }
+    }
+
+    private DocumentFileContentIndex extract(String contentHash, Path pdfFile) {
+        var startTime = System.currentTimeMillis();
+
+        // Parsed objects beyond the in-memory budget are cached in scratch files
+        var memoryUsageSetting =
+            MemoryUsageSetting.setupMixed(maxMainMemoryMegabytes * 1024 * 1024);
+        try (var pdDocument = Loader.loadPDF(new RandomAccessReadBufferedFile(pdfFile.toFile()),
+            null, null, null, memoryUsageSetting.streamCache)) {
+            var textStripper = new LimitedTextStripper(maxCharacters,
+                startTime + TimeUnit.SECONDS.toMillis(timeoutSeconds));
+            textStripper.setEndPage(maxPages);
+
+            var output = new StringWriter();
+            try {
+                textStripper.writeText(pdDocument, output);
+                if (pdDocument.getNumberOfPages() > maxPages) {
+                    recordTruncation(pdfFile, "page limit reached");
+                }
+            } catch (ExtractionLimitReachedException e) {
+                recordTruncation(pdfFile, e.getMessage());
+            }
+
+            var documentContent = output.toString();
+
+            // Detector keeps per-detection state and is shared with other services
+            String contentLanguage;
+            synchronized (languageDetector) {
+                contentLanguage =
+                    languageDetector.detect(documentContent).getLanguage().toUpperCase();
+            }
+
+            return new DocumentFileContentIndex(contentHash, documentContent, contentLanguage,
+                pdDocument.getNumberOfPages());
+        } catch (IOException e) {
+            failedCount.incrementAndGet();
+            throw new LoadingException("Error while trying to load PDF file content.");
+        } finally {
+            totalExtractionMillis.addAndGet(System.currentTimeMillis() - startTime);
+            if (completedCount.incrementAndGet() % PROGRESS_LOG_INTERVAL == 0) {
+                logProgress();
+            }
+        }
+    }
+
+    private void recordTruncation(Path pdfFile, String reason) {
+        truncatedCount.incrementAndGet();
+        log.warn("Text extraction of {} stopped early: {}.", pdfFile.getFileName(), reason);
+    }
+
+    private void logProgress() {
+        var completed = completedCount.get();
+        log.info("PDF text extraction: {} completed ({} failed, {} truncated), {} queued, " +
+                "{} active, {} ms average.", completed, failedCount.get(), truncatedCount.get(),
+            extractionExecutor.getQueue().size(), extractionExecutor.getActiveCount(),
+            totalExtractionMillis.get() / Math.max(1, completed));
+    }
+
+    private class ExtractionTask implements Runnable {
+
+        private final String contentHash;
+
+        private final Path pdfFile;
+
+        private final CompletableFuture<DocumentFileContentIndex> result =
+            new CompletableFuture<>();
+
+
+        private ExtractionTask(String contentHash, Path pdfFile) {
+            this.contentHash = contentHash;
+            this.pdfFile = pdfFile;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result.complete(extract(contentHash, pdfFile));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class LimitedTextStripper extends PDFTextStripper {
+
+        private final int maxCharacters;
+
+        private final long deadlineMillis;
+
+        private int writtenCharacters;
+
+
+        private LimitedTextStripper(int maxCharacters, long deadlineMillis) {
+            this.maxCharacters = maxCharacters;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            checkDeadline();
+            super.startPage(page);
+        }
+
+        @Override
+        protected void writeString(String text, List<TextPosition> textPositions)
+            throws IOException {
+            checkDeadline();
+
+            var remainingCharacters = maxCharacters - writtenCharacters;
+            if (text.length() > remainingCharacters) {
+                super.writeString(text.substring(0, remainingCharacters), textPositions);
+                throw new ExtractionLimitReachedException("character limit reached");
+            }
+
+            writtenCharacters += text.length();
+            super.writeString(text, textPositions);
+        }
+
+        private void checkDeadline() throws ExtractionLimitReachedException {
+            if (System.currentTimeMillis() > deadlineMillis) {
+                throw new ExtractionLimitReachedException("time limit reached");
+            }
+        }
+    }
+
+    private static class ExtractionLimitReachedException extends IOException {
+
+        private ExtractionLimitReachedException(String message) {
+            super(message);
+        }
+    }
+}
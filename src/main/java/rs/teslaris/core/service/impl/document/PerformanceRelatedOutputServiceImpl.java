@@ -7,11 +7,9 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
-import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.converter.document.PerformanceRelatedOutputConverter;
 import rs.teslaris.core.dto.document.PerformanceRelatedOutputDTO;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
@@ -31,6 +29,7 @@ import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.PerformanceRelatedOutputService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitOutputConfigurationService;
@@ -38,7 +37,6 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
-import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.search.CollectionOperations;
 import rs.teslaris.core.util.search.ExpressionTransformer;
@@ -78,6 +76,7 @@ public class PerformanceRelatedOutputServiceImpl extends DocumentPublicationServ
         OrganisationUnitOutputConfigurationService organisationUnitOutputConfigurationService,
         DocumentLookupService documentLookupService,
         CountryService countryService,
+        DocumentPublicationBulkIndexingService bulkIndexingService,
         PerformanceRelatedOutputJPAServiceImpl performanceRelatedOutputJPAService,
         LanguageTagService languageTagService,
         PerformanceRelatedOutputRepository performanceRelatedOutputRepository) {
@@ -88,7 +87,7 @@ public class PerformanceRelatedOutputServiceImpl extends DocumentPublicationServ
             commissionRepository, searchFieldsLoader, organisationUnitTrustConfigurationService,
             involvementRepository, organisationUnitOutputConfigurationService,
             documentLookupService,
-            countryService);
+            countryService, bulkIndexingService);
         this.performanceRelatedOutputJPAService = performanceRelatedOutputJPAService;
         this.languageTagService = languageTagService;
         this.performanceRelatedOutputRepository = performanceRelatedOutputRepository;
@@ -207,16 +206,9 @@ public class PerformanceRelatedOutputServiceImpl extends DocumentPublicationServ
     public void reindexPerformanceRelatedOutputs() {
         // Super service does the initial deletion
 
-        FunctionalUtil.processAllPages(
-            100,
-            Sort.by(Sort.Direction.ASC, "id"),
-            performanceRelatedOutputJPAService::findAll,
-            performanceRelatedOutput -> {
-                var index = indexPerformanceRelatedOutput(performanceRelatedOutput,
-                    new DocumentPublicationIndex());
-                applicationEventPublisher.publishEvent(new ReindexExternalIndicatorsEvent(index));
-            }
-        );
+        bulkIndexingService.reindexByKeyset(PerformanceRelatedOutput.class,
+            performanceRelatedOutput -> indexPerformanceRelatedOutput(performanceRelatedOutput,
+                new DocumentPublicationIndex()));
     }
 
     @Override
@@ -268,7 +260,7 @@ public class PerformanceRelatedOutputServiceImpl extends DocumentPublicationServ
         index.setApa(
             citationService.craftCitationInGivenStyle("apa", index, LanguageAbbreviations.ENGLISH));
 
-        documentPublicationIndexRepository.save(index);
+        saveIndex(index);
 
         return index;
     }
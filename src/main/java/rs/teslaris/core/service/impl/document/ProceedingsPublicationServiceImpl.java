@@ -9,12 +9,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
 import rs.teslaris.core.applicationevent.ReassessEntityEvent;
-import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.converter.commontypes.MultilingualContentConverter;
 import rs.teslaris.core.converter.document.ProceedingsPublicationConverter;
 import rs.teslaris.core.dto.document.ProceedingsPublicationDTO;
@@ -38,6 +36,7 @@ import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.ConferenceService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.ProceedingsPublicationService;
 import rs.teslaris.core.service.interfaces.document.ProceedingsService;
@@ -46,7 +45,6 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
-import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.search.ExpressionTransformer;
 import rs.teslaris.core.util.search.SearchFieldsLoader;
@@ -89,6 +87,7 @@ public class ProceedingsPublicationServiceImpl extends DocumentPublicationServic
                                              OrganisationUnitOutputConfigurationService organisationUnitOutputConfigurationService,
                                              DocumentLookupService documentLookupService,
                                              CountryService countryService,
+                                             DocumentPublicationBulkIndexingService bulkIndexingService,
                                              ProceedingPublicationJPAServiceImpl proceedingPublicationJPAService,
                                              ProceedingsService proceedingsService,
                                              ProceedingsPublicationRepository proceedingsPublicationRepository,
@@ -102,7 +101,7 @@ public class ProceedingsPublicationServiceImpl extends DocumentPublicationServic
             commissionRepository, searchFieldsLoader, organisationUnitTrustConfigurationService,
             involvementRepository, organisationUnitOutputConfigurationService,
             documentLookupService,
-            countryService);
+            countryService, bulkIndexingService);
         this.proceedingPublicationJPAService = proceedingPublicationJPAService;
         this.proceedingsService = proceedingsService;
         this.proceedingsPublicationRepository = proceedingsPublicationRepository;
@@ -285,15 +284,21 @@ public class ProceedingsPublicationServiceImpl extends DocumentPublicationServic
         index.setApa(
             citationService.craftCitationInGivenStyle("apa", index, LanguageAbbreviations.ENGLISH));
 
-        documentPublicationIndexRepository.save(index);
+        saveIndex(index);
 
         proceedingsIds.forEach(proceedingsId -> {
             documentPublicationIndexRepository.findDocumentPublicationIndexByDatabaseId(
                 proceedingsId).ifPresent(proceedingsIndex -> {
-                    proceedingsIndex.setHasPublications(
-                        (documentPublicationIndexRepository.countByProceedingsId(proceedingsId) > 0)
-                    );
-                    documentPublicationIndexRepository.save(proceedingsIndex);
+                    // Current proceedings contain at least this publication, even when its
+                    // index write is deferred to a bulk request
+                    var hasPublications =
+                        proceedingsId.equals(publication.getProceedings().getId()) ||
+                            documentPublicationIndexRepository.countByProceedingsId(
+                                proceedingsId) > 0;
+                    if (!Objects.equals(proceedingsIndex.getHasPublications(), hasPublications)) {
+                        proceedingsIndex.setHasPublications(hasPublications);
+                        documentPublicationIndexRepository.save(proceedingsIndex);
+                    }
                 }
             );
         });
@@ -360,16 +365,9 @@ public class ProceedingsPublicationServiceImpl extends DocumentPublicationServic
     public void reindexProceedingsPublications() {
         // Super service does the initial deletion
 
-        FunctionalUtil.processAllPages(
-            100,
-            Sort.by(Sort.Direction.ASC, "id"),
-            proceedingPublicationJPAService::findAll,
-            proceedingsPublication -> {
-                var index = indexProceedingsPublication(proceedingsPublication,
-                    new DocumentPublicationIndex());
-                applicationEventPublisher.publishEvent(new ReindexExternalIndicatorsEvent(index));
-            }
-        );
+        bulkIndexingService.reindexByKeyset(ProceedingsPublication.class,
+            proceedingsPublication -> indexProceedingsPublication(proceedingsPublication,
+                new DocumentPublicationIndex()));
     }
 
     private void setProceedingsPublicationRelatedFields(ProceedingsPublication publication,
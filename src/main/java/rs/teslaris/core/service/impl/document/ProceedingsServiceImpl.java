@@ -9,11 +9,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
-import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsEvent;
 import rs.teslaris.core.converter.document.ProceedingsConverter;
 import rs.teslaris.core.dto.document.ProceedingsDTO;
 import rs.teslaris.core.dto.document.ProceedingsResponseDTO;
@@ -39,6 +37,7 @@ import rs.teslaris.core.service.interfaces.document.BookSeriesService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.JournalService;
 import rs.teslaris.core.service.interfaces.document.ProceedingsService;
@@ -49,7 +48,6 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConf
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
 import rs.teslaris.core.util.exceptionhandling.exception.ProceedingsReferenceConstraintViolationException;
-import rs.teslaris.core.util.functional.FunctionalUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.core.util.persistence.IdentifierUtil;
 import rs.teslaris.core.util.search.ExpressionTransformer;
@@ -105,6 +103,7 @@ public class ProceedingsServiceImpl extends DocumentPublicationServiceImpl
                                   OrganisationUnitOutputConfigurationService organisationUnitOutputConfigurationService,
                                   DocumentLookupService documentLookupService,
                                   CountryService countryService,
+                                  DocumentPublicationBulkIndexingService bulkIndexingService,
                                   ProceedingsJPAServiceImpl proceedingsJPAService,
                                   ProceedingsRepository proceedingsRepository,
                                   LanguageService languageService, JournalService journalService,
@@ -121,7 +120,7 @@ public class ProceedingsServiceImpl extends DocumentPublicationServiceImpl
             commissionRepository, searchFieldsLoader, organisationUnitTrustConfigurationService,
             involvementRepository, organisationUnitOutputConfigurationService,
             documentLookupService,
-            countryService);
+            countryService, bulkIndexingService);
         this.proceedingsJPAService = proceedingsJPAService;
         this.proceedingsRepository = proceedingsRepository;
         this.languageService = languageService;
@@ -305,14 +304,19 @@ public class ProceedingsServiceImpl extends DocumentPublicationServiceImpl
         index.setApa(
             citationService.craftCitationInGivenStyle("apa", index, LanguageAbbreviations.ENGLISH));
 
-        documentPublicationIndexRepository.save(index);
+        saveIndex(index);
 
         eventIds.forEach(eventId -> eventIndexRepository.findByDatabaseId(eventId)
             .ifPresent(eventIndex -> {
-                eventIndex.setHasProceedings(Objects.nonNull(eventId) &&
-                    (documentPublicationIndexRepository.countByEventId(eventId) > 0));
-
-                eventIndexRepository.save(eventIndex);
+                // Current event has at least these proceedings, even when their index write
+                // is deferred to a bulk request
+                var hasProceedings = Objects.nonNull(eventId) &&
+                    (eventId.equals(proceedings.getEvent().getId()) ||
+                        documentPublicationIndexRepository.countByEventId(eventId) > 0);
+                if (!Objects.equals(eventIndex.getHasProceedings(), hasProceedings)) {
+                    eventIndex.setHasProceedings(hasProceedings);
+                    eventIndexRepository.save(eventIndex);
+                }
             }));
 
         return index;
@@ -331,15 +335,8 @@ public class ProceedingsServiceImpl extends DocumentPublicationServiceImpl
     public void reindexProceedings() {
         // Super service does the initial deletion
 
-        FunctionalUtil.processAllPages(
-            100,
-            Sort.by(Sort.Direction.ASC, "id"),
-            proceedingsJPAService::findAll,
-            proceedings -> {
-                var index = indexProceedings(proceedings, new DocumentPublicationIndex());
-                applicationEventPublisher.publishEvent(new ReindexExternalIndicatorsEvent(index));
-            }
-        );
+        bulkIndexingService.reindexByKeyset(Proceedings.class,
+            proceedings -> indexProceedings(proceedings, new DocumentPublicationIndex()));
     }
 
     private void setProceedingsRelatedFields(Proceedings proceedings,
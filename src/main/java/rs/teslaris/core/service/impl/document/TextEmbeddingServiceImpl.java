@@ -0,0 +1,211 @@
+package rs.teslaris.core.service.impl.document;
+
+import ai.djl.MalformedModelException;
+import ai.djl.huggingface.translator.TextEmbeddingTranslatorFactory;
+import ai.djl.inference.Predictor;
+import ai.djl.repository.zoo.Criteria;
+import ai.djl.repository.zoo.ModelNotFoundException;
+import ai.djl.repository.zoo.ZooModel;
+import ai.djl.training.util.ProgressBar;
+import ai.djl.translate.TranslateException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.service.interfaces.document.TextEmbeddingService;
+
+@Service
+@Slf4j
+public class TextEmbeddingServiceImpl implements TextEmbeddingService {
+
+    private static final String DJL_MODEL = "sentence-transformers/all-MiniLM-L6-v2";
+
+    private static final String DJL_PATH = "djl://ai.djl.huggingface.pytorch/" + DJL_MODEL;
+
+    private final BlockingQueue<PendingEmbedding> pendingEmbeddings = new LinkedBlockingQueue<>();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    @Value("${embedding.predictor-pool-size}")
+    private Integer predictorPoolSize;
+
+    @Value("${embedding.max-batch-size}")
+    private Integer maxBatchSize;
+
+    @Value("${embedding.timeout-seconds}")
+    private Long timeoutSeconds;
+
+    @Value("${embedding.cache-size}")
+    private Long cacheSize;
+
+    private Cache<String, float[]> embeddingCache;
+
+    private ZooModel<String, float[]> model;
+
+    private volatile boolean shuttingDown;
+
+
+    @PostConstruct
+    public void init() throws ModelNotFoundException, MalformedModelException, IOException {
+        embeddingCache = CacheBuilder.newBuilder()
+            .maximumSize(cacheSize)
+            .build();
+
+        Criteria<String, float[]> criteria =
+            Criteria.builder()
+                .setTypes(String.class, float[].class)
+                .optModelUrls(DJL_PATH)
+                .optEngine("PyTorch")
+                .optTranslatorFactory(new TextEmbeddingTranslatorFactory())
+                .optProgress(new ProgressBar())
+                .build();
+        model = criteria.loadModel();
+
+        // Predictors are not thread-safe, every worker owns exactly one
+        for (int i = 0; i < predictorPoolSize; i++) {
+            var predictor = model.newPredictor();
+            workers.add(Thread.ofPlatform()
+                .name("EmbeddingWorker-" + i)
+                .daemon()
+                .start(() -> processPendingEmbeddings(predictor)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        workers.forEach(Thread::interrupt);
+
+        var abandoned = new ArrayList<PendingEmbedding>();
+        pendingEmbeddings.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+            new TranslateException("Embedding service is shutting down.")));
+
+        if (Objects.nonNull(model)) {
+            model.close();
+        }
+    }
+
+    @Override
+    public float[] embed(String text) throws TranslateException {
+        return embedAll(List.of(text)).getFirst();
+    }
+
+    @Override
+    public List<float[]> embedAll(List<String> texts) throws TranslateException {
+        if (shuttingDown) {
+            throw new TranslateException("Embedding service is shutting down.");
+        }
+
+        var contentHashes = texts.stream()
+            .map(text -> Hashing.sha256().hashString(text, StandardCharsets.UTF_8).toString())
+            .toList();
+
+        var embeddingsByHash = new HashMap<String, float[]>();
+        var missingTexts = new LinkedHashMap<String, String>();
+        for (int i = 0; i < texts.size(); i++) {
+            var embedding = embeddingCache.getIfPresent(contentHashes.get(i));
+            if (Objects.nonNull(embedding)) {
+                embeddingsByHash.put(contentHashes.get(i), embedding);
+            } else {
+                missingTexts.putIfAbsent(contentHashes.get(i), texts.get(i));
+            }
+        }
+
+        var missingHashes = new ArrayList<>(missingTexts.keySet());
+        var computedEmbeddings = awaitEmbeddings(new ArrayList<>(missingTexts.values()));
+        for (int i = 0; i < missingHashes.size(); i++) {
+            embeddingsByHash.put(missingHashes.get(i), computedEmbeddings.get(i));
+            embeddingCache.put(missingHashes.get(i), computedEmbeddings.get(i));
+        }
+
+        return contentHashes.stream()
+            .map(contentHash -> embeddingsByHash.get(contentHash).clone())
+            .toList();
+    }
+
+    private List<float[]> awaitEmbeddings(List<String> texts) throws TranslateException {
+        var pendingBatches = Lists.partition(texts, maxBatchSize).stream()
+            .map(batch -> new PendingEmbedding(batch, new CompletableFuture<>()))
+            .toList();
+        pendingEmbeddings.addAll(pendingBatches);
+
+        var embeddings = new ArrayList<float[]>(texts.size());
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        try {
+            for (var pending : pendingBatches) {
+                embeddings.addAll(
+                    pending.result().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TranslateException(e);
+        } catch (TimeoutException e) {
+            throw new TranslateException(
+                "Embedding of " + texts.size() + " texts timed out after " + timeoutSeconds +
+                    " seconds.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TranslateException translateException) {
+                throw translateException;
+            }
+            throw new TranslateException(e.getCause());
+        } finally {
+            // Workers skip batches nobody waits for anymore
+            pendingBatches.forEach(pending -> pending.result().cancel(false));
+        }
+
+        return embeddings;
+    }
+
+    private void processPendingEmbeddings(Predictor<String, float[]> predictor) {
+        PendingEmbedding pending = null;
+
+        try (predictor) {
+            while (!Thread.currentThread().isInterrupted()) {
+                pending = pendingEmbeddings.take();
+                if (!pending.result().isDone()) {
+                    predictBatch(predictor, pending);
+                }
+                pending = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (Objects.nonNull(pending)) {
+                pending.result().completeExceptionally(
+                    new TranslateException("Embedding worker stopped."));
+            }
+        }
+    }
+
+    private void predictBatch(Predictor<String, float[]> predictor, PendingEmbedding pending) {
+        try {
+            pending.result().complete(predictor.batchPredict(pending.texts()));
+        } catch (Exception e) {
+            log.error("Embedding of {} texts failed. Reason: {}", pending.texts().size(),
+                e.getMessage());
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingEmbedding(List<String> texts, CompletableFuture<List<float[]>> result) {
+    }
+}
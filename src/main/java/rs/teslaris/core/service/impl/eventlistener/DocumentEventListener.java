@@ -2,23 +2,22 @@ package rs.teslaris.core.service.impl.eventlistener;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import rs.teslaris.core.applicationevent.PersonEmploymentOUHierarchyStructureChangedEvent;
-import rs.teslaris.core.service.interfaces.document.DocumentPublicationService;
+import rs.teslaris.core.model.commontypes.ReindexRequestType;
+import rs.teslaris.core.service.interfaces.commontypes.ReindexRequestQueueService;
 
 @Component
 @RequiredArgsConstructor
 public class DocumentEventListener {
 
-    private final DocumentPublicationService documentPublicationService;
+    private final ReindexRequestQueueService reindexRequestQueueService;
 
 
-    @Async("taskExecutor")
     @EventListener
     protected void handlePersonEmploymentOUHierarchyStructureChangedEvent(
         PersonEmploymentOUHierarchyStructureChangedEvent event) {
-        documentPublicationService.reindexEmploymentInformationForAllPersonPublications(
+        reindexRequestQueueService.enqueue(ReindexRequestType.PERSON_PUBLICATIONS,
             event.getPersonId());
     }
 }
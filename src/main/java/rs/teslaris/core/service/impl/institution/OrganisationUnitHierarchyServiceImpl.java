@@ -0,0 +1,285 @@
+package rs.teslaris.core.service.impl.institution;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rs.teslaris.core.applicationevent.OrganisationUnitHierarchyChangedEvent;
+import rs.teslaris.core.repository.institution.OrganisationUnitsRelationRepository;
+import rs.teslaris.core.service.interfaces.institution.OrganisationUnitHierarchyService;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrganisationUnitHierarchyServiceImpl implements OrganisationUnitHierarchyService {
+
+    private static final int[] NONE = new int[0];
+
+    private final OrganisationUnitsRelationRepository organisationUnitsRelationRepository;
+
+    private volatile Hierarchy hierarchy;
+
+
+    @Override
+    public int[] ancestorsOf(Integer organisationUnitId) {
+        if (Objects.isNull(organisationUnitId)) {
+            return NONE;
+        }
+
+        return Hierarchy.get(currentHierarchy().ancestors, organisationUnitId);
+    }
+
+    @Override
+    public int[] descendantsOf(Integer organisationUnitId) {
+        if (Objects.isNull(organisationUnitId)) {
+            return NONE;
+        }
+
+        return Hierarchy.get(currentHierarchy().descendants, organisationUnitId);
+    }
+
+    @Override
+    @Scheduled(fixedRate = (1000 * 60 * 10)) // 10 minutes
+    public synchronized void rebuild() {
+        // Also picks up relation changes made by other instances or outside of the services
+        var relationPairs = organisationUnitsRelationRepository.getAllSuperOURelationPairs();
+        hierarchy = Hierarchy.build(relationPairs);
+        log.debug("Loaded organisation unit hierarchy from {} relations.", relationPairs.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    protected void handleHierarchyChange(OrganisationUnitHierarchyChangedEvent event) {
+        if (Objects.isNull(hierarchy)) {
+            return;
+        }
+
+        if (Objects.isNull(event.getOrganisationUnitId())) {
+            rebuild();
+            return;
+        }
+
+        refreshSuperUnits(event.getOrganisationUnitId());
+    }
+
+    private synchronized void refreshSuperUnits(int organisationUnitId) {
+        var superUnitIds =
+            organisationUnitsRelationRepository.getSuperOUIds(organisationUnitId).stream()
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+
+        hierarchy = hierarchy.withSuperUnits(organisationUnitId, superUnitIds);
+    }
+
+    private Hierarchy currentHierarchy() {
+        var current = hierarchy;
+        if (Objects.nonNull(current)) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (Objects.isNull(hierarchy)) {
+                rebuild();
+            }
+            return hierarchy;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the relation graph. All arrays are indexed by organisation unit id,
+     * so lookups are a single array access. Updates copy the outer arrays and replace only the
+     * rows that changed, readers never observe a partially applied change.
+     */
+    private static final class Hierarchy {
+
+        private final int[][] parents;
+
+        private final int[][] children;
+
+        private final int[][] ancestors;
+
+        private final int[][] descendants;
+
+
+        private Hierarchy(int[][] parents, int[][] children, int[][] ancestors,
+                          int[][] descendants) {
+            this.parents = parents;
+            this.children = children;
+            this.ancestors = ancestors;
+            this.descendants = descendants;
+        }
+
+        private static Hierarchy build(List<Object[]> relationPairs) {
+            var size = 1;
+            for (var pair : relationPairs) {
+                size = Math.max(size, Math.max((Integer) pair[0], (Integer) pair[1]) + 1);
+            }
+
+            var parentCounts = new int[size];
+            var childCounts = new int[size];
+            for (var pair : relationPairs) {
+                parentCounts[(Integer) pair[0]]++;
+                childCounts[(Integer) pair[1]]++;
+            }
+
+            var parents = allocate(parentCounts);
+            var children = allocate(childCounts);
+            Arrays.fill(parentCounts, 0);
+            Arrays.fill(childCounts, 0);
+            for (var pair : relationPairs) {
+                int source = (Integer) pair[0];
+                int target = (Integer) pair[1];
+                parents[source][parentCounts[source]++] = target;
+                children[target][childCounts[target]++] = source;
+            }
+
+            var traversal = new Traversal(size);
+            var ancestors = new int[size][];
+            var descendants = new int[size][];
+            for (int id = 0; id < size; id++) {
+                ancestors[id] = traversal.collect(parents, id);
+                descendants[id] = traversal.collect(children, id);
+            }
+
+            return new Hierarchy(parents, children, ancestors, descendants);
+        }
+
+        private static int[][] allocate(int[] counts) {
+            var rows = new int[counts.length][];
+            for (int i = 0; i < counts.length; i++) {
+                rows[i] = counts[i] == 0 ? NONE : new int[counts[i]];
+            }
+            return rows;
+        }
+
+        private static int[] get(int[][] rows, int id) {
+            if (id < 0 || id >= rows.length || Objects.isNull(rows[id])) {
+                return NONE;
+            }
+            return rows[id];
+        }
+
+        private Hierarchy withSuperUnits(int organisationUnitId, int[] superUnitIds) {
+            var size = Math.max(parents.length, organisationUnitId + 1);
+            for (var superUnitId : superUnitIds) {
+                size = Math.max(size, superUnitId + 1);
+            }
+
+            var newParents = Arrays.copyOf(parents, size);
+            var newChildren = Arrays.copyOf(children, size);
+            var newAncestors = Arrays.copyOf(ancestors, size);
+            var newDescendants = Arrays.copyOf(descendants, size);
+
+            var oldSuperUnitIds = get(parents, organisationUnitId);
+            for (var oldSuperUnitId : oldSuperUnitIds) {
+                if (!contains(superUnitIds, oldSuperUnitId)) {
+                    newChildren[oldSuperUnitId] =
+                        remove(get(newChildren, oldSuperUnitId), organisationUnitId);
+                }
+            }
+            for (var superUnitId : superUnitIds) {
+                if (!contains(oldSuperUnitIds, superUnitId)) {
+                    newChildren[superUnitId] =
+                        append(get(newChildren, superUnitId), organisationUnitId);
+                }
+            }
+            newParents[organisationUnitId] = superUnitIds.length == 0 ? NONE : superUnitIds;
+
+            // Ancestors change for the unit and its whole sub-hierarchy, descendants change
+            // for every unit above it, both before and after the move
+            var traversal = new Traversal(size);
+            var oldAncestors = get(ancestors, organisationUnitId);
+            var subHierarchy = append(traversal.collect(newChildren, organisationUnitId),
+                organisationUnitId);
+            for (var id : subHierarchy) {
+                newAncestors[id] = traversal.collect(newParents, id);
+            }
+
+            for (var id : oldAncestors) {
+                newDescendants[id] = traversal.collect(newChildren, id);
+            }
+            for (var id : newAncestors[organisationUnitId]) {
+                if (!contains(oldAncestors, id)) {
+                    newDescendants[id] = traversal.collect(newChildren, id);
+                }
+            }
+
+            return new Hierarchy(newParents, newChildren, newAncestors, newDescendants);
+        }
+
+        private static boolean contains(int[] values, int value) {
+            for (var candidate : values) {
+                if (candidate == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static int[] append(int[] values, int value) {
+            var result = Arrays.copyOf(values, values.length + 1);
+            result[values.length] = value;
+            return result;
+        }
+
+        private static int[] remove(int[] values, int value) {
+            var result = Arrays.stream(values).filter(candidate -> candidate != value).toArray();
+            return result.length == 0 ? NONE : result;
+        }
+    }
+
+    /**
+     * Breadth-first walk over an adjacency table. Visited marks are generation stamps so one
+     * traversal can be reused for many walks without clearing.
+     */
+    private static final class Traversal {
+
+        private final int[] marks;
+
+        private int generation;
+
+
+        private Traversal(int size) {
+            this.marks = new int[size];
+        }
+
+        private int[] collect(int[][] adjacency, int startId) {
+            var neighbours = Hierarchy.get(adjacency, startId);
+            if (neighbours.length == 0) {
+                return NONE;
+            }
+
+            generation++;
+            marks[startId] = generation;
+
+            var visited = new int[Math.max(8, neighbours.length)];
+            var count = 0;
+            var head = -1;
+            var current = startId;
+            while (true) {
+                for (var neighbour : Hierarchy.get(adjacency, current)) {
+                    if (marks[neighbour] == generation) {
+                        continue;
+                    }
+
+                    marks[neighbour] = generation;
+                    if (count == visited.length) {
+                        visited = Arrays.copyOf(visited, count * 2);
+                    }
+                    visited[count++] = neighbour;
+                }
+
+                if (++head == count) {
+                    break;
+                }
+                current = visited[head];
+            }
+
+            return Arrays.copyOf(visited, count);
+        }
+    }
+}
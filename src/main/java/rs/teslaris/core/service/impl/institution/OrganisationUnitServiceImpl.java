@@ -35,6 +35,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.teslaris.core.annotation.Traceable;
 import rs.teslaris.core.applicationevent.OrganisationUnitDeletedEvent;
+import rs.teslaris.core.applicationevent.OrganisationUnitHierarchyChangedEvent;
 import rs.teslaris.core.applicationevent.OrganisationUnitSignificantChangeEvent;
 import rs.teslaris.core.converter.commontypes.GeoLocationConverter;
 import rs.teslaris.core.converter.institution.OrganisationUnitConverter;
@@ -75,6 +76,8 @@ import rs.teslaris.core.service.interfaces.commontypes.ResearchAreaService;
 import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.service.interfaces.document.ImageDerivativeService;
+import rs.teslaris.core.service.interfaces.institution.OrganisationUnitHierarchyService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
 import rs.teslaris.core.util.exceptionhandling.exception.OrganisationUnitReferenceConstraintViolationException;
@@ -126,10 +129,14 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
 
     private final FileService fileService;
 
+    private final ImageDerivativeService imageDerivativeService;
+
     private final ApplicationEventPublisher applicationEventPublisher;
 
     private final CountryService countryService;
 
+    private final OrganisationUnitHierarchyService organisationUnitHierarchyService;
+
     @Value("${relation.approved_by_default}")
     private Boolean relationApprovedByDefault;
 
@@ -369,8 +376,7 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
         }
         if (Objects.nonNull(topLevelInstitutionId) && topLevelInstitutionId > 0) {
             var allowedInstitutions =
-                organisationUnitsRelationRepository.getSubOUsRecursive(topLevelInstitutionId);
-            allowedInstitutions.add(topLevelInstitutionId);
+                getOrganisationUnitIdsFromSubHierarchy(topLevelInstitutionId);
             b.must(createTermsQuery("databaseId", allowedInstitutions));
         }
     }
@@ -460,8 +466,12 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
     @Override
     @Transactional
     public List<Integer> getOrganisationUnitIdsFromSubHierarchy(Integer currentOUNodeId) {
-        var ouSubUnits =
-            organisationUnitsRelationRepository.getSubOUsRecursive(currentOUNodeId);
+        var descendants = organisationUnitHierarchyService.descendantsOf(currentOUNodeId);
+
+        var ouSubUnits = new ArrayList<Integer>(descendants.length + 1);
+        for (var subUnitId : descendants) {
+            ouSubUnits.add(subUnitId);
+        }
         ouSubUnits.add(currentOUNodeId);
 
         return ouSubUnits;
@@ -470,7 +480,14 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
     @Override
     @Transactional
     public List<Integer> getSuperOUsHierarchyRecursive(Integer sourceOUId) {
-        return organisationUnitsRelationRepository.getSuperOUsRecursive(sourceOUId);
+        var ancestors = organisationUnitHierarchyService.ancestorsOf(sourceOUId);
+
+        var superOUs = new ArrayList<Integer>(ancestors.length);
+        for (var superUnitId : ancestors) {
+            superOUs.add(superUnitId);
+        }
+
+        return superOUs;
     }
 
     @Override
@@ -850,6 +867,7 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
         }
 
         var organisationUnit = findOne(organisationUnitId);
+        imageDerivativeService.evictLogoDerivative(organisationUnit.getLogo());
 
         if (Objects.nonNull(organisationUnit.getLogo()) &&
             Objects.nonNull(organisationUnit.getLogo().getImageServerName()) &&
@@ -880,6 +898,7 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
     @Transactional
     public void removeOrganisationUnitLogo(Integer organisationUnitId) {
         var organisationUnit = findOne(organisationUnitId);
+        imageDerivativeService.evictLogoDerivative(organisationUnit.getLogo());
 
         if (Objects.nonNull(organisationUnit.getLogo()) &&
             Objects.nonNull(organisationUnit.getLogo().getImageServerName())) {
@@ -1073,6 +1092,7 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
     public void forceDeleteOrganisationUnit(Integer organisationUnitId) {
         organisationUnitRepository.deleteInvolvementsForOrganisationUnit(organisationUnitId);
         organisationUnitRepository.deleteRelationsForOrganisationUnit(organisationUnitId);
+        applicationEventPublisher.publishEvent(new OrganisationUnitHierarchyChangedEvent(null));
 
         // Migrate to non-managed OU for theses
         migrateThesesToUnmanagedOU(organisationUnitId);
@@ -1149,6 +1169,9 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
         var savedRelation = organisationUnitsRelationJPAService.save(newRelation);
         updateIndex(savedRelation);
 
+        applicationEventPublisher.publishEvent(
+            new OrganisationUnitHierarchyChangedEvent(
+                savedRelation.getSourceOrganisationUnit().getId()));
         applicationEventPublisher.publishEvent(
             new OrganisationUnitSignificantChangeEvent(
                 savedRelation.getSourceOrganisationUnit().getId()));
@@ -1183,6 +1206,8 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
 
         updateIndex(savedRelation);
 
+        applicationEventPublisher.publishEvent(
+            new OrganisationUnitHierarchyChangedEvent(targetId));
         applicationEventPublisher.publishEvent(
             new OrganisationUnitSignificantChangeEvent(
                 savedRelation.getSourceOrganisationUnit().getId()));
@@ -1224,6 +1249,8 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
 
         organisationUnitsRelationJPAService.save(relationToUpdate);
 
+        // Both endpoints and the relation type may have changed
+        applicationEventPublisher.publishEvent(new OrganisationUnitHierarchyChangedEvent(null));
         applicationEventPublisher.publishEvent(
             new OrganisationUnitSignificantChangeEvent(
                 relationToUpdate.getSourceOrganisationUnit().getId()));
@@ -1238,6 +1265,9 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
         reindexSubUnitRelationsAndTerminateClientStatus(
             relationToDelete.getSourceOrganisationUnit());
 
+        applicationEventPublisher.publishEvent(
+            new OrganisationUnitHierarchyChangedEvent(
+                relationToDelete.getSourceOrganisationUnit().getId()));
         applicationEventPublisher.publishEvent(
             new OrganisationUnitSignificantChangeEvent(
                 relationToDelete.getSourceOrganisationUnit().getId()));
@@ -1260,6 +1290,8 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
 
         organisationUnitsRelationRepository.delete(relations.getFirst());
 
+        applicationEventPublisher.publishEvent(
+            new OrganisationUnitHierarchyChangedEvent(subOu.getId()));
         applicationEventPublisher.publishEvent(
             new OrganisationUnitSignificantChangeEvent(subOu.getId()));
     }
@@ -1301,6 +1333,9 @@ public class OrganisationUnitServiceImpl extends JPAServiceImpl<OrganisationUnit
                 approve ? ApproveStatus.APPROVED : ApproveStatus.DECLINED);
         }
         organisationUnitsRelationJPAService.save(relationToApprove);
+
+        applicationEventPublisher.publishEvent(new OrganisationUnitHierarchyChangedEvent(
+            relationToApprove.getSourceOrganisationUnit().getId()));
     }
 
     private void setCommonOURelationFields(OrganisationUnitsRelation relation,
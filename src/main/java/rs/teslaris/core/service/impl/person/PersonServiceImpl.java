@@ -90,6 +90,7 @@ import rs.teslaris.core.service.interfaces.commontypes.LanguageTagService;
 import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentService;
 import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.service.interfaces.document.ImageDerivativeService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.person.PersonNameService;
 import rs.teslaris.core.service.interfaces.person.PersonService;
@@ -138,6 +139,8 @@ public class PersonServiceImpl extends JPAServiceImpl<Person> implements PersonS
 
     private final FileService fileService;
 
+    private final ImageDerivativeService imageDerivativeService;
+
     private final SearchFieldsLoader searchFieldsLoader;
 
     private final ElasticsearchClient elasticsearchClient;
@@ -715,6 +718,7 @@ public class PersonServiceImpl extends JPAServiceImpl<Person> implements PersonS
     @Transactional
     public void removePersonProfileImage(Integer personId) {
         var person = findOne(personId);
+        imageDerivativeService.evictProfilePhotoDerivative(person.getProfilePhoto());
 
         if (Objects.nonNull(person.getProfilePhoto()) &&
             Objects.nonNull(person.getProfilePhoto().getImageServerName())) {
@@ -738,6 +742,7 @@ public class PersonServiceImpl extends JPAServiceImpl<Person> implements PersonS
         }
 
         var person = findOne(personId);
+        imageDerivativeService.evictProfilePhotoDerivative(person.getProfilePhoto());
 
         if (Objects.nonNull(person.getProfilePhoto()) &&
             Objects.nonNull(person.getProfilePhoto().getImageServerName()) &&
@@ -0,0 +1,11 @@
+package rs.teslaris.core.service.interfaces.commontypes;
+
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface IndexRebuildService {
+
+    void rebuildIndex(String aliasName, Class<?> indexClass, Runnable populator,
+                      @Nullable Runnable catchUpPopulator);
+}
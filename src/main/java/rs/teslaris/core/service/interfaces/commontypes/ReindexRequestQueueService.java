@@ -0,0 +1,18 @@
+package rs.teslaris.core.service.interfaces.commontypes;
+
+import java.util.Collection;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.dto.commontypes.ReindexQueueStatusDTO;
+import rs.teslaris.core.model.commontypes.ReindexRequestType;
+
+@Service
+public interface ReindexRequestQueueService {
+
+    void enqueue(ReindexRequestType type, Integer entityId);
+
+    void enqueueAll(ReindexRequestType type, Collection<Integer> entityIds);
+
+    void processPendingRequests();
+
+    ReindexQueueStatusDTO getQueueStatus();
+}
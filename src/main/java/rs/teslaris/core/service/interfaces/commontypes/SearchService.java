@@ -1,11 +1,13 @@
 package rs.teslaris.core.service.interfaces.commontypes;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import jakarta.annotation.Nullable;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import rs.teslaris.core.util.functional.Pair;
+import rs.teslaris.core.util.search.SearchCursorPage;
 
 @Service
 public interface SearchService<T> {
@@ -13,6 +15,12 @@ public interface SearchService<T> {
     Page<T> runQuery(Query query, Pageable pageable, Class<T> clazz,
                      String indexName);
 
+    SearchCursorPage<T> runCursorQuery(Query query, Pageable pageable, @Nullable String cursor,
+                                       Class<T> clazz, String indexName);
+
+    List<List<T>> runMultiQuery(List<Query> queries, int resultsPerQuery, Class<T> clazz,
+                                String indexName);
+
     List<Pair<String, Long>> runWordCloudSearch(Query query, String indexName,
                                                 boolean foreignLanguage);
 
@@ -1,5 +1,6 @@
 package rs.teslaris.core.service.interfaces.commontypes;
 
+import java.io.OutputStream;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.stereotype.Service;
 import rs.teslaris.core.dto.commontypes.DocumentExportRequestDTO;
@@ -14,5 +15,11 @@ public interface TableExportService {
 
     InputStreamResource exportOrganisationUnitsToCSV(TableExportRequestDTO request);
 
+    void exportDocuments(DocumentExportRequestDTO request, OutputStream outputStream);
+
+    void exportPersons(TableExportRequestDTO request, OutputStream outputStream);
+
+    void exportOrganisationUnits(TableExportRequestDTO request, OutputStream outputStream);
+
     Integer getMaxRecordsPerPage();
 }
@@ -0,0 +1,13 @@
+package rs.teslaris.core.service.interfaces.document;
+
+import java.util.function.Function;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+import rs.teslaris.core.model.document.Document;
+
+@Service
+public interface DocumentPublicationBulkIndexingService {
+
+    <T extends Document> void reindexByKeyset(Class<T> entityClass,
+                                              Function<T, DocumentPublicationIndex> indexBuilder);
+}
@@ -84,6 +84,21 @@ public interface DocumentPublicationService extends JPAService<Document> {
                                                               Boolean noContributionsProceedingsOnly,
                                                               Integer authorId);
 
+    Page<DocumentPublicationIndex> searchDocumentPublications(List<String> tokens,
+                                                              Pageable pageable,
+                                                              String cursor,
+                                                              SearchRequestType type,
+                                                              Integer institutionId,
+                                                              Integer commissionId,
+                                                              Boolean authorReprint,
+                                                              Boolean unmanaged,
+                                                              List<DocumentPublicationType> allowedTypes,
+                                                              Boolean notArchivedOnly,
+                                                              Boolean showProceedings,
+                                                              Boolean emptyProceedingsOnly,
+                                                              Boolean noContributionsProceedingsOnly,
+                                                              Integer authorId);
+
     Page<DocumentPublicationIndex> findDocumentDuplicates(List<String> titles, String doi,
                                                           String scopusId, String openAlexId,
                                                           String webOfScienceId,
@@ -131,6 +146,8 @@ public interface DocumentPublicationService extends JPAService<Document> {
 
     void reindexEmploymentInformationForAllPersonPublications(Integer personId);
 
+    void reindexEmploymentInformationForPublications(List<Integer> documentIds);
+
     void deleteNonManagedDocuments();
 
     void updateDocumentIdentifiers(Integer documentId, DocumentIdentifierUpdateDTO requestDTO);
@@ -1,6 +1,7 @@
 package rs.teslaris.core.service.interfaces.document;
 
 import io.minio.GetObjectResponse;
+import io.minio.StatObjectResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import org.springframework.core.io.Resource;
@@ -15,9 +16,16 @@ public interface FileService {
 
     String store(Resource resource, String serverFilename, String originalFilename);
 
+    String storeStream(InputStream inputStream, String serverFilename, String originalFilename);
+
     void delete(String serverFilename);
 
     GetObjectResponse loadAsResource(String serverFilename) throws IOException;
 
+    GetObjectResponse loadAsResource(String serverFilename, long offset, long length)
+        throws IOException;
+
+    StatObjectResponse statObject(String serverFilename);
+
     Pair<String, InputStream> duplicateFile(String serverFilename);
 }
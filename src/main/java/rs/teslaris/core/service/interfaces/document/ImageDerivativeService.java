@@ -0,0 +1,21 @@
+package rs.teslaris.core.service.interfaces.document;
+
+import java.io.IOException;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.model.commontypes.ProfilePhotoOrLogo;
+
+@Service
+public interface ImageDerivativeService {
+
+    ImageDerivative getProfilePhotoDerivative(ProfilePhotoOrLogo profilePhoto)
+        throws IOException;
+
+    ImageDerivative getLogoDerivative(ProfilePhotoOrLogo logo) throws IOException;
+
+    void evictProfilePhotoDerivative(ProfilePhotoOrLogo profilePhoto);
+
+    void evictLogoDerivative(ProfilePhotoOrLogo logo);
+
+    record ImageDerivative(byte[] content, String contentDisposition, String etag) {
+    }
+}
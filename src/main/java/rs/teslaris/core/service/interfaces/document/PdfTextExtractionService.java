@@ -0,0 +1,13 @@
+package rs.teslaris.core.service.interfaces.document;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.indexmodel.DocumentFileContentIndex;
+
+@Service
+public interface PdfTextExtractionService {
+
+    CompletableFuture<DocumentFileContentIndex> extractContent(String contentHash,
+                                                               Path pdfFile);
+}
@@ -0,0 +1,13 @@
+package rs.teslaris.core.service.interfaces.document;
+
+import ai.djl.translate.TranslateException;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface TextEmbeddingService {
+
+    float[] embed(String text) throws TranslateException;
+
+    List<float[]> embedAll(List<String> texts) throws TranslateException;
+}
@@ -0,0 +1,21 @@
+package rs.teslaris.core.service.interfaces.institution;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface OrganisationUnitHierarchyService {
+
+    /**
+     * Returns all transitive super-units over approved BELONGS_TO relations. The returned array
+     * is shared and must not be modified.
+     */
+    int[] ancestorsOf(Integer organisationUnitId);
+
+    /**
+     * Returns all transitive sub-units over approved BELONGS_TO relations. The returned array
+     * is shared and must not be modified.
+     */
+    int[] descendantsOf(Integer organisationUnitId);
+
+    void rebuild();
+}
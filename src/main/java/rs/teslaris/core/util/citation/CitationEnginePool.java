@@ -0,0 +1,86 @@
+package rs.teslaris.core.util.citation;
+
+import de.undercouch.citeproc.CSL;
+import de.undercouch.citeproc.ItemDataProvider;
+import de.undercouch.citeproc.csl.CSLItemData;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jsoup.Jsoup;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps parsed citeproc engines around per style. Building an engine parses the whole CSL style
+ * and locale, which costs far more than rendering a single entry. Engines are not thread-safe,
+ * so each one is borrowed exclusively; when all pooled engines are busy a fresh one is built and
+ * kept only if there is room left in the pool.
+ */
+@Component
+public class CitationEnginePool {
+
+    private static final int MAX_IDLE_ENGINES_PER_STYLE = 4;
+
+    private final Map<String, BlockingQueue<CitationEngine>> idleEngines =
+        new ConcurrentHashMap<>();
+
+
+    public String render(String style, CSLItemData item) throws IOException {
+        var pool = idleEngines.computeIfAbsent(style,
+            key -> new ArrayBlockingQueue<>(MAX_IDLE_ENGINES_PER_STYLE));
+
+        var engine = pool.poll();
+        if (Objects.isNull(engine)) {
+            engine = new CitationEngine(style);
+        }
+
+        // An engine that failed mid-render may hold inconsistent state, so it is dropped
+        var citation = engine.render(item);
+        pool.offer(engine);
+        return citation;
+    }
+
+    private static class CitationEngine implements ItemDataProvider {
+
+        private final CSL csl;
+
+        private CSLItemData currentItem;
+
+
+        private CitationEngine(String style) throws IOException {
+            this.csl = new CSL(this, style);
+            this.csl.setOutputFormat("html");
+        }
+
+        /**
+         * Items are rendered one at a time, a shared bibliography would number (Vancouver) and
+         * sort its entries across unrelated documents.
+         */
+        private String render(CSLItemData item) {
+            currentItem = item;
+            try {
+                csl.reset();
+                csl.registerCitationItems(item.getId());
+                return Jsoup.parse(csl.makeBibliography().getEntries()[0])
+                    .selectFirst(".csl-entry").text();
+            } finally {
+                currentItem = null;
+            }
+        }
+
+        @Override
+        public CSLItemData retrieveItem(String id) {
+            return currentItem;
+        }
+
+        @Override
+        public Collection<String> getIds() {
+            return Objects.isNull(currentItem) ? Collections.emptyList() :
+                Collections.singletonList(currentItem.getId());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package rs.teslaris.core.util.debugging;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+@Slf4j
+public class SlowMongoQueryLogger implements CommandListener {
+
+    private static final Set<String> QUERY_COMMANDS =
+        Set.of("find", "count", "aggregate", "findAndModify", "update", "delete", "distinct");
+
+    private static final BsonString VALUE_PLACEHOLDER = new BsonString("?");
+
+    private static final int MAX_SHAPE_LENGTH = 1000;
+
+    private final long thresholdMillis;
+
+    private final Map<Integer, String> runningQueryShapes = new ConcurrentHashMap<>();
+
+    private final Cache<String, AtomicInteger> slowQueryShapeCounts = CacheBuilder.newBuilder()
+        .maximumSize(1000)
+        .build();
+
+
+    public SlowMongoQueryLogger(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!QUERY_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+
+        // Command document is only readable while the event is being dispatched
+        runningQueryShapes.put(event.getRequestId(),
+            getQueryShape(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        var queryShape = runningQueryShapes.remove(event.getRequestId());
+        var elapsedMillis = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (Objects.isNull(queryShape) || elapsedMillis < thresholdMillis) {
+            return;
+        }
+
+        var occurrences = slowQueryShapeCounts.asMap()
+            .computeIfAbsent(queryShape, shape -> new AtomicInteger()).incrementAndGet();
+        log.warn("Slow Mongo query ({} ms, seen {} times): {}", elapsedMillis, occurrences,
+            queryShape);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        runningQueryShapes.remove(event.getRequestId());
+    }
+
+    public static String getQueryShape(String commandName, BsonDocument command) {
+        var collection = command.get(commandName);
+        var shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                shape.put("filter", toShape(command.get("filter")));
+                if (command.containsKey("sort")) {
+                    shape.put("sort", command.get("sort"));
+                }
+            }
+            case "count", "findAndModify", "distinct" ->
+                shape.put("query", toShape(command.get("query")));
+            case "aggregate" -> shape.put("pipeline", toShape(command.get("pipeline")));
+            case "update" -> shape.put("q", toShape(getFirstStatementFilter(command, "updates")));
+            case "delete" -> shape.put("q", toShape(getFirstStatementFilter(command, "deletes")));
+            default -> {
+            }
+        }
+
+        var queryShape = commandName + " " +
+            (Objects.nonNull(collection) && collection.isString() ?
+                collection.asString().getValue() : "") + " " + shape.toJson();
+        return queryShape.length() > MAX_SHAPE_LENGTH ?
+            queryShape.substring(0, MAX_SHAPE_LENGTH) : queryShape;
+    }
+
+    private static BsonValue getFirstStatementFilter(BsonDocument command, String statementsKey) {
+        var statements = command.get(statementsKey);
+        if (Objects.isNull(statements) || !statements.isArray() ||
+            statements.asArray().isEmpty() || !statements.asArray().getFirst().isDocument()) {
+            return null;
+        }
+
+        return statements.asArray().getFirst().asDocument().get("q");
+    }
+
+    private static BsonValue toShape(BsonValue value) {
+        if (Objects.isNull(value)) {
+            return VALUE_PLACEHOLDER;
+        }
+
+        if (value.isDocument()) {
+            var shape = new BsonDocument();
+            value.asDocument().forEach((key, fieldValue) -> shape.put(key, toShape(fieldValue)));
+            return shape;
+        }
+
+        // Keep the structure of $and/$or clauses and pipeline stages, drop literal lists
+        if (value.isArray() && value.asArray().stream().anyMatch(BsonValue::isDocument)) {
+            var shape = new BsonArray();
+            value.asArray().forEach(element -> shape.add(toShape(element)));
+            return shape;
+        }
+
+        return VALUE_PLACEHOLDER;
+    }
+}
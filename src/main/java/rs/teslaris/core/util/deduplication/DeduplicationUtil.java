@@ -1,52 +1,40 @@
 package rs.teslaris.core.util.deduplication;
 
-import ai.djl.MalformedModelException;
-import ai.djl.huggingface.translator.TextEmbeddingTranslatorFactory;
-import ai.djl.inference.Predictor;
-import ai.djl.repository.zoo.Criteria;
-import ai.djl.repository.zoo.ModelNotFoundException;
-import ai.djl.repository.zoo.ZooModel;
-import ai.djl.training.util.ProgressBar;
 import ai.djl.translate.TranslateException;
 import com.google.gson.GsonBuilder;
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import rs.teslaris.core.service.interfaces.document.DocumentPublicationService;
+import rs.teslaris.core.service.interfaces.document.TextEmbeddingService;
 import rs.teslaris.importer.model.common.DocumentImport;
+import rs.teslaris.importer.service.interfaces.ImportEmbeddingIndexService;
 
 @Component
+@Slf4j
 public class DeduplicationUtil {
 
-    private static final String DJL_MODEL = "sentence-transformers/all-MiniLM-L6-v2";
-    private static final String DJL_PATH = "djl://ai.djl.huggingface.pytorch/" + DJL_MODEL;
     private static final Double MIN_SIMILARITY_THRESHOLD = 0.95;
+    private static final int NEAREST_NEIGHBOURS = 5;
     private static DocumentPublicationService documentPublicationService;
-    private static Predictor<String, float[]> predictor;
+    private static ImportEmbeddingIndexService importEmbeddingIndexService;
+    private static TextEmbeddingService textEmbeddingService;
 
     @Autowired
-    public DeduplicationUtil(DocumentPublicationService documentPublicationService)
-        throws ModelNotFoundException, MalformedModelException, IOException {
-        Criteria<String, float[]> criteria =
-            Criteria.builder()
-                .setTypes(String.class, float[].class)
-                .optModelUrls(DJL_PATH)
-                .optEngine("PyTorch")
-                .optTranslatorFactory(new TextEmbeddingTranslatorFactory())
-                .optProgress(new ProgressBar())
-                .build();
-
-        ZooModel<String, float[]> model = criteria.loadModel();
-        DeduplicationUtil.predictor = model.newPredictor();
+    public DeduplicationUtil(DocumentPublicationService documentPublicationService,
+                             ImportEmbeddingIndexService importEmbeddingIndexService,
+                             TextEmbeddingService textEmbeddingService) {
         DeduplicationUtil.documentPublicationService = documentPublicationService;
+        DeduplicationUtil.importEmbeddingIndexService = importEmbeddingIndexService;
+        DeduplicationUtil.textEmbeddingService = textEmbeddingService;
     }
 
     public static String flattenJson(String json) {
@@ -63,7 +51,11 @@ public class DeduplicationUtil {
     }
 
     public static INDArray getEmbedding(String text) throws TranslateException {
-        return Nd4j.create(predictor.predict(text));
+        return Nd4j.create(textEmbeddingService.embed(text));
+    }
+
+    public static List<INDArray> getEmbeddings(List<String> texts) throws TranslateException {
+        return textEmbeddingService.embedAll(texts).stream().map(Nd4j::create).toList();
     }
 
     public static boolean isDuplicate(DocumentImport existingRecord, INDArray newEmbedding,
@@ -76,8 +68,16 @@ public class DeduplicationUtil {
             return true;
         }
 
-        if (Objects.isNull(existingRecord) || Objects.isNull(newEmbedding) ||
-            Objects.isNull(existingRecord.getEmbedding())) {
+        if (Objects.isNull(newEmbedding)) {
+            return false;
+        }
+
+        if (Objects.isNull(existingRecord)) {
+            // Records harvested from other sources usually share no identifier
+            return isSemanticDuplicate(newEmbedding);
+        }
+
+        if (Objects.isNull(existingRecord.getEmbedding())) {
             return false;
         }
 
@@ -86,6 +86,17 @@ public class DeduplicationUtil {
         return similarity > DeduplicationUtil.MIN_SIMILARITY_THRESHOLD;
     }
 
+    private static boolean isSemanticDuplicate(INDArray newEmbedding) {
+        try {
+            return !importEmbeddingIndexService.findSimilarImportIds(newEmbedding.toFloatVector(),
+                NEAREST_NEIGHBOURS, MIN_SIMILARITY_THRESHOLD).isEmpty();
+        } catch (Exception e) {
+            log.warn("Semantic duplicate lookup failed, treating record as new: {}",
+                e.getMessage());
+            return false;
+        }
+    }
+
     public static List<Double> toDoubleList(INDArray embedding) {
         return Arrays.stream(embedding.toDoubleVector()).boxed().collect(Collectors.toList());
     }
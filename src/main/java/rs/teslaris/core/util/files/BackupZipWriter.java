@@ -0,0 +1,269 @@
+package rs.teslaris.core.util.files;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.util.exceptionhandling.exception.StorageException;
+
+/**
+ * Writes a backup archive straight into file storage. Entries are written into a
+ * {@link ZipOutputStream} piped into {@link FileService#storeStream}, so nothing is staged on
+ * local disk. Files are fetched concurrently ahead of the writer; at most {@code prefetchWindow}
+ * files are in flight and each of them is buffered in memory only if it fits into
+ * {@code maxBufferedBytes}. Larger files are opened again and streamed from storage when their
+ * entry is written. Entries keep the order in which they were added, a file that cannot be read
+ * is skipped (or left truncated if it fails mid-entry) without failing the archive.
+ */
+@Slf4j
+public class BackupZipWriter implements AutoCloseable {
+
+    private static final int PIPE_BUFFER_SIZE = 1024 * 1024;
+
+    private final FileService fileService;
+
+    private final int prefetchWindow;
+
+    private final int maxBufferedBytes;
+
+    private final ExecutorService fetchExecutor;
+
+    private final ExecutorService uploadExecutor;
+
+    private final ZipOutputStream zipOut;
+
+    private final Future<String> upload;
+
+    private final ArrayDeque<PendingEntry> pendingEntries = new ArrayDeque<>();
+
+    private final Set<String> entryNames = new HashSet<>();
+
+    private volatile boolean aborted;
+
+    private boolean finished;
+
+    private int writtenEntries;
+
+
+    BackupZipWriter(FileService fileService, String serverFilename, String originalFilename,
+                    int fetchParallelism, int prefetchWindow, int maxBufferedBytes)
+        throws IOException {
+        this.fileService = fileService;
+        this.prefetchWindow = prefetchWindow;
+        this.maxBufferedBytes = maxBufferedBytes;
+
+        var pipeIn = new PipedInputStream(PIPE_BUFFER_SIZE);
+        this.zipOut = new ZipOutputStream(
+            new BufferedOutputStream(new NotifyingPipeOutputStream(pipeIn), 64 * 1024));
+
+        this.fetchExecutor = Executors.newFixedThreadPool(fetchParallelism,
+            new CustomizableThreadFactory("BackupFetch-"));
+        this.uploadExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("BackupUpload-"));
+        this.upload = uploadExecutor.submit(() -> {
+            try (pipeIn) {
+                // Closing the read side also unblocks the writer if the upload fails early
+                return fileService.storeStream(new AbortableInputStream(pipeIn), serverFilename,
+                    originalFilename);
+            }
+        });
+    }
+
+    public void addFile(String entryName, String serverFilename) throws IOException {
+        if (!entryNames.add(entryName)) {
+            log.warn("Skipping duplicate backup entry {}", entryName);
+            return;
+        }
+
+        while (pendingEntries.size() >= prefetchWindow) {
+            writePendingEntry(pendingEntries.poll());
+        }
+
+        pendingEntries.add(new PendingEntry(entryName, serverFilename,
+            fetchExecutor.submit(() -> fetchIfSmall(serverFilename))));
+    }
+
+    public void addEntry(String entryName, InputStream inputStream) throws IOException {
+        if (!entryNames.add(entryName)) {
+            log.warn("Skipping duplicate backup entry {}", entryName);
+            return;
+        }
+
+        writePendingEntries();
+        writeEntry(entryName, inputStream);
+    }
+
+    public String finish() throws IOException {
+        writePendingEntries();
+
+        zipOut.close();
+        finished = true;
+
+        try {
+            var storedFilename = upload.get();
+            log.info("Backup {} written with {} entries.", storedFilename, writtenEntries);
+            return storedFilename;
+        } catch (ExecutionException e) {
+            throw new StorageException(
+                "Failed to upload backup archive. Reason: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Backup upload was interrupted.");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!finished) {
+            // Makes the upload fail instead of storing a truncated archive
+            aborted = true;
+            try {
+                zipOut.close();
+            } catch (IOException e) {
+                log.debug("Unable to close aborted backup archive: {}", e.getMessage());
+            }
+        }
+
+        pendingEntries.forEach(PendingEntry::discard);
+        pendingEntries.clear();
+        fetchExecutor.shutdownNow();
+        uploadExecutor.shutdown();
+    }
+
+    /**
+     * Returns the whole file, or {@code null} when it does not fit into the buffer. Large sources
+     * are not kept open, they would sit idle until the writer reaches their entry.
+     */
+    private byte[] fetchIfSmall(String serverFilename) throws IOException {
+        try (var source = fileService.loadAsResource(serverFilename)) {
+            var head = source.readNBytes(maxBufferedBytes + 1);
+            return head.length <= maxBufferedBytes ? head : null;
+        }
+    }
+
+    private void writePendingEntries() throws IOException {
+        while (!pendingEntries.isEmpty()) {
+            writePendingEntry(pendingEntries.poll());
+        }
+    }
+
+    private void writePendingEntry(PendingEntry pendingEntry) throws IOException {
+        byte[] bufferedContent;
+        try {
+            bufferedContent = pendingEntry.content().get();
+        } catch (ExecutionException e) {
+            log.warn("Failed to load file {}", pendingEntry.serverFilename(), e.getCause());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Backup was interrupted.", e);
+        }
+
+        if (Objects.nonNull(bufferedContent)) {
+            writeEntry(pendingEntry.entryName(), new ByteArrayInputStream(bufferedContent));
+            return;
+        }
+
+        InputStream source;
+        try {
+            source = fileService.loadAsResource(pendingEntry.serverFilename());
+        } catch (Exception e) {
+            log.warn("Failed to load file {}", pendingEntry.serverFilename(), e);
+            return;
+        }
+
+        try (source) {
+            writeEntry(pendingEntry.entryName(), source);
+        }
+    }
+
+    private void writeEntry(String entryName, InputStream content) throws IOException {
+        zipOut.putNextEntry(new ZipEntry(entryName));
+
+        // Source failures only cut this entry short, archive write failures abort the backup
+        var buffer = new byte[64 * 1024];
+        while (true) {
+            int readBytes;
+            try {
+                readBytes = content.read(buffer);
+            } catch (IOException e) {
+                log.error("Backup entry {} is truncated, its source failed: {}", entryName,
+                    e.getMessage());
+                break;
+            }
+
+            if (readBytes < 0) {
+                break;
+            }
+            zipOut.write(buffer, 0, readBytes);
+        }
+
+        zipOut.closeEntry();
+        writtenEntries++;
+    }
+
+    private record PendingEntry(String entryName, String serverFilename,
+                                Future<byte[]> content) {
+
+        private void discard() {
+            content.cancel(true);
+        }
+    }
+
+    /**
+     * A waiting {@link PipedInputStream} reader is only woken immediately by a flush, otherwise
+     * it polls once per second.
+     */
+    private static class NotifyingPipeOutputStream extends PipedOutputStream {
+
+        private NotifyingPipeOutputStream(PipedInputStream sink) throws IOException {
+            super(sink);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            flush();
+        }
+    }
+
+    private class AbortableInputStream extends FilterInputStream {
+
+        private AbortableInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return checkAborted(super.read());
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return checkAborted(super.read(b, off, len));
+        }
+
+        private int checkAborted(int result) throws IOException {
+            if (aborted) {
+                throw new IOException("Backup archive was aborted.");
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package rs.teslaris.core.util.files;
+
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import rs.teslaris.core.service.interfaces.document.FileService;
+
+@Component
+@RequiredArgsConstructor
+public class BackupZipWriterFactory {
+
+    private final FileService fileService;
+
+    @Value("${backup.fetch-parallelism}")
+    private int fetchParallelism;
+
+    @Value("${backup.prefetch-window}")
+    private int prefetchWindow;
+
+    @Value("${backup.max-buffered-file-mb}")
+    private int maxBufferedFileMb;
+
+
+    public BackupZipWriter open(String serverFilename, String originalFilename)
+        throws IOException {
+        return new BackupZipWriter(fileService, serverFilename, originalFilename,
+            fetchParallelism, prefetchWindow, maxBufferedFileMb * 1024 * 1024);
+    }
+}
@@ -0,0 +1,119 @@
+package rs.teslaris.core.util.files;
+
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+public class ConditionalRequestUtil {
+
+    private ConditionalRequestUtil() {
+    }
+
+    public static String toStrongETag(String etag) {
+        var unquotedETag = etag.startsWith("\"") && etag.endsWith("\"") && etag.length() > 1 ?
+            etag.substring(1, etag.length() - 1) : etag;
+        return "\"" + unquotedETag + "\"";
+    }
+
+    /**
+     * Evaluates If-None-Match, or If-Modified-Since when no entity tags are sent, as described
+     * in RFC 9110 section 13.2.2.
+     */
+    public static boolean isNotModified(HttpServletRequest request, String etag,
+                                        long lastModifiedMillis) {
+        if (Objects.nonNull(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return isNotModified(request, etag);
+        }
+
+        var ifModifiedSince = readDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModifiedMillis / 1000 <= ifModifiedSince / 1000;
+    }
+
+    public static boolean isNotModified(HttpServletRequest request, String etag) {
+        var ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (Objects.isNull(ifNoneMatch)) {
+            return false;
+        }
+
+        return Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+            .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
+    }
+
+    /**
+     * Resolves a single byte range to serve. Returns {@code null} when the whole object should
+     * be sent, either because no usable range was requested or because If-Range no longer
+     * matches the stored object.
+     *
+     * @throws IllegalArgumentException when the requested range lies outside the object
+     */
+    @Nullable
+    public static ByteRange resolveByteRange(HttpServletRequest request, String etag,
+                                             long lastModifiedMillis, long size) {
+        var rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (Objects.isNull(rangeHeader) || !isIfRangeSatisfied(request, etag,
+            lastModifiedMillis)) {
+            return null;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null; // malformed ranges are ignored
+        }
+
+        // Multipart byte ranges are not served, clients fall back to the full object
+        if (ranges.size() != 1) {
+            return null;
+        }
+
+        var range = ranges.getFirst();
+        var start = range.getRangeStart(size);
+        var end = range.getRangeEnd(size);
+        if (start >= size || start > end) {
+            throw new IllegalArgumentException("Range " + rangeHeader + " is not satisfiable.");
+        }
+
+        return new ByteRange(start, end, size);
+    }
+
+    private static boolean isIfRangeSatisfied(HttpServletRequest request, String etag,
+                                              long lastModifiedMillis) {
+        var ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (Objects.isNull(ifRange)) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+
+        var ifRangeDate = readDateHeader(request, HttpHeaders.IF_RANGE);
+        return ifRangeDate >= 0 && lastModifiedMillis / 1000 == ifRangeDate / 1000;
+    }
+
+    private static long readDateHeader(HttpServletRequest request, String headerName) {
+        try {
+            return request.getDateHeader(headerName);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    public record ByteRange(long start, long end, long size) {
+
+        public long length() {
+            return end - start + 1;
+        }
+
+        public String toContentRange() {
+            return "bytes " + start + "-" + end + "/" + size;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package rs.teslaris.core.util.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pages through entity ids in ascending order and processes each page of ids as one batch on
+ * an executor. Only ids are read while paging, every batch loads its own entities, so no
+ * persistence context grows with the size of the table.
+ */
+@Slf4j
+public class KeysetBatchDriver {
+
+    private static final int PROGRESS_LOG_INTERVAL = 20;
+
+
+    /**
+     * Runs all batches and waits for them.
+     *
+     * @param operationName  e.g. "bulk reindex of Patent", used in progress logs
+     * @param executor       should run overflowing batches on the paging thread, so that paging
+     *                       cannot get ahead of processing
+     * @param batchSize      page size, a shorter page ends the paging
+     * @param idBatchAfterId returns the next page of ids greater than the given id
+     * @param batchProcessor processes one page of ids
+     * @throws IllegalStateException when a batch could not even be scheduled or run
+     */
+    public static Result run(String operationName, Executor executor, int batchSize,
+                             IntFunction<List<Integer>> idBatchAfterId,
+                             BatchProcessor batchProcessor) {
+        var progress = new Progress(operationName);
+
+        var batches = new ArrayList<CompletableFuture<Void>>();
+        var lastId = 0;
+        while (true) {
+            var ids = idBatchAfterId.apply(lastId);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            lastId = ids.getLast();
+
+            batches.add(CompletableFuture.runAsync(
+                () -> processBatch(ids, batchProcessor, progress), executor));
+
+            if (batches.size() % PROGRESS_LOG_INTERVAL == 0) {
+                progress.log(false);
+            }
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            log.error("The {} did not complete. Reason: ", operationName, e);
+            throw new IllegalStateException("The " + operationName + " did not complete.",
+                e.getCause());
+        }
+
+        progress.log(true);
+        return new Result(progress.processedCount.get(), progress.failedCount.get(),
+            progress.failedBatchCount.get());
+    }
+
+    private static void processBatch(List<Integer> ids, BatchProcessor batchProcessor,
+                                     Progress progress) {
+        try {
+            progress.processedCount.addAndGet(
+                batchProcessor.process(ids, progress.failedCount::incrementAndGet));
+        } catch (Exception e) {
+            progress.failedCount.addAndGet(ids.size());
+            progress.failedBatchCount.incrementAndGet();
+            log.warn("Skipping {} batch starting at ID {} due to error: {}",
+                progress.operationName, ids.getFirst(), e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface BatchProcessor {
+
+        /**
+         * @param ids           ids of the batch, in ascending order
+         * @param recordFailure called for each record that is skipped on its own
+         * @return number of records processed successfully, an exception fails the batch
+         */
+        int process(List<Integer> ids, Runnable recordFailure) throws Exception;
+    }
+
+    public record Result(long processedCount, long failedCount, long failedBatchCount) {
+    }
+
+    private static class Progress {
+
+        private final String operationName;
+
+        private final AtomicLong processedCount = new AtomicLong();
+
+        private final AtomicLong failedCount = new AtomicLong();
+
+        private final AtomicLong failedBatchCount = new AtomicLong();
+
+        private final long startTime = System.currentTimeMillis();
+
+
+        private Progress(String operationName) {
+            this.operationName = operationName;
+        }
+
+        private void log(boolean finished) {
+            var processed = processedCount.get();
+            var elapsedSeconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+            KeysetBatchDriver.log.info("{} {}: {} processed, {} failed in {}s ({} records/s).",
+                finished ? "Finished" : "Progress of", operationName, processed,
+                failedCount.get(), elapsedSeconds, processed / elapsedSeconds);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package rs.teslaris.core.util.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ensures the indexes each module declares for its own collections. Modules call it once the
+ * application is ready, a failing index is logged and never blocks startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexProvisioner {
+
+    private final MongoTemplate mongoTemplate;
+
+
+    public void provisionIndexes(String moduleName, Map<Class<?>, List<Index>> declaredIndexes) {
+        var failedCount = 0;
+        for (var collectionIndexes : declaredIndexes.entrySet()) {
+            try {
+                failedCount +=
+                    ensureIndexes(collectionIndexes.getKey(), collectionIndexes.getValue());
+            } catch (Exception e) {
+                failedCount += collectionIndexes.getValue().size();
+                log.error("Unable to provision indexes on {}. Reason: {}",
+                    mongoTemplate.getCollectionName(collectionIndexes.getKey()), e.getMessage());
+            }
+        }
+
+        if (failedCount > 0) {
+            log.warn("Mongo index provisioning of {} finished with {} missing indexes.",
+                moduleName, failedCount);
+        } else {
+            log.info("Mongo index provisioning of {} finished, all declared indexes are present.",
+                moduleName);
+        }
+    }
+
+    private int ensureIndexes(Class<?> entityClass, List<Index> indexes) {
+        var indexOperations = mongoTemplate.indexOps(entityClass);
+        var ensuredIndexNames = new ArrayList<String>();
+        for (var index : indexes) {
+            try {
+                ensuredIndexNames.add(indexOperations.ensureIndex(index));
+            } catch (Exception e) {
+                log.error("Unable to ensure index {} on {}. Reason: {}", index.getIndexKeys(),
+                    mongoTemplate.getCollectionName(entityClass), e.getMessage());
+            }
+        }
+
+        var existingIndexNames =
+            indexOperations.getIndexInfo().stream().map(IndexInfo::getName).toList();
+        var missingIndexNames = ensuredIndexNames.stream()
+            .filter(indexName -> !existingIndexNames.contains(indexName))
+            .toList();
+        if (!missingIndexNames.isEmpty()) {
+            log.error("Indexes {} are missing on {} after provisioning.", missingIndexNames,
+                mongoTemplate.getCollectionName(entityClass));
+        }
+
+        return indexes.size() - ensuredIndexNames.size() + missingIndexNames.size();
+    }
+}
@@ -0,0 +1,27 @@
+package rs.teslaris.core.util.search;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread as building index documents for a bulk write, so per-document
+ * saves can be skipped and left to the caller issuing the {@code _bulk} request.
+ */
+public class BulkIndexingContext {
+
+    private static final ThreadLocal<Boolean> WRITES_DEFERRED =
+        ThreadLocal.withInitial(() -> false);
+
+
+    public static boolean areWritesDeferred() {
+        return WRITES_DEFERRED.get();
+    }
+
+    public static <T> T runWithDeferredWrites(Supplier<T> action) {
+        WRITES_DEFERRED.set(true);
+        try {
+            return action.get();
+        } finally {
+            WRITES_DEFERRED.remove();
+        }
+    }
+}
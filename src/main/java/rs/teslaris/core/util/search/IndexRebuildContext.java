@@ -0,0 +1,73 @@
+package rs.teslaris.core.util.search;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Routes index operations issued by a rebuild (and the tasks it spawns) to the versioned index
+ * being built, while every other thread keeps using the live alias. Index entities opt in by
+ * resolving their name through {@link #resolve(String)}.
+ */
+public class IndexRebuildContext {
+
+    private static final ThreadLocal<Map<String, String>> TARGET_INDEXES =
+        ThreadLocal.withInitial(HashMap::new);
+
+    private static final ThreadLocal<Date> MODIFIED_SINCE = new ThreadLocal<>();
+
+
+    public static String resolve(String aliasName) {
+        return TARGET_INDEXES.get().getOrDefault(aliasName, aliasName);
+    }
+
+    public static Date getModifiedSince() {
+        return MODIFIED_SINCE.get();
+    }
+
+    public static void runWithTarget(String aliasName, String targetIndexName,
+                                     Date modifiedSince, Runnable action) {
+        var previousTargets = new HashMap<>(TARGET_INDEXES.get());
+        var previousModifiedSince = MODIFIED_SINCE.get();
+
+        TARGET_INDEXES.get().put(aliasName, targetIndexName);
+        MODIFIED_SINCE.set(modifiedSince);
+        try {
+            action.run();
+        } finally {
+            restore(previousTargets, previousModifiedSince);
+        }
+    }
+
+    public static Runnable propagate(Runnable task) {
+        var targets = new HashMap<>(TARGET_INDEXES.get());
+        var modifiedSince = MODIFIED_SINCE.get();
+        if (targets.isEmpty() && Objects.isNull(modifiedSince)) {
+            return task;
+        }
+
+        return () -> {
+            var previousTargets = new HashMap<>(TARGET_INDEXES.get());
+            var previousModifiedSince = MODIFIED_SINCE.get();
+
+            restore(targets, modifiedSince);
+            try {
+                task.run();
+            } finally {
+                restore(previousTargets, previousModifiedSince);
+            }
+        };
+    }
+
+    private static void restore(Map<String, String> targets, Date modifiedSince) {
+        TARGET_INDEXES.get().clear();
+        TARGET_INDEXES.get().putAll(targets);
+
+        if (Objects.nonNull(modifiedSince)) {
+            MODIFIED_SINCE.set(modifiedSince);
+        } else {
+            MODIFIED_SINCE.remove();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package rs.teslaris.core.util.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Opaque paging position handed out with deep search pages. It names the point-in-time the
+ * pages are read from and the search_after values of the hit preceding the page, so following
+ * it costs a single query. A cursor without search_after values is resolved by the service.
+ * Cursors are signed, tokens that fail the signature check are treated as absent.
+ */
+public record SearchCursor(String queryHash, String pointInTimeId, int page, int size,
+                           List<Object> searchAfter, Long totalHits) {
+
+    // Shallower pages are cheaper with plain from/size paging and carry no cursor
+    public static final int FIRST_CURSOR_PAGE = 10;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    public static Optional<SearchCursor> decode(String token, byte[] signingKey) {
+        var separatorIndex = token.lastIndexOf('.');
+        if (separatorIndex < 0) {
+            return Optional.empty();
+        }
+
+        var payload = token.substring(0, separatorIndex);
+        var signature = token.substring(separatorIndex + 1).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(sign(payload, signingKey).getBytes(StandardCharsets.UTF_8),
+            signature)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(
+                objectMapper.readValue(Base64.getUrlDecoder().decode(payload),
+                    SearchCursor.class));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode(byte[] signingKey) {
+        try {
+            var payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(objectMapper.writeValueAsBytes(this));
+            return payload + "." + sign(payload, signingKey);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode search cursor.", e);
+        }
+    }
+
+    private static String sign(String payload, byte[] signingKey) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+            Hashing.hmacSha256(signingKey).hashString(payload, StandardCharsets.UTF_8).asBytes());
+    }
+}
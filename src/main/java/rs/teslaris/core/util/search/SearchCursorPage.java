@@ -0,0 +1,22 @@
+package rs.teslaris.core.util.search;
+
+import java.util.List;
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+@Getter
+public class SearchCursorPage<T> extends PageImpl<T> {
+
+    private final String previousCursor;
+
+    private final String nextCursor;
+
+
+    public SearchCursorPage(List<T> content, Pageable pageable, long total,
+                            String previousCursor, String nextCursor) {
+        super(content, pageable, total);
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -3,9 +3,17 @@ package rs.teslaris.core.util.session;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -13,6 +21,10 @@ import org.springframework.web.client.RestTemplate;
 @Component
 public class RestTemplateProvider {
 
+    private static final int MAX_POOLED_CONNECTIONS = 50;
+
+    private static final int MAX_POOLED_CONNECTIONS_PER_ROUTE = 10;
+
     private final RestTemplate restTemplate;
 
     @Value("${proxy.enabled:false}")
@@ -35,19 +47,38 @@ public class RestTemplateProvider {
             .build();
     }
 
-    private SimpleClientHttpRequestFactory createRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(10 * 1000);
-        factory.setReadTimeout(20 * 1000);
+    private ClientHttpRequestFactory createRequestFactory() {
+        var useProxy = proxyEnabled && Objects.nonNull(proxyHost) && proxyPort > 0;
+
+        // Pooled client only routes through HTTP proxies
+        if (useProxy && "SOCKS".equalsIgnoreCase(proxyType)) {
+            SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+            factory.setConnectTimeout(10 * 1000);
+            factory.setReadTimeout(20 * 1000);
+            factory.setProxy(
+                new Proxy(Proxy.Type.SOCKS, new InetSocketAddress(proxyHost, proxyPort)));
+            return factory;
+        }
+
+        var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(MAX_POOLED_CONNECTIONS)
+            .setMaxConnPerRoute(MAX_POOLED_CONNECTIONS_PER_ROUTE)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(10, TimeUnit.SECONDS)
+                .setSocketTimeout(20, TimeUnit.SECONDS)
+                .build())
+            .build();
 
-        if (proxyEnabled && Objects.nonNull(proxyHost) && proxyPort > 0) {
-            Proxy.Type type =
-                "SOCKS".equalsIgnoreCase(proxyType) ? Proxy.Type.SOCKS : Proxy.Type.HTTP;
-            Proxy proxy = new Proxy(type, new InetSocketAddress(proxyHost, proxyPort));
-            factory.setProxy(proxy);
+        var httpClientBuilder = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofMinutes(1))
+            .disableCookieManagement();
+        if (useProxy) {
+            httpClientBuilder.setProxy(new HttpHost(proxyHost, proxyPort));
         }
 
-        return factory;
+        return new HttpComponentsClientHttpRequestFactory(httpClientBuilder.build());
     }
 
     public RestTemplate provideRestTemplate() {
@@ -0,0 +1,25 @@
+package rs.teslaris.core.util.xmlutil;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JAXBContextRegistry {
+
+    // Contexts are thread-safe and expensive to build, marshallers/unmarshallers are neither
+    private static final Map<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+
+
+    public static JAXBContext getContext(Class<?> rootClass) throws JAXBException {
+        var context = CONTEXTS.get(rootClass);
+        if (Objects.nonNull(context)) {
+            return context;
+        }
+
+        context = JAXBContext.newInstance(rootClass);
+        var existingContext = CONTEXTS.putIfAbsent(rootClass, context);
+        return Objects.nonNull(existingContext) ? existingContext : context;
+    }
+}
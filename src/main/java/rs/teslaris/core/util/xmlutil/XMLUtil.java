@@ -1,8 +1,8 @@
 package rs.teslaris.core.util.xmlutil;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
+import java.io.InputStream;
 import java.io.StringWriter;
 import java.lang.reflect.Array;
 import java.util.Collection;
@@ -10,12 +10,18 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.w3c.dom.Node;
 
 public class XMLUtil {
 
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+
     public static <T> String convertToXml(T object) throws JAXBException {
-        var context = JAXBContext.newInstance(object.getClass());
-        var marshaller = context.createMarshaller();
+        var marshaller = JAXBContextRegistry.getContext(object.getClass()).createMarshaller();
 
         marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE); // Pretty print XML
 
@@ -24,6 +30,18 @@ public class XMLUtil {
         return writer.toString();
     }
 
+    public static XMLStreamReader createStreamReader(InputStream inputStream)
+        throws XMLStreamException {
+        return XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+        var xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return xmlInputFactory;
+    }
+
     public static void cleanXmlObject(Object obj) {
         cleanXmlObject(obj, new HashSet<>());
     }
@@ -38,6 +56,11 @@ public class XMLUtil {
             return;
         }
 
+        // Pre-rendered DOM fragments are cleaned before they are serialized
+        if (obj instanceof Node) {
+            return;
+        }
+
         Class<?> clazz = obj.getClass();
 
         if (clazz.isPrimitive() ||
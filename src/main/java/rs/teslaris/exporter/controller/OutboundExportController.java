@@ -130,7 +130,8 @@ public class OutboundExportController {
                             outboundExportService.listRequestedRecords(handlerName,
                                 dataFromToken.format(),
                                 dataFromToken.from(), dataFromToken.until(), dataFromToken.set(),
-                                response, dataFromToken.page(), onlyListIdentifiers));
+                                response, dataFromToken.page(), resumptionToken,
+                                onlyListIdentifiers));
                     } catch (Exception e) {
                         logError(e.getMessage(), verb);
                         response.setError(OAIErrorFactory.constructServiceUnavailableError());
@@ -139,7 +140,7 @@ public class OutboundExportController {
                     try {
                         setterMethod.accept(
                             outboundExportService.listRequestedRecords(handlerName, metadataPrefix,
-                                from, until, set, response, 0, onlyListIdentifiers));
+                                from, until, set, response, 0, null, onlyListIdentifiers));
                     } catch (Exception e) {
                         logError(e.getMessage(), verb);
                         response.setError(OAIErrorFactory.constructServiceUnavailableError());
@@ -10,8 +10,6 @@ import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -139,7 +137,8 @@ public class CommonExportServiceImpl implements CommonExportService {
 
         try {
             commonExportWorker.exportEntities(
-                organisationUnitRepository::findAllModified,
+                organisationUnitRepository::findAllModifiedIds,
+                organisationUnitRepository::findAllByIdIncludingDeleted,
                 ExportOrganisationUnitConverter::toCommonExportModel,
                 ExportOrganisationUnit.class,
                 OrganisationUnit::getId,
@@ -163,7 +162,8 @@ public class CommonExportServiceImpl implements CommonExportService {
 
         try {
             commonExportWorker.exportEntities(
-                personRepository::findAllModified,
+                personRepository::findAllModifiedIds,
+                personRepository::findAllByIdIncludingDeleted,
                 ExportPersonConverter::toCommonExportModel,
                 ExportPerson.class,
                 Person::getId,
@@ -187,7 +187,8 @@ public class CommonExportServiceImpl implements CommonExportService {
 
         try {
             commonExportWorker.exportEntities(
-                conferenceRepository::findAllModified,
+                conferenceRepository::findAllModifiedIds,
+                conferenceRepository::findAllByIdIncludingDeleted,
                 ExportEventConverter::toCommonExportModel,
                 ExportEvent.class,
                 Conference::getId,
@@ -196,7 +197,8 @@ public class CommonExportServiceImpl implements CommonExportService {
             );
 
             commonExportWorker.exportEntities(
-                exhibitionRepository::findAllModified,
+                exhibitionRepository::findAllModifiedIds,
+                exhibitionRepository::findAllByIdIncludingDeleted,
                 ExportEventConverter::toCommonExportModel,
                 ExportEvent.class,
                 Exhibition::getId,
@@ -205,7 +207,8 @@ public class CommonExportServiceImpl implements CommonExportService {
             );
 
             commonExportWorker.exportEntities(
-                courseRepository::findAllModified,
+                courseRepository::findAllModifiedIds,
+                courseRepository::findAllByIdIncludingDeleted,
                 ExportEventConverter::toCommonExportModel,
                 ExportEvent.class,
                 Course::getId,
@@ -214,7 +217,8 @@ public class CommonExportServiceImpl implements CommonExportService {
             );
 
             commonExportWorker.exportEntities(
-                otherEventRepository::findAllModified,
+                otherEventRepository::findAllModifiedIds,
+                otherEventRepository::findAllByIdIncludingDeleted,
                 ExportEventConverter::toCommonExportModel,
                 ExportEvent.class,
                 OtherEvent::getId,
@@ -266,7 +270,8 @@ public class CommonExportServiceImpl implements CommonExportService {
         try {
             return switch (exportType) {
                 case DATASET -> exportEntitiesAsync(
-                    datasetRepository::findAllModified,
+                    datasetRepository::findAllModifiedIds,
+                    datasetRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     Dataset::getId,
@@ -274,7 +279,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.DATASET
                 );
                 case INTANGIBLE_PRODUCT -> exportEntitiesAsync(
-                    intangibleProductRepository::findAllModified,
+                    intangibleProductRepository::findAllModifiedIds,
+                    intangibleProductRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     IntangibleProduct::getId,
@@ -282,7 +288,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.INTANGIBLE_PRODUCT
                 );
                 case PATENT -> exportEntitiesAsync(
-                    patentRepository::findAllModified,
+                    patentRepository::findAllModifiedIds,
+                    patentRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     Patent::getId,
@@ -290,7 +297,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.PATENT
                 );
                 case JOURNAL -> exportEntitiesAsync(
-                    journalRepository::findAllModified,
+                    journalRepository::findAllModifiedIds,
+                    journalRepository::findAllByIdIncludingDeleted,
                     ExportPublicationSeriesConverter::toCommonExportModel,
                     ExportDocument.class,
                     Journal::getId,
@@ -298,7 +306,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.JOURNAL
                 );
                 case BOOK_SERIES -> exportEntitiesAsync(
-                    bookSeriesRepository::findAllModified,
+                    bookSeriesRepository::findAllModifiedIds,
+                    bookSeriesRepository::findAllByIdIncludingDeleted,
                     ExportPublicationSeriesConverter::toCommonExportModel,
                     ExportDocument.class,
                     BookSeries::getId,
@@ -306,7 +315,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.BOOK_SERIES
                 );
                 case JOURNAL_PUBLICATION -> exportEntitiesAsync(
-                    journalPublicationRepository::findAllModified,
+                    journalPublicationRepository::findAllModifiedIds,
+                    journalPublicationRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     JournalPublication::getId,
@@ -314,7 +324,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.JOURNAL_PUBLICATION
                 );
                 case PROCEEDINGS -> exportEntitiesAsync(
-                    proceedingsRepository::findAllModified,
+                    proceedingsRepository::findAllModifiedIds,
+                    proceedingsRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     Proceedings::getId,
@@ -322,7 +333,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.PROCEEDINGS
                 );
                 case PROCEEDINGS_PUBLICATION -> exportEntitiesAsync(
-                    proceedingsPublicationRepository::findAllModified,
+                    proceedingsPublicationRepository::findAllModifiedIds,
+                    proceedingsPublicationRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     ProceedingsPublication::getId,
@@ -330,7 +342,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.PROCEEDINGS_PUBLICATION
                 );
                 case MONOGRAPH -> exportEntitiesAsync(
-                    monographRepository::findAllModified,
+                    monographRepository::findAllModifiedIds,
+                    monographRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     Monograph::getId,
@@ -338,7 +351,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.MONOGRAPH
                 );
                 case MONOGRAPH_PUBLICATION -> exportEntitiesAsync(
-                    monographPublicationRepository::findAllModified,
+                    monographPublicationRepository::findAllModifiedIds,
+                    monographPublicationRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     MonographPublication::getId,
@@ -346,7 +360,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.MONOGRAPH_PUBLICATION
                 );
                 case THESIS -> exportEntitiesAsync(
-                    thesisRepository::findAllModified,
+                    thesisRepository::findAllModifiedIds,
+                    thesisRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     Thesis::getId,
@@ -354,7 +369,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.THESIS
                 );
                 case MATERIAL_PRODUCT -> exportEntitiesAsync(
-                    materialProductRepository::findAllModified,
+                    materialProductRepository::findAllModifiedIds,
+                    materialProductRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     MaterialProduct::getId,
@@ -362,7 +378,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.MATERIAL_PRODUCT
                 );
                 case GENETIC_MATERIAL -> exportEntitiesAsync(
-                    geneticMaterialRepository::findAllModified,
+                    geneticMaterialRepository::findAllModifiedIds,
+                    geneticMaterialRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     GeneticMaterial::getId,
@@ -370,7 +387,8 @@ public class CommonExportServiceImpl implements CommonExportService {
                     ExportPublicationType.GENETIC_MATERIAL
                 );
                 case PERFORMANCE_RELATED_OUTPUT -> exportEntitiesAsync(
-                    performanceRelatedOutputRepository::findAllModified,
+                    performanceRelatedOutputRepository::findAllModifiedIds,
+                    performanceRelatedOutputRepository::findAllByIdIncludingDeleted,
                     ExportDocumentConverter::toCommonExportModel,
                     ExportDocument.class,
                     PerformanceRelatedOutput::getId,
@@ -386,7 +404,8 @@ public class CommonExportServiceImpl implements CommonExportService {
 
     @Async("taskExecutor")
     public <T, E> CompletableFuture<Void> exportEntitiesAsync(
-        BiFunction<Pageable, Boolean, Page<T>> repositoryFunction,
+        CommonExportWorkerImpl.ModifiedIdsFunction modifiedIdsFunction,
+        Function<List<Integer>, List<T>> batchLoader,
         BiFunction<T, Boolean, E> converter,
         Class<E> exportClass,
         Function<T, Integer> idGetter,
@@ -394,8 +413,8 @@ public class CommonExportServiceImpl implements CommonExportService {
         ExportPublicationType exportPublicationType
     ) {
         try {
-            commonExportWorker.exportEntities(repositoryFunction, converter, exportClass, idGetter,
-                allTime, exportPublicationType);
+            commonExportWorker.exportEntities(modifiedIdsFunction, batchLoader, converter,
+                exportClass, idGetter, allTime, exportPublicationType);
         } catch (Exception e) {
             log.error("{} export set not completed in async thread due to an error. Reason: {}",
                 exportClass.getName(), e.getMessage(), e);
@@ -1,64 +1,158 @@
 package rs.teslaris.exporter.service.impl;
 
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import rs.teslaris.core.util.persistence.KeysetBatchDriver;
+import rs.teslaris.exporter.model.common.BaseExportEntity;
 import rs.teslaris.exporter.model.common.ExportPublicationType;
+import rs.teslaris.exporter.service.interfaces.ExportRecordFragmentService;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CommonExportWorkerImpl {
 
     private final MongoTemplate mongoTemplate;
 
+    private final PlatformTransactionManager transactionManager;
+
+    private final ExportRecordFragmentService exportRecordFragmentService;
+
+    @Qualifier("commonExportExecutor")
+    private final Executor commonExportExecutor;
+
+    @Value("${export-to-common.bulk.batch-size}")
+    private Integer batchSize;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+
+    @PostConstruct
+    public void init() {
+        // Batches run on the caller when the pool overflows, they must not join its transaction
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        readOnlyTransactionTemplate.setPropagationBehavior(
+            TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
-    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public <T, E> void exportEntities(
-        BiFunction<Pageable, Boolean, Page<T>> repositoryFunction,
+        ModifiedIdsFunction modifiedIdsFunction,
+        Function<List<Integer>, List<T>> batchLoader,
         BiFunction<T, Boolean, E> converter,
         Class<E> exportClass,
         Function<T, Integer> idGetter,
         boolean allTime,
         ExportPublicationType exportPublicationType
     ) {
-        int pageNumber = 0;
-        int chunkSize = 100;
-        boolean hasNextPage = true;
+        var exportName = Objects.nonNull(exportPublicationType) ? exportPublicationType.name() :
+            exportClass.getSimpleName();
 
-        while (hasNextPage) {
-            List<T> chunk =
-                repositoryFunction.apply(PageRequest.of(pageNumber, chunkSize), allTime)
-                    .getContent();
-
-            for (T entity : chunk) {
-                var query = new Query();
-                query.addCriteria(Criteria.where("database_id").is(idGetter.apply(entity)));
+        KeysetBatchDriver.run("common export of " + exportName, commonExportExecutor,
+            batchSize, lastId -> modifiedIdsFunction.apply(lastId, allTime, batchSize),
+            (ids, recordFailure) -> exportBatch(ids, batchLoader, converter, exportClass,
+                idGetter, exportPublicationType, recordFailure));
+    }
 
-                if (Objects.nonNull(exportPublicationType)) {
-                    query.addCriteria(Criteria.where("type").is(exportPublicationType.name()));
+    private <T, E> int exportBatch(List<Integer> ids,
+                                   Function<List<Integer>, List<T>> batchLoader,
+                                   BiFunction<T, Boolean, E> converter, Class<E> exportClass,
+                                   Function<T, Integer> idGetter,
+                                   ExportPublicationType exportPublicationType,
+                                   Runnable recordFailure) {
+        var exportedCount = readOnlyTransactionTemplate.execute(status -> {
+            var exportEntries = new ArrayList<BaseExportEntity>(ids.size());
+            for (var entity : batchLoader.apply(ids)) {
+                try {
+                    exportEntries.add((BaseExportEntity) converter.apply(entity, true));
+                } catch (Exception e) {
+                    recordFailure.run();
+                    log.warn("Error converting {} ID {}: {}", exportClass.getSimpleName(),
+                        idGetter.apply(entity), e.getMessage(), e);
                 }
+            }
 
-                query.limit(1);
+            if (exportEntries.isEmpty()) {
+                return 0;
+            }
 
-                var exportEntry = converter.apply(entity, true);
+            upsertEntries(exportEntries, exportClass, exportPublicationType);
 
-                mongoTemplate.remove(query, exportClass);
-                mongoTemplate.save(exportEntry);
-            }
+            // Custom mappings read organisation units, so this stays inside the transaction
+            prerenderFragments(exportEntries, exportClass);
+            return exportEntries.size();
+        });
 
-            pageNumber++;
-            hasNextPage = chunk.size() == chunkSize;
+        return Objects.nonNull(exportedCount) ? exportedCount : 0;
+    }
+
+    private void upsertEntries(List<BaseExportEntity> exportEntries, Class<?> exportClass,
+                               ExportPublicationType exportPublicationType) {
+        var bulkOperations =
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, exportClass);
+        exportEntries.forEach(exportEntry -> bulkOperations.replaceOne(
+            constructEntryQuery(Criteria.where("database_id").is(exportEntry.getDatabaseId()),
+                exportPublicationType),
+            exportEntry, FindAndReplaceOptions.options().upsert()));
+        bulkOperations.execute();
+
+        // Replaced records keep their _id, new ones get it assigned by the upsert
+        var idQuery = constructEntryQuery(Criteria.where("database_id").in(
+            exportEntries.stream().map(BaseExportEntity::getDatabaseId).toList()),
+            exportPublicationType);
+        idQuery.fields().include("database_id");
+
+        Map<Integer, String> storedIds = mongoTemplate.find(idQuery, exportClass).stream()
+            .map(BaseExportEntity.class::cast)
+            .collect(Collectors.toMap(BaseExportEntity::getDatabaseId, BaseExportEntity::getId,
+                (first, second) -> first));
+        exportEntries.forEach(
+            exportEntry -> exportEntry.setId(storedIds.get(exportEntry.getDatabaseId())));
+    }
+
+    private Query constructEntryQuery(Criteria databaseIdCriteria,
+                                      ExportPublicationType exportPublicationType) {
+        var query = new Query(databaseIdCriteria);
+        if (Objects.nonNull(exportPublicationType)) {
+            query.addCriteria(Criteria.where("type").is(exportPublicationType.name()));
+        }
+
+        return query;
+    }
+
+    private void prerenderFragments(List<BaseExportEntity> exportEntries, Class<?> exportClass) {
+        try {
+            exportRecordFragmentService.prerenderFragments(exportEntries, exportClass);
+        } catch (Exception e) {
+            // Harvests render missing fragments on demand
+            log.warn("Unable to pre-render {} fragments. Reason: {}",
+                exportClass.getSimpleName(), e.getMessage());
         }
     }
+
+    @FunctionalInterface
+    public interface ModifiedIdsFunction {
+
+        List<Integer> apply(Integer lastId, boolean allTime, int limit);
+    }
 }
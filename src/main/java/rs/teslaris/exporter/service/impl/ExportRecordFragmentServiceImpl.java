@@ -0,0 +1,424 @@
+package rs.teslaris.exporter.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import rs.teslaris.core.model.oaipmh.common.Metadata;
+import rs.teslaris.core.model.oaipmh.event.EventConvertable;
+import rs.teslaris.core.model.oaipmh.organisationunit.OrgUnitConvertable;
+import rs.teslaris.core.model.oaipmh.patent.PatentConvertable;
+import rs.teslaris.core.model.oaipmh.person.PersonConvertable;
+import rs.teslaris.core.model.oaipmh.product.ProductConvertable;
+import rs.teslaris.core.model.oaipmh.publication.PublicationConvertable;
+import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
+import rs.teslaris.core.util.exceptionhandling.exception.ConverterDoesNotExistException;
+import rs.teslaris.core.util.search.CollectionOperations;
+import rs.teslaris.core.util.xmlutil.JAXBContextRegistry;
+import rs.teslaris.core.util.xmlutil.XMLUtil;
+import rs.teslaris.exporter.model.common.BaseExportEntity;
+import rs.teslaris.exporter.model.common.ExportDocument;
+import rs.teslaris.exporter.model.common.ExportPublicationType;
+import rs.teslaris.exporter.model.converter.ExportConverterBase;
+import rs.teslaris.exporter.service.interfaces.ExportRecordFragmentService;
+import rs.teslaris.exporter.util.ExportDataFormat;
+import rs.teslaris.exporter.util.ExportHandlersConfigurationLoader;
+import rs.teslaris.exporter.util.ExportRecordFragment;
+
+/**
+ * Stores the serialized OAI-PMH payload of every (record, metadataPrefix, handler) so harvests
+ * only load and splice it instead of converting each record again. A fragment carries a version
+ * derived from the record's last update and the handler configuration, stale fragments are
+ * re-rendered lazily when they are served. Custom mappings also read organisation unit names,
+ * changes to those are picked up once the fragment expires.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportRecordFragmentServiceImpl implements ExportRecordFragmentService {
+
+    // Bump whenever converter output changes, all stored fragments become stale
+    private static final int FRAGMENT_FORMAT_VERSION = 1;
+
+    private static final String EXPORT_CONVERTER_BASE_PACKAGE =
+        "rs.teslaris.exporter.model.converter.";
+
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY =
+        createDocumentBuilderFactory();
+
+    private final MongoTemplate mongoTemplate;
+
+    private final OrganisationUnitService organisationUnitService;
+
+    private final Cache<Integer, Set<Integer>> institutionSubUnits = CacheBuilder.newBuilder()
+        .maximumSize(100)
+        .expireAfterWrite(10, TimeUnit.MINUTES)
+        .build();
+
+
+    private static DocumentBuilderFactory createDocumentBuilderFactory() {
+        var factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try {
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Unable to configure fragment parser.", e);
+        }
+        return factory;
+    }
+
+    @Override
+    public List<Metadata> getRecordMetadata(List<? extends BaseExportEntity> records,
+                                            String identifierSetSpec, Class<?> recordClass,
+                                            Class<?> converterClass,
+                                            ExportDataFormat metadataFormat,
+                                            ExportHandlersConfigurationLoader.Handler handler) {
+        var fragmentKeys = records.stream()
+            .map(record -> constructFragmentKey(record, identifierSetSpec, converterClass,
+                metadataFormat, handler))
+            .toList();
+
+        var storedFragments = findFragments(fragmentKeys.stream()
+            .filter(Objects::nonNull)
+            .toList());
+
+        var handlerVersion = handler.toString().hashCode();
+        var documentBuilder = createDocumentBuilder();
+        var metadataList = new ArrayList<Metadata>(records.size());
+        var renderedFragments = new ArrayList<ExportRecordFragment>();
+
+        for (int i = 0; i < records.size(); i++) {
+            var record = records.get(i);
+            var version = constructFragmentVersion(record, handlerVersion);
+            var storedFragment = storedFragments.get(fragmentKeys.get(i));
+
+            if (Objects.nonNull(storedFragment) &&
+                Objects.equals(version, storedFragment.getVersion())) {
+                var fragment = parseFragment(documentBuilder, storedFragment.getContent());
+                if (Objects.nonNull(fragment)) {
+                    var metadata = new Metadata();
+                    metadata.setFragment(fragment);
+                    metadataList.add(metadata);
+                    continue;
+                }
+            }
+
+            var metadata = renderMetadata(identifierSetSpec, recordClass, converterClass,
+                metadataFormat, record, handler);
+            metadataList.add(metadata);
+
+            if (Objects.nonNull(fragmentKeys.get(i))) {
+                renderedFragments.add(
+                    new ExportRecordFragment(fragmentKeys.get(i), record.getId(), version,
+                        serializeMetadata(metadata), new Date()));
+            }
+        }
+
+        storeFragments(renderedFragments);
+        return metadataList;
+    }
+
+    @Override
+    public void prerenderFragments(List<? extends BaseExportEntity> records,
+                                   Class<?> exportClass) {
+        for (var handler : ExportHandlersConfigurationLoader.getHandlers()) {
+            var institutionIds =
+                findInstitutionSubUnits(Integer.parseInt(handler.internalInstitutionId()));
+            var handlerRecords = records.stream()
+                .filter(record -> !isDeleted(record) && isRelatedTo(record, institutionIds))
+                .toList();
+
+            if (handlerRecords.isEmpty()) {
+                continue;
+            }
+
+            var renderedKeys = new HashSet<String>();
+            for (var set : handler.sets()) {
+                if (!exportClass.getSimpleName().equals(set.commonEntityClass())) {
+                    continue;
+                }
+
+                Class<?> converterClass;
+                try {
+                    converterClass = Class.forName(EXPORT_CONVERTER_BASE_PACKAGE +
+                        (Objects.nonNull(set.converterClass()) ? set.converterClass() :
+                            (set.commonEntityClass() + "Converter")));
+                } catch (ClassNotFoundException e) {
+                    continue;
+                }
+
+                var setRecords = filterByPublicationTypes(handlerRecords, set.publicationTypes());
+                for (var metadataPrefix : handler.metadataFormats()) {
+                    prerenderFragments(setRecords, set.identifierSetSpec(), exportClass,
+                        converterClass, ExportDataFormat.fromStringValue(metadataPrefix),
+                        handler, renderedKeys);
+                }
+            }
+        }
+    }
+
+    private void prerenderFragments(List<? extends BaseExportEntity> records,
+                                    String identifierSetSpec, Class<?> recordClass,
+                                    Class<?> converterClass, ExportDataFormat metadataFormat,
+                                    ExportHandlersConfigurationLoader.Handler handler,
+                                    Set<String> renderedKeys) {
+        var handlerVersion = handler.toString().hashCode();
+        var renderedFragments = new ArrayList<ExportRecordFragment>();
+
+        for (var record : records) {
+            var fragmentKey = constructFragmentKey(record, identifierSetSpec, converterClass,
+                metadataFormat, handler);
+            if (Objects.isNull(fragmentKey) || !renderedKeys.add(fragmentKey)) {
+                continue;
+            }
+
+            try {
+                var metadata = renderMetadata(identifierSetSpec, recordClass, converterClass,
+                    metadataFormat, record, handler);
+                renderedFragments.add(new ExportRecordFragment(fragmentKey, record.getId(),
+                    constructFragmentVersion(record, handlerVersion),
+                    serializeMetadata(metadata), new Date()));
+            } catch (ConverterDoesNotExistException e) {
+                // Format is not supported for this set, nothing to render
+                return;
+            } catch (Exception e) {
+                log.warn("Unable to pre-render {} fragment for record {}. Reason: {}",
+                    metadataFormat.getStringValue(), record.getDatabaseId(), e.getMessage());
+            }
+        }
+
+        storeFragments(renderedFragments);
+    }
+
+    private Metadata renderMetadata(String set, Class<?> recordClass, Class<?> converterClass,
+                                    ExportDataFormat metadataFormat,
+                                    BaseExportEntity requestedRecord,
+                                    ExportHandlersConfigurationLoader.Handler handler)
+        throws ConverterDoesNotExistException {
+        var conversionFunctionName = switch (metadataFormat) {
+            case OAI_CERIF_OPENAIRE -> "toOpenaireModel";
+            case DUBLIN_CORE -> "toDCModel";
+            case ETD_MS -> "toETDMSModel";
+            case DSPACE_INTERNAL_MODEL -> "toDIMModel";
+            case MARC21 -> "toMARC21Model";
+        };
+
+        var metadata = new Metadata();
+        try {
+            var conversionMethod =
+                List.of("Publications", "Theses", "Products", "Patents").contains(set) ?
+                    converterClass.getMethod(conversionFunctionName, recordClass,
+                        boolean.class, List.class, Map.class) :
+                    converterClass.getMethod(conversionFunctionName, recordClass,
+                        boolean.class, List.class);
+
+            boolean supportLegacyIdentifiers = handler.supportLegacyIdentifiers();
+            List<String> supportedLanguages =
+                CollectionOperations.containsValues(handler.supportedLanguages()) ?
+                    handler.supportedLanguages().stream().map(String::toLowerCase).toList() :
+                    Collections.emptyList();
+
+            Object convertedEntity =
+                conversionMethod.invoke(
+                    null, requestedRecord, supportLegacyIdentifiers,
+                    supportedLanguages, handler.getTypeToIdentifierSuffixMapping()
+                );
+
+            ExportConverterBase.applyCustomMappings(convertedEntity, metadataFormat,
+                organisationUnitService, handler);
+
+            ExportConverterBase.performExceptionalHandlingWhereAbsolutelyNecessary(convertedEntity,
+                metadataFormat, recordClass, handler);
+
+            switch (set) {
+                case "Publications", "Theses":
+                    metadata.setPublication((PublicationConvertable) convertedEntity);
+                    break;
+                case "Products":
+                    metadata.setProduct((ProductConvertable) convertedEntity);
+                    break;
+                case "Patents":
+                    metadata.setPatent((PatentConvertable) convertedEntity);
+                    break;
+                case "Persons":
+                    metadata.setPerson((PersonConvertable) convertedEntity);
+                    break;
+                case "Events":
+                    metadata.setEvent((EventConvertable) convertedEntity);
+                    break;
+                case "Orgunits":
+                    metadata.setOrgUnit((OrgUnitConvertable) convertedEntity);
+                    break;
+            }
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new ConverterDoesNotExistException(
+                converterClass.getName() + "." + conversionFunctionName + " is not implemented.");
+        }
+
+        XMLUtil.cleanXmlObject(metadata);
+        return metadata;
+    }
+
+    private String serializeMetadata(Metadata metadata) {
+        try {
+            var marshaller = JAXBContextRegistry.getContext(Metadata.class).createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+
+            var writer = new StringWriter();
+            marshaller.marshal(metadata, writer);
+            return writer.toString();
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Unable to serialize record metadata.", e);
+        }
+    }
+
+    private DocumentBuilder createDocumentBuilder() {
+        try {
+            return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Unable to create fragment parser.", e);
+        }
+    }
+
+    private Element parseFragment(DocumentBuilder documentBuilder, String content) {
+        try {
+            var metadataElement =
+                documentBuilder.parse(new InputSource(new StringReader(content)))
+                    .getDocumentElement();
+
+            for (var node = metadataElement.getFirstChild(); Objects.nonNull(node);
+                 node = node.getNextSibling()) {
+                if (node instanceof Element payload) {
+                    // Namespaces are declared on <metadata>, the payload is detached from it
+                    var attributes = metadataElement.getAttributes();
+                    for (int i = 0; i < attributes.getLength(); i++) {
+                        var attribute = attributes.item(i);
+                        if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(
+                            attribute.getNamespaceURI()) &&
+                            !payload.hasAttribute(attribute.getNodeName())) {
+                            payload.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+                                attribute.getNodeName(), attribute.getNodeValue());
+                        }
+                    }
+                    return payload;
+                }
+            }
+        } catch (SAXException | IOException e) {
+            log.warn("Discarding unreadable export fragment. Reason: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    private Map<String, ExportRecordFragment> findFragments(List<String> fragmentKeys) {
+        if (fragmentKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return mongoTemplate.find(new Query(Criteria.where("_id").in(fragmentKeys)),
+                ExportRecordFragment.class).stream()
+            .collect(Collectors.toMap(ExportRecordFragment::getId, Function.identity()));
+    }
+
+    private void storeFragments(List<ExportRecordFragment> fragments) {
+        if (fragments.isEmpty()) {
+            return;
+        }
+
+        // Fragment id already combines handler, format, set, converter and record id
+        var bulkOperations =
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExportRecordFragment.class);
+        fragments.forEach(fragment -> bulkOperations.replaceOne(
+            new Query(Criteria.where("_id").is(fragment.getId())), fragment,
+            FindAndReplaceOptions.options().upsert()));
+        bulkOperations.execute();
+    }
+
+    private String constructFragmentKey(BaseExportEntity record, String identifierSetSpec,
+                                        Class<?> converterClass,
+                                        ExportDataFormat metadataFormat,
+                                        ExportHandlersConfigurationLoader.Handler handler) {
+        if (Objects.isNull(record.getId())) {
+            return null;
+        }
+
+        return String.join("|", handler.identifier(), metadataFormat.getStringValue(),
+            identifierSetSpec, converterClass.getSimpleName(), record.getId());
+    }
+
+    private int constructFragmentVersion(BaseExportEntity record, int handlerVersion) {
+        return Objects.hash(FRAGMENT_FORMAT_VERSION, handlerVersion,
+            Objects.nonNull(record.getLastUpdated()) ? record.getLastUpdated().getTime() : null);
+    }
+
+    private boolean isDeleted(BaseExportEntity record) {
+        return Boolean.TRUE.equals(record.getDeleted()) ||
+            (record instanceof ExportDocument document &&
+                Objects.nonNull(document.getSubstitutedBy()));
+    }
+
+    private boolean isRelatedTo(BaseExportEntity record, Set<Integer> institutionIds) {
+        return record.getRelatedInstitutionIds().stream().anyMatch(institutionIds::contains) ||
+            record.getActivelyRelatedInstitutionIds().stream()
+                .anyMatch(institutionIds::contains) ||
+            record.getYearOfPublicationInstitutionIds().stream()
+                .anyMatch(institutionIds::contains);
+    }
+
+    private List<? extends BaseExportEntity> filterByPublicationTypes(
+        List<? extends BaseExportEntity> records, String publicationTypes) {
+        if (Objects.isNull(publicationTypes)) {
+            return records;
+        }
+
+        var allowedTypes = Arrays.stream(publicationTypes.split(","))
+            .map(ExportPublicationType::fromStringValue)
+            .collect(Collectors.toSet());
+        return records.stream()
+            .filter(record -> record instanceof ExportDocument document &&
+                allowedTypes.contains(document.getType()))
+            .toList();
+    }
+
+    private Set<Integer> findInstitutionSubUnits(Integer institutionId) {
+        var subUnits = institutionSubUnits.getIfPresent(institutionId);
+        if (Objects.isNull(subUnits)) {
+            subUnits = new HashSet<>(
+                organisationUnitService.getOrganisationUnitIdsFromSubHierarchy(institutionId));
+            institutionSubUnits.put(institutionId, subUnits);
+        }
+        return subUnits;
+    }
+}
@@ -1,6 +1,5 @@
 package rs.teslaris.exporter.service.impl;
 
-import java.lang.reflect.InvocationTargetException;
 import java.sql.Date;
 import java.time.Duration;
 import java.time.LocalDate;
@@ -9,11 +8,9 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,12 +19,8 @@ import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.util.Strings;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
@@ -51,22 +44,15 @@ import rs.teslaris.core.model.oaipmh.common.ServiceDescription;
 import rs.teslaris.core.model.oaipmh.common.ServiceDescriptionContent;
 import rs.teslaris.core.model.oaipmh.common.Set;
 import rs.teslaris.core.model.oaipmh.common.Toolkit;
-import rs.teslaris.core.model.oaipmh.event.EventConvertable;
-import rs.teslaris.core.model.oaipmh.organisationunit.OrgUnitConvertable;
-import rs.teslaris.core.model.oaipmh.patent.PatentConvertable;
-import rs.teslaris.core.model.oaipmh.person.PersonConvertable;
-import rs.teslaris.core.model.oaipmh.product.ProductConvertable;
-import rs.teslaris.core.model.oaipmh.publication.PublicationConvertable;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.util.exceptionhandling.exception.ConverterDoesNotExistException;
 import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
 import rs.teslaris.core.util.persistence.IdentifierUtil;
-import rs.teslaris.core.util.search.CollectionOperations;
 import rs.teslaris.exporter.model.common.BaseExportEntity;
 import rs.teslaris.exporter.model.common.ExportDocument;
 import rs.teslaris.exporter.model.common.ExportPublicationType;
-import rs.teslaris.exporter.model.converter.ExportConverterBase;
 import rs.teslaris.exporter.model.converter.ExportDocumentConverter;
+import rs.teslaris.exporter.service.interfaces.ExportRecordFragmentService;
 import rs.teslaris.exporter.service.interfaces.OutboundExportService;
 import rs.teslaris.exporter.util.ExportDataFormat;
 import rs.teslaris.exporter.util.ExportHandlersConfigurationLoader;
@@ -83,13 +69,17 @@ public class OutboundExportServiceImpl implements OutboundExportService {
 
     private final OrganisationUnitService organisationUnitService;
 
-    private final int PAGE_SIZE = 10;
+    private final ExportRecordFragmentService exportRecordFragmentService;
+
 
     private final String EXPORT_ENTITY_BASE_PACKAGE = "rs.teslaris.exporter.model.common.";
 
     private final String EXPORT_CONVERTER_BASE_PACKAGE =
         "rs.teslaris.exporter.model.converter.";
 
+    @Value("${export.oai-pmh.page-size}")
+    private Integer pageSize;
+
     @Value("${export.base.url}")
     private String baseUrl;
 
@@ -108,7 +98,7 @@ public class OutboundExportServiceImpl implements OutboundExportService {
     public ListRecords listRequestedRecords(String handler, String metadataPrefix,
                                             String from, String until, String requestedSet,
                                             OAIPMHResponse response, int page,
-                                            boolean identifiersOnly) {
+                                            String resumptionToken, boolean identifiersOnly) {
         if (Objects.isNull(metadataPrefix) || metadataPrefix.isBlank() ||
             Objects.isNull(from) || from.isBlank() ||
             Objects.isNull(until) || until.isBlank()) {
@@ -198,18 +188,21 @@ public class OutboundExportServiceImpl implements OutboundExportService {
             });
         }
 
+        var resumptionState = findResumptionState(resumptionToken);
         var recordsPage =
-            findRequestedRecords(recordClass, from, until, page, handlerConfiguration.get(),
-                publicationTypeFilters, concreteTypeFilters, additionalFilters,
-                matchedSet.get().includeActiveEmployments(),
+            findRequestedRecords(recordClass, from, until, page, resumptionState,
+                handlerConfiguration.get(), publicationTypeFilters, concreteTypeFilters,
+                additionalFilters, matchedSet.get().includeActiveEmployments(),
                 matchedSet.get().includeYearOfPublicationEmployments());
 
-        if (recordsPage.getTotalElements() == 0) {
+        if (recordsPage.completeListSize() == 0) {
             response.setError(OAIErrorFactory.constructNoRecordsMatchError());
             return null;
         }
 
-        for (var fetchedRecordEntity : recordsPage.getContent()) {
+        var exportedRecords = new ArrayList<BaseExportEntity>();
+        var recordsWithMetadata = new ArrayList<Record>();
+        for (var fetchedRecordEntity : recordsPage.records()) {
             var header = constructOaiResponseHeader(
                 handlerConfiguration.get(),
                 (BaseExportEntity) fetchedRecordEntity,
@@ -234,25 +227,32 @@ public class OutboundExportServiceImpl implements OutboundExportService {
                     continue;
                 }
 
-                var metadata = new Metadata();
-                try {
-                    setMetadataFieldsInGivenFormat(matchedSet.get().identifierSetSpec(),
-                        recordClass,
-                        converterClass, ExportDataFormat.fromStringValue(metadataPrefix), metadata,
-                        fetchedRecordEntity, handlerConfiguration.get());
-                } catch (ConverterDoesNotExistException e) {
-                    response.setError(OAIErrorFactory.constructNoRecordsMatchError());
-                    return null;
-                }
+                exportedRecords.add((BaseExportEntity) fetchedRecordEntity);
+                recordsWithMetadata.add(record);
+            }
+        }
 
-                record.setMetadata(metadata);
+        if (!exportedRecords.isEmpty()) {
+            List<Metadata> metadataList;
+            try {
+                metadataList = exportRecordFragmentService.getRecordMetadata(exportedRecords,
+                    matchedSet.get().identifierSetSpec(), recordClass, converterClass,
+                    ExportDataFormat.fromStringValue(metadataPrefix), handlerConfiguration.get());
+            } catch (ConverterDoesNotExistException e) {
+                response.setError(OAIErrorFactory.constructNoRecordsMatchError());
+                return null;
+            }
+
+            // Metadata is rendered in the order of the exported records
+            for (int i = 0; i < recordsWithMetadata.size(); i++) {
+                recordsWithMetadata.get(i).setMetadata(metadataList.get(i));
             }
         }
 
-        if (!recordsPage.isLast()) {
+        if (recordsPage.hasMore()) {
             listRecords.setResumptionToken(
                 constructResumptionToken(from, until, page, requestedSet, metadataPrefix,
-                    recordsPage.getTotalElements(), handlerConfiguration.get()));
+                    recordsPage, handlerConfiguration.get()));
         }
 
         return listRecords;
@@ -283,7 +283,6 @@ public class OutboundExportServiceImpl implements OutboundExportService {
         var getRecord = new GetRecord();
         var record = new Record();
         getRecord.setRecord(record);
-        var metadata = new Metadata();
         var metadataFormat = ExportDataFormat.fromStringValue(metadataPrefix);
 
         Class<?> recordClass;
@@ -355,14 +354,14 @@ public class OutboundExportServiceImpl implements OutboundExportService {
         }
 
         try {
-            setMetadataFieldsInGivenFormat(set, recordClass, converterClass, metadataFormat,
-                metadata, requestedRecordOptional.get(), handlerConfiguration.get());
+            record.setMetadata(exportRecordFragmentService.getRecordMetadata(
+                List.of((BaseExportEntity) requestedRecordOptional.get()), set, recordClass,
+                converterClass, metadataFormat, handlerConfiguration.get()).getFirst());
         } catch (ConverterDoesNotExistException e) {
             response.setError(OAIErrorFactory.constructNoRecordsMatchError());
             return null;
         }
 
-        record.setMetadata(metadata);
         return getRecord;
     }
 
@@ -388,72 +387,6 @@ public class OutboundExportServiceImpl implements OutboundExportService {
         return header;
     }
 
-    private <E> void setMetadataFieldsInGivenFormat(String set, Class<?> recordClass,
-                                                    Class<?> converterClass,
-                                                    ExportDataFormat metadataFormat,
-                                                    Metadata metadata, E requestedRecord,
-                                                    ExportHandlersConfigurationLoader.Handler handler)
-        throws ConverterDoesNotExistException {
-        var conversionFunctionName = switch (metadataFormat) {
-            case OAI_CERIF_OPENAIRE -> "toOpenaireModel";
-            case DUBLIN_CORE -> "toDCModel";
-            case ETD_MS -> "toETDMSModel";
-            case DSPACE_INTERNAL_MODEL -> "toDIMModel";
-            case MARC21 -> "toMARC21Model";
-        };
-
-        try {
-            var conversionMethod =
-                List.of("Publications", "Theses", "Products", "Patents").contains(set) ?
-                    converterClass.getMethod(conversionFunctionName, recordClass,
-                        boolean.class, List.class, Map.class) :
-                    converterClass.getMethod(conversionFunctionName, recordClass,
-                        boolean.class, List.class);
-
-            boolean supportLegacyIdentifiers = handler.supportLegacyIdentifiers();
-            List<String> supportedLanguages =
-                CollectionOperations.containsValues(handler.supportedLanguages()) ?
-                    handler.supportedLanguages().stream().map(String::toLowerCase).toList() :
-                    Collections.emptyList();
-
-            Object convertedEntity =
-                conversionMethod.invoke(
-                    null, requestedRecord, supportLegacyIdentifiers,
-                    supportedLanguages, handler.getTypeToIdentifierSuffixMapping()
-                );
-
-            ExportConverterBase.applyCustomMappings(convertedEntity, metadataFormat,
-                organisationUnitService, handler);
-
-            ExportConverterBase.performExceptionalHandlingWhereAbsolutelyNecessary(convertedEntity,
-                metadataFormat, recordClass, handler);
-
-            switch (set) {
-                case "Publications", "Theses":
-                    metadata.setPublication((PublicationConvertable) convertedEntity);
-                    break;
-                case "Products":
-                    metadata.setProduct((ProductConvertable) convertedEntity);
-                    break;
-                case "Patents":
-                    metadata.setPatent((PatentConvertable) convertedEntity);
-                    break;
-                case "Persons":
-                    metadata.setPerson((PersonConvertable) convertedEntity);
-                    break;
-                case "Events":
-                    metadata.setEvent((EventConvertable) convertedEntity);
-                    break;
-                case "Orgunits":
-                    metadata.setOrgUnit((OrgUnitConvertable) convertedEntity);
-                    break;
-            }
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            throw new ConverterDoesNotExistException(
-                converterClass.getName() + "." + conversionFunctionName + " is not implemented.");
-        }
-    }
-
     private <E> Optional<E> findRequestedRecord(String identifier, Class<E> entityClass,
                                                 ExportHandlersConfigurationLoader.Handler handlerConfiguration,
                                                 Boolean includeActiveEmployments,
@@ -539,8 +472,9 @@ public class OutboundExportServiceImpl implements OutboundExportService {
         return Optional.ofNullable(mongoTemplate.findOne(query, entityClass));
     }
 
-    private <E> Page<E> findRequestedRecords(
+    private <E> RecordsPage<E> findRequestedRecords(
         Class<E> entityClass, String from, String until, int page,
+        ResumptionTokenStash resumptionState,
         ExportHandlersConfigurationLoader.Handler handlerConfiguration,
         List<ExportPublicationType> publicationTypeFilters,
         HashMap<String, List<String>> concreteTypeFilters,
@@ -622,19 +556,53 @@ public class OutboundExportServiceImpl implements OutboundExportService {
             ));
         }
 
-        Query query = new Query();
-        query.addCriteria(new Criteria().andOperator(
-            rootCriteria.toArray(new Criteria[0])
-        ));
-
-        var totalCount = mongoTemplate.count(query, entityClass);
+        var recordCriteria = new Criteria().andOperator(rootCriteria.toArray(new Criteria[0]));
+
+        // The list size is counted once per harvest and carried along in the token
+        var completeListSize =
+            (Objects.nonNull(resumptionState) &&
+                Objects.nonNull(resumptionState.getCompleteListSize())) ?
+                resumptionState.getCompleteListSize() :
+                mongoTemplate.count(new Query(recordCriteria), entityClass);
+
+        var cursor = page * pageSize;
+        Query query;
+        if (Objects.nonNull(resumptionState) &&
+            Objects.nonNull(resumptionState.getLastUpdated()) &&
+            Objects.nonNull(resumptionState.getLastId())) {
+            cursor = resumptionState.getCursor();
+            query = new Query(new Criteria().andOperator(recordCriteria,
+                new Criteria().orOperator(
+                    Criteria.where("last_updated").gt(resumptionState.getLastUpdated()),
+                    new Criteria().andOperator(
+                        Criteria.where("last_updated").is(resumptionState.getLastUpdated()),
+                        Criteria.where("id").gt(resumptionState.getLastId()))
+                )));
+        } else {
+            // Tokens issued before keyset paging only carry a page number
+            query = new Query(recordCriteria).skip((long) page * pageSize);
+        }
 
-        var pageRequest = PageRequest.of(page, PAGE_SIZE);
-        query.with(pageRequest);
+        query.with(Sort.by(Sort.Direction.ASC, "last_updated", "id"));
+        query.limit(pageSize + 1);
 
         var records = mongoTemplate.find(query, entityClass);
+        var hasMore = records.size() > pageSize;
+        if (hasMore) {
+            records = records.subList(0, pageSize);
+        }
 
-        return new PageImpl<>(records, pageRequest, totalCount);
+        return new RecordsPage<>(records, hasMore, cursor, completeListSize);
+    }
+
+    private ResumptionTokenStash findResumptionState(String resumptionToken) {
+        if (Objects.isNull(resumptionToken)) {
+            return null;
+        }
+
+        return mongoTemplate.findOne(
+            new Query(Criteria.where("tokenValue").is(resumptionToken)),
+            ResumptionTokenStash.class);
     }
 
     private HashSet<Integer> getAllOUSubUnitsIds(Integer organisationUnitId) {
@@ -767,7 +735,7 @@ public class OutboundExportServiceImpl implements OutboundExportService {
 
     private ResumptionToken constructResumptionToken(String from, String until, int page,
                                                      String set, String format,
-                                                     long completeListSize,
+                                                     RecordsPage<?> recordsPage,
                                                      ExportHandlersConfigurationLoader.Handler handler) {
         var tokenId = UUID.randomUUID().toString();
         var newToken =
@@ -779,13 +747,14 @@ public class OutboundExportServiceImpl implements OutboundExportService {
                         .plus(Duration.ofMinutes((handler.tokenExpirationTimeMinutes())))
                         .atZone(ZoneId.systemDefault())
                         .toInstant()),
-                page * PAGE_SIZE, completeListSize);
+                recordsPage.cursor(), recordsPage.completeListSize());
 
+        var lastRecord = (BaseExportEntity) recordsPage.records().getLast();
         mongoTemplate.save(
-            new ResumptionTokenStash(null, newToken.getValue(), newToken.getExpirationDate()));
-        mongoTemplate.indexOps(ResumptionTokenStash.class)
-            .ensureIndex(new Index().on("expirationTimestamp", Sort.Direction.ASC)
-                .expire(0L));
+            new ResumptionTokenStash(null, newToken.getValue(), newToken.getExpirationDate(),
+                lastRecord.getLastUpdated(), lastRecord.getId(),
+                recordsPage.cursor() + recordsPage.records().size(),
+                recordsPage.completeListSize()));
         return newToken;
     }
 
@@ -823,4 +792,8 @@ public class OutboundExportServiceImpl implements OutboundExportService {
         }
         return entity.getDatabaseId();
     }
+
+    private record RecordsPage<E>(List<E> records, boolean hasMore, int cursor,
+                                  long completeListSize) {
+    }
 }
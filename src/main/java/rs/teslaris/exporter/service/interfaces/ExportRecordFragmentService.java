@@ -0,0 +1,19 @@
+package rs.teslaris.exporter.service.interfaces;
+
+import java.util.List;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.model.oaipmh.common.Metadata;
+import rs.teslaris.exporter.model.common.BaseExportEntity;
+import rs.teslaris.exporter.util.ExportDataFormat;
+import rs.teslaris.exporter.util.ExportHandlersConfigurationLoader;
+
+@Service
+public interface ExportRecordFragmentService {
+
+    List<Metadata> getRecordMetadata(List<? extends BaseExportEntity> records,
+                                     String identifierSetSpec, Class<?> recordClass,
+                                     Class<?> converterClass, ExportDataFormat metadataFormat,
+                                     ExportHandlersConfigurationLoader.Handler handler);
+
+    void prerenderFragments(List<? extends BaseExportEntity> records, Class<?> exportClass);
+}
@@ -13,7 +13,7 @@ public interface OutboundExportService {
 
     ListRecords listRequestedRecords(String handler, String metadataPrefix, String from,
                                      String until, String set, OAIPMHResponse response, int page,
-                                     boolean identifiersOnly);
+                                     String resumptionToken, boolean identifiersOnly);
 
     GetRecord listRequestedRecord(String handler, String metadataPrefix,
                                   String identifier, OAIPMHResponse response);
@@ -51,6 +51,13 @@ public class ExportHandlersConfigurationLoader {
             .findFirst();
     }
 
+    public static List<Handler> getHandlers() {
+        if (Objects.isNull(exportHandlersConfiguration)) {
+            reloadConfiguration();
+        }
+        return exportHandlersConfiguration.handlers();
+    }
+
     public record ExportHandlersConfiguration(
         @JsonProperty(value = "handlers", required = true) List<Handler> handlers
     ) {
@@ -0,0 +1,35 @@
+package rs.teslaris.exporter.util;
+
+import jakarta.persistence.Id;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "exportRecordFragments")
+public class ExportRecordFragment {
+
+    // handler|metadataPrefix|identifierSetSpec|converter|record id
+    @Id
+    private String id;
+
+    @Field("record_id")
+    private String recordId;
+
+    @Field("version")
+    private Integer version;
+
+    // Serialized <metadata> element, the OAI-PMH record payload
+    @Field("content")
+    private String content;
+
+    @Field("rendered_at")
+    private Date renderedAt;
+}
@@ -0,0 +1,80 @@
+package rs.teslaris.exporter.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import rs.teslaris.core.util.persistence.MongoIndexProvisioner;
+import rs.teslaris.exporter.model.common.ExportDocument;
+import rs.teslaris.exporter.model.common.ExportEvent;
+import rs.teslaris.exporter.model.common.ExportOrganisationUnit;
+import rs.teslaris.exporter.model.common.ExportPerson;
+
+@Component
+@RequiredArgsConstructor
+public class ExporterMongoIndexProvisioner {
+
+    private static final Duration EXPORT_FRAGMENT_TIME_TO_LIVE = Duration.ofDays(7);
+
+    private final MongoIndexProvisioner mongoIndexProvisioner;
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void provisionIndexes() {
+        mongoIndexProvisioner.provisionIndexes("exporter", declareIndexes());
+    }
+
+    private Map<Class<?>, List<Index>> declareIndexes() {
+        return Map.of(
+            ExportDocument.class, List.of(
+                keysetIndex(),
+                new Index().on("database_id", Sort.Direction.ASC).on("type", Sort.Direction.ASC),
+                new Index().on("old_id", Sort.Direction.ASC),
+                institutionKeysetIndex("related_institution_ids"),
+                institutionKeysetIndex("actively_related_institution_ids"),
+                institutionKeysetIndex("year_of_publication_institution_ids"),
+                new Index().on("type", Sort.Direction.ASC).on("last_updated", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC),
+                new Index().on("doi", Sort.Direction.ASC).sparse(),
+                new Index().on("authors.person.database_id", Sort.Direction.ASC)),
+            ExportPerson.class, exportEntityIndexes(
+                new Index().on("orcid", Sort.Direction.ASC).sparse()),
+            ExportOrganisationUnit.class, exportEntityIndexes(),
+            ExportEvent.class, exportEntityIndexes(),
+            ResumptionTokenStash.class, List.of(
+                new Index().on("token_value", Sort.Direction.ASC),
+                new Index().on("expiration_timestamp", Sort.Direction.ASC).expire(0L)),
+            // Fragments of re-exported records are keyed by their old id and would never expire
+            ExportRecordFragment.class, List.of(
+                new Index().on("rendered_at", Sort.Direction.ASC)
+                    .expire(EXPORT_FRAGMENT_TIME_TO_LIVE.toSeconds()))
+        );
+    }
+
+    private List<Index> exportEntityIndexes(Index... additionalIndexes) {
+        var indexes = new ArrayList<>(List.of(
+            keysetIndex(),
+            new Index().on("database_id", Sort.Direction.ASC),
+            new Index().on("old_id", Sort.Direction.ASC),
+            institutionKeysetIndex("related_institution_ids"),
+            institutionKeysetIndex("actively_related_institution_ids")));
+        indexes.addAll(List.of(additionalIndexes));
+        return indexes;
+    }
+
+    // OAI-PMH harvests page by (last_updated, _id) after the handler and set filters
+    private Index keysetIndex() {
+        return new Index().on("last_updated", Sort.Direction.ASC).on("_id", Sort.Direction.ASC);
+    }
+
+    private Index institutionKeysetIndex(String institutionField) {
+        return new Index().on(institutionField, Sort.Direction.ASC)
+            .on("last_updated", Sort.Direction.ASC).on("_id", Sort.Direction.ASC);
+    }
+}
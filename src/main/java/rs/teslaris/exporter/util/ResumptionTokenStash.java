@@ -26,4 +26,17 @@ public class ResumptionTokenStash {
     @Field("expiration_timestamp")
     @Indexed(name = "expiration_timestamp", expireAfterSeconds = 1)
     private Date expirationTimestamp;
+
+    // Keyset position of the last record served before this token was issued
+    @Field("last_updated")
+    private Date lastUpdated;
+
+    @Field("last_id")
+    private String lastId;
+
+    @Field("cursor")
+    private Integer cursor;
+
+    @Field("complete_list_size")
+    private Long completeListSize;
 }
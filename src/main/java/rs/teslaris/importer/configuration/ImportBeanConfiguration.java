@@ -3,6 +3,7 @@ package rs.teslaris.importer.configuration;
 import java.util.concurrent.Executor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
@@ -18,4 +19,10 @@ public class ImportBeanConfiguration {
         executor.initialize();
         return executor;
     }
+
+    // One long-lived producer per running harvest, a bounded pool could starve its consumer
+    @Bean("harvestPrefetchExecutor")
+    public Executor harvestPrefetchExecutor() {
+        return new SimpleAsyncTaskExecutor("harvest-prefetch-");
+    }
 }
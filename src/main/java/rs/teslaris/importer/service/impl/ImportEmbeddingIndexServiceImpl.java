@@ -0,0 +1,145 @@
+package rs.teslaris.importer.service.impl;
+
+import co.elastic.clients.elasticsearch._types.KnnQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import rs.teslaris.core.indexmodel.deduplication.ImportEmbeddingIndex;
+import rs.teslaris.core.indexrepository.deduplication.ImportEmbeddingIndexRepository;
+import rs.teslaris.importer.model.common.DocumentImport;
+import rs.teslaris.importer.service.interfaces.ImportEmbeddingIndexService;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportEmbeddingIndexServiceImpl implements ImportEmbeddingIndexService {
+
+    private static final int NUMBER_OF_CANDIDATES = 100;
+
+    private static final int REINDEX_BATCH_SIZE = 500;
+
+    private final ImportEmbeddingIndexRepository importEmbeddingIndexRepository;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Qualifier("reindexExecutor")
+    private final Executor reindexExecutor;
+
+
+    @Override
+    public void indexEmbedding(DocumentImport documentImport) {
+        var embedding = toVector(documentImport.getEmbedding());
+        if (Objects.isNull(documentImport.getId()) || Objects.isNull(embedding)) {
+            return;
+        }
+
+        importEmbeddingIndexRepository.save(
+            new ImportEmbeddingIndex(documentImport.getId(), embedding));
+    }
+
+    @Override
+    public List<String> findSimilarImportIds(float[] embedding, int maxResults,
+                                             double minSimilarity) {
+        if (Objects.isNull(embedding) ||
+            embedding.length != ImportEmbeddingIndex.EMBEDDING_DIMENSIONS) {
+            return List.of();
+        }
+
+        var queryVector = new ArrayList<Float>(embedding.length);
+        for (var component : embedding) {
+            queryVector.add(component);
+        }
+
+        var query = NativeQuery.builder()
+            .withKnnQuery(KnnQuery.of(k -> k
+                .field("embedding")
+                .queryVector(queryVector)
+                .k(maxResults)
+                .numCandidates(Math.max(NUMBER_OF_CANDIDATES, maxResults))))
+            .withSourceFilter(new FetchSourceFilter(null, new String[] {"embedding"}))
+            .withMaxResults(maxResults)
+            .build();
+
+        // For cosine similarity Elasticsearch scores hits as (1 + cosine) / 2
+        var minScore = (1 + minSimilarity) / 2;
+        return elasticsearchOperations.search(query, ImportEmbeddingIndex.class).stream()
+            .filter(hit -> hit.getScore() >= minScore)
+            .map(SearchHit::getId)
+            .toList();
+    }
+
+    @Override
+    public void reindexEmbeddings() {
+        var query = new Query(Criteria.where("embedding").exists(true));
+        query.fields().include("_id", "embedding");
+
+        var batch = new ArrayList<ImportEmbeddingIndex>(REINDEX_BATCH_SIZE);
+        var indexedCount = 0;
+        try (var documentImports = mongoTemplate.stream(query, DocumentImport.class,
+            "documentImports")) {
+            for (var iterator = documentImports.iterator(); iterator.hasNext(); ) {
+                var documentImport = iterator.next();
+                var embedding = toVector(documentImport.getEmbedding());
+                if (Objects.isNull(embedding)) {
+                    continue;
+                }
+
+                batch.add(new ImportEmbeddingIndex(documentImport.getId(), embedding));
+                if (batch.size() == REINDEX_BATCH_SIZE) {
+                    importEmbeddingIndexRepository.saveAll(batch);
+                    indexedCount += batch.size();
+                    batch = new ArrayList<>(REINDEX_BATCH_SIZE);
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            importEmbeddingIndexRepository.saveAll(batch);
+            indexedCount += batch.size();
+        }
+
+        log.info("Indexed {} document import embeddings.", indexedCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    protected void populateIndexOnStartup() {
+        reindexExecutor.execute(() -> {
+            try {
+                if (importEmbeddingIndexRepository.count() == 0) {
+                    reindexEmbeddings();
+                }
+            } catch (Exception e) {
+                log.error("Unable to populate document import embedding index. Reason: ", e);
+            }
+        });
+    }
+
+    private float[] toVector(List<Double> embedding) {
+        if (Objects.isNull(embedding) ||
+            embedding.size() != ImportEmbeddingIndex.EMBEDDING_DIMENSIONS) {
+            return null;
+        }
+
+        var vector = new float[embedding.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = embedding.get(i).floatValue();
+        }
+        return vector;
+    }
+}
@@ -1,9 +1,9 @@
 package rs.teslaris.importer.service.impl;
 
 import jakarta.annotation.Nullable;
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
-import java.io.StringReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.LocalDate;
@@ -15,37 +15,42 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.sax.SAXSource;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.xml.stream.XMLStreamException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 import rs.teslaris.core.indexrepository.PersonIndexRepository;
+import rs.teslaris.core.model.oaipmh.common.Header;
 import rs.teslaris.core.model.oaipmh.common.Metadata;
+import rs.teslaris.core.model.oaipmh.common.OAIError;
 import rs.teslaris.core.model.oaipmh.common.OAIPMHResponse;
+import rs.teslaris.core.model.oaipmh.common.Record;
 import rs.teslaris.core.model.oaipmh.common.ResumptionToken;
 import rs.teslaris.core.service.interfaces.person.PersonService;
-import rs.teslaris.core.util.deduplication.DeduplicationUtil;
+import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
 import rs.teslaris.core.util.exceptionhandling.exception.NetworkException;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
-import rs.teslaris.core.util.functional.Pair;
 import rs.teslaris.core.util.session.RestTemplateProvider;
+import rs.teslaris.core.util.xmlutil.JAXBContextRegistry;
+import rs.teslaris.core.util.xmlutil.XMLUtil;
 import rs.teslaris.importer.model.common.DocumentImport;
 import rs.teslaris.importer.model.common.PersonDocumentContribution;
 import rs.teslaris.importer.service.interfaces.OAIPMHHarvester;
 import rs.teslaris.importer.utility.CommonHarvestUtility;
 import rs.teslaris.importer.utility.CommonImportUtility;
-import rs.teslaris.importer.utility.DeepObjectMerger;
 import rs.teslaris.importer.utility.HarvestProgressReport;
 import rs.teslaris.importer.utility.oaipmh.OAIPMHHarvestConfigurationLoader;
 
@@ -56,6 +61,12 @@ public class OAIPMHHarvesterImpl implements OAIPMHHarvester {
 
     private static final int MAX_RESTART_NUMBER = 10;
 
+    private static final int PREFETCHED_RECORDS_CAPACITY = 200;
+
+    private static final int PREFETCH_LIVENESS_CHECK_SECONDS = 30;
+
+    private static final String OAI_PMH_NAMESPACE = "http://www.openarchives.org/OAI/2.0/";
+
     private final MongoTemplate mongoTemplate;
 
     private final RestTemplateProvider restTemplateProvider;
@@ -64,15 +75,21 @@ public class OAIPMHHarvesterImpl implements OAIPMHHarvester {
 
     private final PersonIndexRepository personIndexRepository;
 
+    @Qualifier("harvestPrefetchExecutor")
+    private final Executor harvestPrefetchExecutor;
+
 
     @Override
     public void harvest(String sourceName, LocalDate startDate, LocalDate endDate, Integer userId) {
         var sourceConfiguration = getSourceConfiguration(sourceName);
+        var converterMethod = getConverterMethod(sourceConfiguration);
+        if (converterMethod.isEmpty()) {
+            return;
+        }
 
         var adminUserIds = CommonImportUtility.getAdminUserIds();
 
         var endpoint = constructOAIPMHEndpoint(sourceConfiguration, startDate, endDate);
-        var restTemplate = restTemplateProvider.provideRestTemplate();
         var identifyingDataset = constructIdentifyingDatasetName(sourceConfiguration);
         var harvestProgressReport = getProgressReport(identifyingDataset, userId);
 
@@ -81,54 +98,48 @@ public class OAIPMHHarvesterImpl implements OAIPMHHarvester {
                 harvestProgressReport.getResumptionToken();
         }
 
-        var newEntriesCount = new HashMap<Integer, Integer>();
-        int restartCount = 0;
-
-        while (true) {
+        // Records are processed here while the prefetcher streams the following pages
+        var harvestedItems = new ArrayBlockingQueue<HarvestedItem>(PREFETCHED_RECORDS_CAPACITY);
+        var cancelled = new AtomicBoolean();
+        var prefetchStopped = new AtomicBoolean();
+        var firstPageEndpoint = endpoint;
+        harvestPrefetchExecutor.execute(() -> {
             try {
-                ResponseEntity<String> responseEntity =
-                    restTemplate.getForEntity(endpoint, String.class);
-
-                if (responseEntity.getStatusCode() == HttpStatus.OK) {
-                    String responseBody = responseEntity.getBody();
-                    var optionalOaiPmhResponse = parseResponse(responseBody);
-
-                    if (optionalOaiPmhResponse.isEmpty()) {
-                        break;
-                    }
-
-                    var parsedResponse = handleOAIPMHResponse(optionalOaiPmhResponse.get());
-                    processParsedRecords(parsedResponse.a, sourceConfiguration, newEntriesCount,
-                        userId, adminUserIds);
+                fetchPages(firstPageEndpoint, sourceConfiguration, harvestedItems, cancelled);
+            } finally {
+                prefetchStopped.set(true);
+            }
+        });
 
-                    if (parsedResponse.b.isEmpty() || parsedResponse.b.get().getValue().isBlank()) {
-                        break;
-                    }
+        var newEntriesCount = new HashMap<Integer, Integer>();
+        var pageImports = new ArrayList<DocumentImport>();
+        try {
+            while (true) {
+                var harvestedItem = takeHarvestedItem(harvestedItems, prefetchStopped);
+                if (Objects.nonNull(harvestedItem.record())) {
+                    convertParsedRecord(harvestedItem.record(), converterMethod.get())
+                        .ifPresent(pageImports::add);
+                    continue;
+                }
 
-                    endpoint =
-                        sourceConfiguration.baseUrl() + "?verb=ListRecords&resumptionToken=" +
-                            parsedResponse.b.get().getValue();
+                savePageImports(pageImports, newEntriesCount, userId, adminUserIds);
+                pageImports.clear();
 
-                    updateProgressReport(identifyingDataset, parsedResponse.b.get().getValue(),
+                if (Objects.nonNull(harvestedItem.resumptionToken())) {
+                    updateProgressReport(identifyingDataset, harvestedItem.resumptionToken(),
                         userId);
+                } else if (Objects.nonNull(harvestedItem.failure())) {
+                    throw harvestedItem.failure();
                 } else {
-                    log.error("OAI-PMH request failed with response code: " +
-                        responseEntity.getStatusCode());
+                    break;
                 }
-            } catch (Exception e) {
-                if (restartCount == MAX_RESTART_NUMBER) {
-                    var message =
-                        "Harvest did not complete because host (" + sourceConfiguration.baseUrl() +
-                            ") keeps crashing. Manual restart required.";
-                    log.error(message);
-                    throw new NetworkException(message);
-                }
-
-                restartCount += 1;
-
-                log.warn("No route to host for endpoint: " + endpoint + " - Restarting " +
-                    restartCount + " of " + MAX_RESTART_NUMBER);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Harvest from {} was interrupted.", sourceConfiguration.baseUrl());
+            return;
+        } finally {
+            cancelled.set(true);
         }
 
         deleteProgressReport(identifyingDataset, userId);
@@ -147,40 +158,37 @@ public class OAIPMHHarvesterImpl implements OAIPMHHarvester {
         return config;
     }
 
-    private void processParsedRecords(
-        List<Metadata> records,
-        OAIPMHHarvestConfigurationLoader.Source sourceConfiguration,
-        Map<Integer, Integer> newEntriesCount,
-        Integer userId,
-        Set<Integer> adminUserIds
-    ) {
+    private Optional<Method> getConverterMethod(
+        OAIPMHHarvestConfigurationLoader.Source sourceConfiguration) {
         try {
             Class<?> converterClass = Class.forName(
                 "rs.teslaris.importer.model.converter.harvest." +
                     sourceConfiguration.converterClass());
             Class<?> responseClass = Class.forName(
                 "rs.teslaris.core.model." + sourceConfiguration.responseObjectClass());
-            var method = converterClass.getMethod("toCommonImportModel", responseClass);
-
-            for (var record : records) {
-                processSingleRecord(record, method, responseClass, newEntriesCount, userId,
-                    adminUserIds);
-            }
+            return Optional.of(converterClass.getMethod("toCommonImportModel", responseClass));
         } catch (ClassNotFoundException | NoSuchMethodException e) {
             log.error(
                 "SERIOUS: Invalid converter ({}) or response ({}) class specified in OAI-PMH harvest.",
                 sourceConfiguration.converterClass(), sourceConfiguration.responseObjectClass());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<DocumentImport> convertParsedRecord(Metadata record, Method method) {
+        try {
+            return convertSingleRecord(record, method, method.getParameterTypes()[0]);
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping harvested record. Reason: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
     @SuppressWarnings("unchecked")
-    private void processSingleRecord(
+    private Optional<DocumentImport> convertSingleRecord(
         Metadata record,
         Method method,
-        Class<?> responseClass,
-        Map<Integer, Integer> newEntriesCount,
-        Integer userId,
-        Set<Integer> adminUserIds
+        Class<?> responseClass
     ) {
         var publication = record.getPublication();
         if (!responseClass.isInstance(publication)) {
@@ -189,52 +197,34 @@ public class OAIPMHHarvesterImpl implements OAIPMHHarvester {
         }
 
         try {
-            ((Optional<DocumentImport>) method.invoke(null, responseClass.cast(publication)))
-                .ifPresent(documentImport -> {
+            return ((Optional<DocumentImport>) method.invoke(null,
+                responseClass.cast(publication)))
+                .filter(documentImport -> {
                     bindImportUsersForAll(documentImport);
-                    if (documentImport.getImportUsersId().isEmpty()) {
-                        return;
-                    }
-
-                    var existingImport =
-                        CommonImportUtility.findExistingImport(documentImport.getIdentifier());
-                    if (Objects.isNull(existingImport)) {
-                        existingImport =
-                            CommonImportUtility.findImportByDOIOrMetadata(documentImport);
-                        if (Objects.nonNull(existingImport)) {
-                            // Probably imported before from other sources, which have higher priorities
-                            // perform metadata enrichment, if possible
-                            DeepObjectMerger.deepMerge(existingImport, documentImport);
-                            mongoTemplate.save(existingImport, "documentImports");
-                            return;
-                        }
-                    }
-
-                    var embedding = CommonImportUtility.generateEmbedding(documentImport);
-                    if (DeduplicationUtil.isDuplicate(existingImport, embedding, documentImport)) {
-                        return;
-                    }
-
-                    if (Objects.nonNull(embedding)) {
-                        documentImport.setEmbedding(DeduplicationUtil.toDoubleList(embedding));
-                    }
-
-                    documentImport.getImportUsersId().addAll(adminUserIds);
-                    newEntriesCount.merge(userId, 1, Integer::sum);
-
-                    CommonHarvestUtility.updateContributorEntryCount(documentImport,
-                        documentImport.getContributions().stream()
-                            .map(c -> c.getPerson().getOrcid()).toList(),
-                        newEntriesCount,
-                        personService);
-
-                    mongoTemplate.save(documentImport, "documentImports");
+                    return !documentImport.getImportUsersId().isEmpty();
                 });
         } catch (IllegalAccessException | InvocationTargetException e) {
             log.error("SERIOUS: Invalid converter invocation.", e);
+            return Optional.empty();
         }
     }
 
+    private void savePageImports(List<DocumentImport> pageImports,
+                                 Map<Integer, Integer> newEntriesCount,
+                                 Integer userId,
+                                 Set<Integer> adminUserIds) {
+        CommonImportUtility.saveHarvestedPage(pageImports, documentImport -> {
+            documentImport.getImportUsersId().addAll(adminUserIds);
+            newEntriesCount.merge(userId, 1, Integer::sum);
+
+            CommonHarvestUtility.updateContributorEntryCount(documentImport,
+                documentImport.getContributions().stream()
+                    .map(c -> c.getPerson().getOrcid()).toList(),
+                newEntriesCount,
+                personService);
+        });
+    }
+
     private void bindImportUsersForAll(DocumentImport documentImport) {
         documentImport.getContributions().forEach(authorship -> {
             if (Objects.nonNull(authorship.getPerson().getOrcid()) &&
@@ -258,58 +248,171 @@ public class OAIPMHHarvesterImpl implements OAIPMHHarvester {
         });
     }
 
-    public Optional<OAIPMHResponse> parseResponse(String xml) {
+    private void fetchPages(String endpoint,
+                            OAIPMHHarvestConfigurationLoader.Source sourceConfiguration,
+                            BlockingQueue<HarvestedItem> harvestedItems,
+                            AtomicBoolean cancelled) {
+        var restTemplate = restTemplateProvider.provideRestTemplate();
+        int restartCount = 0;
+
         try {
-            var jaxbContext = JAXBContext.newInstance(OAIPMHResponse.class);
-
-            var saxParserFactory = SAXParserFactory.newInstance();
-            saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, Boolean.TRUE);
-            saxParserFactory.setFeature(
-                "http://apache.org/xml/features/nonvalidating/load-external-dtd",
-                Boolean.FALSE);
-            saxParserFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl",
-                Boolean.TRUE);
-            saxParserFactory.setValidating(Boolean.FALSE);
-
-            var xmlReader = saxParserFactory.newSAXParser().getXMLReader();
-            var inputSource = new InputSource(new StringReader(xml));
-            var source = new SAXSource(xmlReader, inputSource);
-            var jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-
-            return Optional.of(
-                (OAIPMHResponse) jaxbUnmarshaller.unmarshal(source.getInputSource()));
-        } catch (JAXBException | ParserConfigurationException | SAXException e) {
-            log.error("Parsing OAI-PMH response failed. Reason: " + e.getMessage());
-            return Optional.empty();
+            while (true) {
+                Optional<String> resumptionToken;
+                try {
+                    resumptionToken = restTemplate.execute(endpoint, HttpMethod.GET, null,
+                        response -> streamRecords(response.getBody(),
+                            record -> publish(harvestedItems, HarvestedItem.ofRecord(record),
+                                cancelled)));
+                } catch (LoadingException e) {
+                    log.error(e.getMessage());
+                    break;
+                } catch (CancellationException e) {
+                    return;
+                } catch (Exception e) {
+                    if (restartCount == MAX_RESTART_NUMBER) {
+                        var message = "Harvest did not complete because host (" +
+                            sourceConfiguration.baseUrl() +
+                            ") keeps crashing. Manual restart required.";
+                        log.error(message);
+                        publish(harvestedItems,
+                            HarvestedItem.ofFailure(new NetworkException(message)), cancelled);
+                        return;
+                    }
+
+                    // Records streamed before the failure are found again as existing imports
+                    restartCount += 1;
+
+                    log.warn("No route to host for endpoint: " + endpoint + " - Restarting " +
+                        restartCount + " of " + MAX_RESTART_NUMBER);
+                    continue;
+                }
+
+                if (Objects.isNull(resumptionToken) || resumptionToken.isEmpty()) {
+                    break;
+                }
+
+                publish(harvestedItems, HarvestedItem.ofPageEnd(resumptionToken.get()),
+                    cancelled);
+                endpoint = sourceConfiguration.baseUrl() + "?verb=ListRecords&resumptionToken=" +
+                    resumptionToken.get();
+            }
+
+            publish(harvestedItems, HarvestedItem.ofHarvestEnd(), cancelled);
+        } catch (CancellationException e) {
+            log.debug("Harvest from {} stopped prefetching.", sourceConfiguration.baseUrl());
+        } catch (RuntimeException | Error e) {
+            log.error("Prefetching from {} failed.", sourceConfiguration.baseUrl(), e);
+            publish(harvestedItems, HarvestedItem.ofFailure(new IllegalStateException(
+                "Prefetching from " + sourceConfiguration.baseUrl() + " failed.", e)), cancelled);
         }
     }
 
-    private Pair<ArrayList<Metadata>, Optional<ResumptionToken>> handleOAIPMHResponse(
-        OAIPMHResponse oaiPmhResponse) {
-        var parsedRecords = new ArrayList<Metadata>();
+    private HarvestedItem takeHarvestedItem(BlockingQueue<HarvestedItem> harvestedItems,
+                                            AtomicBoolean prefetchStopped)
+        throws InterruptedException {
+        while (true) {
+            var harvestedItem = harvestedItems.poll(PREFETCH_LIVENESS_CHECK_SECONDS,
+                TimeUnit.SECONDS);
+            if (Objects.nonNull(harvestedItem)) {
+                return harvestedItem;
+            }
 
-        if (Objects.isNull(oaiPmhResponse.getListRecords())) {
-            return new Pair<>(parsedRecords, Optional.empty());
+            // Stopped flag is set after the last publish, so the queue is checked once more
+            if (prefetchStopped.get()) {
+                return Objects.requireNonNullElseGet(harvestedItems.poll(),
+                    () -> HarvestedItem.ofFailure(new IllegalStateException(
+                        "Prefetching stopped before the harvest was complete.")));
+            }
         }
+    }
 
-        var records = oaiPmhResponse.getListRecords().getRecords();
-        records.forEach(
-            record -> {
-                if (Objects.nonNull(record.getHeader().getStatus()) &&
-                    record.getHeader().getStatus().equalsIgnoreCase("deleted")) {
-                    // TODO: should deleted records be removed from our db?
-                    return;
+    private void publish(BlockingQueue<HarvestedItem> harvestedItems, HarvestedItem harvestedItem,
+                         AtomicBoolean cancelled) {
+        try {
+            while (!harvestedItems.offer(harvestedItem, 1, TimeUnit.SECONDS)) {
+                if (cancelled.get()) {
+                    throw new CancellationException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    public Optional<String> streamRecords(InputStream responseBody,
+                                          Consumer<Metadata> recordConsumer)
+        throws IOException {
+        try {
+            var reader = XMLUtil.createStreamReader(responseBody);
+            try {
+                var unmarshaller =
+                    JAXBContextRegistry.getContext(OAIPMHResponse.class).createUnmarshaller();
+                String resumptionToken = null;
+
+                // Unmarshalling leaves the reader on the event after the consumed element
+                while (reader.hasNext()) {
+                    if (!reader.isStartElement() ||
+                        !OAI_PMH_NAMESPACE.equals(reader.getNamespaceURI())) {
+                        reader.next();
+                        continue;
+                    }
+
+                    switch (reader.getLocalName()) {
+                        case "record" -> {
+                            var record = unmarshaller.unmarshal(reader, Record.class).getValue();
+                            if (isDeleted(record.getHeader())) {
+                                // TODO: should deleted records be removed from our db?
+                                continue;
+                            }
+                            recordConsumer.accept(record.getMetadata());
+                        }
+                        case "resumptionToken" -> resumptionToken =
+                            unmarshaller.unmarshal(reader, ResumptionToken.class).getValue()
+                                .getValue();
+                        case "error" -> {
+                            var error = unmarshaller.unmarshal(reader, OAIError.class).getValue();
+                            log.info("OAI-PMH source responded with {}: {}", error.getCode(),
+                                error.getMessage());
+                        }
+                        default -> reader.next();
+                    }
                 }
-                var metadata = record.getMetadata();
-                parsedRecords.add(metadata);
-            });
 
-        var resumptionToken = oaiPmhResponse.getListRecords().getResumptionToken();
-        if (Objects.isNull(resumptionToken) || Objects.isNull(resumptionToken.getValue())) {
-            return new Pair<>(parsedRecords, Optional.empty());
+                return Optional.ofNullable(resumptionToken).filter(token -> !token.isBlank());
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | JAXBException e) {
+            var networkFailure = findNetworkFailure(e);
+            if (Objects.nonNull(networkFailure)) {
+                throw networkFailure;
+            }
+
+            throw new LoadingException("Parsing OAI-PMH response failed. Reason: " +
+                e.getMessage());
+        }
+    }
+
+    private boolean isDeleted(Header header) {
+        return Objects.nonNull(header) && Objects.nonNull(header.getStatus()) &&
+            header.getStatus().equalsIgnoreCase("deleted");
+    }
+
+    @Nullable
+    private IOException findNetworkFailure(Throwable exception) {
+        var cause = exception;
+        while (Objects.nonNull(cause)) {
+            if (cause instanceof IOException ioException) {
+                return ioException;
+            }
+
+            cause = cause instanceof XMLStreamException xmlStreamException &&
+                Objects.nonNull(xmlStreamException.getNestedException()) ?
+                xmlStreamException.getNestedException() : cause.getCause();
         }
 
-        return new Pair<>(parsedRecords, Optional.of(resumptionToken));
+        return null;
     }
 
     private String constructOAIPMHEndpoint(OAIPMHHarvestConfigurationLoader.Source sourceConfig,
@@ -364,4 +467,24 @@ public class OAIPMHHarvesterImpl implements OAIPMHHarvester {
                 .addAll(person.getEmploymentInstitutionsIdHierarchy());
         });
     }
+
+    private record HarvestedItem(Metadata record, String resumptionToken,
+                                 RuntimeException failure) {
+
+        static HarvestedItem ofRecord(Metadata record) {
+            return new HarvestedItem(record, null, null);
+        }
+
+        static HarvestedItem ofPageEnd(String resumptionToken) {
+            return new HarvestedItem(null, resumptionToken, null);
+        }
+
+        static HarvestedItem ofFailure(RuntimeException failure) {
+            return new HarvestedItem(null, null, failure);
+        }
+
+        static HarvestedItem ofHarvestEnd() {
+            return new HarvestedItem(null, null, null);
+        }
+    }
 }
@@ -1,7 +1,6 @@
 package rs.teslaris.importer.service.impl;
 
 import jakarta.annotation.Nullable;
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -51,6 +50,7 @@ import rs.teslaris.core.model.oaipmh.product.Product;
 import rs.teslaris.core.model.oaipmh.publication.Publication;
 import rs.teslaris.core.util.exceptionhandling.exception.CantConstructRestTemplateException;
 import rs.teslaris.core.util.exceptionhandling.exception.NetworkException;
+import rs.teslaris.core.util.xmlutil.JAXBContextRegistry;
 import rs.teslaris.importer.service.interfaces.OAIPMHMigrator;
 import rs.teslaris.importer.utility.DataSet;
 import rs.teslaris.importer.utility.HarvestProgressReport;
@@ -205,7 +205,7 @@ public class OAIPMHMigratorImpl implements OAIPMHMigrator {
 
     public Optional<OAIPMHResponse> parseResponse(String xml) {
         try {
-            var jaxbContext = JAXBContext.newInstance(OAIPMHResponse.class);
+            var jaxbContext = JAXBContextRegistry.getContext(OAIPMHResponse.class);
 
             var saxParserFactory = SAXParserFactory.newInstance();
             saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, Boolean.TRUE);
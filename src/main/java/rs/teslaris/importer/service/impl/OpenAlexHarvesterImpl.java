@@ -8,21 +8,18 @@ import java.util.Optional;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 import rs.teslaris.core.indexmodel.PersonIndex;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.person.InvolvementService;
 import rs.teslaris.core.service.interfaces.person.PersonService;
 import rs.teslaris.core.service.interfaces.user.UserService;
-import rs.teslaris.core.util.deduplication.DeduplicationUtil;
 import rs.teslaris.importer.model.common.DocumentImport;
 import rs.teslaris.importer.model.converter.harvest.OpenAlexConverter;
 import rs.teslaris.importer.service.interfaces.OpenAlexHarvester;
 import rs.teslaris.importer.service.interfaces.OrganisationUnitImportSourceConfigurationService;
 import rs.teslaris.importer.utility.CommonHarvestUtility;
 import rs.teslaris.importer.utility.CommonImportUtility;
-import rs.teslaris.importer.utility.DeepObjectMerger;
 import rs.teslaris.importer.utility.openalex.OpenAlexImportUtility;
 
 @Service
@@ -31,8 +28,6 @@ public class OpenAlexHarvesterImpl implements OpenAlexHarvester {
 
     private final OpenAlexImportUtility openAlexImportUtility;
 
-    private final MongoTemplate mongoTemplate;
-
     private final PersonService personService;
 
     private final UserService userService;
@@ -178,47 +173,24 @@ public class OpenAlexHarvesterImpl implements OpenAlexHarvester {
         List<OpenAlexImportUtility.OpenAlexPublication> harvestedRecords, Integer userId,
         Set<Integer> adminUserIds, List<Integer> institutionIds,
         HashMap<Integer, Integer> newEntriesCount, Boolean employeeUser) {
-        harvestedRecords.forEach(
-            publication -> OpenAlexConverter.toCommonImportModel(publication, true)
-                .ifPresent(documentImport -> {
-                    var existingImport =
-                        CommonImportUtility.findExistingImport(documentImport.getIdentifier());
-
-                    if (Objects.isNull(existingImport)) {
-                        if (Objects.nonNull(
-                            (existingImport =
-                                CommonImportUtility.findImportByDOIOrMetadata(documentImport)))) {
-                            // Probably imported before from scopus, which has higher priority (for now)
-                            // perform enrichment, if possible
-                            DeepObjectMerger.deepMerge(existingImport, documentImport);
-                            mongoTemplate.save(existingImport, "documentImports");
-                            return;
-                        }
-                    }
-
-                    var embedding = CommonImportUtility.generateEmbedding(documentImport);
-                    if (DeduplicationUtil.isDuplicate(existingImport, embedding, documentImport)) {
-                        return;
-                    }
-
-                    if (Objects.nonNull(embedding)) {
-                        documentImport.setEmbedding(DeduplicationUtil.toDoubleList(embedding));
-                    }
-
-                    documentImport.getImportUsersId().add(userId);
-                    documentImport.getImportUsersId().addAll(adminUserIds);
-                    documentImport.getImportInstitutionsId().addAll(institutionIds);
-
-                    if (employeeUser) {
-                        newEntriesCount.merge(userId, 1, Integer::sum);
-                    }
-
-                    CommonHarvestUtility.updateContributorEntryCount(documentImport,
-                        documentImport.getContributions().stream()
-                            .map(c -> c.getPerson().getOpenAlexId()).toList(), newEntriesCount,
-                        personService);
-
-                    mongoTemplate.save(documentImport, "documentImports");
-                }));
+        var documentImports = harvestedRecords.stream()
+            .map(publication -> OpenAlexConverter.toCommonImportModel(publication, true))
+            .flatMap(Optional::stream)
+            .toList();
+
+        CommonImportUtility.saveHarvestedPage(documentImports, documentImport -> {
+            documentImport.getImportUsersId().add(userId);
+            documentImport.getImportUsersId().addAll(adminUserIds);
+            documentImport.getImportInstitutionsId().addAll(institutionIds);
+
+            if (employeeUser) {
+                newEntriesCount.merge(userId, 1, Integer::sum);
+            }
+
+            CommonHarvestUtility.updateContributorEntryCount(documentImport,
+                documentImport.getContributions().stream()
+                    .map(c -> c.getPerson().getOpenAlexId()).toList(), newEntriesCount,
+                personService);
+        });
     }
 }
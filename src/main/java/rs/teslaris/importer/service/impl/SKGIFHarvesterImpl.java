@@ -9,6 +9,7 @@ import jakarta.annotation.Nullable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -31,7 +32,6 @@ import rs.teslaris.core.indexrepository.PersonIndexRepository;
 import rs.teslaris.core.model.skgif.researchproduct.ResearchProduct;
 import rs.teslaris.core.model.skgif.venue.Venue;
 import rs.teslaris.core.service.interfaces.person.PersonService;
-import rs.teslaris.core.util.deduplication.DeduplicationUtil;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
 import rs.teslaris.core.util.search.StringUtil;
 import rs.teslaris.core.util.session.RestTemplateProvider;
@@ -41,7 +41,6 @@ import rs.teslaris.importer.model.common.PersonDocumentContribution;
 import rs.teslaris.importer.service.interfaces.SKGIFHarvester;
 import rs.teslaris.importer.utility.CommonHarvestUtility;
 import rs.teslaris.importer.utility.CommonImportUtility;
-import rs.teslaris.importer.utility.DeepObjectMerger;
 import rs.teslaris.importer.utility.HarvestProgressReport;
 import rs.teslaris.importer.utility.skgif.SKGIFHarvestConfigurationLoader;
 
@@ -197,70 +196,44 @@ public class SKGIFHarvesterImpl implements SKGIFHarvester {
                 converterClass.getMethod("toCommonImportModel", ResearchProduct.class, String.class,
                     String.class);
 
+            var documentImports = new ArrayList<DocumentImport>();
             for (var record : records) {
-                processSingleRecord(sourceConfiguration, record, method,
-                    newEntriesCount, userId, adminUserIds);
+                convertRecord(sourceConfiguration, record, method).ifPresent(documentImports::add);
             }
+
+            CommonImportUtility.saveHarvestedPage(documentImports, documentImport -> {
+                documentImport.getImportUsersId().addAll(adminUserIds);
+                newEntriesCount.merge(userId, 1, Integer::sum);
+
+                CommonHarvestUtility.updateContributorEntryCount(documentImport,
+                    documentImport.getContributions().stream()
+                        .map(c -> c.getPerson().getOrcid()).toList(),
+                    newEntriesCount,
+                    personService);
+            });
         } catch (ClassNotFoundException | NoSuchMethodException e) {
             log.error("SERIOUS: Invalid converter ({}) specified in SKG-IF harvest.",
                 sourceConfiguration.converterClass());
         }
     }
 
-    private void processSingleRecord(
+    @SuppressWarnings("unchecked")
+    private Optional<DocumentImport> convertRecord(
         SKGIFHarvestConfigurationLoader.Source sourceConfiguration,
         ResearchProduct publication,
-        Method method,
-        Map<Integer, Integer> newEntriesCount,
-        Integer userId,
-        Set<Integer> adminUserIds
+        Method method
     ) {
         try {
-            ((Optional<DocumentImport>) method.invoke(null, publication,
+            return ((Optional<DocumentImport>) method.invoke(null, publication,
                 sourceConfiguration.sourceIdentifierPrefix(), sourceConfiguration.baseUrl()))
-                .ifPresent(documentImport -> {
+                .filter(documentImport -> {
                     bindImportUsersForAll(documentImport);
-                    if (Objects.isNull(documentImport.getImportUsersId()) ||
-                        documentImport.getImportUsersId().isEmpty()) {
-                        return;
-                    }
-
-                    var existingImport =
-                        CommonImportUtility.findExistingImport(documentImport.getIdentifier());
-                    if (Objects.isNull(existingImport)) {
-                        existingImport =
-                            CommonImportUtility.findImportByDOIOrMetadata(documentImport);
-                        if (Objects.nonNull(existingImport)) {
-                            // Probably imported before from other sources, which have higher priorities
-                            // perform metadata enrichment, if possible
-                            DeepObjectMerger.deepMerge(existingImport, documentImport);
-                            mongoTemplate.save(existingImport, "documentImports");
-                            return;
-                        }
-                    }
-
-                    var embedding = CommonImportUtility.generateEmbedding(documentImport);
-                    if (DeduplicationUtil.isDuplicate(existingImport, embedding, documentImport)) {
-                        return;
-                    }
-
-                    if (Objects.nonNull(embedding)) {
-                        documentImport.setEmbedding(DeduplicationUtil.toDoubleList(embedding));
-                    }
-
-                    documentImport.getImportUsersId().addAll(adminUserIds);
-                    newEntriesCount.merge(userId, 1, Integer::sum);
-
-                    CommonHarvestUtility.updateContributorEntryCount(documentImport,
-                        documentImport.getContributions().stream()
-                            .map(c -> c.getPerson().getOrcid()).toList(),
-                        newEntriesCount,
-                        personService);
-
-                    mongoTemplate.save(documentImport, "documentImports");
+                    return Objects.nonNull(documentImport.getImportUsersId()) &&
+                        !documentImport.getImportUsersId().isEmpty();
                 });
         } catch (IllegalAccessException | InvocationTargetException e) {
             log.error("SERIOUS: Invalid converter invocation.", e);
+            return Optional.empty();
         }
     }
 
@@ -1,6 +1,7 @@
 package rs.teslaris.importer.service.impl;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
@@ -206,6 +207,8 @@ public class ScopusHarvesterImpl implements ScopusHarvester {
         Set<Integer> adminUserIds) {
 
         for (var yearlyResult : yearlyResults) {
+            var entries = new ArrayList<ScopusImportUtility.Entry>();
+            var documentImports = new ArrayList<DocumentImport>();
             for (var entry : yearlyResult.searchResults().entries()) {
                 if (Objects.isNull(entry.title())) {
                     continue;
@@ -218,11 +221,19 @@ public class ScopusHarvesterImpl implements ScopusHarvester {
                     continue;
                 }
 
+                entries.add(entry);
+                documentImports.add(optionalDocument.get());
+            }
+
+            // Whole result page shares one inference call
+            var embeddings = CommonImportUtility.generateEmbeddings(documentImports);
+            for (int i = 0; i < documentImports.size(); i++) {
+                var documentImport = documentImports.get(i);
+                var embedding = embeddings.get(i);
+
                 var existingImport =
-                    CommonImportUtility.findExistingImport(optionalDocument.get().getIdentifier());
-                var embedding = CommonImportUtility.generateEmbedding(optionalDocument.get());
-                if (DeduplicationUtil.isDuplicate(existingImport, embedding,
-                    optionalDocument.get())) {
+                    CommonImportUtility.findExistingImport(documentImport.getIdentifier());
+                if (DeduplicationUtil.isDuplicate(existingImport, embedding, documentImport)) {
                     continue;
                 }
 
@@ -230,9 +241,8 @@ public class ScopusHarvesterImpl implements ScopusHarvester {
                     newEntriesCount.merge(userId, 1, Integer::sum);
                 }
 
-                var documentImport = optionalDocument.get();
-                enrichDocumentImport(documentImport, entry.identifier(), embedding, userId,
-                    adminUserIds, institutionIds);
+                enrichDocumentImport(documentImport, entries.get(i).identifier(), embedding,
+                    userId, adminUserIds, institutionIds);
 
                 CommonHarvestUtility.updateContributorEntryCount(documentImport,
                     documentImport.getContributions().stream()
@@ -8,14 +8,12 @@ import java.util.Optional;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 import rs.teslaris.core.indexmodel.PersonIndex;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.person.InvolvementService;
 import rs.teslaris.core.service.interfaces.person.PersonService;
 import rs.teslaris.core.service.interfaces.user.UserService;
-import rs.teslaris.core.util.deduplication.DeduplicationUtil;
 import rs.teslaris.core.util.language.LanguageAbbreviations;
 import rs.teslaris.importer.model.common.DocumentImport;
 import rs.teslaris.importer.model.converter.harvest.WebOfScienceConverter;
@@ -23,7 +21,6 @@ import rs.teslaris.importer.service.interfaces.OrganisationUnitImportSourceConfi
 import rs.teslaris.importer.service.interfaces.WebOfScienceHarvester;
 import rs.teslaris.importer.utility.CommonHarvestUtility;
 import rs.teslaris.importer.utility.CommonImportUtility;
-import rs.teslaris.importer.utility.DeepObjectMerger;
 import rs.teslaris.importer.utility.webofscience.WebOfScienceImportUtility;
 
 @Service
@@ -32,8 +29,6 @@ public class WebOfScienceHarvesterImpl implements WebOfScienceHarvester {
 
     private final WebOfScienceImportUtility webOfScienceImportUtility;
 
-    private final MongoTemplate mongoTemplate;
-
     private final PersonService personService;
 
     private final UserService userService;
@@ -185,47 +180,24 @@ public class WebOfScienceHarvesterImpl implements WebOfScienceHarvester {
         List<WebOfScienceImportUtility.WosPublication> harvestedRecords, Integer userId,
         Set<Integer> adminUserIds, List<Integer> institutionIds,
         HashMap<Integer, Integer> newEntriesCount, Boolean employeeUser) {
-        harvestedRecords.forEach(
-            publication -> WebOfScienceConverter.toCommonImportModel(publication, true)
-                .ifPresent(documentImport -> {
-                    var existingImport =
-                        CommonImportUtility.findExistingImport(documentImport.getIdentifier());
-                    if (Objects.isNull(existingImport)) {
-                        if (Objects.nonNull(
-                            (existingImport =
-                                CommonImportUtility.findImportByDOIOrMetadata(documentImport)))) {
-                            // Probably imported before from Scopus/OpenAlex, which have higher priorities
-                            // perform metadata enrichment, if possible
-                            DeepObjectMerger.deepMerge(existingImport, documentImport);
-                            mongoTemplate.save(existingImport, "documentImports");
-                            return;
-                        }
-                    }
-
-                    var embedding = CommonImportUtility.generateEmbedding(documentImport);
-                    if (DeduplicationUtil.isDuplicate(existingImport, embedding, documentImport)) {
-                        return;
-                    }
-
-                    if (Objects.nonNull(embedding)) {
-                        documentImport.setEmbedding(DeduplicationUtil.toDoubleList(embedding));
-                    }
-
-                    documentImport.getImportUsersId().add(userId);
-                    documentImport.getImportUsersId().addAll(adminUserIds);
-                    documentImport.getImportInstitutionsId().addAll(institutionIds);
-
-                    if (employeeUser) {
-                        newEntriesCount.merge(userId, 1, Integer::sum);
-                    }
-
-                    CommonHarvestUtility.updateContributorEntryCount(documentImport,
-                        documentImport.getContributions().stream()
-                            .map(c -> c.getPerson().getWebOfScienceResearcherId()).toList(),
-                        newEntriesCount,
-                        personService);
-
-                    mongoTemplate.save(documentImport, "documentImports");
-                }));
+        var documentImports = harvestedRecords.stream()
+            .map(publication -> WebOfScienceConverter.toCommonImportModel(publication, true))
+            .flatMap(Optional::stream)
+            .toList();
+
+        CommonImportUtility.saveHarvestedPage(documentImports, documentImport -> {
+            documentImport.getImportUsersId().add(userId);
+            documentImport.getImportUsersId().addAll(adminUserIds);
+            documentImport.getImportInstitutionsId().addAll(institutionIds);
+
+            if (employeeUser) {
+                newEntriesCount.merge(userId, 1, Integer::sum);
+            }
+
+            CommonHarvestUtility.updateContributorEntryCount(documentImport,
+                documentImport.getContributions().stream()
+                    .map(c -> c.getPerson().getWebOfScienceResearcherId()).toList(), newEntriesCount,
+                personService);
+        });
     }
 }
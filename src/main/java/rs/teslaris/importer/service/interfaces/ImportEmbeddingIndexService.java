@@ -0,0 +1,15 @@
+package rs.teslaris.importer.service.interfaces;
+
+import java.util.List;
+import org.springframework.stereotype.Service;
+import rs.teslaris.importer.model.common.DocumentImport;
+
+@Service
+public interface ImportEmbeddingIndexService {
+
+    void indexEmbedding(DocumentImport documentImport);
+
+    List<String> findSimilarImportIds(float[] embedding, int maxResults, double minSimilarity);
+
+    void reindexEmbeddings();
+}
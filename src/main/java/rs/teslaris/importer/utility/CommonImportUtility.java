@@ -7,8 +7,12 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -38,18 +42,89 @@ public class CommonImportUtility {
     }
 
     public static INDArray generateEmbedding(DocumentImport entry) {
+        return generateEmbeddings(List.of(entry)).getFirst();
+    }
+
+    public static List<INDArray> generateEmbeddings(List<DocumentImport> entries) {
+        var mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(
+            SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // Optional, for ISO-8601
+
+        var embeddings = new ArrayList<INDArray>(Collections.nCopies(entries.size(), null));
+        var flattenedEntries = new ArrayList<String>();
+        var embeddedPositions = new ArrayList<Integer>();
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                var json = mapper.writeValueAsString(entries.get(i));
+                flattenedEntries.add(DeduplicationUtil.flattenJson(json));
+                embeddedPositions.add(i);
+            } catch (JsonProcessingException e) {
+                log.error("Error generating embedding: {}", e.getMessage());
+            }
+        }
+
         try {
-            var mapper = new ObjectMapper();
-            mapper.registerModule(new JavaTimeModule());
-            mapper.disable(
-                SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // Optional, for ISO-8601
-
-            var json = mapper.writeValueAsString(entry);
-            var flattened = DeduplicationUtil.flattenJson(json);
-            return DeduplicationUtil.getEmbedding(flattened);
-        } catch (JsonProcessingException | TranslateException e) {
+            var computedEmbeddings = DeduplicationUtil.getEmbeddings(flattenedEntries);
+            for (int i = 0; i < computedEmbeddings.size(); i++) {
+                embeddings.set(embeddedPositions.get(i), computedEmbeddings.get(i));
+            }
+        } catch (TranslateException e) {
             log.error("Error generating embedding: {}", e.getMessage());
-            return null;
+        }
+
+        return embeddings;
+    }
+
+    /**
+     * Stores the new records of one harvested page. Records imported before under another
+     * identifier are enriched instead, the rest are embedded in a single inference call and
+     * dropped when they duplicate a known publication.
+     *
+     * @param beforeSave harvester-specific completion of a record that is about to be stored
+     */
+    public static void saveHarvestedPage(List<DocumentImport> documentImports,
+                                         Consumer<DocumentImport> beforeSave) {
+        var newImports = new ArrayList<DocumentImport>();
+        var existingImports = new ArrayList<DocumentImport>();
+        var pageIdentifiers = new HashSet<String>();
+        for (var documentImport : documentImports) {
+            if (Objects.nonNull(documentImport.getIdentifier()) &&
+                !pageIdentifiers.add(documentImport.getIdentifier())) {
+                continue;
+            }
+
+            var existingImport = findExistingImport(documentImport.getIdentifier());
+            if (Objects.isNull(existingImport)) {
+                existingImport = findImportByDOIOrMetadata(documentImport);
+                if (Objects.nonNull(existingImport)) {
+                    // Probably imported before from other sources, which have higher priorities
+                    // perform metadata enrichment, if possible
+                    DeepObjectMerger.deepMerge(existingImport, documentImport);
+                    mongoTemplate.save(existingImport, "documentImports");
+                    continue;
+                }
+            }
+
+            newImports.add(documentImport);
+            existingImports.add(existingImport);
+        }
+
+        var embeddings = generateEmbeddings(newImports);
+        for (int i = 0; i < newImports.size(); i++) {
+            var documentImport = newImports.get(i);
+            var embedding = embeddings.get(i);
+            if (DeduplicationUtil.isDuplicate(existingImports.get(i), embedding,
+                documentImport)) {
+                continue;
+            }
+
+            if (Objects.nonNull(embedding)) {
+                documentImport.setEmbedding(DeduplicationUtil.toDoubleList(embedding));
+            }
+
+            beforeSave.accept(documentImport);
+            mongoTemplate.save(documentImport, "documentImports");
         }
     }
 
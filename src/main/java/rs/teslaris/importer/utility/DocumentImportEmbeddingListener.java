@@ -0,0 +1,29 @@
+package rs.teslaris.importer.utility;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+import rs.teslaris.importer.model.common.DocumentImport;
+import rs.teslaris.importer.service.interfaces.ImportEmbeddingIndexService;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentImportEmbeddingListener extends AbstractMongoEventListener<DocumentImport> {
+
+    private final ImportEmbeddingIndexService importEmbeddingIndexService;
+
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<DocumentImport> event) {
+        try {
+            importEmbeddingIndexService.indexEmbedding(event.getSource());
+        } catch (Exception e) {
+            // Harvest must not fail because the similarity index is unavailable
+            log.warn("Unable to index embedding of document import {}: {}",
+                event.getSource().getId(), e.getMessage());
+        }
+    }
+}
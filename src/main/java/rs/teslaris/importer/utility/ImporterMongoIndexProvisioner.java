@@ -0,0 +1,43 @@
+package rs.teslaris.importer.utility;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import rs.teslaris.core.util.persistence.MongoIndexProvisioner;
+import rs.teslaris.importer.model.common.DocumentImport;
+
+@Component
+@RequiredArgsConstructor
+public class ImporterMongoIndexProvisioner {
+
+    private final MongoIndexProvisioner mongoIndexProvisioner;
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void provisionIndexes() {
+        mongoIndexProvisioner.provisionIndexes("importer", declareIndexes());
+    }
+
+    private Map<Class<?>, List<Index>> declareIndexes() {
+        return Map.of(
+            DocumentImport.class, List.of(
+                new Index().on("import_users_id", Sort.Direction.ASC)
+                    .on("is_loaded", Sort.Direction.ASC).on("_id", Sort.Direction.ASC),
+                new Index().on("import_institutions_id", Sort.Direction.ASC)
+                    .on("is_loaded", Sort.Direction.ASC).on("_id", Sort.Direction.ASC),
+                new Index().on("identifier", Sort.Direction.ASC),
+                new Index().on("doi", Sort.Direction.ASC).sparse(),
+                new Index().on("title.content", Sort.Direction.ASC)
+                    .on("publication_type", Sort.Direction.ASC)
+                    .on("document_date", Sort.Direction.ASC)),
+            LoadProgressReport.class, List.of(
+                new Index().on("dataset", Sort.Direction.ASC).on("userId", Sort.Direction.ASC)
+                    .on("institutionId", Sort.Direction.ASC))
+        );
+    }
+}
@@ -2,10 +2,12 @@ package rs.teslaris.reporting.service.impl.visualizations;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
 import co.elastic.clients.elasticsearch._types.aggregations.CalendarInterval;
 import co.elastic.clients.elasticsearch._types.aggregations.FieldDateMath;
 import co.elastic.clients.elasticsearch._types.aggregations.MultiBucketBase;
 import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.json.JsonData;
 import java.io.IOException;
@@ -19,12 +21,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import rs.teslaris.core.converter.commontypes.MultilingualContentConverter;
 import rs.teslaris.core.indexmodel.DocumentPublicationType;
+import rs.teslaris.core.model.commontypes.MultiLingualContent;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.util.functional.Pair;
 import rs.teslaris.reporting.dto.CommissionYearlyCounts;
@@ -32,6 +36,9 @@ import rs.teslaris.reporting.dto.MCategoryCounts;
 import rs.teslaris.reporting.dto.StatisticsByCountry;
 import rs.teslaris.reporting.dto.YearlyCounts;
 import rs.teslaris.reporting.service.interfaces.visualizations.OrganisationUnitVisualizationDataService;
+import rs.teslaris.reporting.utility.OrganisationUnitDashboardCache;
+import rs.teslaris.reporting.utility.OrganisationUnitDashboardCache.DashboardChart;
+import rs.teslaris.reporting.utility.OrganisationUnitDashboardCache.DashboardKey;
 import rs.teslaris.reporting.utility.QueryUtil;
 
 @Service
@@ -44,142 +51,221 @@ public class OrganisationUnitVisualizationDataServiceImpl implements
 
     private final OrganisationUnitService organisationUnitService;
 
+    private final OrganisationUnitDashboardCache dashboardCache;
+
 
     @Override
     public List<YearlyCounts> getPublicationCountsForOrganisationUnit(Integer organisationUnitId,
                                                                       Integer startYear,
                                                                       Integer endYear) {
+        var cacheKey = new DashboardKey(DashboardChart.PUBLICATIONS_BY_TYPE, organisationUnitId,
+            startYear, endYear);
+        List<YearlyCounts> cachedCounts = dashboardCache.get(cacheKey);
+        if (Objects.nonNull(cachedCounts)) {
+            return cachedCounts;
+        }
+
         var searchFields = QueryUtil.getOrganisationUnitOutputSearchFields(organisationUnitId);
         var institutionIds =
             organisationUnitService.getOrganisationUnitIdsFromSubHierarchy(organisationUnitId);
 
-        var yearRange = constructYearRange(startYear, endYear, institutionIds, searchFields);
-        if (Objects.isNull(yearRange.a) || Objects.isNull(yearRange.b)) {
+        SearchResponse<Void> response;
+        try {
+            response = elasticsearchClient.search(s -> s
+                    .index("document_publication")
+                    .size(0)
+                    .query(q -> q
+                        .bool(b -> b
+                            .must(m -> m.term(t -> t.field("is_approved").value(true)))
+                            .must(QueryUtil.organisationUnitMatchQuery(institutionIds,
+                                searchFields))
+                            .must(yearRangeQuery(startYear, endYear))
+                        )
+                    )
+                    .aggregations("earliestYear", a -> a.min(m -> m.field("year")))
+                    .aggregations("latestYear", a -> a.max(m -> m.field("year")))
+                    .aggregations("by_year", a -> a
+                        .histogram(h -> h.field("year").interval(1.0))
+                        .aggregations("by_type", sub -> sub
+                            .terms(t -> t.field("type")
+                                .size(DocumentPublicationType.values().length)))
+                    ),
+                Void.class
+            );
+        } catch (IOException e) {
+            log.warn("Unable to fetch OU publication counts for OU {}.", organisationUnitId);
+            return Collections.emptyList();
+        }
+
+        var yearRange = resolveYearRange(startYear, endYear, response);
+        if (Objects.isNull(yearRange)) {
             return Collections.emptyList();
         }
 
+        var countsByYear = readYearlyCounts(response.aggregations().get("by_year"), "by_type");
+
         var yearlyCounts = new ArrayList<YearlyCounts>();
-        for (int i = yearRange.a; i <= yearRange.b; i++) {
-            try {
-                var counts =
-                    getPublicationCountsByTypeForOUAndYear(institutionIds, i, searchFields);
-                if (Objects.nonNull(counts)) {
-                    yearlyCounts.add(new YearlyCounts(i, counts));
-                }
-            } catch (IOException e) {
-                log.warn("Unable to fetch OU publication counts for {}. Adding all zeros.", i);
-            }
+        for (int year = yearRange.a; year <= yearRange.b; year++) {
+            var counts = new HashMap<>(countsByYear.getOrDefault(year, Collections.emptyMap()));
+            counts.remove("PROCEEDINGS");
+            yearlyCounts.add(new YearlyCounts(year, Map.copyOf(counts)));
         }
 
-        return yearlyCounts;
+        var chart = List.copyOf(yearlyCounts);
+        dashboardCache.put(cacheKey, chart, institutionIds);
+        return chart;
     }
 
     @Override
     public List<MCategoryCounts> getOrganisationUnitPublicationsByMCategories(
         Integer organisationUnitId, Integer startYear, Integer endYear) {
-        var result = new ArrayList<MCategoryCounts>();
+        var cacheKey = new DashboardKey(DashboardChart.PUBLICATIONS_BY_M_CATEGORY,
+            organisationUnitId, startYear, endYear);
+        List<MCategoryCounts> cachedCounts = dashboardCache.get(cacheKey);
+        if (Objects.nonNull(cachedCounts)) {
+            return cachedCounts;
+        }
 
-        var searchFields = QueryUtil.getOrganisationUnitOutputSearchFields(organisationUnitId);
         var commissions = QueryUtil.fetchCommissionsForOrganisationUnit(organisationUnitId);
+        if (commissions.isEmpty()) {
+            return Collections.emptyList();
+        }
 
+        var searchFields = QueryUtil.getOrganisationUnitOutputSearchFields(organisationUnitId);
         var institutionIds =
             organisationUnitService.getOrganisationUnitIdsFromSubHierarchy(organisationUnitId);
 
-        commissions.forEach(commission -> {
-            SearchResponse<Void> response;
-            try {
-                response = elasticsearchClient.search(s -> s
-                        .index("document_publication")
-                        .size(0)
-                        .query(q -> q
-                            .bool(b -> b
-                                .must(m -> m.term(t -> t.field("is_approved").value(true)))
-                                .must(QueryUtil.organisationUnitMatchQuery(institutionIds,
-                                    searchFields))
-                                .must(m -> m.range(
-                                    t -> t.field("year").gte(JsonData.of(startYear))
-                                        .lte(JsonData.of(endYear))))
-                                .must(m -> m.bool(sb -> sb
-                                    .should(sn -> sn.term(
-                                        t -> t.field("commission_assessment_groups.a")
-                                            .value(commission.a)))
-                                    .should(sn -> sn.bool(nb -> nb.mustNot(
-                                        mn -> mn.exists(
-                                            e -> e.field("commission_assessment_groups.a")))))
-                                    .minimumShouldMatch("1")
-                                ))
-                            )
+        SearchResponse<Void> response;
+        try {
+            response = elasticsearchClient.search(s -> s
+                    .index("document_publication")
+                    .size(0)
+                    .query(q -> q
+                        .bool(b -> b
+                            .must(m -> m.term(t -> t.field("is_approved").value(true)))
+                            .must(QueryUtil.organisationUnitMatchQuery(institutionIds,
+                                searchFields))
+                            .must(m -> m.range(
+                                t -> t.field("year").gte(JsonData.of(startYear))
+                                    .lte(JsonData.of(endYear))))
                         )
-                        .aggregations("by_m_category", a -> a
+                    )
+                    .aggregations("by_commission", a -> a
+                        .filters(f -> f.filters(fb -> fb.keyed(commissionFilters(commissions))))
+                        .aggregations("by_m_category", sub -> sub
                             .terms(t -> t.field("commission_assessment_groups.b.keyword")
                                 .missing("NONE")
-                                .size(11)) // 10 M categories + non-classified
-                        ),
-                    Void.class
-                );
-            } catch (IOException e) {
-                log.warn("Unable to fetch OU M categories for IDs (OU:{}; C:{}).",
-                    organisationUnitId, commission.a);
+                                .size(11))) // 10 M categories + non-classified
+                    ),
+                Void.class
+            );
+        } catch (IOException e) {
+            log.warn("Unable to fetch OU M categories for OU {}.", organisationUnitId);
+            return Collections.emptyList();
+        }
+
+        var commissionBuckets =
+            response.aggregations().get("by_commission").filters().buckets().keyed();
+
+        var result = new ArrayList<MCategoryCounts>();
+        commissions.forEach(commission -> {
+            var commissionBucket = commissionBuckets.get(String.valueOf(commission.a));
+            if (Objects.isNull(commissionBucket)) {
                 return;
             }
 
-            var countsByCategory = new HashMap<String, Long>();
-            response
-                .aggregations()
-                .get("by_m_category")
-                .sterms()
-                .buckets()
-                .array()
-                .forEach(bucket -> {
-                    String mCategory = bucket.key().stringValue();
-                    long count = bucket.docCount();
-                    countsByCategory.put(mCategory,
-                        countsByCategory.getOrDefault(mCategory, 0L) + count);
-                });
-
             result.add(new MCategoryCounts(
                 MultilingualContentConverter.getMultilingualContentDTO(commission.b),
-                countsByCategory));
+                readTermCounts(commissionBucket.aggregations().get("by_m_category"))));
         });
 
-        return result;
+        var chart = List.copyOf(result);
+        dashboardCache.put(cacheKey, chart, institutionIds);
+        return chart;
     }
 
     @Override
     public List<CommissionYearlyCounts> getMCategoryCountsForOrganisationUnit(
         Integer organisationUnitId, Integer startYear, Integer endYear) {
+        var cacheKey = new DashboardKey(DashboardChart.M_CATEGORIES_BY_YEAR, organisationUnitId,
+            startYear, endYear);
+        List<CommissionYearlyCounts> cachedCounts = dashboardCache.get(cacheKey);
+        if (Objects.nonNull(cachedCounts)) {
+            return cachedCounts;
+        }
+
+        var commissions = QueryUtil.fetchCommissionsForOrganisationUnit(organisationUnitId);
         var searchFields = QueryUtil.getOrganisationUnitOutputSearchFields(organisationUnitId);
         var institutionIds =
             organisationUnitService.getOrganisationUnitIdsFromSubHierarchy(organisationUnitId);
 
-        var yearRange = constructYearRange(startYear, endYear, institutionIds, searchFields);
-        if (Objects.isNull(yearRange.a) || Objects.isNull(yearRange.b)) {
+        SearchResponse<Void> response;
+        try {
+            response = elasticsearchClient.search(s -> {
+                    var search = s
+                        .index("document_publication")
+                        .size(0)
+                        .query(q -> q
+                            .bool(b -> b
+                                .must(m -> m.term(t -> t.field("is_approved").value(true)))
+                                .must(QueryUtil.organisationUnitMatchQuery(institutionIds,
+                                    searchFields))
+                                .must(yearRangeQuery(startYear, endYear))
+                            )
+                        )
+                        .aggregations("earliestYear", a -> a.min(m -> m.field("year")))
+                        .aggregations("latestYear", a -> a.max(m -> m.field("year")));
+
+                    if (!commissions.isEmpty()) {
+                        search.aggregations("by_commission", a -> a
+                            .filters(f -> f.filters(fb -> fb.keyed(commissionFilters(commissions))))
+                            .aggregations("by_year", year -> year
+                                .histogram(h -> h.field("year").interval(1.0))
+                                .aggregations("by_m_category", sub -> sub
+                                    .terms(t -> t.field("commission_assessment_groups.b.keyword")
+                                        .missing("NONE")
+                                        .size(11))))
+                        );
+                    }
+
+                    return search;
+                },
+                Void.class
+            );
+        } catch (IOException e) {
+            log.warn("Unable to fetch OU M category counts for OU {}.", organisationUnitId);
             return Collections.emptyList();
         }
 
-        var commissions = QueryUtil.fetchCommissionsForOrganisationUnit(organisationUnitId);
+        var yearRange = resolveYearRange(startYear, endYear, response);
+        if (Objects.isNull(yearRange)) {
+            return Collections.emptyList();
+        }
+
+        var commissionBuckets = commissions.isEmpty() ? null :
+            response.aggregations().get("by_commission").filters().buckets().keyed();
 
         var commissionYearlyCounts = new ArrayList<CommissionYearlyCounts>();
         for (var commission : commissions) {
-            var yearlyCounts = new ArrayList<YearlyCounts>();
-
-            for (int i = yearRange.a; i <= yearRange.b; i++) {
-                try {
-                    yearlyCounts.add(new YearlyCounts(i,
-                        getPublicationMCategoryCountsByTypeForOUAndCommissionAndYear(
-                            institutionIds, commission.a, i, searchFields)));
+            var commissionBucket = commissionBuckets.get(String.valueOf(commission.a));
+            var countsByYear = Objects.nonNull(commissionBucket) ?
+                readYearlyCounts(commissionBucket.aggregations().get("by_year"),
+                    "by_m_category") : Collections.<Integer, Map<String, Long>>emptyMap();
 
-                } catch (IOException e) {
-                    log.warn("Unable to fetch OU M category counts for {}. Adding all zeros.", i);
-                }
+            var yearlyCounts = new ArrayList<YearlyCounts>();
+            for (int year = yearRange.a; year <= yearRange.b; year++) {
+                yearlyCounts.add(new YearlyCounts(year,
+                    Map.copyOf(countsByYear.getOrDefault(year, Collections.emptyMap()))));
             }
 
             commissionYearlyCounts.add(new CommissionYearlyCounts(
                 MultilingualContentConverter.getMultilingualContentDTO(commission.b),
-                yearlyCounts));
+                List.copyOf(yearlyCounts)));
         }
 
-        return commissionYearlyCounts;
+        var chart = List.copyOf(commissionYearlyCounts);
+        dashboardCache.put(cacheKey, chart, institutionIds);
+        return chart;
     }
 
     @Override
@@ -377,43 +463,6 @@ public class OrganisationUnitVisualizationDataServiceImpl implements
         }
     }
 
-    private Map<String, Long> getPublicationCountsByTypeForOUAndYear(
-        List<Integer> organisationUnitIds,
-        Integer year,
-        List<String> searchFields
-    ) throws IOException {
-        SearchResponse<Void> response = elasticsearchClient.search(s -> s
-                .index("document_publication")
-                .size(0)
-                .query(q -> q
-                    .bool(b -> b
-                        .must(m -> m.term(t -> t.field("is_approved").value(true)))
-                        .must(m -> m.term(t -> t.field("year").value(year)))
-                        .must(QueryUtil.organisationUnitMatchQuery(organisationUnitIds,
-                            searchFields))
-                        .mustNot(m -> m.term(t -> t.field("type").value("PROCEEDINGS")))
-                    )
-                )
-                .aggregations("by_type", a -> a
-                    .terms(t -> t.field("type")
-                        .size(DocumentPublicationType.values().length))
-                ),
-            Void.class
-        );
-
-        return response.aggregations()
-            .get("by_type")
-            .sterms()
-            .buckets()
-            .array()
-            .stream()
-            .filter(b -> Objects.nonNull(b.key()))
-            .collect(Collectors.toMap(
-                b -> b.key().stringValue(),
-                MultiBucketBase::docCount
-            ));
-    }
-
     @Override
     public Map<Year, Long> getCitationsByYearForInstitution(Integer institutionId, Integer fromYear,
                                                             Integer toYear) {
@@ -463,87 +512,62 @@ public class OrganisationUnitVisualizationDataServiceImpl implements
         }
     }
 
-    private Pair<Integer, Integer> findPublicationYearRange(List<Integer> organisationUnitIds,
-                                                            List<String> searchFields) {
-        SearchResponse<Void> response;
-        try {
-            response = elasticsearchClient.search(s -> s
-                    .index("document_publication")
-                    .size(0)
-                    .query(q -> q
-                        .bool(b -> b
-                            .must(m -> m.term(t -> t.field("is_approved").value(true)))
-                            .must(QueryUtil.organisationUnitMatchQuery(organisationUnitIds,
-                                searchFields))
-                            .must(m -> m.range(t -> t.field("year").gt(JsonData.of(0))))
-                        )
-                    )
-                    .aggregations("earliestYear", a -> a.min(m -> m.field("year")))
-                    .aggregations("latestYear", a -> a.max(m -> m.field("year"))),
-                Void.class
-            );
-        } catch (IOException e) {
-            log.error("Error finding publication year range for OU with ID {}.",
-                organisationUnitIds);
-            return new Pair<>(null, null);
+    private Query yearRangeQuery(Integer startYear, Integer endYear) {
+        if (Objects.isNull(startYear) || Objects.isNull(endYear)) {
+            return Query.of(q -> q.range(t -> t.field("year").gt(JsonData.of(0))));
+        }
+
+        return Query.of(q -> q.range(t -> t.field("year").gte(JsonData.of(startYear))
+            .lte(JsonData.of(endYear))));
+    }
+
+    private Pair<Integer, Integer> resolveYearRange(Integer startYear, Integer endYear,
+                                                    SearchResponse<Void> response) {
+        if (Objects.nonNull(startYear) && Objects.nonNull(endYear)) {
+            return new Pair<>(startYear, endYear);
         }
 
         double min = response.aggregations().get("earliestYear").min().value();
         double max = response.aggregations().get("latestYear").max().value();
+        if (!Double.isFinite(min) || !Double.isFinite(max)) {
+            return null;
+        }
 
         return new Pair<>((int) min, (int) max);
     }
 
-    private Map<String, Long> getPublicationMCategoryCountsByTypeForOUAndCommissionAndYear(
-        List<Integer> organisationUnitIds, Integer commissionId, Integer year,
-        List<String> searchFields)
-        throws IOException {
-        SearchResponse<Void> response = elasticsearchClient.search(s -> s
-                .index("document_publication")
-                .size(0)
-                .query(q -> q
-                    .bool(b -> b
-                        .must(m -> m.term(t -> t.field("is_approved").value(true)))
-                        .must(m -> m.term(t -> t.field("year").value(year)))
-                        .must(QueryUtil.organisationUnitMatchQuery(organisationUnitIds,
-                            searchFields))
-                        .must(m -> m.bool(sb -> sb
-                            .should(sn -> sn.term(
-                                t -> t.field("commission_assessment_groups.a").value(commissionId)))
-                            .should(sn -> sn.bool(nb -> nb.mustNot(
-                                mn -> mn.exists(e -> e.field("commission_assessment_groups.a")))))
-                            .minimumShouldMatch("1")
-                        ))
-                    )
-                )
-                .aggregations("by_m_category", a -> a
-                    .terms(t -> t.field("commission_assessment_groups.b.keyword")
-                        .missing("NONE")
-                        .size(11))
-                ),
-            Void.class
-        );
-
-        return response.aggregations()
-            .get("by_m_category")
-            .sterms()
-            .buckets()
-            .array()
-            .stream()
-            .collect(Collectors.toMap(
-                b -> b.key().stringValue(),
-                MultiBucketBase::docCount
-            ));
+    private Map<String, Query> commissionFilters(
+        Set<Pair<Integer, Set<MultiLingualContent>>> commissions) {
+        var filters = new HashMap<String, Query>();
+        commissions.forEach(commission -> filters.put(String.valueOf(commission.a),
+            Query.of(q -> q.bool(b -> b
+                .should(sn -> sn.term(
+                    t -> t.field("commission_assessment_groups.a").value(commission.a)))
+                .should(sn -> sn.bool(nb -> nb.mustNot(
+                    mn -> mn.exists(e -> e.field("commission_assessment_groups.a")))))
+                .minimumShouldMatch("1")
+            ))));
+
+        return filters;
     }
 
-    private Pair<Integer, Integer> constructYearRange(Integer startYear, Integer endYear,
-                                                      List<Integer> organisationUnitIds,
-                                                      List<String> searchFields) {
-        if (Objects.isNull(startYear) || Objects.isNull(endYear)) {
-            var yearRange = findPublicationYearRange(organisationUnitIds, searchFields);
-            return new Pair<>(yearRange.a, yearRange.b);
-        }
+    private Map<Integer, Map<String, Long>> readYearlyCounts(Aggregate yearHistogram,
+                                                             String termsAggregationName) {
+        var countsByYear = new HashMap<Integer, Map<String, Long>>();
+        yearHistogram.histogram().buckets().array().forEach(bucket ->
+            countsByYear.put((int) bucket.key(),
+                readTermCounts(bucket.aggregations().get(termsAggregationName))));
 
-        return new Pair<>(startYear, endYear);
+        return countsByYear;
+    }
+
+    private Map<String, Long> readTermCounts(Aggregate termsAggregate) {
+        return termsAggregate.sterms().buckets().array().stream()
+            .filter(bucket -> Objects.nonNull(bucket.key()))
+            .collect(Collectors.toUnmodifiableMap(
+                bucket -> bucket.key().stringValue(),
+                MultiBucketBase::docCount,
+                Long::sum
+            ));
     }
 }
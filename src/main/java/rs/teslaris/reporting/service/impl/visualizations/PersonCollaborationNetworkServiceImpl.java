@@ -1,6 +1,8 @@
 package rs.teslaris.reporting.service.impl.visualizations;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.TermsInclude;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.json.JsonData;
@@ -29,6 +31,7 @@ import rs.teslaris.reporting.dto.CollaborationLink;
 import rs.teslaris.reporting.dto.CollaborationNetworkDTO;
 import rs.teslaris.reporting.dto.PersonNode;
 import rs.teslaris.reporting.service.interfaces.visualizations.PersonCollaborationNetworkService;
+import rs.teslaris.reporting.utility.CollaborationNetworkCache;
 import rs.teslaris.reporting.utility.CollaborationType;
 import rs.teslaris.reporting.utility.NetworkStructure;
 
@@ -39,12 +42,20 @@ import rs.teslaris.reporting.utility.NetworkStructure;
 public class PersonCollaborationNetworkServiceImpl implements PersonCollaborationNetworkService,
     DocumentCollaborationService {
 
+    private static final int MAX_COLLABORATORS_PER_AUTHOR = 100;
+
+    private static final int MAX_NETWORK_SIZE = 1000;
+
+    private static final int FRONTIER_CHUNK_SIZE = 50;
+
     private final ElasticsearchClient elasticsearchClient;
 
     private final PersonIndexRepository personIndexRepository;
 
     private final SearchService<DocumentPublicationIndex> searchService;
 
+    private final CollaborationNetworkCache collaborationNetworkCache;
+
 
     @Override
     public CollaborationNetworkDTO findCollaborationNetwork(Integer authorId, Integer depth,
@@ -61,6 +72,13 @@ public class PersonCollaborationNetworkServiceImpl implements PersonCollaboratio
                 throw new IllegalArgumentException("Depth must be between 1 and 3.");
             }
 
+            var cacheKey = new CollaborationNetworkCache.NetworkKey(authorId, depth,
+                collaborationType, yearFrom, yearTo);
+            var cachedNetwork = collaborationNetworkCache.get(cacheKey);
+            if (Objects.nonNull(cachedNetwork)) {
+                return cachedNetwork;
+            }
+
             var networkStructure =
                 buildNetworkStructure(authorId, depth, collaborationType, yearFrom, yearTo);
 
@@ -70,7 +88,9 @@ public class PersonCollaborationNetworkServiceImpl implements PersonCollaboratio
             var nodes = buildNodes(networkStructure, personMap);
             var links = buildLinksWithPublicationCounts(networkStructure);
 
-            return new CollaborationNetworkDTO(nodes, links);
+            var network = new CollaborationNetworkDTO(nodes, links);
+            collaborationNetworkCache.put(cacheKey, network, networkStructure.getAllAuthorIds());
+            return network;
         } catch (Exception e) {
             log.error(
                 "Failed to build collaboration network for author {} with depth {}. Reason: {}",
@@ -99,100 +119,126 @@ public class PersonCollaborationNetworkServiceImpl implements PersonCollaboratio
 
     private NetworkStructure buildNetworkStructure(Integer authorId, int depth,
                                                    CollaborationType collaborationType,
-                                                   Integer yearFrom, Integer yearTo) {
+                                                   Integer yearFrom, Integer yearTo)
+        throws IOException {
         var structure = new NetworkStructure(authorId);
-
         structure.addAuthor(authorId, 0);
-        buildNetworkLevel(structure, authorId, 1, depth, collaborationType, yearFrom, yearTo);
 
-        return structure;
-    }
-
-    private void buildNetworkLevel(NetworkStructure structure, Integer authorId, int currentDepth,
-                                   int maxDepth, CollaborationType collaborationType,
-                                   Integer yearFrom, Integer yearTo) {
-        if (currentDepth > maxDepth) {
-            return;
-        }
-
-        var queryAndAggregationFields =
-            getQueryAndAggregationFields(collaborationType);
-        List<Pair<Integer, Long>> collaborators =
-            findTopCollaborators(authorId, queryAndAggregationFields.a,
-                queryAndAggregationFields.b, yearFrom, yearTo);
-
-        if (collaborationType.equals(CollaborationType.MENTORSHIP)) {
-            collaborators.addAll(findTopCollaborators(authorId, queryAndAggregationFields.b,
-                queryAndAggregationFields.a, yearFrom, yearTo));
-        }
+        var queryAndAggregationFields = getQueryAndAggregationFields(collaborationType);
+        List<Integer> frontier = List.of(authorId);
+
+        // Breadth-first, so every author is expanded once and gets its shortest depth
+        for (int currentDepth = 1; currentDepth <= depth && !frontier.isEmpty();
+             currentDepth++) {
+            var nextFrontier = new ArrayList<Integer>();
+
+            for (int i = 0; i < frontier.size(); i += FRONTIER_CHUNK_SIZE) {
+                var authorIds =
+                    frontier.subList(i, Math.min(i + FRONTIER_CHUNK_SIZE, frontier.size()));
+
+                var collaboratorsByAuthor =
+                    findTopCollaborators(authorIds, queryAndAggregationFields.a,
+                        queryAndAggregationFields.b, yearFrom, yearTo);
+                if (collaborationType.equals(CollaborationType.MENTORSHIP)) {
+                    findTopCollaborators(authorIds, queryAndAggregationFields.b,
+                        queryAndAggregationFields.a, yearFrom, yearTo).forEach(
+                        (sourceId, collaborators) -> collaboratorsByAuthor.computeIfAbsent(
+                            sourceId, k -> new ArrayList<>()).addAll(collaborators));
+                }
 
-        for (Pair<Integer, Long> collaborator : collaborators) {
-            var collaboratorId = collaborator.a;
-            var publicationCount = collaborator.b;
+                for (var sourceId : authorIds) {
+                    for (var collaborator : collaboratorsByAuthor.getOrDefault(sourceId,
+                        Collections.emptyList())) {
+                        var collaboratorId = collaborator.a;
+                        if (!structure.containsAuthor(collaboratorId)) {
+                            if (structure.getAuthorCount() >= MAX_NETWORK_SIZE) {
+                                continue;
+                            }
+
+                            structure.addAuthor(collaboratorId, currentDepth);
+                            nextFrontier.add(collaboratorId);
+                        }
+
+                        structure.addConnection(sourceId, collaboratorId, collaborator.b,
+                            collaborationType);
+                    }
+                }
+            }
 
-            structure.addAuthor(collaboratorId, currentDepth);
-            structure.addConnection(authorId, collaboratorId, publicationCount, collaborationType);
+            frontier = nextFrontier;
         }
 
-        for (Pair<Integer, Long> collaborator : collaborators) {
-            if (currentDepth < maxDepth) {
-                var collaboratorId = collaborator.a;
-                buildNetworkLevel(structure, collaboratorId, currentDepth + 1, maxDepth,
-                    collaborationType, yearFrom, yearTo);
-            }
-        }
+        return structure;
     }
 
-    private List<Pair<Integer, Long>> findTopCollaborators(Integer authorId, String queryField,
-                                                           String aggregationField,
-                                                           Integer yearFrom, Integer yearTo) {
-        try {
-            var response = elasticsearchClient.search(s -> s
-                    .index("document_publication")
-                    .size(0)
-                    .query(q -> q
-                        .bool(b -> b
-                            .must(m -> m.term(t -> t
-                                .field(queryField)
-                                .value(authorId)
-                            ))
-                            .must(m -> m.range(
-                                    r -> r.field("year")
-                                        .gte(JsonData.of(yearFrom))
-                                        .lte(JsonData.of(yearTo))
-                                )
+    private Map<Integer, List<Pair<Integer, Long>>> findTopCollaborators(List<Integer> authorIds,
+                                                                         String queryField,
+                                                                         String aggregationField,
+                                                                         Integer yearFrom,
+                                                                         Integer yearTo)
+        throws IOException {
+        var collaboratorsByAuthor = new HashMap<Integer, List<Pair<Integer, Long>>>();
+
+        var response = elasticsearchClient.search(s -> s
+                .index("document_publication")
+                .size(0)
+                .query(q -> q
+                    .bool(b -> b
+                        .must(m -> m.terms(t -> t
+                            .field(queryField)
+                            .terms(v -> v.value(
+                                authorIds.stream().map(FieldValue::of).toList()))
+                        ))
+                        .must(m -> m.range(
+                                r -> r.field("year")
+                                    .gte(JsonData.of(yearFrom))
+                                    .lte(JsonData.of(yearTo))
                             )
                         )
                     )
-                    .aggregations("collaborators", a -> a
+                )
+                .aggregations("authors", a -> a
+                    .terms(t -> t
+                        .field(queryField)
+                        .size(authorIds.size())
+                        .include(TermsInclude.of(i -> i.terms(
+                            authorIds.stream().map(Object::toString).toList())))
+                    )
+                    .aggregations("collaborators", sub -> sub
                         .terms(t -> t
                             .field(aggregationField)
-                            .size(100)
+                            .size(MAX_COLLABORATORS_PER_AUTHOR)
                             .minDocCount(1)
                         )
-                    ),
-                Void.class
-            );
+                    )
+                ),
+            Void.class
+        );
 
-            var termsAgg = response.aggregations()
-                .get("collaborators")
-                .lterms();
+        var authorsAgg = response.aggregations()
+            .get("authors")
+            .lterms();
 
+        if (Objects.isNull(authorsAgg)) {
+            return collaboratorsByAuthor;
+        }
+
+        for (var authorBucket : authorsAgg.buckets().array()) {
+            var sourceId = (int) authorBucket.key();
+            var termsAgg = authorBucket.aggregations().get("collaborators").lterms();
             if (Objects.isNull(termsAgg)) {
-                return Collections.emptyList();
+                continue;
             }
 
-            return termsAgg.buckets().array().stream()
+            collaboratorsByAuthor.put(sourceId, termsAgg.buckets().array().stream()
                 .map(b -> new Pair<>((int) b.key(), b.docCount()))
                 .filter(p -> p.a > 0)
-                .filter(p -> !p.a.equals(authorId))
-                .limit(100) // Limit to prevent explosion
-                .collect(Collectors.toList());
-
-        } catch (IOException e) {
-            log.error("Failed to fetch coauthors for author {}", authorId, e);
-            return Collections.emptyList();
+                .filter(p -> !p.a.equals(sourceId))
+                .limit(MAX_COLLABORATORS_PER_AUTHOR) // Limit to prevent explosion
+                .collect(Collectors.toList()));
         }
+
+        return collaboratorsByAuthor;
     }
 
     private Map<Integer, PersonIndex> fetchPersonDetails(Set<Integer> authorIds) {
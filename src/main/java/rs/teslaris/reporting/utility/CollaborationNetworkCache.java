@@ -0,0 +1,41 @@
+package rs.teslaris.reporting.utility;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+import rs.teslaris.reporting.dto.CollaborationNetworkDTO;
+
+/**
+ * Collaboration networks, stored with every person reached while building the network. A new
+ * publication of any of them may add a node or strengthen a link anywhere in the network, not
+ * only around the requested author.
+ */
+@Component
+public class CollaborationNetworkCache
+    extends PublicationDerivedCache<CollaborationNetworkCache.NetworkKey, CollaborationNetworkDTO> {
+
+    public CollaborationNetworkCache() {
+        super(200);
+    }
+
+    public CollaborationNetworkDTO get(NetworkKey key) {
+        return lookup(key);
+    }
+
+    public void put(NetworkKey key, CollaborationNetworkDTO network, Set<Integer> authorIds) {
+        store(key, new CollaborationNetworkDTO(List.copyOf(network.nodes()),
+            List.copyOf(network.links())), authorIds);
+    }
+
+    @Override
+    protected Stream<List<Integer>> referencedIds(DocumentPublicationIndex publication) {
+        return Stream.of(publication.getAuthorIds(), publication.getAdvisorIds(),
+            publication.getEditorIds(), publication.getBoardMemberIds());
+    }
+
+    public record NetworkKey(Integer authorId, Integer depth, CollaborationType collaborationType,
+                             Integer yearFrom, Integer yearTo) {
+    }
+}
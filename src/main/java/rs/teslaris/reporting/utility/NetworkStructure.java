@@ -20,6 +20,8 @@ public class NetworkStructure {
     @Getter
     private final List<Connection> connections = new ArrayList<>();
 
+    private final Set<Long> connectionKeys = new HashSet<>();
+
     @Getter
     private final Integer rootAuthorId;
 
@@ -44,18 +46,28 @@ public class NetworkStructure {
         }
 
         connections.add(new Connection(sourceAuthorId, targetAuthorId, publicationCount));
+        connectionKeys.add(connectionKey(sourceAuthorId, targetAuthorId));
 
         authorDegrees.merge(sourceAuthorId, 1, Integer::sum);
         authorDegrees.merge(targetAuthorId, 1, Integer::sum);
     }
 
     private boolean connectionExists(Integer sourceAuthorId, Integer targetAuthorId) {
-        return connections.stream().anyMatch(conn ->
-            (conn.getSourceAuthorId().equals(sourceAuthorId) &&
-                conn.getTargetAuthorId().equals(targetAuthorId)) ||
-                (conn.getSourceAuthorId().equals(targetAuthorId) &&
-                    conn.getTargetAuthorId().equals(sourceAuthorId))
-        );
+        return connectionKeys.contains(connectionKey(sourceAuthorId, targetAuthorId));
+    }
+
+    private long connectionKey(int firstAuthorId, int secondAuthorId) {
+        // Connections are undirected, so the key does not depend on the argument order
+        return ((long) Math.min(firstAuthorId, secondAuthorId) << 32) |
+            (Math.max(firstAuthorId, secondAuthorId) & 0xFFFFFFFFL);
+    }
+
+    public boolean containsAuthor(Integer authorId) {
+        return allAuthorIds.contains(authorId);
+    }
+
+    public int getAuthorCount() {
+        return allAuthorIds.size();
     }
 
     public int getDepth(Integer authorId) {
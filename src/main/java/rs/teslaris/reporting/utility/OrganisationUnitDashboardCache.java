@@ -0,0 +1,47 @@
+package rs.teslaris.reporting.utility;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+
+/**
+ * Organisation unit dashboard charts, stored with every unit of the charted sub-hierarchy since
+ * the charts aggregate over all of them. A publication moving out of a sub-hierarchy is seen
+ * with its new affiliations only, so such charts are refreshed by expiry.
+ */
+@Component
+public class OrganisationUnitDashboardCache
+    extends PublicationDerivedCache<OrganisationUnitDashboardCache.DashboardKey, List<?>> {
+
+    public OrganisationUnitDashboardCache() {
+        super(500);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(DashboardKey key) {
+        return (List<T>) lookup(key);
+    }
+
+    public void put(DashboardKey key, List<?> chart, List<Integer> organisationUnitIds) {
+        store(key, List.copyOf(chart), organisationUnitIds);
+    }
+
+    @Override
+    protected Stream<List<Integer>> referencedIds(DocumentPublicationIndex publication) {
+        return Stream.of(publication.getOrganisationUnitIds(),
+            publication.getOrganisationUnitIdsSpecified(),
+            publication.getOrganisationUnitIdsYearOfPublication(),
+            publication.getOrganisationUnitIdsActive());
+    }
+
+    public enum DashboardChart {
+        PUBLICATIONS_BY_TYPE,
+        PUBLICATIONS_BY_M_CATEGORY,
+        M_CATEGORIES_BY_YEAR
+    }
+
+    public record DashboardKey(DashboardChart chart, Integer organisationUnitId,
+                               Integer startYear, Integer endYear) {
+    }
+}
@@ -0,0 +1,73 @@
+package rs.teslaris.reporting.utility;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.springframework.data.elasticsearch.core.event.AfterSaveCallback;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+
+/**
+ * Results computed from indexed publications. Every entry is stored together with the ids of
+ * the entities it was computed for and is evicted once a publication referencing any of them
+ * is indexed. Deletions do not pass through save callbacks, so entries also expire after a
+ * while.
+ *
+ * @param <K> key of a computed result
+ * @param <V> computed result, shared between callers and therefore expected to be immutable
+ */
+public abstract class PublicationDerivedCache<K, V>
+    implements AfterSaveCallback<DocumentPublicationIndex> {
+
+    private final Cache<K, CachedValue<V>> values;
+
+
+    protected PublicationDerivedCache(long maximumSize) {
+        values = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(30, TimeUnit.MINUTES)
+            .build();
+    }
+
+    protected V lookup(K key) {
+        var cachedValue = values.getIfPresent(key);
+        return Objects.nonNull(cachedValue) ? cachedValue.value() : null;
+    }
+
+    protected void store(K key, V value, Collection<Integer> entityIds) {
+        values.put(key, new CachedValue<>(value, new HashSet<>(entityIds)));
+    }
+
+    /**
+     * Id lists of the publication that name the entities a cached result may be computed for.
+     */
+    protected abstract Stream<List<Integer>> referencedIds(DocumentPublicationIndex publication);
+
+    @Override
+    public DocumentPublicationIndex onAfterSave(DocumentPublicationIndex publication,
+                                                IndexCoordinates index) {
+        if (values.size() == 0) {
+            return publication;
+        }
+
+        var referencedIds = referencedIds(publication)
+            .filter(Objects::nonNull)
+            .flatMap(List::stream)
+            .filter(Objects::nonNull)
+            .toList();
+
+        values.asMap().values().removeIf(cachedValue ->
+            referencedIds.stream().anyMatch(cachedValue.entityIds()::contains));
+
+        return publication;
+    }
+
+    private record CachedValue<V>(V value, Set<Integer> entityIds) {
+    }
+}
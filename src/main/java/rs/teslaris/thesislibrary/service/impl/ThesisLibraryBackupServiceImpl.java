@@ -42,7 +42,8 @@ import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.util.exceptionhandling.exception.BackupException;
 import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
 import rs.teslaris.core.util.exceptionhandling.exception.StorageException;
-import rs.teslaris.core.util.files.BackupZipBuilder;
+import rs.teslaris.core.util.files.BackupZipWriter;
+import rs.teslaris.core.util.files.BackupZipWriterFactory;
 import rs.teslaris.thesislibrary.dto.ThesisTableExportRequestDTO;
 import rs.teslaris.thesislibrary.model.ThesisFileSection;
 import rs.teslaris.thesislibrary.service.interfaces.ThesisLibraryBackupService;
@@ -70,6 +71,8 @@ public class ThesisLibraryBackupServiceImpl implements ThesisLibraryBackupServic
 
     private final TableExportService tableExportService;
 
+    private final BackupZipWriterFactory backupZipWriterFactory;
+
 
     private final Map<FileSection, Function<Thesis, Set<DocumentFile>>> sectionAccessors = Map.of(
         DocumentFileSection.FILE_ITEMS, Thesis::getFileItems,
@@ -141,10 +144,11 @@ public class ThesisLibraryBackupServiceImpl implements ThesisLibraryBackupServic
         var institutionIds =
             organisationUnitService.getOrganisationUnitIdsFromSubHierarchy(institutionId);
 
-        BackupZipBuilder zipBuilder = null;
-        try {
-            zipBuilder = new BackupZipBuilder("thesis-backup");
+        var institution = organisationUnitService.findOne(institutionId);
+        var serverFilename = generateBackupFileName(from, to, institution);
 
+        try (var zipWriter = backupZipWriterFactory.open(serverFilename.split("\\.")[0],
+            serverFilename)) {
             var processedThesisIds = new ArrayList<Integer>();
             while (hasNextPage) {
                 List<Thesis> chunk = thesisRepository
@@ -153,7 +157,7 @@ public class ThesisLibraryBackupServiceImpl implements ThesisLibraryBackupServic
                     .getContent();
 
                 for (var thesis : chunk) {
-                    processThesis(thesis, thesisFileSections, zipBuilder, language);
+                    processThesis(thesis, thesisFileSections, zipWriter, language);
                     processedThesisIds.add(thesis.getId());
                 }
 
@@ -161,16 +165,9 @@ public class ThesisLibraryBackupServiceImpl implements ThesisLibraryBackupServic
                 hasNextPage = chunk.size() == chunkSize;
             }
 
-            createMetadataCSV(processedThesisIds, language, zipBuilder, metadataFormat);
-
-            var institution = organisationUnitService.findOne(institutionId);
-            var serverFilename = generateBackupFileName(from, to, institution);
+            createMetadataCSV(processedThesisIds, language, zipWriter, metadataFormat);
 
-            serverFilename = fileService.store(
-                zipBuilder.buildZipAndGetResource(),
-                serverFilename.split("\\.")[0],
-                serverFilename
-            );
+            serverFilename = zipWriter.finish();
 
             var newBackupFile = new DocumentFileBackup();
             newBackupFile.setInstitution(institution);
@@ -179,15 +176,11 @@ public class ThesisLibraryBackupServiceImpl implements ThesisLibraryBackupServic
         } catch (Exception e) {
             log.error("Failed to generate THESIS backup file. Reason: {}", e.getMessage());
             throw new StorageException("Failed to generate backup file.");
-        } finally {
-            if (Objects.nonNull(zipBuilder)) {
-                zipBuilder.cleanup();
-            }
         }
     }
 
     private void createMetadataCSV(List<Integer> exportEntityIds, String language,
-                                   BackupZipBuilder zipBuilder, ExportFileType metadataFormat) {
+                                   BackupZipWriter zipWriter, ExportFileType metadataFormat) {
         var exportRequest = new ThesisTableExportRequestDTO();
         exportRequest.setExportMaxPossibleAmount(false);
         exportRequest.setExportEntityIds(exportEntityIds);
@@ -206,15 +199,15 @@ public class ThesisLibraryBackupServiceImpl implements ThesisLibraryBackupServic
         exportRequest.setVancouver(true);
 
         var metadataFile = tableExportService.exportDocumentsToFile(exportRequest);
-        try {
-            zipBuilder.copyFileToRoot(metadataFile.getInputStream(), "metadata.csv");
+        try (var metadataStream = metadataFile.getInputStream()) {
+            zipWriter.addEntry("metadata.csv", metadataStream);
         } catch (IOException e) {
-            throw new RuntimeException(e); // should never happen
+            throw new StorageException("Failed to write backup metadata.");
         }
     }
 
     private void processThesis(Thesis thesis, List<FileSection> thesisFileSections,
-                               BackupZipBuilder zipBuilder, String language)
+                               BackupZipWriter zipWriter, String language)
         throws IOException {
         var author = thesis.getContributors().stream()
             .filter(contributor -> contributor.getContributionType()
@@ -226,10 +219,10 @@ public class ThesisLibraryBackupServiceImpl implements ThesisLibraryBackupServic
             return;
         }
 
-        var thesisDir = zipBuilder.createSubDir("theses/" +
+        var thesisDir = "theses/" +
             author.get().getAffiliationStatement().getDisplayPersonName().toString()
                 .replace(" ", "_")
-            + "_" + thesis.getId());
+            + "_" + thesis.getId();
 
         for (var section : thesisFileSections) {
             var fileItems = sectionAccessors.get(section).apply(thesis);
@@ -238,14 +231,10 @@ public class ThesisLibraryBackupServiceImpl implements ThesisLibraryBackupServic
             }
 
             var sectionPaths = getSectionPaths(language);
-            var sectionDir =
-                zipBuilder.createSubDir(thesisDir.resolve(sectionPaths.get(section)).toString());
+            var sectionDir = thesisDir + "/" + sectionPaths.get(section);
             for (var fileItem : fileItems) {
-                try (var file = fileService.loadAsResource(fileItem.getServerFilename())) {
-                    zipBuilder.copyFile(file, sectionDir.resolve(fileItem.getFilename()));
-                } catch (IOException e) {
-                    log.warn("Failed to load file {}", fileItem.getServerFilename(), e);
-                }
+                zipWriter.addFile(sectionDir + "/" + fileItem.getFilename(),
+                    fileItem.getServerFilename());
             }
         }
     }
@@ -1,8 +1,12 @@
 package rs.teslaris.thesislibrary.service.impl;
 
+import com.google.common.collect.Lists;
 import jakarta.annotation.Nullable;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
@@ -19,6 +23,7 @@ import rs.teslaris.core.model.commontypes.ExportableEndpointType;
 import rs.teslaris.core.service.impl.TableExportHelper;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.ThesisService;
+import rs.teslaris.core.util.exceptionhandling.exception.StorageException;
 import rs.teslaris.thesislibrary.dto.ThesisTableExportRequestDTO;
 import rs.teslaris.thesislibrary.service.interfaces.ThesisLibraryTableExportService;
 import rs.teslaris.thesislibrary.service.interfaces.ThesisSearchService;
@@ -29,6 +34,8 @@ import rs.teslaris.thesislibrary.service.interfaces.ThesisSearchService;
 @Traceable
 public class ThesisLibraryTableExportServiceImpl implements ThesisLibraryTableExportService {
 
+    private static final int EXPORT_BATCH_SIZE = 100;
+
     private final ThesisSearchService thesisSearchService;
 
     private final CitationService citationService;
@@ -49,42 +56,12 @@ public class ThesisLibraryTableExportServiceImpl implements ThesisLibraryTableEx
             return null;
         }
 
-        String configurationFile = "thesisSearchFieldConfiguration.json";
-
-        var rowsData = new ArrayList<List<String>>();
-        var tableHeaders = TableExportHelper.getTableHeaders(request, configurationFile);
-        TableExportHelper.addCitationColumns(tableHeaders, request);
-        rowsData.add(tableHeaders);
-
-        if (request.getExportMaxPossibleAmount()) {
-            returnBulkDataFromDefinedEndpoint(request)
-                .forEach(entity -> {
-                    var rowData =
-                        TableExportHelper.constructRowData(entity, request.getColumns(),
-                            configurationFile,
-                            request.getExportLanguage());
-                    TableExportHelper.addCitationData(rowData, entity, request, citationService);
-                    rowsData.add(rowData);
-                });
-        } else {
-            request.getExportEntityIds().forEach(
-                entityId -> documentPublicationIndexRepository.findDocumentPublicationIndexByDatabaseId(
-                        entityId)
-                    .ifPresent(entity -> {
-                        var rowData =
-                            TableExportHelper.constructRowData(entity, request.getColumns(),
-                                configurationFile,
-                                request.getExportLanguage());
-                        TableExportHelper.addCitationData(rowData, entity, request,
-                            citationService);
-                        rowsData.add(rowData);
-                    }));
-        }
-
-        return TableExportHelper.createExportFile(rowsData, request.getExportFileType());
+        return TableExportHelper.exportToResource(
+            outputStream -> exportTheses(request, outputStream));
     }
 
     @Override
+    @Nullable
     public InputStreamResource exportThesesToBibliographicFile(
         ThesisTableExportRequestDTO request) {
         if (!List.of(ExportFileType.BIB, ExportFileType.RIS, ExportFileType.ENW)
@@ -92,22 +69,80 @@ public class ThesisLibraryTableExportServiceImpl implements ThesisLibraryTableEx
             return null;
         }
 
-        var exportedEntities = new ArrayList<String>();
+        return TableExportHelper.exportToResource(
+            outputStream -> exportTheses(request, outputStream));
+    }
+
+    @Override
+    public void exportTheses(ThesisTableExportRequestDTO request, OutputStream outputStream) {
+        if (List.of(ExportFileType.CSV, ExportFileType.XLSX)
+            .contains(request.getExportFileType())) {
+            exportTable(request, outputStream);
+        } else {
+            exportBibliographicRecords(request, outputStream);
+        }
+    }
+
+    private void exportTable(ThesisTableExportRequestDTO request, OutputStream outputStream) {
+        String configurationFile = "thesisSearchFieldConfiguration.json";
+
+        var tableHeaders = TableExportHelper.getTableHeaders(request, configurationFile);
+        TableExportHelper.addCitationColumns(tableHeaders, request);
+        var rowMapper = TableExportHelper.createRowMapper(request.getColumns(), configurationFile,
+            request.getExportLanguage());
+
+        var bulkEntities = request.getExportMaxPossibleAmount() ?
+            returnBulkDataFromDefinedEndpoint(request).getContent() : null;
+
+        try (var writer = TableExportHelper.openTableWriter(outputStream,
+            request.getExportFileType())) {
+            writer.writeRow(tableHeaders);
+
+            if (Objects.nonNull(bulkEntities)) {
+                writeRows(writer, rowMapper, bulkEntities, request);
+            } else {
+                for (var entityIds : Lists.partition(request.getExportEntityIds(),
+                    EXPORT_BATCH_SIZE)) {
+                    writeRows(writer, rowMapper, entityIds.stream()
+                        .map(documentPublicationIndexRepository::
+                            findDocumentPublicationIndexByDatabaseId)
+                        .flatMap(Optional::stream)
+                        .toList(), request);
+                }
+            }
+
+            writer.finish();
+        } catch (IOException e) {
+            throw new StorageException("Failed to write export file.");
+        }
+    }
+
+    private void writeRows(TableExportHelper.TableRowWriter writer,
+                           TableExportHelper.TableRowMapper rowMapper,
+                           List<DocumentPublicationIndex> entities,
+                           ThesisTableExportRequestDTO request) throws IOException {
+        var rowsData = rowMapper.mapRows(entities);
+        for (int i = 0; i < entities.size(); i++) {
+            var rowData = rowsData.get(i);
+            TableExportHelper.addCitationData(rowData, entities.get(i), request, citationService);
+            writer.writeRow(rowData);
+        }
+    }
 
+    private void exportBibliographicRecords(ThesisTableExportRequestDTO request,
+                                            OutputStream outputStream) {
+        List<Integer> thesisIds;
         if (request.getExportMaxPossibleAmount()) {
-            returnBulkDataFromDefinedEndpoint(request)
-                .forEach(entity -> {
-                    exportedEntities.add(
-                        DocumentPublicationConverter.getBibliographicExportEntity(request,
-                            thesisService.getThesisById(entity.getDatabaseId())));
-                });
+            thesisIds = returnBulkDataFromDefinedEndpoint(request)
+                .map(DocumentPublicationIndex::getDatabaseId).getContent();
         } else {
-            request.getExportEntityIds().forEach(entityId -> exportedEntities.add(
-                DocumentPublicationConverter.getBibliographicExportEntity(request,
-                    thesisService.getThesisById(entityId))));
+            thesisIds = request.getExportEntityIds();
         }
 
-        return TableExportHelper.createExportFile(exportedEntities, request.getExportFileType());
+        TableExportHelper.writeBibliographicRecords(() -> thesisIds.stream()
+            .map(thesisId -> DocumentPublicationConverter.getBibliographicExportEntity(request,
+                thesisService.getThesisById(thesisId)))
+            .iterator(), request.getExportFileType(), outputStream);
     }
 
     private Page<DocumentPublicationIndex> returnBulkDataFromDefinedEndpoint(
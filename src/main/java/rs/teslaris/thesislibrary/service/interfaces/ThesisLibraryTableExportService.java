@@ -1,5 +1,6 @@
 package rs.teslaris.thesislibrary.service.interfaces;
 
+import java.io.OutputStream;
 import org.springframework.core.io.InputStreamResource;
 import rs.teslaris.thesislibrary.dto.ThesisTableExportRequestDTO;
 
@@ -8,4 +9,6 @@ public interface ThesisLibraryTableExportService {
     InputStreamResource exportThesesToCSV(ThesisTableExportRequestDTO request);
 
     InputStreamResource exportThesesToBibliographicFile(ThesisTableExportRequestDTO request);
+
+    void exportTheses(ThesisTableExportRequestDTO request, OutputStream outputStream);
 }
@@ -0,0 +1,59 @@
+package rs.teslaris.core.integration.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import rs.teslaris.core.integration.BaseTest;
+import rs.teslaris.core.model.document.Journal;
+import rs.teslaris.core.repository.document.JournalRepository;
+import rs.teslaris.exporter.model.common.ExportDocument;
+import rs.teslaris.exporter.model.common.ExportPublicationType;
+import rs.teslaris.exporter.model.converter.ExportPublicationSeriesConverter;
+import rs.teslaris.exporter.service.impl.CommonExportWorkerImpl;
+
+@SpringBootTest
+public class CommonExportSoftDeleteTest extends BaseTest {
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private CommonExportWorkerImpl commonExportWorker;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+
+    @Test
+    public void shouldExportSoftDeletedJournalAsDeletedRecord() {
+        // given
+        var journal = new Journal();
+        journal.setDeleted(true);
+        var journalId = journalRepository.save(journal).getId();
+
+        // when
+        commonExportWorker.exportEntities(
+            journalRepository::findAllModifiedIds,
+            journalRepository::findAllByIdIncludingDeleted,
+            ExportPublicationSeriesConverter::toCommonExportModel,
+            ExportDocument.class,
+            Journal::getId,
+            true,
+            ExportPublicationType.JOURNAL);
+
+        // then
+        assertTrue(journalRepository.findAllById(List.of(journalId)).isEmpty());
+
+        var exported = mongoTemplate.findOne(new Query(Criteria.where("database_id").is(journalId)
+            .and("type").is(ExportPublicationType.JOURNAL.name())), ExportDocument.class);
+        assertNotNull(exported);
+        assertTrue(exported.getDeleted());
+    }
+}
@@ -0,0 +1,201 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.minio.GetObjectResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipInputStream;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
+import rs.teslaris.core.util.files.BackupZipWriterFactory;
+
+@SpringBootTest
+public class BackupZipWriterTest {
+
+    @Mock
+    private FileService fileService;
+
+    @InjectMocks
+    private BackupZipWriterFactory backupZipWriterFactory;
+
+    private ByteArrayOutputStream uploadedArchive;
+
+    private CompletableFuture<Exception> uploadFailure;
+
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(backupZipWriterFactory, "fetchParallelism", 2);
+        ReflectionTestUtils.setField(backupZipWriterFactory, "prefetchWindow", 2);
+        ReflectionTestUtils.setField(backupZipWriterFactory, "maxBufferedFileMb", 1);
+
+        uploadedArchive = new ByteArrayOutputStream();
+        uploadFailure = new CompletableFuture<>();
+        when(fileService.storeStream(any(InputStream.class), eq("backup"), eq("backup.zip")))
+            .thenAnswer(invocation -> {
+                try {
+                    invocation.<InputStream>getArgument(0).transferTo(uploadedArchive);
+                } catch (IOException e) {
+                    uploadFailure.complete(e);
+                    throw e;
+                }
+                return "backup.zip";
+            });
+    }
+
+    private void mockStoredFile(String serverFilename, byte[] content) throws IOException {
+        when(fileService.loadAsResource(serverFilename)).thenAnswer(
+            invocation -> new GetObjectResponse(Headers.of(), "", "", serverFilename,
+                new ByteArrayInputStream(content)));
+    }
+
+    private Map<String, byte[]> readArchive() throws IOException {
+        var entries = new LinkedHashMap<String, byte[]>();
+        try (var zipIn = new ZipInputStream(
+            new ByteArrayInputStream(uploadedArchive.toByteArray()))) {
+            for (var entry = zipIn.getNextEntry(); entry != null; entry = zipIn.getNextEntry()) {
+                entries.put(entry.getName(), zipIn.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    public void shouldStreamEntriesInInsertionOrder() throws IOException {
+        // given
+        var largeContent = new byte[3 * 1024 * 1024];
+        largeContent[largeContent.length - 1] = 7;
+        mockStoredFile("a.pdf", "first".getBytes(StandardCharsets.UTF_8));
+        mockStoredFile("b.pdf", largeContent);
+        mockStoredFile("c.pdf", "third".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        String storedFilename;
+        try (var writer = backupZipWriterFactory.open("backup", "backup.zip")) {
+            writer.addFile("documents/1/a.pdf", "a.pdf");
+            writer.addFile("documents/1/b.pdf", "b.pdf");
+            writer.addFile("documents/2/c.pdf", "c.pdf");
+            writer.addEntry("metadata.csv",
+                new ByteArrayInputStream("id\n1\n2\n".getBytes(StandardCharsets.UTF_8)));
+            storedFilename = writer.finish();
+        }
+
+        // then
+        assertEquals("backup.zip", storedFilename);
+        var entries = readArchive();
+        assertEquals(List.of("documents/1/a.pdf", "documents/1/b.pdf", "documents/2/c.pdf",
+            "metadata.csv"), new ArrayList<>(entries.keySet()));
+        assertArrayEquals(largeContent, entries.get("documents/1/b.pdf"));
+        assertEquals("third", new String(entries.get("documents/2/c.pdf"),
+            StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldSkipFilesThatCannotBeLoaded() throws IOException {
+        // given
+        mockStoredFile("a.pdf", "first".getBytes(StandardCharsets.UTF_8));
+        when(fileService.loadAsResource("missing.pdf")).thenThrow(
+            new NotFoundException("Document missing.pdf does not exist."));
+
+        // when
+        try (var writer = backupZipWriterFactory.open("backup", "backup.zip")) {
+            writer.addFile("documents/1/missing.pdf", "missing.pdf");
+            writer.addFile("documents/1/a.pdf", "a.pdf");
+            writer.addFile("documents/1/a.pdf", "a.pdf");
+            writer.finish();
+        }
+
+        // then
+        var entries = readArchive();
+        assertEquals(1, entries.size());
+        assertNotNull(entries.get("documents/1/a.pdf"));
+    }
+
+    @Test
+    public void shouldFailUploadWhenArchiveIsNotFinished() throws Exception {
+        // given
+        mockStoredFile("a.pdf", "first".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        try (var writer = backupZipWriterFactory.open("backup", "backup.zip")) {
+            writer.addFile("documents/1/a.pdf", "a.pdf");
+        }
+
+        // then
+        assertInstanceOf(IOException.class, uploadFailure.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldOpenLargeFilesOnlyWhenTheirEntryIsWritten() throws IOException {
+        // given
+        var largeContent = new byte[3 * 1024 * 1024];
+        mockStoredFile("large.pdf", largeContent);
+
+        // when
+        try (var writer = backupZipWriterFactory.open("backup", "backup.zip")) {
+            writer.addFile("documents/1/large.pdf", "large.pdf");
+            writer.finish();
+        }
+
+        // then
+        verify(fileService, times(2)).loadAsResource("large.pdf");
+        assertArrayEquals(largeContent, readArchive().get("documents/1/large.pdf"));
+    }
+
+    @Test
+    public void shouldKeepWritingArchiveWhenLargeFileFailsMidEntry() throws IOException {
+        // given
+        var largeContent = new byte[3 * 1024 * 1024];
+        mockStoredFile("a.pdf", "first".getBytes(StandardCharsets.UTF_8));
+        when(fileService.loadAsResource("broken.pdf")).thenAnswer(
+            invocation -> new GetObjectResponse(Headers.of(), "", "", "broken.pdf",
+                new SequenceInputStream(new ByteArrayInputStream(largeContent),
+                    new InputStream() {
+                        @Override
+                        public int read() throws IOException {
+                            throw new IOException("Connection reset");
+                        }
+                    })));
+
+        // when
+        String storedFilename;
+        try (var writer = backupZipWriterFactory.open("backup", "backup.zip")) {
+            writer.addFile("documents/1/broken.pdf", "broken.pdf");
+            writer.addFile("documents/1/a.pdf", "a.pdf");
+            storedFilename = writer.finish();
+        }
+
+        // then
+        assertEquals("backup.zip", storedFilename);
+        var entries = readArchive();
+        assertArrayEquals(largeContent, entries.get("documents/1/broken.pdf"));
+        assertEquals("first", new String(entries.get("documents/1/a.pdf"),
+            StandardCharsets.UTF_8));
+    }
+}
@@ -1,17 +1,26 @@
 package rs.teslaris.core.unit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.undercouch.citeproc.csl.CSLItemData;
+import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
 import rs.teslaris.core.model.commontypes.LanguageTag;
@@ -21,6 +30,7 @@ import rs.teslaris.core.model.document.JournalPublication;
 import rs.teslaris.core.repository.document.JournalPublicationRepository;
 import rs.teslaris.core.repository.document.ProceedingsPublicationRepository;
 import rs.teslaris.core.service.impl.document.CitationServiceImpl;
+import rs.teslaris.core.util.citation.CitationEnginePool;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,9 +45,22 @@ class CitationServiceTest {
     @Mock
     private DocumentPublicationIndexRepository documentPublicationIndexRepository;
 
+    @Spy
+    private CitationEnginePool citationEnginePool;
+
     @InjectMocks
     private CitationServiceImpl citationService;
 
+    private JournalPublication mockJournalPublication(String languageCode) {
+        var publication = new JournalPublication();
+        var journal = new Journal();
+        var languageTag = new LanguageTag();
+        languageTag.setLanguageTag(languageCode);
+        journal.setTitle(Set.of(new MultiLingualContent(languageTag, "Dummy content", 1)));
+        publication.setJournal(journal);
+        return publication;
+    }
+
     private DocumentPublicationIndex mockDocumentIndex() {
         var index = new DocumentPublicationIndex();
         index.setType("JOURNAL_PUBLICATION");
@@ -116,4 +139,62 @@ class CitationServiceTest {
         assertThrows(NotFoundException.class,
             () -> citationService.craftCitations(documentId, languageCode));
     }
+
+    @Test
+    void shouldServeRepeatedCitationsFromCache() {
+        // Given
+        var index = mockDocumentIndex();
+        index.setLastEdited(new Date(1000));
+
+        when(journalPublicationRepository.findById(1)).thenReturn(
+            Optional.of(mockJournalPublication("EN")));
+
+        // When
+        var first = citationService.craftCitations(index, "EN");
+        var second = citationService.craftCitations(index, "EN");
+        var apa = citationService.craftCitationInGivenStyle("apa", index, "EN");
+
+        // Then
+        assertEquals(first.getVancouver(), second.getVancouver());
+        assertEquals(first.getApa(), apa);
+        verify(journalPublicationRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void shouldRenderCitationsAgainWhenDocumentIsEdited() {
+        // Given
+        var index = mockDocumentIndex();
+        index.setLastEdited(new Date(1000));
+
+        when(journalPublicationRepository.findById(1)).thenReturn(
+            Optional.of(mockJournalPublication("EN")));
+        citationService.craftCitationInGivenStyle("apa", index, "EN");
+
+        // When
+        index.setTitleSr("Edited Title");
+        index.setLastEdited(new Date(2000));
+        var result = citationService.craftCitationInGivenStyle("apa", index, "EN");
+
+        // Then
+        assertEquals("Doe, J., & Smith, J. (2024). Edited Title. Dummy Content.", result);
+        verify(journalPublicationRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void shouldDiscardCitationEngineThatFailedToRender() throws Exception {
+        // Given
+        var failingItem = mock(CSLItemData.class);
+        when(failingItem.getId()).thenThrow(new IllegalStateException("Broken item."));
+
+        // When
+        assertThrows(IllegalStateException.class,
+            () -> citationEnginePool.render("apa", failingItem));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        var idleEngines = (Map<String, BlockingQueue<?>>) ReflectionTestUtils.getField(
+            citationEnginePool, "idleEngines");
+        assertNotNull(idleEngines);
+        assertEquals(0, idleEngines.get("apa").size());
+    }
 }
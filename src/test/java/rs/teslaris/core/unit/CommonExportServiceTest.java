@@ -1,6 +1,7 @@
 package rs.teslaris.core.unit;
 
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.eq;
@@ -10,17 +11,15 @@ import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 import rs.teslaris.core.model.document.Conference;
 import rs.teslaris.core.model.document.Course;
 import rs.teslaris.core.model.document.Exhibition;
@@ -138,17 +137,17 @@ public class CommonExportServiceTest {
         var orgUnit = new OrganisationUnit();
         orgUnit.setId(1);
 
-        var page = new PageImpl<>(List.of(orgUnit));
-        when(organisationUnitRepository.findAllModified(any(PageRequest.class),
-            anyBoolean()))
-            .thenReturn(page);
+        when(organisationUnitRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(List.of(orgUnit.getId()));
+        when(organisationUnitRepository.findAllByIdIncludingDeleted(List.of(orgUnit.getId())))
+            .thenReturn(List.of(orgUnit));
 
         // When
         commonExportService.exportOrganisationUnitsToCommonModel(allTime);
 
         // Then
         verify(commonExportWorker, times(1)).exportEntities(
-            any(), any(), eq(ExportOrganisationUnit.class), any(), eq(allTime), eq(null));
+            any(), any(), any(), eq(ExportOrganisationUnit.class), any(), eq(allTime), eq(null));
     }
 
     @ParameterizedTest
@@ -162,18 +161,22 @@ public class CommonExportServiceTest {
         personalInfo.setProfessionalContact(new Contact());
         person.setPersonalInfo(personalInfo);
 
-        var page = new PageImpl<>(List.of(person));
-        when(personRepository.findAllModified(any(PageRequest.class), anyBoolean()))
-            .thenReturn(page);
+        when(personRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(List.of(person.getId()));
+        when(personRepository.findAllByIdIncludingDeleted(List.of(person.getId())))
+            .thenReturn(List.of(person));
+        ReflectionTestUtils.setField(commonExportWorker, "batchSize", 10);
+        ReflectionTestUtils.setField(commonExportWorker, "commonExportExecutor",
+            (Executor) Runnable::run);
         doCallRealMethod().when(commonExportWorker).exportEntities(
-            any(), any(), eq(ExportPerson.class), any(), eq(true), eq(null));
+            any(), any(), any(), eq(ExportPerson.class), any(), eq(true), eq(null));
 
         // When
         commonExportService.exportPersonsToCommonModel(allTime);
 
         // Then
         verify(commonExportWorker, times(1)).exportEntities(
-            any(), any(), eq(ExportPerson.class), any(), eq(allTime), eq(null));
+            any(), any(), any(), eq(ExportPerson.class), any(), eq(allTime), eq(null));
     }
 
     @ParameterizedTest
@@ -192,122 +195,105 @@ public class CommonExportServiceTest {
         var otherEvent = new OtherEvent();
         otherEvent.setId(4);
 
-        var page1 = new PageImpl<>(List.of(conference));
-        var page2 = new PageImpl<>(List.of(exhibition));
-        var page3 = new PageImpl<>(List.of(course));
-        var page4 = new PageImpl<>(List.of(otherEvent));
 
-        when(conferenceRepository.findAllModified(any(PageRequest.class), anyBoolean()))
-            .thenReturn(page1);
-        when(exhibitionRepository.findAllModified(any(PageRequest.class), anyBoolean()))
-            .thenReturn(page2);
-        when(courseRepository.findAllModified(any(PageRequest.class), anyBoolean()))
-            .thenReturn(page3);
-        when(otherEventRepository.findAllModified(any(PageRequest.class), anyBoolean()))
-            .thenReturn(page4);
+        when(conferenceRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(List.of(conference.getId()));
+        when(conferenceRepository.findAllByIdIncludingDeleted(List.of(conference.getId())))
+            .thenReturn(List.of(conference));
+        when(exhibitionRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(List.of(exhibition.getId()));
+        when(exhibitionRepository.findAllByIdIncludingDeleted(List.of(exhibition.getId())))
+            .thenReturn(List.of(exhibition));
+        when(courseRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(List.of(course.getId()));
+        when(courseRepository.findAllByIdIncludingDeleted(List.of(course.getId())))
+            .thenReturn(List.of(course));
+        when(otherEventRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(List.of(otherEvent.getId()));
+        when(otherEventRepository.findAllByIdIncludingDeleted(List.of(otherEvent.getId())))
+            .thenReturn(List.of(otherEvent));
 
         // When
         commonExportService.exportEventsToCommonModel(allTime);
 
         // Then
         verify(commonExportWorker, times(4)).exportEntities(
-            any(), any(), eq(ExportEvent.class), any(), eq(allTime), any());
+            any(), any(), any(), eq(ExportEvent.class), any(), eq(allTime), any());
     }
 
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     public void shouldExportDocumentsToCommonModel(boolean allTime) {
         // Given
-        var emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
-
-        when(datasetRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(intangibleProductRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(patentRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(journalRepository.findAllModified(
-            any(Pageable.class), anyBoolean())).thenReturn((Page) emptyPage);
-        when(journalPublicationRepository.findAllModified(
-            any(Pageable.class), anyBoolean())).thenReturn((Page) emptyPage);
-        when(proceedingsRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(proceedingsPublicationRepository.findAllModified(
-            any(Pageable.class), anyBoolean())).thenReturn((Page) emptyPage);
-        when(monographRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(monographPublicationRepository.findAllModified(
-            any(Pageable.class), anyBoolean())).thenReturn((Page) emptyPage);
-        when(thesisRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(performanceRelatedOutputRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
+        when(datasetRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(intangibleProductRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(patentRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(journalRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(journalPublicationRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(proceedingsRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(proceedingsPublicationRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(monographRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(monographPublicationRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(thesisRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(performanceRelatedOutputRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
 
         // When
         commonExportService.exportDocumentsToCommonModel(allTime, Collections.emptyList());
 
         // Then
         verify(commonExportWorker, times(14)).exportEntities(
-            any(), any(), eq(ExportDocument.class), any(), eq(allTime), any());
+            any(), any(), any(), eq(ExportDocument.class), any(), eq(allTime), any());
     }
 
     @ParameterizedTest
     @EnumSource(ExportPublicationType.class)
     public void shouldExportDocumentsToCommonModel(ExportPublicationType exportPublicationType) {
         // Given
-        var emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
-
-        when(datasetRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(intangibleProductRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(patentRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(journalRepository.findAllModified(
-            any(Pageable.class), anyBoolean())).thenReturn((Page) emptyPage);
-        when(journalPublicationRepository.findAllModified(
-            any(Pageable.class), anyBoolean())).thenReturn((Page) emptyPage);
-        when(proceedingsRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(proceedingsPublicationRepository.findAllModified(
-            any(Pageable.class), anyBoolean())).thenReturn((Page) emptyPage);
-        when(monographRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(monographPublicationRepository.findAllModified(
-            any(Pageable.class), anyBoolean())).thenReturn((Page) emptyPage);
-        when(thesisRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(geneticMaterialRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(materialProductRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(bookSeriesRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
-        when(performanceRelatedOutputRepository.findAllModified(any(Pageable.class),
-            anyBoolean())).thenReturn(
-            (Page) emptyPage);
+        when(datasetRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(intangibleProductRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(patentRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(journalRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(journalPublicationRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(proceedingsRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(proceedingsPublicationRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(monographRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(monographPublicationRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(thesisRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(geneticMaterialRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(materialProductRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(bookSeriesRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(performanceRelatedOutputRepository.findAllModifiedIds(anyInt(), anyBoolean(), anyInt()))
+            .thenReturn(Collections.emptyList());
 
         // When
         commonExportService.exportDocumentsToCommonModel(true, List.of(exportPublicationType));
 
         // Then
         verify(commonExportWorker, times(1)).exportEntities(
-            any(), any(), eq(ExportDocument.class), any(), eq(true), eq(exportPublicationType));
+            any(), any(), any(), eq(ExportDocument.class), any(), eq(true), eq(exportPublicationType));
     }
 }
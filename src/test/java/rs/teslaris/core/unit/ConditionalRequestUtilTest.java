@@ -0,0 +1,142 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import rs.teslaris.core.util.files.ConditionalRequestUtil;
+
+@SpringBootTest
+public class ConditionalRequestUtilTest {
+
+    private static final String ETAG = "\"abc123\"";
+
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+
+    @Test
+    public void shouldQuoteStorageETag() {
+        assertEquals(ETAG, ConditionalRequestUtil.toStrongETag("abc123"));
+        assertEquals(ETAG, ConditionalRequestUtil.toStrongETag(ETAG));
+    }
+
+    @Test
+    public void shouldReportNotModifiedWhenETagMatches() {
+        // given
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/\"abc123\"");
+
+        // when
+        var notModified = ConditionalRequestUtil.isNotModified(request, ETAG, LAST_MODIFIED);
+
+        // then
+        assertTrue(notModified);
+    }
+
+    @Test
+    public void shouldIgnoreIfModifiedSinceWhenETagDoesNotMatch() {
+        // given
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED + 60_000);
+
+        // when
+        var notModified = ConditionalRequestUtil.isNotModified(request, ETAG, LAST_MODIFIED);
+
+        // then
+        assertFalse(notModified);
+    }
+
+    @Test
+    public void shouldReportNotModifiedWhenUnchangedSinceGivenDate() {
+        // given
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED);
+
+        // when
+        var notModified = ConditionalRequestUtil.isNotModified(request, ETAG, LAST_MODIFIED + 500);
+
+        // then
+        assertTrue(notModified);
+    }
+
+    @Test
+    public void shouldResolveSingleByteRange() {
+        // given
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+        // when
+        var byteRange =
+            ConditionalRequestUtil.resolveByteRange(request, ETAG, LAST_MODIFIED, 1000);
+
+        // then
+        assertEquals(100, byteRange.start());
+        assertEquals(199, byteRange.end());
+        assertEquals(100, byteRange.length());
+        assertEquals("bytes 100-199/1000", byteRange.toContentRange());
+    }
+
+    @Test
+    public void shouldResolveSuffixByteRange() {
+        // given
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=-100");
+
+        // when
+        var byteRange =
+            ConditionalRequestUtil.resolveByteRange(request, ETAG, LAST_MODIFIED, 1000);
+
+        // then
+        assertEquals(900, byteRange.start());
+        assertEquals(999, byteRange.end());
+    }
+
+    @Test
+    public void shouldServeWholeObjectWhenIfRangeDoesNotMatch() {
+        // given
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        // when
+        var byteRange =
+            ConditionalRequestUtil.resolveByteRange(request, ETAG, LAST_MODIFIED, 1000);
+
+        // then
+        assertNull(byteRange);
+    }
+
+    @Test
+    public void shouldServeWholeObjectForMultipleRanges() {
+        // given
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9,20-29");
+
+        // when
+        var byteRange =
+            ConditionalRequestUtil.resolveByteRange(request, ETAG, LAST_MODIFIED, 1000);
+
+        // then
+        assertNull(byteRange);
+    }
+
+    @Test
+    public void shouldRejectRangeOutsideObject() {
+        // given
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+
+        // when
+        assertThrows(IllegalArgumentException.class,
+            () -> ConditionalRequestUtil.resolveByteRange(request, ETAG, LAST_MODIFIED, 1000));
+
+        // then (IllegalArgumentException should be thrown)
+    }
+}
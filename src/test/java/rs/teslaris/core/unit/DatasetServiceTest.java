@@ -4,7 +4,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -12,7 +11,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,14 +21,11 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 import rs.teslaris.core.dto.document.DatasetDTO;
-import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
 import rs.teslaris.core.model.commontypes.ApproveStatus;
 import rs.teslaris.core.model.commontypes.Country;
@@ -50,6 +45,7 @@ import rs.teslaris.core.service.impl.document.cruddelegate.DatasetJPAServiceImpl
 import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
@@ -87,6 +83,9 @@ public class DatasetServiceTest {
     @Mock
     private CitationService citationService;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private DatasetServiceImpl datasetService;
 
@@ -202,22 +201,11 @@ public class DatasetServiceTest {
 
     @Test
     public void shouldReindexDatasets() {
-        // Given
-        var dataset = new Dataset();
-        dataset.setDocumentDate("2024");
-        var datasets = List.of(dataset);
-        var page1 = new PageImpl<>(datasets.subList(0, 1), PageRequest.of(0, 10),
-            datasets.size());
-
-        when(datasetJPAService.findAll(any(PageRequest.class))).thenReturn(page1);
-
         // When
         datasetService.reindexDatasets();
 
         // Then
         verify(documentPublicationIndexRepository, never()).deleteAll();
-        verify(datasetJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(Dataset.class), any());
     }
 }
@@ -3,17 +3,31 @@ package rs.teslaris.core.unit;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.test.util.ReflectionTestUtils;
 import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexmodel.EntityType;
@@ -22,10 +36,6 @@ import rs.teslaris.core.indexmodel.JournalIndex;
 import rs.teslaris.core.indexmodel.PersonIndex;
 import rs.teslaris.core.indexmodel.deduplication.DeduplicationBlacklist;
 import rs.teslaris.core.indexmodel.deduplication.DeduplicationSuggestion;
-import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
-import rs.teslaris.core.indexrepository.EventIndexRepository;
-import rs.teslaris.core.indexrepository.JournalIndexRepository;
-import rs.teslaris.core.indexrepository.PersonIndexRepository;
 import rs.teslaris.core.indexrepository.deduplication.DocumentDeduplicationBlacklistRepository;
 import rs.teslaris.core.indexrepository.deduplication.DocumentDeduplicationSuggestionRepository;
 import rs.teslaris.core.service.impl.document.DeduplicationServiceImpl;
@@ -36,18 +46,6 @@ import rs.teslaris.core.service.interfaces.user.UserService;
 @SpringBootTest
 public class DeduplicationServiceTest {
 
-    @Mock
-    private DocumentPublicationIndexRepository documentPublicationIndexRepository;
-
-    @Mock
-    private JournalIndexRepository journalIndexRepository;
-
-    @Mock
-    private EventIndexRepository eventIndexRepository;
-
-    @Mock
-    private PersonIndexRepository personIndexRepository;
-
     @Mock
     private DocumentDeduplicationSuggestionRepository deduplicationSuggestionRepository;
 
@@ -72,6 +70,9 @@ public class DeduplicationServiceTest {
     @Mock
     private SearchService<PersonIndex> personSearchService;
 
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+
     @InjectMocks
     private DeduplicationServiceImpl deduplicationService;
 
@@ -167,4 +168,84 @@ public class DeduplicationServiceTest {
         // then
         verify(deduplicationSuggestionRepository).deleteAll(suggestions);
     }
+
+    private JournalIndex createJournal(Integer databaseId) {
+        var journal = new JournalIndex();
+        journal.setDatabaseId(databaseId);
+        journal.setTitleSr("Časopis");
+        journal.setTitleOther("Journal");
+        return journal;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockJournalChunk(List<JournalIndex> journals) {
+        var hits = journals.stream().map(journal -> {
+            SearchHit<JournalIndex> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(journal);
+            when(hit.getSortValues()).thenReturn(List.of(journal.getDatabaseId()));
+            return hit;
+        }).toList();
+
+        SearchHits<JournalIndex> searchHits = mock(SearchHits.class);
+        when(searchHits.isEmpty()).thenReturn(hits.isEmpty());
+        when(searchHits.getSearchHits()).thenReturn(hits);
+        when(elasticsearchOperations.search(any(Query.class), eq(JournalIndex.class),
+            any(IndexCoordinates.class))).thenReturn(searchHits);
+    }
+
+    @Test
+    public void shouldResolveWholeChunkWithSingleMultiSearchAndBulkSave() {
+        // given
+        var journal1 = createJournal(1);
+        var journal2 = createJournal(2);
+        var journal3 = createJournal(3);
+        mockJournalChunk(List.of(journal1, journal2, journal3));
+        ReflectionTestUtils.setField(deduplicationService, "journalSearchService",
+            journalSearchService);
+
+        when(documentDeduplicationBlacklistRepository.findByEntityType(
+            EntityType.JOURNAL.name())).thenReturn(Stream.empty());
+        when(journalSearchService.runMultiQuery(any(), anyInt(), eq(JournalIndex.class),
+            anyString())).thenReturn(
+            List.of(List.of(journal2), List.of(journal1), Collections.emptyList()));
+
+        // when
+        ReflectionTestUtils.invokeMethod(deduplicationService,
+            "performScheduledJournalDeduplication");
+
+        // then
+        verify(journalSearchService).runMultiQuery(argThat(queries -> queries.size() == 3),
+            eq(2), eq(JournalIndex.class), eq("journal"));
+        verify(deduplicationSuggestionRepository).saveAll(argThat(suggestions -> {
+            var saved = StreamSupport.stream(suggestions.spliterator(), false).toList();
+            return saved.size() == 1 && saved.getFirst().getLeftEntityId() == 1 &&
+                saved.getFirst().getRightEntityId() == 2;
+        }));
+        verify(documentDeduplicationBlacklistRepository, never()).findByEntityIdsAndEntityType(
+            any(), any(), any());
+    }
+
+    @Test
+    public void shouldSkipBlacklistedPairsFromPreloadedBlacklist() {
+        // given
+        var journal1 = createJournal(1);
+        var journal2 = createJournal(2);
+        mockJournalChunk(List.of(journal1, journal2));
+        ReflectionTestUtils.setField(deduplicationService, "journalSearchService",
+            journalSearchService);
+
+        when(documentDeduplicationBlacklistRepository.findByEntityType(
+            EntityType.JOURNAL.name())).thenReturn(
+            Stream.of(new DeduplicationBlacklist(2, 1, EntityType.JOURNAL)));
+        when(journalSearchService.runMultiQuery(any(), anyInt(), eq(JournalIndex.class),
+            anyString())).thenReturn(List.of(List.of(journal2), List.of(journal1)));
+
+        // when
+        ReflectionTestUtils.invokeMethod(deduplicationService,
+            "performScheduledJournalDeduplication");
+
+        // then
+        verify(deduplicationSuggestionRepository).deleteByEntityType(EntityType.JOURNAL.name());
+        verify(deduplicationSuggestionRepository, never()).saveAll(any());
+    }
 }
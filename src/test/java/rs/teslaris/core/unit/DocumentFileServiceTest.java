@@ -11,15 +11,23 @@ import static org.mockito.Mockito.when;
 
 import io.minio.GetObjectResponse;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.tika.language.detect.LanguageConfidence;
+import org.apache.tika.language.detect.LanguageDetector;
+import org.apache.tika.language.detect.LanguageResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -28,7 +36,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import rs.teslaris.core.dto.document.DocumentFileDTO;
+import rs.teslaris.core.indexmodel.DocumentFileContentIndex;
 import rs.teslaris.core.indexmodel.DocumentFileIndex;
+import rs.teslaris.core.indexrepository.DocumentFileContentIndexRepository;
 import rs.teslaris.core.indexrepository.DocumentFileIndexRepository;
 import rs.teslaris.core.model.commontypes.ApproveStatus;
 import rs.teslaris.core.model.document.AccessRights;
@@ -40,6 +50,7 @@ import rs.teslaris.core.service.impl.document.DocumentFileServiceImpl;
 import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentService;
 import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.service.interfaces.document.PdfTextExtractionService;
 import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
 import rs.teslaris.core.util.exceptionhandling.exception.MissingDataException;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
@@ -61,6 +72,15 @@ public class DocumentFileServiceTest {
     @Mock
     private DocumentFileIndexRepository documentFileIndexRepository;
 
+    @Mock
+    private DocumentFileContentIndexRepository documentFileContentIndexRepository;
+
+    @Mock
+    private LanguageDetector languageDetector;
+
+    @Mock
+    private PdfTextExtractionService pdfTextExtractionService;
+
     @Mock
     private SearchService<DocumentFileIndex> searchService;
 
@@ -204,6 +224,10 @@ public class DocumentFileServiceTest {
         var serverFilename = "test.pdf";
         var documentIndex = new DocumentFileIndex();
 
+        when(pdfTextExtractionService.extractContent(any(), any())).thenReturn(
+            CompletableFuture.failedFuture(
+                new LoadingException("Error while trying to load PDF file content.")));
+
         // when
         assertThrows(LoadingException.class,
             () -> documentFileService.parseAndIndexPdfDocument(documentFile, multipartPdfFile,
@@ -270,6 +294,76 @@ public class DocumentFileServiceTest {
         verify(fileService, times(1)).loadAsResource(any());
     }
 
+    private DocumentFile createIndexablePdfFile() throws IOException {
+        var documentFile = new DocumentFile();
+        documentFile.setId(1);
+        documentFile.setFilename("thesis.pdf");
+        documentFile.setServerFilename("UUID.pdf");
+        documentFile.setMimeType("application/pdf");
+
+        var outputStream = new ByteArrayOutputStream();
+        try (var pdDocument = new PDDocument()) {
+            pdDocument.addPage(new PDPage());
+            pdDocument.save(outputStream);
+        }
+
+        when(documentFileRepository.findAllIndexable(any())).thenReturn(
+            new PageImpl<>(List.of(documentFile)));
+        when(fileService.loadAsResource("UUID.pdf")).thenReturn(
+            new GetObjectResponse(null, null, null, null,
+                new ByteArrayInputStream(outputStream.toByteArray())));
+        when(languageDetector.detect(any())).thenReturn(
+            new LanguageResult("sr", LanguageConfidence.HIGH, 1f));
+
+        return documentFile;
+    }
+
+    @Test
+    public void shouldReuseStoredContentWhenReindexingUnchangedFile() throws IOException {
+        // given
+        createIndexablePdfFile();
+        when(documentFileContentIndexRepository.findById(any())).thenReturn(Optional.of(
+            new DocumentFileContentIndex("hash", "stored text", "SR", 1)));
+
+        // when
+        documentFileService.reindexDocumentFiles();
+
+        // then
+        var captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(documentFileIndexRepository).saveAll(captor.capture());
+        var savedIndexes = (List<DocumentFileIndex>) captor.getValue();
+        assertEquals(1, savedIndexes.size());
+        assertEquals("stored text", savedIndexes.getFirst().getPdfTextSr());
+        assertEquals(1, savedIndexes.getFirst().getDatabaseId());
+        verify(documentFileContentIndexRepository, never()).saveAll(any());
+        verify(documentFileIndexRepository, never()).save(any());
+        verify(pdfTextExtractionService, never()).extractContent(any(), any());
+    }
+
+    @Test
+    public void shouldExtractAndStoreContentWhenReindexingChangedFile() throws IOException {
+        // given
+        createIndexablePdfFile();
+        when(documentFileContentIndexRepository.findById(any())).thenReturn(Optional.empty());
+        when(pdfTextExtractionService.extractContent(any(), any())).thenAnswer(
+            invocation -> CompletableFuture.completedFuture(
+                new DocumentFileContentIndex(invocation.getArgument(0), "extracted text", "SR",
+                    1)));
+
+        // when
+        documentFileService.reindexDocumentFiles();
+
+        // then
+        var captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(documentFileContentIndexRepository).saveAll(captor.capture());
+        var storedContents = (List<DocumentFileContentIndex>) captor.getValue();
+        assertEquals(1, storedContents.size());
+        assertEquals(64, storedContents.getFirst().getId().length());
+        verify(documentFileIndexRepository).saveAll(captor.capture());
+        var savedIndexes = (List<DocumentFileIndex>) captor.getValue();
+        assertEquals("extracted text", savedIndexes.getFirst().getPdfTextSr());
+    }
+
     @ParameterizedTest
     @EnumSource(AccessRights.class)
     public void shouldReturnDocumentFileAccessLevelForAllLicenseTypes(AccessRights accessRights) {
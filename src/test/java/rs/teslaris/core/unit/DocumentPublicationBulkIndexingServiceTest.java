@@ -0,0 +1,157 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import rs.teslaris.core.applicationevent.ReindexExternalIndicatorsBatchEvent;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
+import rs.teslaris.core.model.document.Patent;
+import rs.teslaris.core.service.impl.document.DocumentPublicationBulkIndexingServiceImpl;
+import rs.teslaris.core.util.search.BulkIndexingContext;
+
+@SpringBootTest
+public class DocumentPublicationBulkIndexingServiceTest {
+
+    private final EntityManager entityManager = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+
+    private final PlatformTransactionManager transactionManager =
+        mock(PlatformTransactionManager.class);
+
+    private final DocumentPublicationIndexRepository documentPublicationIndexRepository =
+        mock(DocumentPublicationIndexRepository.class);
+
+    private final ApplicationEventPublisher applicationEventPublisher =
+        mock(ApplicationEventPublisher.class);
+
+    private final ElasticsearchOperations elasticsearchOperations =
+        mock(ElasticsearchOperations.class, RETURNS_DEEP_STUBS);
+
+    @SuppressWarnings("unchecked")
+    private final TypedQuery<Integer> idQuery = mock(TypedQuery.class);
+
+    private final Query entityQuery = mock(Query.class);
+
+    private DocumentPublicationBulkIndexingServiceImpl bulkIndexingService;
+
+
+    @BeforeEach
+    public void setUp() {
+        // Worker batches run on the calling thread
+        bulkIndexingService =
+            new DocumentPublicationBulkIndexingServiceImpl(entityManager, transactionManager,
+                documentPublicationIndexRepository, applicationEventPublisher,
+                elasticsearchOperations, Runnable::run);
+        ReflectionTestUtils.setField(bulkIndexingService, "batchSize", 2);
+        bulkIndexingService.init();
+
+        when(entityManager.getMetamodel().entity(Patent.class).getName()).thenReturn("Patent");
+        when(entityManager.createQuery(anyString(), eq(Integer.class))).thenReturn(idQuery);
+        when(idQuery.setParameter(anyString(), any())).thenReturn(idQuery);
+        when(idQuery.setMaxResults(anyInt())).thenReturn(idQuery);
+        when(entityManager.createQuery(anyString())).thenReturn(entityQuery);
+        when(entityQuery.setParameter(anyString(), any())).thenReturn(entityQuery);
+    }
+
+    private Patent createPatent(Integer id) {
+        var patent = new Patent();
+        patent.setId(id);
+        return patent;
+    }
+
+    private DocumentPublicationIndex buildIndex(Patent patent) {
+        assertTrue(BulkIndexingContext.areWritesDeferred());
+
+        var index = new DocumentPublicationIndex();
+        index.setDatabaseId(patent.getId());
+        return index;
+    }
+
+    @Test
+    public void shouldPageByKeysetAndWriteEachBatchInBulk() {
+        // Given
+        when(idQuery.getResultList()).thenReturn(List.of(1, 2), List.of(3));
+        when(entityQuery.getResultList()).thenReturn(List.of(createPatent(1), createPatent(2)),
+            List.of(createPatent(3)));
+
+        // When
+        bulkIndexingService.reindexByKeyset(Patent.class, this::buildIndex);
+
+        // Then
+        verify(idQuery).setParameter("lastId", 0);
+        verify(idQuery).setParameter("lastId", 2);
+        // A short page is the last one
+        verify(idQuery, never()).setParameter("lastId", 3);
+        verify(documentPublicationIndexRepository, times(2)).saveAll(any());
+        verify(documentPublicationIndexRepository).saveAll(
+            argThat(indexes -> StreamSupport.stream(indexes.spliterator(), false).count() == 2));
+        verify(applicationEventPublisher, times(2)).publishEvent(
+            any(ReindexExternalIndicatorsBatchEvent.class));
+        verify(elasticsearchOperations.indexOps(DocumentPublicationIndex.class)).refresh();
+        assertFalse(BulkIndexingContext.areWritesDeferred());
+    }
+
+    @Test
+    public void shouldSkipFailingEntityWithoutDroppingItsBatch() {
+        // Given
+        when(idQuery.getResultList()).thenReturn(List.of(1, 2), Collections.emptyList());
+        when(entityQuery.getResultList()).thenReturn(List.of(createPatent(1), createPatent(2)));
+
+        // When
+        bulkIndexingService.reindexByKeyset(Patent.class, patent -> {
+            if (patent.getId() == 1) {
+                throw new IllegalStateException("Broken record");
+            }
+            return buildIndex(patent);
+        });
+
+        // Then
+        verify(documentPublicationIndexRepository).saveAll(argThat(indexes -> {
+            var written = StreamSupport.stream(indexes.spliterator(), false).toList();
+            return written.size() == 1 && written.getFirst().getDatabaseId() == 2;
+        }));
+    }
+
+    @Test
+    public void shouldFailWhenBatchCannotBeWritten() {
+        // Given
+        when(idQuery.getResultList()).thenReturn(List.of(1, 2), Collections.emptyList());
+        when(entityQuery.getResultList()).thenReturn(List.of(createPatent(1), createPatent(2)));
+        when(documentPublicationIndexRepository.saveAll(any()))
+            .thenThrow(new IllegalStateException("Bulk request rejected"));
+
+        // When
+        assertThrows(IllegalStateException.class,
+            () -> bulkIndexingService.reindexByKeyset(Patent.class, this::buildIndex));
+
+        // Then
+        verify(documentPublicationIndexRepository).saveAll(any());
+        verify(elasticsearchOperations.indexOps(DocumentPublicationIndex.class), never())
+            .refresh();
+    }
+}
@@ -10,6 +10,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.minio.GetObjectArgs;
 import io.minio.GetObjectResponse;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
@@ -102,6 +103,24 @@ public class FileServiceMinioTest {
         verify(minioClient, times(1)).getObject(any());
     }
 
+    @Test
+    public void shouldRequestOnlyTheGivenByteRange() throws Exception {
+        // given
+        var filename = "file1.txt";
+
+        when(minioClient.getObject(any())).thenReturn(
+            new GetObjectResponse(null, null, null, null, null));
+
+        // when
+        fileService.loadAsResource(filename, 100, 50);
+
+        // then
+        var captor = ArgumentCaptor.forClass(GetObjectArgs.class);
+        verify(minioClient).getObject(captor.capture());
+        assertEquals(100L, captor.getValue().offset());
+        assertEquals(50L, captor.getValue().length());
+    }
+
     @Test
     public void shouldThrowExceptionWhenLoadingNonExistingResource() {
         // given
@@ -103,6 +103,40 @@ public class FileServiceTest {
         assertNotNull(resource);
     }
 
+    @Test
+    public void shouldLoadRequestedByteRange() throws IOException {
+        // given
+        var serverFilename =
+            fileService.store(createMockMultipartFile("range.txt", "0123456789"), "range-test");
+
+        // when
+        try (var resource = fileService.loadAsResource(serverFilename, 2, 4)) {
+            // then
+            assertEquals("2345", new String(resource.readAllBytes()));
+        } finally {
+            fileService.delete(serverFilename);
+        }
+    }
+
+    @Test
+    public void shouldReadStoredFileMetadata() {
+        // given
+        var serverFilename =
+            fileService.store(createMockMultipartFile("stat.txt", "0123456789"), "stat-test");
+
+        try {
+            // when
+            var metadata = fileService.statObject(serverFilename);
+
+            // then
+            assertEquals(10, metadata.size());
+            assertNotNull(metadata.lastModified());
+            assertEquals(64, metadata.etag().length());
+        } finally {
+            fileService.delete(serverFilename);
+        }
+    }
+
     @Test
     public void shouldThrowExceptionWhenLoadingNonExistingResource() {
         // given
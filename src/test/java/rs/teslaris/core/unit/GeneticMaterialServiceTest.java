@@ -12,7 +12,6 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -25,8 +24,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -49,6 +46,7 @@ import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentServic
 import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.PublisherService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitOutputConfigurationService;
@@ -116,6 +114,9 @@ public class GeneticMaterialServiceTest {
     @Mock
     private EventService eventService;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private GeneticMaterialServiceImpl geneticMaterialService;
 
@@ -379,23 +380,11 @@ public class GeneticMaterialServiceTest {
 
     @Test
     public void shouldReindexGeneticMaterials() {
-        // Given
-        var geneticMaterial = new GeneticMaterial();
-        geneticMaterial.setId(1);
-        geneticMaterial.setDocumentDate("2024");
-        var geneticMaterials = List.of(geneticMaterial);
-        var page =
-            new PageImpl<>(geneticMaterials, PageRequest.of(0, 100), geneticMaterials.size());
-
-        when(geneticMaterialJPAService.findAll(any(PageRequest.class))).thenReturn(page);
-
         // When
         geneticMaterialService.reindexGeneticMaterials();
 
         // Then
-        verify(geneticMaterialJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(GeneticMaterial.class), any());
     }
 
     @ParameterizedTest
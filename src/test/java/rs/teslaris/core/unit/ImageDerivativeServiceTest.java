@@ -0,0 +1,128 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.minio.GetObjectResponse;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import rs.teslaris.core.model.commontypes.ProfilePhotoOrLogo;
+import rs.teslaris.core.service.impl.document.ImageDerivativeServiceImpl;
+import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
+
+@SpringBootTest
+public class ImageDerivativeServiceTest {
+
+    private static final String CONTENT_DISPOSITION = "attachment; filename=\"photo.png\"";
+
+    @Mock
+    private FileService fileService;
+
+    @InjectMocks
+    private ImageDerivativeServiceImpl imageDerivativeService;
+
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        ReflectionTestUtils.setField(imageDerivativeService, "memoryCacheSizeMegabytes", 1L);
+        imageDerivativeService.init();
+
+        var outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(40, 40, BufferedImage.TYPE_INT_RGB), "png",
+            outputStream);
+        var imageBytes = outputStream.toByteArray();
+
+        when(fileService.loadAsResource(startsWith("derived-"))).thenThrow(
+            new NotFoundException("Document does not exist."));
+        when(fileService.loadAsResource("image.png")).thenAnswer(
+            invocation -> new GetObjectResponse(
+                Headers.of(Map.of("Content-Disposition", CONTENT_DISPOSITION)), null, null,
+                null, new ByteArrayInputStream(imageBytes)));
+    }
+
+    private ProfilePhotoOrLogo createImage(int width) {
+        return new ProfilePhotoOrLogo("image.png", 0, 0, 20, width, "#ffffff");
+    }
+
+    @Test
+    public void shouldRenderOnceAndServeFromMemoryAfterwards() throws IOException {
+        // given
+        var image = createImage(20);
+
+        // when
+        var first = imageDerivativeService.getProfilePhotoDerivative(image);
+        var second = imageDerivativeService.getProfilePhotoDerivative(image);
+
+        // then
+        assertArrayEquals(first.content(), second.content());
+        assertEquals(CONTENT_DISPOSITION, first.contentDisposition());
+        verify(fileService, times(1)).loadAsResource("image.png");
+        verify(fileService, times(1)).store(any(Resource.class), startsWith("derived-"),
+            eq("photo.png"));
+    }
+
+    @Test
+    public void shouldServeStoredDerivativeWithoutRendering() throws IOException {
+        // given
+        when(fileService.loadAsResource(startsWith("derived-"))).thenAnswer(
+            invocation -> new GetObjectResponse(
+                Headers.of(Map.of("Content-Disposition", CONTENT_DISPOSITION)), null, null,
+                null, new ByteArrayInputStream(new byte[] {1, 2, 3})));
+
+        // when
+        var derivative = imageDerivativeService.getLogoDerivative(createImage(20));
+
+        // then
+        assertArrayEquals(new byte[] {1, 2, 3}, derivative.content());
+        verify(fileService, never()).loadAsResource("image.png");
+        verify(fileService, never()).store(any(Resource.class), anyString(), anyString());
+    }
+
+    @Test
+    public void shouldUseSeparateDerivativeForChangedCropBox() throws IOException {
+        // when
+        var original = imageDerivativeService.getProfilePhotoDerivative(createImage(20));
+        var recropped = imageDerivativeService.getProfilePhotoDerivative(createImage(30));
+
+        // then
+        assertNotEquals(original.etag(), recropped.etag());
+        verify(fileService, times(2)).loadAsResource("image.png");
+    }
+
+    @Test
+    public void shouldDeleteStoredDerivativeAndRenderAgainAfterEviction() throws IOException {
+        // given
+        var image = createImage(20);
+        imageDerivativeService.getLogoDerivative(image);
+
+        // when
+        imageDerivativeService.evictLogoDerivative(image);
+        imageDerivativeService.getLogoDerivative(image);
+
+        // then
+        verify(fileService, times(1)).delete(startsWith("derived-"));
+        verify(fileService, times(2)).loadAsResource("image.png");
+    }
+}
@@ -4,7 +4,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -12,7 +11,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,14 +21,11 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 import rs.teslaris.core.dto.document.IntangibleProductDTO;
-import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
 import rs.teslaris.core.model.commontypes.ApproveStatus;
 import rs.teslaris.core.model.commontypes.Country;
@@ -52,6 +47,7 @@ import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentServic
 import rs.teslaris.core.service.interfaces.commontypes.ResearchAreaService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
@@ -92,6 +88,9 @@ public class IntangibleProductServiceTest {
     @Mock
     private ResearchAreaService researchAreaService;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private IntangibleProductServiceImpl intangibleProductService;
 
@@ -210,22 +209,11 @@ public class IntangibleProductServiceTest {
 
     @Test
     public void shouldReindexIntangibleProducts() {
-        // Given
-        var intangibleProduct = new IntangibleProduct();
-        intangibleProduct.setDocumentDate("2024");
-        var intangibleProducts = List.of(intangibleProduct);
-        var page1 = new PageImpl<>(intangibleProducts.subList(0, 1), PageRequest.of(0, 10),
-            intangibleProducts.size());
-
-        when(intangibleProductJPAService.findAll(any(PageRequest.class))).thenReturn(page1);
-
         // When
         intangibleProductService.reindexIntangibleProduct();
 
         // Then
         verify(documentPublicationIndexRepository, never()).deleteAll();
-        verify(intangibleProductJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(IntangibleProduct.class), any());
     }
 }
@@ -6,7 +6,6 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -15,7 +14,6 @@ import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -65,6 +63,7 @@ import rs.teslaris.core.service.impl.document.cruddelegate.JournalPublicationJPA
 import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.JournalService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
@@ -116,6 +115,9 @@ public class JournalPublicationServiceTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private JournalPublicationServiceImpl journalPublicationService;
 
@@ -322,24 +324,12 @@ public class JournalPublicationServiceTest {
 
     @Test
     public void shouldReindexJournalPublications() {
-        // Given
-        var journalPublication = new JournalPublication();
-        journalPublication.setDocumentDate("2024");
-        journalPublication.setJournal(new Journal());
-        var journalPublications = List.of(journalPublication);
-        var page1 = new PageImpl<>(journalPublications.subList(0, 1), PageRequest.of(0, 10),
-            journalPublications.size());
-
-        when(journalPublicationJPAService.findAll(any(PageRequest.class))).thenReturn(page1);
-
         // When
         journalPublicationService.reindexJournalPublications();
 
         // Then
         verify(documentPublicationIndexRepository, never()).deleteAll();
-        verify(journalPublicationJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(JournalPublication.class), any());
     }
 
     @Test
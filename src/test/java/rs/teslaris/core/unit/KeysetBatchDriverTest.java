@@ -0,0 +1,66 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import rs.teslaris.core.util.persistence.KeysetBatchDriver;
+
+@SpringBootTest
+public class KeysetBatchDriverTest {
+
+    @Test
+    public void shouldPageIdsUntilShortPage() {
+        // given
+        var requestedAfterIds = new ArrayList<Integer>();
+        var processedBatches = new ArrayList<List<Integer>>();
+
+        // when
+        var result = KeysetBatchDriver.run("test", (Executor) Runnable::run, 2,
+            lastId -> {
+                requestedAfterIds.add(lastId);
+                return switch (lastId) {
+                    case 0 -> List.of(1, 2);
+                    case 2 -> List.of(5);
+                    default -> Collections.emptyList();
+                };
+            },
+            (ids, recordFailure) -> {
+                processedBatches.add(ids);
+                return ids.size();
+            });
+
+        // then
+        assertEquals(List.of(0, 2), requestedAfterIds);
+        assertEquals(List.of(List.of(1, 2), List.of(5)), processedBatches);
+        assertEquals(3, result.processedCount());
+        assertEquals(0, result.failedCount());
+    }
+
+    @Test
+    public void shouldCountFailedRecordsAndBatches() {
+        // given
+        var pages = List.of(List.of(1, 2), List.of(3, 4), Collections.<Integer>emptyList());
+
+        // when
+        var result = KeysetBatchDriver.run("test", (Executor) Runnable::run, 2,
+            lastId -> pages.get(lastId / 2),
+            (ids, recordFailure) -> {
+                if (ids.contains(3)) {
+                    throw new IllegalStateException("Broken batch");
+                }
+
+                recordFailure.run();
+                return ids.size() - 1;
+            });
+
+        // then
+        assertEquals(1, result.processedCount());
+        assertEquals(3, result.failedCount());
+        assertEquals(1, result.failedBatchCount());
+    }
+}
@@ -12,7 +12,6 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -24,8 +23,6 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -47,6 +44,7 @@ import rs.teslaris.core.service.interfaces.commontypes.ResearchAreaService;
 import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.PublisherService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
@@ -91,6 +89,9 @@ public class MaterialProductServiceTest {
     @Mock
     private ResearchAreaService researchAreaService;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private MaterialProductServiceImpl materialProductService;
 
@@ -357,23 +358,11 @@ public class MaterialProductServiceTest {
 
     @Test
     public void shouldReindexMaterialProducts() {
-        // Given
-        var materialProduct = new MaterialProduct();
-        materialProduct.setId(1);
-        materialProduct.setDocumentDate("2024");
-        var materialProducts = List.of(materialProduct);
-        var page =
-            new PageImpl<>(materialProducts, PageRequest.of(0, 100), materialProducts.size());
-
-        when(materialProductJPAService.findAll(any(PageRequest.class))).thenReturn(page);
-
         // When
         materialProductService.reindexMaterialProducts();
 
         // Then
-        verify(materialProductJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(MaterialProduct.class), any());
     }
 
     @ParameterizedTest
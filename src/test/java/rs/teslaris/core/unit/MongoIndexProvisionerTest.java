@@ -0,0 +1,87 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import rs.teslaris.core.util.debugging.SlowMongoQueryLogger;
+import rs.teslaris.core.util.persistence.MongoIndexProvisioner;
+
+@SpringBootTest
+public class MongoIndexProvisionerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private MongoIndexProvisioner mongoIndexProvisioner;
+
+
+    @Test
+    public void shouldEnsureDeclaredIndexes() {
+        // given
+        var indexOperations = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(any(Index.class))).thenReturn("index");
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(
+            new IndexInfo(List.of(), "index", false, false, "")));
+        var index = new Index().on("identifier", Sort.Direction.ASC);
+
+        // when
+        mongoIndexProvisioner.provisionIndexes("test", Map.of(Object.class, List.of(index)));
+
+        // then
+        verify(mongoTemplate).indexOps(Object.class);
+        verify(indexOperations).ensureIndex(index);
+    }
+
+    @Test
+    public void shouldContinueProvisioningWhenIndexCannotBeEnsured() {
+        // given
+        var indexOperations = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(any(Index.class)))
+            .thenThrow(new IllegalStateException("Index options conflict"));
+        var failingIndex = new Index().on("identifier", Sort.Direction.ASC);
+        var nextIndex = new Index().on("doi", Sort.Direction.ASC);
+
+        // when
+        mongoIndexProvisioner.provisionIndexes("test",
+            Map.of(Object.class, List.of(failingIndex, nextIndex)));
+
+        // then
+        verify(indexOperations).ensureIndex(failingIndex);
+        verify(indexOperations).ensureIndex(nextIndex);
+    }
+
+    @Test
+    public void shouldReduceQueryToItsShape() {
+        // given
+        var command = BsonDocument.parse(
+            "{find: 'documentExports', filter: {$and: [{last_updated: {$gt: {$date: 0}}}, " +
+                "{related_institution_ids: {$in: [1, 2, 3]}}]}, " +
+                "sort: {last_updated: 1, _id: 1}, limit: 11}");
+
+        // when
+        var shape = SlowMongoQueryLogger.getQueryShape("find", command);
+
+        // then
+        assertEquals("find documentExports {\"filter\": {\"$and\": [{\"last_updated\": " +
+            "{\"$gt\": \"?\"}}, {\"related_institution_ids\": {\"$in\": \"?\"}}]}, " +
+            "\"sort\": {\"last_updated\": 1, \"_id\": 1}}", shape);
+    }
+}
@@ -5,13 +5,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +44,7 @@ import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentServic
 import rs.teslaris.core.service.interfaces.commontypes.ResearchAreaService;
 import rs.teslaris.core.service.interfaces.document.BookSeriesService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.JournalService;
 import rs.teslaris.core.service.interfaces.document.MonographService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
@@ -96,6 +96,9 @@ public class MonographPublicationServiceTest {
     @Mock
     private CitationService citationService;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private MonographPublicationServiceImpl monographPublicationService;
 
@@ -362,38 +365,11 @@ public class MonographPublicationServiceTest {
 
     @Test
     public void shouldReindexMonographPublications() {
-        // Given
-        var monographPublication1 = new MonographPublication();
-        monographPublication1.setMonograph(new Monograph() {{
-            setId(1);
-        }});
-        var monographPublication2 = new MonographPublication();
-        monographPublication2.setMonograph(new Monograph() {{
-            setId(2);
-        }});
-        var monographPublication3 = new MonographPublication();
-        monographPublication3.setMonograph(new Monograph() {{
-            setId(3);
-        }});
-        var monographPublications =
-            Arrays.asList(monographPublication1, monographPublication2, monographPublication3);
-        var page1 =
-            new PageImpl<>(monographPublications.subList(0, 2), PageRequest.of(0, 10),
-                monographPublications.size());
-        var page2 =
-            new PageImpl<>(monographPublications.subList(2, 3), PageRequest.of(1, 10),
-                monographPublications.size());
-
-        when(monographPublicationJPAService.findAll(any(PageRequest.class))).thenReturn(page1,
-            page2);
-
         // When
         monographPublicationService.reindexMonographPublications();
 
         // Then
-        verify(monographPublicationJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(MonographPublication.class), any());
     }
 
 
@@ -8,7 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -32,7 +32,6 @@ import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -58,6 +57,7 @@ import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.BookSeriesService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.JournalService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
 import rs.teslaris.core.service.interfaces.person.PersonContributionService;
@@ -120,6 +120,9 @@ public class MonographServiceTest {
     @Mock
     private DocumentLookupService documentLookupService;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private MonographServiceImpl monographService;
 
@@ -342,25 +345,11 @@ public class MonographServiceTest {
 
     @Test
     public void shouldReindexMonographs() {
-        // Given
-        var monograph1 = new Monograph();
-        var monograph2 = new Monograph();
-        var monograph3 = new Monograph();
-        var monographs = Arrays.asList(monograph1, monograph2, monograph3);
-        var page1 =
-            new PageImpl<>(monographs.subList(0, 2), PageRequest.of(0, 10), monographs.size());
-        var page2 =
-            new PageImpl<>(monographs.subList(2, 3), PageRequest.of(1, 10), monographs.size());
-
-        when(monographJPAService.findAll(any(PageRequest.class))).thenReturn(page1, page2);
-
         // When
         monographService.reindexMonographs();
 
         // Then
-        verify(monographJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(Monograph.class), any());
     }
 
     @ParameterizedTest
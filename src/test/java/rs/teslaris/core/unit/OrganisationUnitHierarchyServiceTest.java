@@ -0,0 +1,160 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import rs.teslaris.core.applicationevent.OrganisationUnitHierarchyChangedEvent;
+import rs.teslaris.core.repository.institution.OrganisationUnitsRelationRepository;
+import rs.teslaris.core.service.impl.institution.OrganisationUnitHierarchyServiceImpl;
+
+@SpringBootTest
+public class OrganisationUnitHierarchyServiceTest {
+
+    @Mock
+    private OrganisationUnitsRelationRepository organisationUnitsRelationRepository;
+
+    @InjectMocks
+    private OrganisationUnitHierarchyServiceImpl organisationUnitHierarchyService;
+
+
+    @BeforeEach
+    public void setUp() {
+        // 1 <- 2 <- {3, 4}, 1 <- 5
+        var relationPairs = new ArrayList<Object[]>();
+        relationPairs.add(new Object[] {2, 1});
+        relationPairs.add(new Object[] {3, 2});
+        relationPairs.add(new Object[] {4, 2});
+        relationPairs.add(new Object[] {5, 1});
+        when(organisationUnitsRelationRepository.getAllSuperOURelationPairs()).thenReturn(
+            relationPairs);
+    }
+
+    private int[] sorted(int[] values) {
+        var copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private void publishChange(Integer organisationUnitId) {
+        ReflectionTestUtils.invokeMethod(organisationUnitHierarchyService,
+            "handleHierarchyChange", new OrganisationUnitHierarchyChangedEvent(organisationUnitId));
+    }
+
+    @Test
+    public void shouldResolveAncestorsAndDescendantsFromSingleLoad() {
+        // When
+        var ancestors = organisationUnitHierarchyService.ancestorsOf(3);
+        var descendants = organisationUnitHierarchyService.descendantsOf(1);
+        var leafDescendants = organisationUnitHierarchyService.descendantsOf(4);
+
+        // Then
+        assertArrayEquals(new int[] {1, 2}, sorted(ancestors));
+        assertArrayEquals(new int[] {2, 3, 4, 5}, sorted(descendants));
+        assertEquals(0, leafDescendants.length);
+        verify(organisationUnitsRelationRepository, times(1)).getAllSuperOURelationPairs();
+    }
+
+    @Test
+    public void shouldReturnEmptyHierarchyForUnknownOrganisationUnit() {
+        // When
+        var ancestors = organisationUnitHierarchyService.ancestorsOf(1000);
+        var descendants = organisationUnitHierarchyService.descendantsOf(1000);
+
+        // Then
+        assertEquals(0, ancestors.length);
+        assertEquals(0, descendants.length);
+    }
+
+    @Test
+    public void shouldApplyMovedSubTreeIncrementally() {
+        // Given
+        organisationUnitHierarchyService.ancestorsOf(1);
+        when(organisationUnitsRelationRepository.getSuperOUIds(2)).thenReturn(List.of(5));
+
+        // When
+        publishChange(2);
+
+        // Then
+        assertArrayEquals(new int[] {1, 2, 5},
+            sorted(organisationUnitHierarchyService.ancestorsOf(3)));
+        assertArrayEquals(new int[] {2, 3, 4},
+            sorted(organisationUnitHierarchyService.descendantsOf(5)));
+        assertArrayEquals(new int[] {2, 3, 4, 5},
+            sorted(organisationUnitHierarchyService.descendantsOf(1)));
+        verify(organisationUnitsRelationRepository, times(1)).getAllSuperOURelationPairs();
+    }
+
+    @Test
+    public void shouldApplyRemovedRelationIncrementally() {
+        // Given
+        organisationUnitHierarchyService.ancestorsOf(1);
+        when(organisationUnitsRelationRepository.getSuperOUIds(2)).thenReturn(
+            Collections.emptyList());
+
+        // When
+        publishChange(2);
+
+        // Then
+        assertArrayEquals(new int[] {2}, organisationUnitHierarchyService.ancestorsOf(3));
+        assertArrayEquals(new int[] {5}, organisationUnitHierarchyService.descendantsOf(1));
+        assertArrayEquals(new int[] {3, 4},
+            sorted(organisationUnitHierarchyService.descendantsOf(2)));
+    }
+
+    @Test
+    public void shouldAttachNewOrganisationUnitIncrementally() {
+        // Given
+        organisationUnitHierarchyService.ancestorsOf(1);
+        when(organisationUnitsRelationRepository.getSuperOUIds(10)).thenReturn(List.of(3));
+
+        // When
+        publishChange(10);
+
+        // Then
+        assertArrayEquals(new int[] {1, 2, 3},
+            sorted(organisationUnitHierarchyService.ancestorsOf(10)));
+        assertArrayEquals(new int[] {2, 3, 4, 5, 10},
+            sorted(organisationUnitHierarchyService.descendantsOf(1)));
+    }
+
+    @Test
+    public void shouldIgnoreChangesBeforeFirstLoad() {
+        // When
+        publishChange(2);
+
+        // Then
+        verify(organisationUnitsRelationRepository, never()).getSuperOUIds(anyInt());
+        verify(organisationUnitsRelationRepository, never()).getAllSuperOURelationPairs();
+    }
+
+    @Test
+    public void shouldNotLoopOnCyclicRelations() {
+        // Given
+        var relationPairs = new ArrayList<Object[]>();
+        relationPairs.add(new Object[] {1, 2});
+        relationPairs.add(new Object[] {2, 1});
+        when(organisationUnitsRelationRepository.getAllSuperOURelationPairs()).thenReturn(
+            relationPairs);
+
+        // When
+        var ancestors = organisationUnitHierarchyService.ancestorsOf(1);
+
+        // Then
+        assertArrayEquals(new int[] {2}, ancestors);
+    }
+}
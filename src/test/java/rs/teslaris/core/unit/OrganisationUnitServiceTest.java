@@ -84,6 +84,8 @@ import rs.teslaris.core.service.interfaces.commontypes.ResearchAreaService;
 import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.service.interfaces.document.ImageDerivativeService;
+import rs.teslaris.core.service.interfaces.institution.OrganisationUnitHierarchyService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
 import rs.teslaris.core.util.exceptionhandling.exception.OrganisationUnitReferenceConstraintViolationException;
 import rs.teslaris.core.util.exceptionhandling.exception.SelfRelationException;
@@ -131,9 +133,15 @@ public class OrganisationUnitServiceTest {
     @Mock
     private FileService fileService;
 
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Mock
+    private OrganisationUnitHierarchyService organisationUnitHierarchyService;
+
     @InjectMocks
     private OrganisationUnitServiceImpl organisationUnitService;
 
@@ -152,6 +160,8 @@ public class OrganisationUnitServiceTest {
         ReflectionTestUtils.setField(organisationUnitService, "relationApprovedByDefault", true);
         ReflectionTestUtils.setField(organisationUnitService, "organisationUnitApprovedByDefault",
             true);
+        when(organisationUnitHierarchyService.ancestorsOf(any())).thenReturn(new int[0]);
+        when(organisationUnitHierarchyService.descendantsOf(any())).thenReturn(new int[0]);
     }
 
     @Test
@@ -317,6 +327,7 @@ public class OrganisationUnitServiceTest {
 
         var relationToApprove = new OrganisationUnitsRelation();
         relationToApprove.setApproveStatus(ApproveStatus.REQUESTED);
+        relationToApprove.setSourceOrganisationUnit(new OrganisationUnit());
 
         when(organisationUnitsRelationJPAService.findOne(relationId)).thenReturn(relationToApprove);
 
@@ -752,8 +763,7 @@ public class OrganisationUnitServiceTest {
         var unit1 = new OrganisationUnit();
         unit1.setId(1);
 
-        when(organisationUnitsRelationRepository.getSubOUsRecursive(1)).thenReturn(
-            new ArrayList<>(List.of(2, 3)));
+        when(organisationUnitHierarchyService.descendantsOf(1)).thenReturn(new int[] {2, 3});
 
         // when
         var result = organisationUnitService.getOrganisationUnitIdsFromSubHierarchy(unit1.getId());
@@ -762,6 +772,18 @@ public class OrganisationUnitServiceTest {
         assertEquals(List.of(2, 3, 1), result);
     }
 
+    @Test
+    public void shouldGetSuperOUsHierarchyRecursive() {
+        // given
+        when(organisationUnitHierarchyService.ancestorsOf(3)).thenReturn(new int[] {2, 1});
+
+        // when
+        var result = organisationUnitService.getSuperOUsHierarchyRecursive(3);
+
+        // then
+        assertEquals(List.of(2, 1), result);
+    }
+
     @Test
     public void shouldFindOUByImportId() {
         // Given
@@ -999,6 +1021,7 @@ public class OrganisationUnitServiceTest {
                 new ProfilePhotoOrLogoDTO(1, 2, 3, 4, "#ffffff", mockFile));
 
             // then
+            verify(imageDerivativeService).evictLogoDerivative(existingLogo);
             verify(fileService).delete("oldFile.jpg");
             verify(fileService).store(eq(mockFile), anyString());
             verify(organisationUnitRepository).save(organisationUnit);
@@ -0,0 +1,219 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.tika.language.detect.LanguageConfidence;
+import org.apache.tika.language.detect.LanguageDetector;
+import org.apache.tika.language.detect.LanguageResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import rs.teslaris.core.service.impl.document.PdfTextExtractionServiceImpl;
+import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
+
+@SpringBootTest
+public class PdfTextExtractionServiceTest {
+
+    @Mock
+    private LanguageDetector languageDetector;
+
+    @InjectMocks
+    private PdfTextExtractionServiceImpl pdfTextExtractionService;
+
+    private Path pdfFile;
+
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        ReflectionTestUtils.setField(pdfTextExtractionService, "queueCapacity", 4);
+        ReflectionTestUtils.setField(pdfTextExtractionService, "maxPages", 100);
+        ReflectionTestUtils.setField(pdfTextExtractionService, "maxCharacters", 10000);
+        ReflectionTestUtils.setField(pdfTextExtractionService, "timeoutSeconds", 60L);
+        ReflectionTestUtils.setField(pdfTextExtractionService, "maxMainMemoryMegabytes", 1L);
+        pdfTextExtractionService.init();
+
+        when(languageDetector.detect(any())).thenReturn(
+            new LanguageResult("en", LanguageConfidence.HIGH, 1f));
+
+        pdfFile = Files.createTempFile("extraction-test-", ".pdf");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        pdfTextExtractionService.shutdown();
+        Files.deleteIfExists(pdfFile);
+    }
+
+    private long truncatedCount() {
+        return ((AtomicLong) ReflectionTestUtils.getField(pdfTextExtractionService,
+            "truncatedCount")).get();
+    }
+
+    private void writePdf(String... pageTexts) throws IOException {
+        try (var pdDocument = new PDDocument()) {
+            for (var pageText : pageTexts) {
+                var page = new PDPage();
+                pdDocument.addPage(page);
+                try (var contentStream = new PDPageContentStream(pdDocument, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(
+                        new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    contentStream.newLineAtOffset(50, 700);
+                    contentStream.showText(pageText);
+                    contentStream.endText();
+                }
+            }
+            pdDocument.save(pdfFile.toFile());
+        }
+    }
+
+    @Test
+    public void shouldExtractTextLanguageAndPageCount() throws IOException {
+        // given
+        writePdf("First page", "Second page");
+
+        // when
+        var content = pdfTextExtractionService.extractContent("hash", pdfFile).join();
+
+        // then
+        assertEquals("hash", content.getId());
+        assertTrue(content.getPdfText().contains("First page"));
+        assertTrue(content.getPdfText().contains("Second page"));
+        assertEquals("EN", content.getContentLanguage());
+        assertEquals(2, content.getPageCount());
+    }
+
+    @Test
+    public void shouldStopAtPageLimit() throws IOException {
+        // given
+        ReflectionTestUtils.setField(pdfTextExtractionService, "maxPages", 2);
+        writePdf("First page", "Second page", "Third page");
+
+        // when
+        var content = pdfTextExtractionService.extractContent("hash", pdfFile).join();
+
+        // then
+        assertTrue(content.getPdfText().contains("Second page"));
+        assertFalse(content.getPdfText().contains("Third page"));
+        assertEquals(3, content.getPageCount());
+        assertEquals(1L, truncatedCount());
+    }
+
+    @Test
+    public void shouldNotCountDocumentWithinPageLimitAsTruncated() throws IOException {
+        // given
+        ReflectionTestUtils.setField(pdfTextExtractionService, "maxPages", 2);
+        writePdf("First page", "Second page");
+
+        // when
+        pdfTextExtractionService.extractContent("hash", pdfFile).join();
+
+        // then
+        assertEquals(0L, truncatedCount());
+    }
+
+    @Test
+    public void shouldStopAndCountTruncationWhenTimeLimitIsReached() throws IOException {
+        // given
+        ReflectionTestUtils.setField(pdfTextExtractionService, "timeoutSeconds", -1L);
+        writePdf("First page", "Second page");
+
+        // when
+        var content = pdfTextExtractionService.extractContent("hash", pdfFile).join();
+
+        // then
+        assertFalse(content.getPdfText().contains("First page"));
+        assertEquals(2, content.getPageCount());
+        assertEquals(1L, truncatedCount());
+    }
+
+    @Test
+    public void shouldKeepPartialTextWhenCharacterLimitIsReached() throws IOException {
+        // given
+        ReflectionTestUtils.setField(pdfTextExtractionService, "maxCharacters", 5);
+        writePdf("First page", "Second page");
+
+        // when
+        var content = pdfTextExtractionService.extractContent("hash", pdfFile).join();
+
+        // then
+        assertEquals("First", content.getPdfText().strip());
+        assertEquals(2, content.getPageCount());
+        assertEquals(1L, truncatedCount());
+    }
+
+    @Test
+    public void shouldFailWithLoadingExceptionForCorruptedFile() throws IOException {
+        // given
+        Files.writeString(pdfFile, "not a pdf");
+
+        // when
+        var exception = assertThrows(CompletionException.class,
+            () -> pdfTextExtractionService.extractContent("hash", pdfFile).join());
+
+        // then
+        assertInstanceOf(LoadingException.class, exception.getCause());
+    }
+
+    @Test
+    public void shouldFailQueuedExtractionsOnShutdown() throws IOException {
+        // given
+        writePdf("First page");
+        // Workers block until shutdown interrupts them, the last extraction waits in the queue
+        when(languageDetector.detect(any())).thenAnswer(invocation -> {
+            new CountDownLatch(1).await();
+            return null;
+        });
+
+        var futures = new ArrayList<CompletableFuture<?>>();
+        for (int i = 0; i <= Runtime.getRuntime().availableProcessors(); i++) {
+            futures.add(pdfTextExtractionService.extractContent("hash" + i, pdfFile));
+        }
+
+        // when
+        pdfTextExtractionService.shutdown();
+
+        // then
+        var exception = assertThrows(CompletionException.class,
+            () -> futures.getLast().join());
+        assertInstanceOf(LoadingException.class, exception.getCause());
+        futures.forEach(future -> assertThrows(CompletionException.class, future::join));
+    }
+
+    @Test
+    public void shouldFailExtractionSubmittedAfterShutdown() throws IOException {
+        // given
+        writePdf("First page");
+        pdfTextExtractionService.shutdown();
+
+        // when
+        var exception = assertThrows(CompletionException.class,
+            () -> pdfTextExtractionService.extractContent("hash", pdfFile).join());
+
+        // then
+        assertInstanceOf(LoadingException.class, exception.getCause());
+    }
+}
@@ -88,6 +88,7 @@ import rs.teslaris.core.service.interfaces.commontypes.LanguageTagService;
 import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentService;
 import rs.teslaris.core.service.interfaces.commontypes.SearchService;
 import rs.teslaris.core.service.interfaces.document.FileService;
+import rs.teslaris.core.service.interfaces.document.ImageDerivativeService;
 import rs.teslaris.core.service.interfaces.person.PersonNameService;
 import rs.teslaris.core.util.exceptionhandling.exception.NotFoundException;
 import rs.teslaris.core.util.exceptionhandling.exception.PersonReferenceConstraintViolationException;
@@ -142,6 +143,9 @@ public class PersonServiceTest {
     @Mock
     private FileService fileService;
 
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
     @Mock
     private PersonFieldVisibilityRepository personFieldVisibilityRepository;
 
@@ -1233,6 +1237,7 @@ public class PersonServiceTest {
 
             // then
             assertEquals("new-image.jpg", result);
+            verify(imageDerivativeService).evictProfilePhotoDerivative(existingPhoto);
             verify(fileService).delete("old-image.jpg");
             verify(fileService).store(eq(mockFile), anyString());
             verify(personRepository).save(person);
@@ -5,7 +5,6 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -29,7 +28,6 @@ import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -67,6 +65,7 @@ import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentServic
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.ConferenceService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.ProceedingsService;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitTrustConfigurationService;
@@ -124,6 +123,9 @@ public class ProceedingsPublicationServiceTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private ProceedingsPublicationServiceImpl proceedingsPublicationService;
 
@@ -326,27 +328,12 @@ public class ProceedingsPublicationServiceTest {
 
     @Test
     public void shouldReindexProceedingsPublications() {
-        // Given
-        var proceedingsPublication = new ProceedingsPublication();
-        proceedingsPublication.setDocumentDate("2024");
-        var proceedings = new Proceedings();
-        proceedings.setEvent(new Conference());
-        proceedings.setId(1);
-        proceedingsPublication.setProceedings(proceedings);
-        var peroceedingsPublications = List.of(proceedingsPublication);
-        var page1 = new PageImpl<>(peroceedingsPublications.subList(0, 1), PageRequest.of(0, 10),
-            peroceedingsPublications.size());
-
-        when(proceedingPublicationJPAService.findAll(any(PageRequest.class))).thenReturn(page1);
-
         // When
         proceedingsPublicationService.reindexProceedingsPublications();
 
         // Then
         verify(documentPublicationIndexRepository, never()).deleteAll();
-        verify(proceedingPublicationJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(ProceedingsPublication.class), any());
     }
 
     @Test
@@ -7,7 +7,6 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -17,7 +16,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -27,14 +25,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 import rs.teslaris.core.dto.document.ProceedingsDTO;
-import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
 import rs.teslaris.core.indexrepository.EventIndexRepository;
 import rs.teslaris.core.model.commontypes.ApproveStatus;
@@ -54,6 +49,7 @@ import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentServic
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentLookupService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.JournalService;
 import rs.teslaris.core.service.interfaces.document.PublisherService;
@@ -118,6 +114,9 @@ public class ProceedingsServiceTest {
     @Mock
     private DocumentLookupService documentLookupService;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private ProceedingsServiceImpl proceedingsService;
 
@@ -268,34 +267,11 @@ public class ProceedingsServiceTest {
 
     @Test
     public void shouldReindexProceedings() {
-        // Given
-        var proceedings1 = new Proceedings();
-        proceedings1.setEvent(new Conference() {{
-            setId(1);
-        }});
-        var proceedings2 = new Proceedings();
-        proceedings2.setEvent(new Conference() {{
-            setId(2);
-        }});
-        var proceedings3 = new Proceedings();
-        proceedings3.setEvent(new Conference() {{
-            setId(1);
-        }});
-        var proceedings = Arrays.asList(proceedings1, proceedings2, proceedings3);
-        var page1 =
-            new PageImpl<>(proceedings.subList(0, 2), PageRequest.of(0, 10), proceedings.size());
-        var page2 =
-            new PageImpl<>(proceedings.subList(2, 3), PageRequest.of(1, 10), proceedings.size());
-
-        when(proceedingsJPAService.findAll(any(PageRequest.class))).thenReturn(page1, page2);
-
         // When
         proceedingsService.reindexProceedings();
 
         // Then
-        verify(proceedingsJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(Proceedings.class), any());
     }
 
     @Test
@@ -0,0 +1,156 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+import rs.teslaris.core.indexmodel.PersonIndex;
+import rs.teslaris.core.indexrepository.DocumentPublicationIndexRepository;
+import rs.teslaris.core.indexrepository.PersonIndexRepository;
+import rs.teslaris.core.model.commontypes.ReindexRequestType;
+import rs.teslaris.core.model.person.Person;
+import rs.teslaris.core.repository.person.PersonRepository;
+import rs.teslaris.core.service.impl.commontypes.ReindexRequestQueueServiceImpl;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationService;
+import rs.teslaris.core.service.interfaces.person.PersonService;
+import rs.teslaris.core.service.interfaces.person.PrizeService;
+
+@SpringBootTest
+public class ReindexRequestQueueServiceTest {
+
+    @Mock
+    private PersonIndexRepository personIndexRepository;
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private PersonService personService;
+
+    @Mock
+    private PrizeService prizeService;
+
+    @Mock
+    private DocumentPublicationIndexRepository documentPublicationIndexRepository;
+
+    @Mock
+    private DocumentPublicationService documentPublicationService;
+
+    @InjectMocks
+    private ReindexRequestQueueServiceImpl reindexRequestQueueService;
+
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(reindexRequestQueueService, "coalescingWindowMillis", 0L);
+        ReflectionTestUtils.setField(reindexRequestQueueService, "batchSize", 100);
+    }
+
+    private void mockPublications(Integer personId, Integer... documentIds) {
+        var indexes = Arrays.stream(documentIds).map(documentId -> {
+            var index = new DocumentPublicationIndex();
+            index.setDatabaseId(documentId);
+            return index;
+        }).toList();
+        when(documentPublicationIndexRepository.findByAuthorIds(eq(personId),
+            any(Pageable.class))).thenReturn(new PageImpl<>(indexes));
+    }
+
+    @Test
+    public void shouldReindexCoAuthoredPublicationOnlyOnce() {
+        // given
+        mockPublications(1, 10, 11);
+        mockPublications(2, 11, 12);
+        reindexRequestQueueService.enqueue(ReindexRequestType.PERSON_PUBLICATIONS, 1);
+        reindexRequestQueueService.enqueue(ReindexRequestType.PERSON_PUBLICATIONS, 2);
+
+        // when
+        reindexRequestQueueService.processPendingRequests();
+
+        // then
+        verify(documentPublicationService, times(1))
+            .reindexEmploymentInformationForPublications(List.of(10, 11, 12));
+        assertEquals(1, reindexRequestQueueService.getQueueStatus().coalescedRequests());
+        assertEquals(5, reindexRequestQueueService.getQueueStatus().processedRequests());
+    }
+
+    @Test
+    public void shouldMergeRequestsAcrossTypesByPriority() {
+        // given
+        mockPublications(1, 7);
+        reindexRequestQueueService.enqueue(ReindexRequestType.DOCUMENT_EMPLOYMENT, 7);
+        reindexRequestQueueService.enqueue(ReindexRequestType.PERSON_PUBLICATIONS, 1);
+
+        // when
+        reindexRequestQueueService.processPendingRequests();
+
+        // then
+        verify(documentPublicationService, times(1))
+            .reindexEmploymentInformationForPublications(List.of(7));
+    }
+
+    @Test
+    public void shouldCascadeOrganisationUnitChangeToEmployeesAndPublications() {
+        // given
+        var employeeIndex = new PersonIndex();
+        employeeIndex.setDatabaseId(3);
+        when(personIndexRepository.findByInstitutionId(eq(5), any(Pageable.class))).thenReturn(
+            new PageImpl<>(List.of(employeeIndex)));
+        when(personIndexRepository.findByDatabaseIdIn(eq(List.of(3)),
+            any(Pageable.class))).thenReturn(new PageImpl<>(List.of(employeeIndex)));
+        var employee = new Person();
+        when(personRepository.findOneWithInvolvementsAndPrizes(3)).thenReturn(
+            Optional.of(employee));
+        mockPublications(3, 20);
+
+        reindexRequestQueueService.enqueue(ReindexRequestType.ORGANISATION_UNIT_EMPLOYEES, 5);
+        reindexRequestQueueService.enqueue(ReindexRequestType.ORGANISATION_UNIT_EMPLOYEES, 5);
+
+        // when
+        reindexRequestQueueService.processPendingRequests();
+
+        // then
+        verify(personIndexRepository, times(1)).findByInstitutionId(eq(5), any(Pageable.class));
+        verify(personService).setPersonIndexEmploymentDetails(employeeIndex, employee);
+        verify(personIndexRepository).saveAll(List.of(employeeIndex));
+        verify(personRepository).saveAll(List.of(employee));
+        verify(documentPublicationService)
+            .reindexEmploymentInformationForPublications(List.of(20));
+    }
+
+    @Test
+    public void shouldHoldRequestsUntilCoalescingWindowPasses() {
+        // given
+        ReflectionTestUtils.setField(reindexRequestQueueService, "coalescingWindowMillis",
+            60_000L);
+        reindexRequestQueueService.enqueue(ReindexRequestType.DOCUMENT_EMPLOYMENT, 7);
+
+        // when
+        reindexRequestQueueService.processPendingRequests();
+
+        // then
+        verify(documentPublicationService, never())
+            .reindexEmploymentInformationForPublications(anyList());
+        var status = reindexRequestQueueService.getQueueStatus();
+        assertEquals(1, status.pendingRequests().get(ReindexRequestType.DOCUMENT_EMPLOYMENT));
+        assertTrue(status.oldestRequestAgeMillis() >= 0);
+    }
+}
@@ -1,6 +1,11 @@
 package rs.teslaris.core.unit;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -8,7 +13,10 @@ import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
@@ -17,15 +25,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationEventPublisher;
 import rs.teslaris.core.applicationevent.AllResearcherPointsReindexingEvent;
 import rs.teslaris.core.applicationevent.HarvestExternalIndicatorsEvent;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexmodel.EntityType;
+import rs.teslaris.core.indexmodel.EventIndex;
 import rs.teslaris.core.service.impl.commontypes.ReindexServiceImpl;
+import rs.teslaris.core.service.interfaces.commontypes.IndexRebuildService;
 import rs.teslaris.core.service.interfaces.document.BookSeriesService;
 import rs.teslaris.core.service.interfaces.document.ConferenceService;
 import rs.teslaris.core.service.interfaces.document.CourseService;
 import rs.teslaris.core.service.interfaces.document.DatasetService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
 import rs.teslaris.core.service.interfaces.document.DocumentPublicationService;
-import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.ExhibitionService;
 import rs.teslaris.core.service.interfaces.document.GeneticMaterialService;
 import rs.teslaris.core.service.interfaces.document.IntangibleProductService;
@@ -122,15 +132,26 @@ public class ReindexServiceTest {
     private OtherEventService otherEventService;
 
     @Mock
-    private EventService eventService;
+    private IndexRebuildService indexRebuildService;
 
     @Mock
     private PerformanceRelatedOutputService performanceRelatedOutputService;
 
+    @Mock
+    private Executor reindexExecutor;
+
     @InjectMocks
     private ReindexServiceImpl reindexService;
 
 
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(reindexExecutor).execute(any());
+    }
+
     static Stream<Pair<EntityType, Boolean>> indexTypeProvider() {
         return Stream.of(
             new Pair<>(EntityType.USER_ACCOUNT, false),
@@ -180,6 +201,10 @@ public class ReindexServiceTest {
             CompletableFuture.completedFuture(null));
         when(documentFileService.reindexDocumentFiles()).thenReturn(
             CompletableFuture.completedFuture(null));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(indexRebuildService).rebuildIndex(any(), any(), any(), any());
 
         // When
         reindexService.reindexDatabase(indexesToRepopulate, indexType.b, null);
@@ -206,14 +231,18 @@ public class ReindexServiceTest {
             indexType.a.equals(EntityType.EVENT) ? times(1) : never()).reindexCourses();
         verify(otherEventService,
             indexType.a.equals(EntityType.EVENT) ? times(1) : never()).reindexOtherEvents();
-        verify(eventService,
-            indexType.a.equals(EntityType.EVENT) ? times(1) : never()).deleteIndexes();
+        verify(indexRebuildService,
+            indexType.a.equals(EntityType.EVENT) ? times(1) : never()).rebuildIndex(eq("events"),
+            eq(EventIndex.class), any(), isNull());
+        verify(reindexExecutor,
+            indexType.a.equals(EntityType.EVENT) ? times(1) : never()).execute(any());
         verify(documentFileService,
             indexType.a.equals(EntityType.DOCUMENT_FILE) ? times(1) :
                 never()).reindexDocumentFiles();
 
         if (indexType.a.equals(EntityType.PUBLICATION)) {
-            verify(documentPublicationService).deleteIndexes();
+            verify(indexRebuildService).rebuildIndex(eq("document_publication"),
+                eq(DocumentPublicationIndex.class), any(), any(Runnable.class));
             verify(journalPublicationService).reindexJournalPublications();
             verify(proceedingsPublicationService).reindexProceedingsPublications();
             verify(patentService).reindexPatents();
@@ -236,7 +265,8 @@ public class ReindexServiceTest {
                 any(AllResearcherPointsReindexingEvent.class));
         } else {
             verify(documentFileService, never()).deleteIndexes();
-            verify(documentPublicationService, never()).deleteIndexes();
+            verify(indexRebuildService, never()).rebuildIndex(eq("document_publication"),
+                any(), any(), any());
             verify(journalPublicationService, never()).reindexJournalPublications();
             verify(proceedingsPublicationService, never()).reindexProceedingsPublications();
             verify(patentService, never()).reindexPatents();
@@ -252,4 +282,24 @@ public class ReindexServiceTest {
             applicationEventPublisher.publishEvent(any(HarvestExternalIndicatorsEvent.class));
         }
     }
+
+    @Test
+    void shouldFailPublicationPopulatorWhenAnyTypeFails() {
+        // Given
+        doThrow(new IllegalStateException("Bulk reindex of Patent lost 1 batches."))
+            .when(patentService).reindexPatents();
+        doAnswer(invocation -> {
+            assertThrows(IllegalStateException.class,
+                () -> invocation.<Runnable>getArgument(2).run());
+            return null;
+        }).when(indexRebuildService).rebuildIndex(eq("document_publication"),
+            eq(DocumentPublicationIndex.class), any(), any());
+
+        // When
+        reindexService.reindexDatabase(List.of(EntityType.PUBLICATION), false, null);
+
+        // Then
+        verify(thesisService).reindexTheses();
+        verify(performanceRelatedOutputService).reindexPerformanceRelatedOutputs();
+    }
 }
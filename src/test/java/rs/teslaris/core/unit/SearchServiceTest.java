@@ -0,0 +1,288 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.QueryBuilders;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Query.PointInTime;
+import org.springframework.test.util.ReflectionTestUtils;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+import rs.teslaris.core.service.impl.commontypes.SearchServiceImplES;
+import rs.teslaris.core.util.search.SearchCursor;
+import rs.teslaris.core.util.search.SearchCursorPage;
+
+@SpringBootTest
+public class SearchServiceTest {
+
+    private static final String INDEX_NAME = "document_publication";
+
+    private static final Query QUERY = QueryBuilders.matchAll().build()._toQuery();
+
+    private static final String SIGNING_KEY = "test-signing-key";
+
+    @Mock
+    private ElasticsearchOperations elasticsearchTemplate;
+
+    @InjectMocks
+    private SearchServiceImplES<DocumentPublicationIndex> searchService;
+
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(searchService, "cursorKeepAliveMinutes", 5);
+        ReflectionTestUtils.setField(searchService, "cursorMaxAgeMinutes", 15);
+        ReflectionTestUtils.setField(searchService, "cursorSigningKey", SIGNING_KEY);
+        ReflectionTestUtils.setField(searchService, "cursorCacheSize", 10);
+        searchService.init();
+
+        when(elasticsearchTemplate.openPointInTime(any(IndexCoordinates.class),
+            any(Duration.class))).thenReturn("pit-1");
+    }
+
+    private SearchHits<DocumentPublicationIndex> createSearchHits(int firstId, int count,
+                                                                  long totalHits) {
+        var hits = new ArrayList<SearchHit<DocumentPublicationIndex>>();
+        IntStream.range(firstId, firstId + count).forEach(id -> {
+            SearchHit<DocumentPublicationIndex> hit = mock(SearchHit.class);
+            var index = new DocumentPublicationIndex();
+            index.setDatabaseId(id);
+            when(hit.getContent()).thenReturn(index);
+            when(hit.getSortValues()).thenReturn(List.of(1.0, id));
+            hits.add(hit);
+        });
+
+        SearchHits<DocumentPublicationIndex> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(hits);
+        when(searchHits.getTotalHits()).thenReturn(totalHits);
+        when(searchHits.getPointInTimeId()).thenReturn("pit-1");
+        return searchHits;
+    }
+
+    @SafeVarargs
+    private void returnSearchHits(SearchHits<DocumentPublicationIndex>... searchHits) {
+        var stubbing = when(elasticsearchTemplate.search(
+            any(org.springframework.data.elasticsearch.core.query.Query.class),
+            eq(DocumentPublicationIndex.class), any(IndexCoordinates.class)));
+        for (var hits : searchHits) {
+            stubbing = stubbing.thenReturn(hits);
+        }
+    }
+
+    private ArgumentCaptor<org.springframework.data.elasticsearch.core.query.Query> captureSearches(
+        int expectedSearches) {
+        ArgumentCaptor<org.springframework.data.elasticsearch.core.query.Query> captor =
+            ArgumentCaptor.forClass(org.springframework.data.elasticsearch.core.query.Query.class);
+        verify(elasticsearchTemplate, times(expectedSearches)).search(captor.capture(),
+            eq(DocumentPublicationIndex.class), any(IndexCoordinates.class));
+        return captor;
+    }
+
+    @Test
+    public void shouldReachDeepPageWithSingleWalkAndOneQueryPerPage() {
+        // given
+        var searchHits1 = createSearchHits(0, 120, 0);
+        var searchHits2 = createSearchHits(120, 10, 500);
+        var searchHits3 = createSearchHits(130, 10, 0);
+        returnSearchHits(searchHits1, searchHits2, searchHits3);
+
+        // when
+        var page = searchService.runQuery(QUERY, PageRequest.of(12, 10),
+            DocumentPublicationIndex.class, INDEX_NAME);
+        var nextPage = searchService.runQuery(QUERY, PageRequest.of(13, 10),
+            DocumentPublicationIndex.class, INDEX_NAME);
+
+        // then
+        assertEquals(120, page.getContent().getFirst().getDatabaseId());
+        assertEquals(500, page.getTotalElements());
+        assertEquals(130, nextPage.getContent().getFirst().getDatabaseId());
+        assertEquals(500, nextPage.getTotalElements());
+
+        var searches = captureSearches(3).getAllValues();
+        assertNull(searches.get(0).getSearchAfter());
+        assertEquals(List.of(1.0, 119), searches.get(1).getSearchAfter());
+        assertTrue(searches.get(1).getTrackTotalHits());
+        assertEquals(List.of(1.0, 129), searches.get(2).getSearchAfter());
+        assertEquals(Boolean.FALSE, searches.get(2).getTrackTotalHits());
+        searches.forEach(search -> assertEquals(new PointInTime("pit-1", Duration.ofMinutes(5)),
+            search.getPointInTime()));
+        verify(elasticsearchTemplate, times(1)).openPointInTime(any(IndexCoordinates.class),
+            any(Duration.class));
+    }
+
+    @Test
+    public void shouldServeRandomJumpBackFromRememberedSortValues() {
+        // given
+        var searchHits1 = createSearchHits(0, 150, 0);
+        var searchHits2 = createSearchHits(150, 10, 500);
+        var searchHits3 = createSearchHits(110, 10, 0);
+        returnSearchHits(searchHits1, searchHits2, searchHits3);
+        searchService.runQuery(QUERY, PageRequest.of(15, 10), DocumentPublicationIndex.class,
+            INDEX_NAME);
+
+        // when
+        var page = searchService.runQuery(QUERY, PageRequest.of(11, 10),
+            DocumentPublicationIndex.class, INDEX_NAME);
+
+        // then
+        assertEquals(110, page.getContent().getFirst().getDatabaseId());
+        assertEquals(List.of(1.0, 109), captureSearches(3).getValue().getSearchAfter());
+    }
+
+    @Test
+    public void shouldContinueFromCursorWithSingleQuery() {
+        // given
+        var searchHits1 = createSearchHits(0, 100, 0);
+        var searchHits2 = createSearchHits(100, 10, 500);
+        returnSearchHits(searchHits1, searchHits2);
+        var page = searchService.runCursorQuery(QUERY, PageRequest.of(10, 10), null,
+            DocumentPublicationIndex.class, INDEX_NAME);
+        var nextCursor =
+            SearchCursor.decode(page.getNextCursor(), SIGNING_KEY.getBytes()).orElseThrow();
+
+        // A fresh instance has nothing cached, the position comes from the cursor
+        setUp();
+        var nextSearchHits = createSearchHits(110, 10, 500);
+        returnSearchHits(nextSearchHits);
+
+        // when
+        var nextPage = searchService.runCursorQuery(QUERY, PageRequest.of(0, 10),
+            page.getNextCursor(), DocumentPublicationIndex.class, INDEX_NAME);
+
+        // then
+        assertEquals(11, nextCursor.page());
+        assertEquals(11, nextPage.getNumber());
+        assertEquals(110, nextPage.getContent().getFirst().getDatabaseId());
+        assertEquals(500, nextPage.getTotalElements());
+        assertNotNull(nextPage.getPreviousCursor());
+        assertNotNull(nextPage.getNextCursor());
+        assertEquals(List.of(1.0, 109), captureSearches(3).getValue().getSearchAfter());
+    }
+
+    @Test
+    public void shouldIgnoreCursorIssuedForDifferentQuery() {
+        // given
+        var foreignCursor =
+            new SearchCursor("other-query", "pit-2", 40, 10, List.of(1.0, 399), 1000L).encode(
+                SIGNING_KEY.getBytes());
+        var searchHits1 = createSearchHits(0, 10, 500);
+        returnSearchHits(searchHits1);
+
+        // when
+        var page = searchService.runCursorQuery(QUERY, PageRequest.of(0, 10), foreignCursor,
+            DocumentPublicationIndex.class, INDEX_NAME);
+
+        // then
+        assertEquals(0, page.getNumber());
+        assertNull(page.getPreviousCursor());
+        assertNull(captureSearches(1).getValue().getSearchAfter());
+    }
+
+    @Test
+    public void shouldReopenExpiredPointInTimeAndKeepPosition() {
+        // given
+        var searchHits1 = createSearchHits(0, 100, 0);
+        var searchHits2 = createSearchHits(100, 10, 500);
+        var searchHits3 = createSearchHits(110, 10, 480);
+        when(elasticsearchTemplate.search(
+            any(org.springframework.data.elasticsearch.core.query.Query.class),
+            eq(DocumentPublicationIndex.class), any(IndexCoordinates.class)))
+            .thenReturn(searchHits1, searchHits2)
+            .thenThrow(new RuntimeException("No search context found"))
+            .thenReturn(searchHits3);
+        searchService.runQuery(QUERY, PageRequest.of(10, 10), DocumentPublicationIndex.class,
+            INDEX_NAME);
+
+        // when
+        var page = searchService.runQuery(QUERY, PageRequest.of(11, 10),
+            DocumentPublicationIndex.class, INDEX_NAME);
+
+        // then
+        assertEquals(110, page.getContent().getFirst().getDatabaseId());
+        assertEquals(480, page.getTotalElements());
+        verify(elasticsearchTemplate, times(2)).openPointInTime(any(IndexCoordinates.class),
+            any(Duration.class));
+        verify(elasticsearchTemplate, never()).closePointInTime(any());
+    }
+
+    @Test
+    public void shouldNotExposeCursorsFromGenericDeepPages() {
+        // given
+        returnSearchHits(createSearchHits(0, 100, 0), createSearchHits(100, 10, 500));
+
+        // when
+        var page = searchService.runQuery(QUERY, PageRequest.of(10, 10),
+            DocumentPublicationIndex.class, INDEX_NAME);
+
+        // then
+        assertEquals(100, page.getContent().getFirst().getDatabaseId());
+        assertFalse(page instanceof SearchCursorPage);
+    }
+
+    @Test
+    public void shouldRejectForgedCursorAndKeepSharedState() {
+        // given
+        var forgedCursor = new SearchCursor(null, "someone-elses-pit", 40, 10,
+            List.of(1.0, 399), 1L).encode("guessed-key".getBytes());
+        returnSearchHits(createSearchHits(0, 10, 500));
+
+        // when
+        var page = searchService.runCursorQuery(QUERY, PageRequest.of(0, 10), forgedCursor,
+            DocumentPublicationIndex.class, INDEX_NAME);
+
+        // then
+        assertEquals(0, page.getNumber());
+        assertEquals(500, page.getTotalElements());
+        verify(elasticsearchTemplate, never()).openPointInTime(any(IndexCoordinates.class),
+            any(Duration.class));
+    }
+
+    @Test
+    public void shouldNotAdoptPointInTimeOrTotalFromCursor() {
+        // given
+        returnSearchHits(createSearchHits(0, 100, 0), createSearchHits(100, 10, 500));
+        var page = searchService.runCursorQuery(QUERY, PageRequest.of(10, 10), null,
+            DocumentPublicationIndex.class, INDEX_NAME);
+        var issued =
+            SearchCursor.decode(page.getNextCursor(), SIGNING_KEY.getBytes()).orElseThrow();
+
+        setUp();
+        returnSearchHits(createSearchHits(110, 10, 480));
+        var staleCursor = new SearchCursor(issued.queryHash(), "stale-pit", issued.page(),
+            issued.size(), issued.searchAfter(), 999L).encode(SIGNING_KEY.getBytes());
+
+        // when
+        var nextPage = searchService.runCursorQuery(QUERY, PageRequest.of(0, 10), staleCursor,
+            DocumentPublicationIndex.class, INDEX_NAME);
+
+        // then
+        assertEquals(480, nextPage.getTotalElements());
+        assertEquals(new PointInTime("pit-1", Duration.ofMinutes(5)),
+            captureSearches(3).getValue().getPointInTime());
+    }
+}
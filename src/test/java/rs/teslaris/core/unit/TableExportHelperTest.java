@@ -0,0 +1,180 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import rs.teslaris.core.dto.commontypes.ExportFileType;
+import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
+import rs.teslaris.core.model.commontypes.LanguageTag;
+import rs.teslaris.core.model.commontypes.MultiLingualContent;
+import rs.teslaris.core.model.document.Journal;
+import rs.teslaris.core.repository.document.EventRepository;
+import rs.teslaris.core.repository.document.PublicationSeriesRepository;
+import rs.teslaris.core.service.impl.TableExportHelper;
+import rs.teslaris.core.util.search.SearchFieldsLoader;
+
+@SpringBootTest
+public class TableExportHelperTest {
+
+    private static final String CONFIGURATION_FILE = "documentSearchFieldConfiguration.json";
+
+    @Mock
+    private SearchFieldsLoader searchFieldsLoader;
+
+    @Mock
+    private PublicationSeriesRepository publicationSeriesRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+
+    @BeforeEach
+    public void setUp() {
+        new TableExportHelper(searchFieldsLoader, publicationSeriesRepository, eventRepository);
+
+        when(searchFieldsLoader.getConfiguration(CONFIGURATION_FILE)).thenReturn(
+            new SearchFieldsLoader.SearchFields(List.of(
+                new SearchFieldsLoader.SearchField("title_sr", "text", null, Map.of(), true),
+                new SearchFieldsLoader.SearchField("journal_id", "number", "JOURNAL", Map.of(),
+                    true),
+                new SearchFieldsLoader.SearchField("event_id", "number", "EVENT", Map.of(),
+                    true))));
+    }
+
+    private DocumentPublicationIndex createDocument(String title, Integer journalId) {
+        var document = new DocumentPublicationIndex();
+        document.setTitleSr(title);
+        document.setJournalId(journalId);
+        return document;
+    }
+
+    private Journal createJournal(Integer id, String title) {
+        var journal = new Journal();
+        journal.setId(id);
+        journal.setTitle(Set.of(
+            new MultiLingualContent(new LanguageTag("EN", "English"), title, 1)));
+        journal.setPrintISSN("1234-5678");
+        return journal;
+    }
+
+    @Test
+    public void shouldResolveReferencedJournalsOncePerBatch() {
+        // given
+        var documents = List.of(createDocument("First\nline", 1), createDocument("Second", 2),
+            createDocument("Third", 1), createDocument("Fourth", null));
+        when(publicationSeriesRepository.findAllById(any())).thenReturn(
+            List.of(createJournal(1, "Journal")));
+
+        // when
+        var rows = TableExportHelper.createRowMapper(List.of("title_sr", "journal_id", "unknown"),
+            CONFIGURATION_FILE, "en").mapRows(documents);
+
+        // then
+        assertEquals(List.of("Firstline", "Journal(1234-5678)", ""), rows.get(0));
+        assertEquals(List.of("Second", "", ""), rows.get(1));
+        assertEquals(List.of("Third", "Journal(1234-5678)", ""), rows.get(2));
+        assertEquals(List.of("Fourth", "", ""), rows.get(3));
+        verify(publicationSeriesRepository, times(1)).findAllById(Set.of(1, 2));
+        verify(eventRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void shouldReadFieldValuesThroughCompiledAccessors() {
+        // given
+        var document = createDocument("Title", 5);
+
+        // when
+        var title = TableExportHelper.getFieldValueByElasticsearchName(document, "title_sr");
+        var journalId = TableExportHelper.getFieldValueByElasticsearchName(document, "journal_id");
+        var unknown = TableExportHelper.getFieldValueByElasticsearchName(document, "unknown");
+
+        // then
+        assertEquals("Title", title);
+        assertEquals(5, journalId);
+        assertNull(unknown);
+    }
+
+    @Test
+    public void shouldStreamCsvRows() throws IOException {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+
+        // when
+        try (var writer = TableExportHelper.openTableWriter(outputStream, ExportFileType.CSV)) {
+            writer.writeRow(List.of("Title", "Journal"));
+            writer.writeRow(List.of("Čvor", "J"));
+            writer.finish();
+        }
+
+        // then
+        assertEquals("\"Title\",\"Journal\"\n\"Čvor\",\"J\"\n",
+            outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldStreamXlsxRows() throws IOException {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+
+        // when
+        try (var writer = TableExportHelper.openTableWriter(outputStream, ExportFileType.XLSX)) {
+            writer.writeRow(List.of("Title"));
+            for (int i = 0; i < 250; i++) {
+                writer.writeRow(List.of("Row " + i));
+            }
+            writer.finish();
+        }
+
+        // then
+        try (var workbook = new XSSFWorkbook(
+            new ByteArrayInputStream(outputStream.toByteArray()))) {
+            var sheet = workbook.getSheet("Export Data");
+            assertEquals(250, sheet.getLastRowNum());
+            assertEquals("Row 249", sheet.getRow(250).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void shouldNotWriteUnfinishedXlsxWorkbook() throws IOException {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+
+        // when
+        try (var writer = TableExportHelper.openTableWriter(outputStream, ExportFileType.XLSX)) {
+            writer.writeRow(List.of("Title"));
+        }
+
+        // then
+        assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    public void shouldWriteBibliographicRecordsOneByOne() {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+
+        // when
+        TableExportHelper.writeBibliographicRecords(List.of("@article{a}", "@article{b}"),
+            ExportFileType.BIB, outputStream);
+
+        // then
+        assertEquals("@article{a}\n@article{b}\n", outputStream.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,135 @@
+package rs.teslaris.core.unit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ai.djl.inference.Predictor;
+import ai.djl.translate.TranslateException;
+import com.google.common.cache.CacheBuilder;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import rs.teslaris.core.service.impl.document.TextEmbeddingServiceImpl;
+
+@SpringBootTest
+public class TextEmbeddingServiceTest {
+
+    @Mock
+    private Predictor<String, float[]> predictor;
+
+    @InjectMocks
+    private TextEmbeddingServiceImpl textEmbeddingService;
+
+    private Thread worker;
+
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(textEmbeddingService, "maxBatchSize", 8);
+        ReflectionTestUtils.setField(textEmbeddingService, "timeoutSeconds", 5L);
+        ReflectionTestUtils.setField(textEmbeddingService, "embeddingCache",
+            CacheBuilder.newBuilder().maximumSize(100).build());
+
+        worker = Thread.ofPlatform().daemon().start(() ->
+            ReflectionTestUtils.invokeMethod(textEmbeddingService, "processPendingEmbeddings",
+                predictor));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        worker.interrupt();
+    }
+
+    @Test
+    public void shouldEmbedTextsOfOneCallInSingleBatch() throws Exception {
+        // given
+        when(predictor.batchPredict(List.of("first", "second"))).thenReturn(
+            List.of(new float[] {1f}, new float[] {2f}));
+
+        // when
+        var embeddings = textEmbeddingService.embedAll(List.of("first", "second", "first"));
+
+        // then
+        assertArrayEquals(new float[] {1f}, embeddings.get(0));
+        assertArrayEquals(new float[] {2f}, embeddings.get(1));
+        assertArrayEquals(new float[] {1f}, embeddings.get(2));
+        verify(predictor, times(1)).batchPredict(anyList());
+    }
+
+    @Test
+    public void shouldSplitLargeCallsIntoMaxSizedBatches() throws Exception {
+        // given
+        ReflectionTestUtils.setField(textEmbeddingService, "maxBatchSize", 2);
+        when(predictor.batchPredict(anyList())).thenAnswer(invocation ->
+            ((List<String>) invocation.getArgument(0)).stream()
+                .map(text -> new float[] {text.length()}).toList());
+
+        // when
+        var embeddings = textEmbeddingService.embedAll(List.of("a", "bb", "ccc"));
+
+        // then
+        assertArrayEquals(new float[] {3f}, embeddings.get(2));
+        verify(predictor, times(2)).batchPredict(anyList());
+    }
+
+    @Test
+    public void shouldServeRepeatedTextFromCache() throws Exception {
+        // given
+        when(predictor.batchPredict(List.of("record"))).thenReturn(
+            List.of(new float[] {0.5f, 0.5f}));
+
+        // when
+        var firstEmbedding = textEmbeddingService.embed("record");
+        var secondEmbedding = textEmbeddingService.embed("record");
+
+        // then
+        assertArrayEquals(firstEmbedding, secondEmbedding);
+        verify(predictor, times(1)).batchPredict(anyList());
+    }
+
+    @Test
+    public void shouldPropagatePredictionFailure() throws Exception {
+        // given
+        when(predictor.batchPredict(anyList())).thenThrow(new TranslateException("failed"));
+
+        // when & then
+        assertThrows(TranslateException.class, () -> textEmbeddingService.embed("record"));
+    }
+
+    @Test
+    public void shouldGiveUpWhenEmbeddingTakesTooLong() throws Exception {
+        // given
+        ReflectionTestUtils.setField(textEmbeddingService, "timeoutSeconds", 1L);
+        var release = new CountDownLatch(1);
+        when(predictor.batchPredict(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(new float[] {1f});
+        });
+
+        // when & then
+        try {
+            assertThrows(TranslateException.class, () -> textEmbeddingService.embed("record"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldRejectEmbeddingAfterShutdown() {
+        // given
+        textEmbeddingService.shutdown();
+
+        // when & then
+        assertThrows(TranslateException.class, () -> textEmbeddingService.embed("record"));
+    }
+}
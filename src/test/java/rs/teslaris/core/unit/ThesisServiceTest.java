@@ -44,8 +44,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -90,6 +88,7 @@ import rs.teslaris.core.service.interfaces.commontypes.MultilingualContentServic
 import rs.teslaris.core.service.interfaces.commontypes.TaskManagerService;
 import rs.teslaris.core.service.interfaces.document.CitationService;
 import rs.teslaris.core.service.interfaces.document.DocumentFileService;
+import rs.teslaris.core.service.interfaces.document.DocumentPublicationBulkIndexingService;
 import rs.teslaris.core.service.interfaces.document.EventService;
 import rs.teslaris.core.service.interfaces.document.FileService;
 import rs.teslaris.core.service.interfaces.document.PublisherService;
@@ -161,6 +160,9 @@ public class ThesisServiceTest {
     @Mock
     private TaskManagerService taskManagerService;
 
+    @Mock
+    private DocumentPublicationBulkIndexingService bulkIndexingService;
+
     @InjectMocks
     private ThesisServiceImpl thesisService;
 
@@ -287,26 +289,12 @@ public class ThesisServiceTest {
 
     @Test
     public void shouldReindexThesiss() {
-        // Given
-        var thesis = new Thesis();
-        thesis.setThesisType(ThesisType.UNDERGRADUATE_THESIS);
-        thesis.setDocumentDate("2024");
-        thesis.setOrganisationUnit(new OrganisationUnit());
-
-        var theses = List.of(thesis);
-        var page1 = new PageImpl<>(theses.subList(0, 1), PageRequest.of(0, 10),
-            theses.size());
-
-        when(thesisJPAService.findAll(any(PageRequest.class))).thenReturn(page1);
-
         // When
         thesisService.reindexTheses();
 
         // Then
         verify(documentPublicationIndexRepository, never()).deleteAll();
-        verify(thesisJPAService, atLeastOnce()).findAll(any(PageRequest.class));
-        verify(documentPublicationIndexRepository, atLeastOnce()).save(
-            any(DocumentPublicationIndex.class));
+        verify(bulkIndexingService).reindexByKeyset(eq(Thesis.class), any());
     }
 
     @Test
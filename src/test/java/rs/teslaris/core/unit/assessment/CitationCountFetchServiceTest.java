@@ -0,0 +1,114 @@
+package rs.teslaris.core.unit.assessment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import rs.teslaris.assessment.service.impl.indicator.CitationCountFetchServiceImpl;
+import rs.teslaris.core.util.session.RestTemplateProvider;
+
+@SpringBootTest
+public class CitationCountFetchServiceTest {
+
+    private static final String COUNT_URL =
+        "https://opencitations.net/index/api/v2/citation-count/doi:";
+
+    @Mock
+    private RestTemplateProvider restTemplateProvider;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private CitationCountFetchServiceImpl citationCountFetchService;
+
+
+    @BeforeEach
+    public void setUp() {
+        citationCountFetchService =
+            new CitationCountFetchServiceImpl(restTemplateProvider, (Executor) Runnable::run);
+        ReflectionTestUtils.setField(citationCountFetchService,
+            "openCitationsRequestsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(citationCountFetchService, "maxAttempts", 2);
+        ReflectionTestUtils.setField(citationCountFetchService, "cacheTimeToLiveHours", 24);
+        citationCountFetchService.init();
+
+        when(restTemplateProvider.provideRestTemplate()).thenReturn(restTemplate);
+    }
+
+    @Test
+    public void shouldFetchEachDoiOnceAcrossCallsAndCase() {
+        // given
+        when(restTemplate.getForEntity(COUNT_URL + "10.1000/abc", String.class))
+            .thenReturn(new ResponseEntity<>("[{\"count\": \"7\"}]", HttpStatus.OK));
+        when(restTemplate.getForEntity(COUNT_URL + "10.1000/def", String.class))
+            .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+
+        // when
+        var firstCounts = citationCountFetchService.fetchOpenCitationsCounts(
+            List.of("10.1000/ABC", "10.1000/abc", "10.1000/def"));
+        var secondCounts =
+            citationCountFetchService.fetchOpenCitationsCounts(List.of("10.1000/abc"));
+
+        // then
+        assertEquals(Map.of("10.1000/ABC", 7, "10.1000/abc", 7), firstCounts);
+        assertEquals(Map.of("10.1000/abc", 7), secondCounts);
+        verify(restTemplate, times(1)).getForEntity(COUNT_URL + "10.1000/abc", String.class);
+        verify(restTemplate, times(1)).getForEntity(COUNT_URL + "10.1000/def", String.class);
+    }
+
+    @Test
+    public void shouldRetryWhenRateLimitedByProvider() {
+        // given
+        when(restTemplate.getForEntity(anyString(), eq(String.class)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS))
+            .thenReturn(new ResponseEntity<>("[{\"count\": \"3\"}]", HttpStatus.OK));
+
+        // when
+        var counts = citationCountFetchService.fetchOpenCitationsCounts(List.of("10.1000/xyz"));
+
+        // then
+        assertEquals(Map.of("10.1000/xyz", 3), counts);
+        verify(restTemplate, times(2)).getForEntity(anyString(), eq(String.class));
+    }
+
+    @Test
+    public void shouldNotRetryClientErrors() {
+        // given
+        when(restTemplate.getForEntity(anyString(), eq(String.class)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // when
+        assertThrows(HttpClientErrorException.class,
+            () -> citationCountFetchService.fetchOpenCitationsCounts(List.of("10.1000/xyz")));
+
+        // then
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(String.class));
+    }
+
+    @Test
+    public void shouldSkipBlankDois() {
+        // when
+        var counts = citationCountFetchService.fetchOpenCitationsCounts(List.of("", " "));
+
+        // then
+        assertTrue(counts.isEmpty());
+        verify(restTemplate, times(0)).getForEntity(anyString(), eq(String.class));
+    }
+}
@@ -0,0 +1,109 @@
+package rs.teslaris.core.unit.assessment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeBucket;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.util.ObjectBuilder;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import rs.teslaris.assessment.service.impl.statistics.StatisticsAggregationServiceImpl;
+import rs.teslaris.core.indexmodel.statistics.StatisticsType;
+
+@SpringBootTest
+public class StatisticsAggregationServiceTest {
+
+    @Mock
+    private ElasticsearchClient elasticsearchClient;
+
+    @InjectMocks
+    private StatisticsAggregationServiceImpl statisticsAggregationService;
+
+
+    @SuppressWarnings("unchecked")
+    private SearchResponse<Object> mockCompositeResponse(List<CompositeBucket> buckets,
+                                                       Map<String, FieldValue> afterKey) {
+        var compositeAggregate = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+        when(compositeAggregate.composite().buckets().array()).thenReturn(buckets);
+        when(compositeAggregate.composite().afterKey()).thenReturn(afterKey);
+
+        var response = mock(SearchResponse.class);
+        var aggregations = new HashMap<String, Aggregate>();
+        aggregations.put("per_entity", compositeAggregate);
+        when(response.aggregations()).thenReturn(aggregations);
+
+        return response;
+    }
+
+    private CompositeBucket mockBucket(long entityId, long weekCount, long yearCount) {
+        var bucket = mock(CompositeBucket.class);
+        when(bucket.key()).thenReturn(Map.of("entity_id", FieldValue.of(entityId)));
+
+        var weekAggregate = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+        when(weekAggregate.filter().docCount()).thenReturn(weekCount);
+        var yearAggregate = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+        when(yearAggregate.filter().docCount()).thenReturn(yearCount);
+
+        when(bucket.aggregations()).thenReturn(
+            Map.of("period_0", weekAggregate, "period_1", yearAggregate));
+
+        return bucket;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamPerEntityCountsForAllPeriodsUsingAfterKey() throws IOException {
+        // Given
+        var firstPage = mockCompositeResponse(
+            List.of(mockBucket(1, 2, 10), mockBucket(2, 0, 3)),
+            Map.of("entity_id", FieldValue.of(2)));
+        var lastPage = mockCompositeResponse(Collections.emptyList(), Collections.emptyMap());
+
+        when(elasticsearchClient.search(
+            (Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>) any(),
+            any())).thenReturn(firstPage, lastPage);
+
+        // When
+        var result = statisticsAggregationService.countPerEntityInPeriods("document_id",
+            StatisticsType.VIEW,
+            List.of(LocalDateTime.now().minusDays(7), LocalDateTime.now().minusYears(1)));
+
+        // Then
+        assertEquals(2, result.size());
+        assertArrayEquals(new long[] {2, 10}, result.get(1));
+        assertArrayEquals(new long[] {0, 3}, result.get(2));
+        verify(elasticsearchClient, times(2)).search(
+            (Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>) any(), any());
+    }
+
+    @Test
+    void shouldReturnEmptyCountsWhenNoPeriodsAreGiven() {
+        // When
+        var result = statisticsAggregationService.countPerEntityInPeriods("person_id",
+            StatisticsType.DOWNLOAD, Collections.emptyList());
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+}
@@ -1,6 +1,7 @@
 package rs.teslaris.core.unit.assessment;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -13,10 +14,9 @@ import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import rs.teslaris.assessment.service.impl.statistics.StatisticsServiceImpl;
 import rs.teslaris.assessment.service.interfaces.indicator.IndicatorService;
-import rs.teslaris.assessment.util.GeoliteIPUtil;
+import rs.teslaris.assessment.service.interfaces.statistics.StatisticsIngestionService;
 import rs.teslaris.core.indexmodel.statistics.StatisticsIndex;
 import rs.teslaris.core.indexmodel.statistics.StatisticsType;
-import rs.teslaris.core.indexrepository.statistics.StatisticsIndexRepository;
 
 @SpringBootTest
 public class StatisticsIndexServiceTest {
@@ -25,10 +25,7 @@ public class StatisticsIndexServiceTest {
     private IndicatorService indicatorService;
 
     @Mock
-    private StatisticsIndexRepository statisticsIndexRepository;
-
-    @Mock
-    private GeoliteIPUtil geoliteIPUtil;
+    private StatisticsIngestionService statisticsIngestionService;
 
     @InjectMocks
     private StatisticsServiceImpl statisticsIndexService;
@@ -45,9 +42,9 @@ public class StatisticsIndexServiceTest {
         statisticsIndexService.savePersonView(personId);
 
         // Then
-        verify(statisticsIndexRepository, times(1)).save(argThat(statistics ->
+        verify(statisticsIngestionService, times(1)).enqueue(argThat(statistics ->
             statistics.getPersonId().equals(personId)
-        ));
+        ), any());
     }
 
     @ParameterizedTest
@@ -71,9 +68,9 @@ public class StatisticsIndexServiceTest {
         statisticsIndexService.saveDocumentView(documentId);
 
         // Then
-        verify(statisticsIndexRepository, times(1)).save(argThat(statistics ->
+        verify(statisticsIngestionService, times(1)).enqueue(argThat(statistics ->
             statistics.getDocumentId().equals(documentId)
-        ));
+        ), any());
     }
 
     @Test
@@ -87,9 +84,9 @@ public class StatisticsIndexServiceTest {
         statisticsIndexService.saveOrganisationUnitView(organisationUnitId);
 
         // Then
-        verify(statisticsIndexRepository, times(1)).save(argThat(statistics ->
+        verify(statisticsIngestionService, times(1)).enqueue(argThat(statistics ->
             statistics.getOrganisationUnitId().equals(organisationUnitId)
-        ));
+        ), any());
     }
 
     @Test
@@ -103,9 +100,9 @@ public class StatisticsIndexServiceTest {
         statisticsIndexService.saveDocumentDownload(documentId);
 
         // Then
-        verify(statisticsIndexRepository, times(1)).save(argThat(statistics ->
+        verify(statisticsIngestionService, times(1)).enqueue(argThat(statistics ->
             statistics.getDocumentId().equals(documentId)
-        ));
+        ), any());
     }
 
     @Test
@@ -117,9 +114,9 @@ public class StatisticsIndexServiceTest {
         statisticsIndexService.savePublicationSeriesView(publicationSeriesId);
 
         // Then
-        verify(statisticsIndexRepository, times(1)).save(argThat(statistics ->
+        verify(statisticsIngestionService, times(1)).enqueue(argThat(statistics ->
             publicationSeriesId == statistics.getPublicationSeriesId()
-        ));
+        ), any());
     }
 
     @Test
@@ -131,8 +128,8 @@ public class StatisticsIndexServiceTest {
         statisticsIndexService.saveEventView(eventId);
 
         // Then
-        verify(statisticsIndexRepository, times(1)).save(argThat(statistics ->
+        verify(statisticsIngestionService, times(1)).enqueue(argThat(statistics ->
             eventId == statistics.getEventId()
-        ));
+        ), any());
     }
 }
@@ -0,0 +1,151 @@
+package rs.teslaris.core.unit.assessment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import rs.teslaris.assessment.model.indicator.DocumentIndicator;
+import rs.teslaris.assessment.model.indicator.Indicator;
+import rs.teslaris.assessment.repository.indicator.DocumentIndicatorRepository;
+import rs.teslaris.assessment.service.impl.statistics.StatisticsIngestionServiceImpl;
+import rs.teslaris.assessment.service.interfaces.indicator.IndicatorService;
+import rs.teslaris.assessment.util.GeoliteIPUtil;
+import rs.teslaris.assessment.util.IndicatorMappingConfigurationLoader;
+import rs.teslaris.core.indexmodel.statistics.StatisticsIndex;
+import rs.teslaris.core.indexmodel.statistics.StatisticsType;
+import rs.teslaris.core.indexrepository.statistics.StatisticsIndexRepository;
+import rs.teslaris.core.model.document.JournalPublication;
+import rs.teslaris.core.repository.document.DocumentRepository;
+
+@SpringBootTest
+public class StatisticsIngestionServiceTest {
+
+    @Mock
+    private StatisticsIndexRepository statisticsIndexRepository;
+
+    @Mock
+    private IndicatorService indicatorService;
+
+    @Mock
+    private DocumentIndicatorRepository documentIndicatorRepository;
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private GeoliteIPUtil geoliteIPUtil;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private StatisticsIngestionServiceImpl statisticsIngestionService;
+
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(statisticsIngestionService, "queueCapacity", 2);
+        ReflectionTestUtils.setField(statisticsIngestionService, "batchSize", 10);
+        statisticsIngestionService.init();
+    }
+
+    private StatisticsIndex createDocumentView(Integer documentId) {
+        var statisticsEntry = new StatisticsIndex();
+        statisticsEntry.setDocumentId(documentId);
+        statisticsEntry.setType(StatisticsType.VIEW.name());
+        statisticsEntry.setIpAddress("N/A");
+        statisticsEntry.setUserAgent("N/A");
+        return statisticsEntry;
+    }
+
+    @Test
+    public void shouldDropEntriesWhenQueueIsFull() {
+        // Given
+        statisticsIngestionService.enqueue(createDocumentView(1), "N/A");
+        statisticsIngestionService.enqueue(createDocumentView(2), "N/A");
+
+        // When
+        var accepted = statisticsIngestionService.enqueue(createDocumentView(3), "N/A");
+
+        // Then
+        assertFalse(accepted);
+        var metrics = statisticsIngestionService.getIngestionMetrics();
+        assertEquals(2L, metrics.get("accepted"));
+        assertEquals(1L, metrics.get("dropped"));
+        assertEquals(2L, metrics.get("queued"));
+    }
+
+    @Test
+    public void shouldBulkIndexQueuedEntriesOnDrain() {
+        // Given
+        when(geoliteIPUtil.getCountry(anyString())).thenReturn("N/A");
+        when(geoliteIPUtil.getCountryCode(anyString())).thenReturn("N/A");
+        statisticsIngestionService.enqueue(createDocumentView(1), "N/A");
+        statisticsIngestionService.enqueue(createDocumentView(2), "N/A");
+
+        // When
+        statisticsIngestionService.drainQueue();
+
+        // Then
+        verify(statisticsIndexRepository, times(1)).saveAll(
+            argThat(entries -> StreamSupport.stream(entries.spliterator(), false).count() == 2));
+        var metrics = statisticsIngestionService.getIngestionMetrics();
+        assertEquals(0L, metrics.get("queued"));
+        assertEquals(2L, metrics.get("indexed"));
+    }
+
+    @Test
+    public void shouldMergeTotalCountsIntoSingleUpsertPerEntity() {
+        // Given
+        var indicator = new Indicator();
+        indicator.setCode("viewsTotal");
+        var existingIndicator = new DocumentIndicator();
+        var document = new JournalPublication();
+        document.setId(1);
+        existingIndicator.setDocument(document);
+        existingIndicator.setNumericValue(10.0);
+
+        when(geoliteIPUtil.getCountry(anyString())).thenReturn("N/A");
+        when(geoliteIPUtil.getCountryCode(anyString())).thenReturn("N/A");
+        when(indicatorService.getIndicatorByCode("viewsTotal")).thenReturn(indicator);
+        when(documentIndicatorRepository.findIndicatorsForCodeAndDocumentIds(eq("viewsTotal"),
+            any())).thenReturn(List.of(existingIndicator));
+
+        statisticsIngestionService.enqueue(createDocumentView(1), "N/A");
+        statisticsIngestionService.enqueue(createDocumentView(1), "N/A");
+        statisticsIngestionService.drainQueue();
+
+        try (var loader = mockStatic(IndicatorMappingConfigurationLoader.class)) {
+            loader.when(() -> IndicatorMappingConfigurationLoader
+                    .getIndicatorNameForLoaderMethodName("updateTotalViews"))
+                .thenReturn(List.of("viewsTotal"));
+
+            // When
+            statisticsIngestionService.flushTotalCounts();
+        }
+
+        // Then
+        assertEquals(12.0, existingIndicator.getNumericValue());
+        verify(documentIndicatorRepository, times(1)).saveAll(any());
+        verify(documentRepository, never()).findAllById(any());
+        assertTrue(statisticsIngestionService.getIngestionMetrics().get("flushedTotalCounts") > 0);
+    }
+}
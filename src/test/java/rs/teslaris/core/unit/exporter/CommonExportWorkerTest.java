@@ -0,0 +1,158 @@
+package rs.teslaris.core.unit.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import rs.teslaris.exporter.model.common.ExportDocument;
+import rs.teslaris.exporter.model.common.ExportPublicationType;
+import rs.teslaris.exporter.service.impl.CommonExportWorkerImpl;
+import rs.teslaris.exporter.service.interfaces.ExportRecordFragmentService;
+
+@SpringBootTest
+public class CommonExportWorkerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ExportRecordFragmentService exportRecordFragmentService;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private CommonExportWorkerImpl commonExportWorker;
+
+
+    @BeforeEach
+    public void setUp() {
+        commonExportWorker = new CommonExportWorkerImpl(mongoTemplate, transactionManager,
+            exportRecordFragmentService, (Executor) Runnable::run);
+        ReflectionTestUtils.setField(commonExportWorker, "batchSize", 2);
+        commonExportWorker.init();
+
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExportDocument.class))
+            .thenReturn(bulkOperations);
+    }
+
+    private ExportDocument convert(Integer databaseId) {
+        var document = new ExportDocument();
+        document.setDatabaseId(databaseId);
+        return document;
+    }
+
+    private ExportDocument storedDocument(Integer databaseId) {
+        var document = convert(databaseId);
+        document.setId("stored-" + databaseId);
+        return document;
+    }
+
+    @Test
+    public void shouldUpsertModifiedRecordsInKeysetBatches() {
+        // given
+        CommonExportWorkerImpl.ModifiedIdsFunction modifiedIds = (lastId, allTime, limit) ->
+            switch (lastId) {
+                case 0 -> List.of(1, 2);
+                case 2 -> List.of(3);
+                default -> Collections.emptyList();
+            };
+        when(mongoTemplate.find(any(Query.class), eq(ExportDocument.class)))
+            .thenReturn(List.of(storedDocument(1), storedDocument(2)))
+            .thenReturn(List.of(storedDocument(3)));
+
+        // when
+        commonExportWorker.exportEntities(modifiedIds, ids -> ids,
+            (id, computeRelations) -> convert(id), ExportDocument.class, id -> id, true,
+            ExportPublicationType.JOURNAL_PUBLICATION);
+
+        // then
+        verify(bulkOperations, times(3)).replaceOne(any(Query.class), any(ExportDocument.class),
+            any(FindAndReplaceOptions.class));
+        verify(bulkOperations, times(2)).execute();
+        verify(mongoTemplate, never()).save(any());
+        verify(exportRecordFragmentService, times(2)).prerenderFragments(anyList(),
+            eq(ExportDocument.class));
+    }
+
+    @Test
+    public void shouldAssignStoredIdsBeforePrerendering() {
+        // given
+        var converted = convert(1);
+        when(mongoTemplate.find(any(Query.class), eq(ExportDocument.class)))
+            .thenReturn(List.of(storedDocument(1)));
+
+        // when
+        commonExportWorker.exportEntities(
+            (lastId, allTime, limit) -> lastId == 0 ? List.of(1) : Collections.emptyList(),
+            ids -> ids, (id, computeRelations) -> converted, ExportDocument.class, id -> id,
+            false, null);
+
+        // then
+        assertEquals("stored-1", converted.getId());
+        verify(exportRecordFragmentService).prerenderFragments(List.of(converted),
+            ExportDocument.class);
+    }
+
+    @Test
+    public void shouldSkipRecordsThatFailConversion() {
+        // given
+        when(mongoTemplate.find(any(Query.class), eq(ExportDocument.class)))
+            .thenReturn(List.of(storedDocument(2)));
+
+        // when
+        commonExportWorker.exportEntities(
+            (lastId, allTime, limit) -> lastId == 0 ? List.of(1, 2) : Collections.emptyList(),
+            ids -> ids, (id, computeRelations) -> {
+                if (id == 1) {
+                    throw new IllegalStateException("Broken record");
+                }
+                return convert(id);
+            }, ExportDocument.class, id -> id, true, null);
+
+        // then
+        verify(bulkOperations, times(1)).replaceOne(any(Query.class), any(ExportDocument.class),
+            any(FindAndReplaceOptions.class));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    public void shouldLoadEachBatchInItsOwnTransaction() {
+        // given
+        when(mongoTemplate.find(any(Query.class), eq(ExportDocument.class)))
+            .thenReturn(List.of(storedDocument(1)));
+
+        // when
+        commonExportWorker.exportEntities(
+            (lastId, allTime, limit) -> lastId == 0 ? List.of(1) : Collections.emptyList(),
+            ids -> ids, (id, computeRelations) -> convert(id), ExportDocument.class, id -> id,
+            true, null);
+
+        // then
+        verify(transactionManager).getTransaction(argThat(definition ->
+            definition.getPropagationBehavior() ==
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW && definition.isReadOnly()));
+    }
+}
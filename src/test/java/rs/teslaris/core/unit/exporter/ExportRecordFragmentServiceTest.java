@@ -0,0 +1,203 @@
+package rs.teslaris.core.unit.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import rs.teslaris.core.model.document.JournalPublicationType;
+import rs.teslaris.core.model.oaipmh.common.ListRecords;
+import rs.teslaris.core.model.oaipmh.common.Metadata;
+import rs.teslaris.core.model.oaipmh.common.OAIPMHResponse;
+import rs.teslaris.core.model.oaipmh.common.Record;
+import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
+import rs.teslaris.core.util.xmlutil.XMLUtil;
+import rs.teslaris.exporter.model.common.ExportDocument;
+import rs.teslaris.exporter.model.common.ExportMultilingualContent;
+import rs.teslaris.exporter.model.common.ExportPublicationType;
+import rs.teslaris.exporter.model.converter.ExportConverterBase;
+import rs.teslaris.exporter.model.converter.ExportDocumentConverter;
+import rs.teslaris.exporter.service.impl.ExportRecordFragmentServiceImpl;
+import rs.teslaris.exporter.util.ExportDataFormat;
+import rs.teslaris.exporter.util.ExportHandlersConfigurationLoader;
+import rs.teslaris.exporter.util.ExportRecordFragment;
+
+@SpringBootTest
+public class ExportRecordFragmentServiceTest {
+
+    private final ExportHandlersConfigurationLoader.Handler handler =
+        new ExportHandlersConfigurationLoader.Handler("handler", "1",
+            "name", "description", "en",
+            false, null, null,
+            List.of(new ExportHandlersConfigurationLoader.Set("openaire_cris_publications",
+                "OpenAIRE_CRIS_publications", "Publications", "ExportDocument",
+                "JOURNAL_PUBLICATION", null, null, null, true, false, false)),
+            List.of("oai_cerif_openaire"), null, false, 10, Map.of());
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private OrganisationUnitService organisationUnitService;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private ExportRecordFragmentServiceImpl exportRecordFragmentService;
+
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(ExportConverterBase.class, "repositoryName", "CRIS UNS");
+        ReflectionTestUtils.setField(ExportConverterBase.class, "baseFrontendUrl",
+            "test://test.test");
+        ReflectionTestUtils.setField(ExportConverterBase.class, "clientLanguages",
+            new ArrayList<>());
+
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+            ExportRecordFragment.class)).thenReturn(bulkOperations);
+    }
+
+    private ExportDocument createExportDocument(Date lastUpdated) {
+        var document = new ExportDocument();
+        document.setId("record");
+        document.setDatabaseId(1);
+        document.setLastUpdated(lastUpdated);
+        document.setType(ExportPublicationType.JOURNAL_PUBLICATION);
+        document.setJournalPublicationType(JournalPublicationType.RESEARCH_ARTICLE);
+        document.getTitle().add(new ExportMultilingualContent("en", "Fragment Title", 1));
+        return document;
+    }
+
+    private List<Metadata> getRecordMetadata(ExportDocument document) {
+        return exportRecordFragmentService.getRecordMetadata(List.of(document), "Publications",
+            ExportDocument.class, ExportDocumentConverter.class,
+            ExportDataFormat.OAI_CERIF_OPENAIRE, handler);
+    }
+
+    private ExportRecordFragment renderFragment(ExportDocument document) {
+        getRecordMetadata(document);
+
+        var captor = ArgumentCaptor.forClass(ExportRecordFragment.class);
+        verify(bulkOperations).replaceOne(any(Query.class), captor.capture(),
+            any(FindAndReplaceOptions.class));
+        return captor.getValue();
+    }
+
+    private String marshalResponse(Metadata metadata) throws JAXBException {
+        var record = new Record();
+        record.setMetadata(metadata);
+        var listRecords = new ListRecords();
+        listRecords.setRecords(List.of(record));
+        var response = new OAIPMHResponse();
+        response.setListRecords(listRecords);
+        XMLUtil.cleanXmlObject(response);
+
+        var writer = new StringWriter();
+        JAXBContext.newInstance(OAIPMHResponse.class).createMarshaller()
+            .marshal(response, writer);
+        return writer.toString();
+    }
+
+    private String extractPayload(String response) {
+        return response.substring(response.indexOf("<metadata>"),
+            response.indexOf("</metadata>"));
+    }
+
+    @Test
+    public void shouldRenderAndStoreMissingFragment() {
+        // given
+        var document = createExportDocument(new Date());
+
+        // when
+        var fragment = renderFragment(document);
+
+        // then
+        assertEquals("handler|oai_cerif_openaire|Publications|ExportDocumentConverter|record",
+            fragment.getId());
+        assertEquals("record", fragment.getRecordId());
+        assertTrue(fragment.getContent().contains("Fragment Title"));
+    }
+
+    @Test
+    public void shouldSpliceStoredFragmentIntoResponse() throws JAXBException {
+        // given
+        var document = createExportDocument(new Date());
+        var fragment = renderFragment(document);
+        var renderedResponse = marshalResponse(getRecordMetadata(document).getFirst());
+        when(mongoTemplate.find(any(Query.class), eq(ExportRecordFragment.class)))
+            .thenReturn(List.of(fragment));
+
+        // when
+        var metadata = getRecordMetadata(document).getFirst();
+
+        // then
+        assertNull(metadata.getPublication());
+        assertNotNull(metadata.getFragment());
+        assertEquals("https://www.openaire.eu/cerif-profile/1.1/",
+            metadata.getFragment().getNamespaceURI());
+        assertEquals(extractPayload(renderedResponse),
+            extractPayload(marshalResponse(metadata)));
+        verify(bulkOperations, times(2)).replaceOne(any(Query.class),
+            any(ExportRecordFragment.class), any(FindAndReplaceOptions.class));
+    }
+
+    @Test
+    public void shouldRerenderStaleFragment() {
+        // given
+        var document = createExportDocument(new Date(1000L));
+        var fragment = renderFragment(document);
+        when(mongoTemplate.find(any(Query.class), eq(ExportRecordFragment.class)))
+            .thenReturn(List.of(fragment));
+        document.setLastUpdated(new Date(2000L));
+
+        // when
+        var metadata = getRecordMetadata(document).getFirst();
+
+        // then
+        assertNotNull(metadata.getPublication());
+        assertNull(metadata.getFragment());
+        verify(bulkOperations, times(2)).replaceOne(any(Query.class),
+            any(ExportRecordFragment.class), any(FindAndReplaceOptions.class));
+    }
+
+    @Test
+    public void shouldNotStoreFragmentsOfUnsavedRecords() {
+        // given
+        var document = createExportDocument(new Date());
+        document.setId(null);
+
+        // when
+        var metadata = getRecordMetadata(document).getFirst();
+
+        // then
+        assertNotNull(metadata.getPublication());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class),
+            any(Class.class));
+    }
+}
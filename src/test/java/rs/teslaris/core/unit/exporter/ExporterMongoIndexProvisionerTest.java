@@ -0,0 +1,48 @@
+package rs.teslaris.core.unit.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.index.Index;
+import rs.teslaris.core.util.persistence.MongoIndexProvisioner;
+import rs.teslaris.exporter.model.common.ExportDocument;
+import rs.teslaris.exporter.util.ExportRecordFragment;
+import rs.teslaris.exporter.util.ExporterMongoIndexProvisioner;
+
+@SpringBootTest
+public class ExporterMongoIndexProvisionerTest {
+
+    @Mock
+    private MongoIndexProvisioner mongoIndexProvisioner;
+
+    @InjectMocks
+    private ExporterMongoIndexProvisioner exporterMongoIndexProvisioner;
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDeclareHarvestAndFragmentIndexes() {
+        // given
+        var captor = ArgumentCaptor.forClass(Map.class);
+
+        // when
+        exporterMongoIndexProvisioner.provisionIndexes();
+
+        // then
+        verify(mongoIndexProvisioner).provisionIndexes(eq("exporter"), captor.capture());
+        Map<Class<?>, List<Index>> declaredIndexes = captor.getValue();
+        assertTrue(declaredIndexes.get(ExportDocument.class).stream().anyMatch(index ->
+            index.getIndexKeys().keySet().equals(Set.of("last_updated", "_id"))));
+        assertTrue(declaredIndexes.get(ExportRecordFragment.class).stream().anyMatch(index ->
+            index.getIndexOptions().containsKey("expireAfterSeconds")));
+    }
+}
@@ -6,8 +6,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,8 +37,10 @@ import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
 import rs.teslaris.exporter.model.common.ExportDocument;
 import rs.teslaris.exporter.model.common.ExportPublicationType;
 import rs.teslaris.exporter.model.converter.ExportConverterBase;
+import rs.teslaris.exporter.service.impl.ExportRecordFragmentServiceImpl;
 import rs.teslaris.exporter.service.impl.OutboundExportServiceImpl;
 import rs.teslaris.exporter.util.ExportHandlersConfigurationLoader;
+import rs.teslaris.exporter.util.ResumptionTokenStash;
 
 @SpringBootTest
 public class OutboundExportServiceTest {
@@ -65,7 +69,7 @@ public class OutboundExportServiceTest {
                     "PROCEEDINGS,PROCEEDINGS_PUBLICATION,MONOGRAPH,MONOGRAPH_PUBLICATION,JOURNAL,JOURNAL_PUBLICATION,THESIS",
                     null, null, null, true, false, true)), List.of("oai_cerif_openaire", "dim"),
                 null, false,
-                null, Map.of());
+                10, Map.of());
 
         var mocked = mockStatic(ExportHandlersConfigurationLoader.class);
         mocked.when(() -> ExportHandlersConfigurationLoader.getHandlerByIdentifier("handler"))
@@ -83,6 +87,19 @@ public class OutboundExportServiceTest {
         ReflectionTestUtils.setField(outboundExportService, "baseUrl", "test://test.test");
         ReflectionTestUtils.setField(outboundExportService, "repositoryName", "CRIS UNS");
         ReflectionTestUtils.setField(outboundExportService, "adminEmail", "admin@test.com");
+        ReflectionTestUtils.setField(outboundExportService, "pageSize", 2);
+        ReflectionTestUtils.setField(outboundExportService, "exportRecordFragmentService",
+            new ExportRecordFragmentServiceImpl(mongoTemplate, organisationUnitService));
+    }
+
+    private ExportDocument createExportDocument(String id, Date lastUpdated) {
+        var document = new ExportDocument();
+        document.setId(id);
+        document.setDatabaseId(1);
+        document.setLastUpdated(lastUpdated);
+        document.setType(ExportPublicationType.JOURNAL_PUBLICATION);
+        document.setJournalPublicationType(JournalPublicationType.RESEARCH_ARTICLE);
+        return document;
     }
 
     @Test
@@ -101,7 +118,7 @@ public class OutboundExportServiceTest {
         // When
         var result = outboundExportService.listRequestedRecords("handler", "dim",
             "2023-01-01", "2023-12-31", "openaire_cris_publications", new OAIPMHResponse(), 0,
-            false);
+            null, false);
 
         // Then
         assertNotNull(result);
@@ -115,7 +132,8 @@ public class OutboundExportServiceTest {
 
         // When
         var result = outboundExportService.listRequestedRecords("handler", "INVALID_PREFIX",
-            "2023-01-01", "2023-12-31", "openaire_cris_publications", response, 0, false);
+            "2023-01-01", "2023-12-31", "openaire_cris_publications", response, 0, null,
+            false);
 
         // Then
         assertNull(result);
@@ -219,4 +237,54 @@ public class OutboundExportServiceTest {
 
         // Then (LoadingException should be thrown)
     }
+
+    @Test
+    void shouldIssueKeysetResumptionTokenWhenMoreRecordsExist() {
+        // Given
+        var lastUpdated = new Date();
+        when(mongoTemplate.find(any(Query.class), eq(ExportDocument.class))).thenReturn(
+            new ArrayList<>(List.of(createExportDocument("a", lastUpdated),
+                createExportDocument("b", lastUpdated), createExportDocument("c", lastUpdated))));
+        when(mongoTemplate.count(any(Query.class), eq(ExportDocument.class))).thenReturn(5L);
+        when(organisationUnitService.findOne(any())).thenReturn(new OrganisationUnit());
+
+        // When
+        var result = outboundExportService.listRequestedRecords("handler", "dim",
+            "2023-01-01", "2023-12-31", "openaire_cris_publications", new OAIPMHResponse(), 0,
+            null, true);
+
+        // Then
+        assertEquals(2, result.getHeader().size());
+        assertEquals(0, result.getResumptionToken().getCursor());
+        assertEquals(5L, result.getResumptionToken().getCompleteListSize());
+        verify(mongoTemplate).save(argThat((ResumptionTokenStash stash) ->
+            stash.getLastId().equals("b") && stash.getLastUpdated().equals(lastUpdated) &&
+                stash.getCursor() == 2 && stash.getCompleteListSize() == 5L));
+    }
+
+    @Test
+    void shouldContinueFromKeysetWithoutRecountingOrSkipping() {
+        // Given
+        var lastUpdated = new Date();
+        var resumptionState =
+            new ResumptionTokenStash(null, "token", new Date(), lastUpdated, "b", 2, 5L);
+        when(mongoTemplate.findOne(any(Query.class), eq(ResumptionTokenStash.class)))
+            .thenReturn(resumptionState);
+        when(mongoTemplate.find(any(Query.class), eq(ExportDocument.class))).thenReturn(
+            new ArrayList<>(List.of(createExportDocument("c", lastUpdated))));
+        when(organisationUnitService.findOne(any())).thenReturn(new OrganisationUnit());
+
+        // When
+        var result = outboundExportService.listRequestedRecords("handler", "dim",
+            "2023-01-01", "2023-12-31", "openaire_cris_publications", new OAIPMHResponse(), 1,
+            "token", true);
+
+        // Then
+        assertEquals(1, result.getHeader().size());
+        assertNull(result.getResumptionToken());
+        verify(mongoTemplate, never()).count(any(Query.class), eq(ExportDocument.class));
+        verify(mongoTemplate).find(argThat((Query query) -> query.getSkip() == 0 &&
+                query.getQueryObject().toString().contains("$gt=b")),
+            eq(ExportDocument.class));
+    }
 }
@@ -0,0 +1,140 @@
+package rs.teslaris.core.unit.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import rs.teslaris.core.indexmodel.deduplication.ImportEmbeddingIndex;
+import rs.teslaris.core.indexrepository.deduplication.ImportEmbeddingIndexRepository;
+import rs.teslaris.importer.model.common.DocumentImport;
+import rs.teslaris.importer.service.impl.ImportEmbeddingIndexServiceImpl;
+
+@SpringBootTest
+public class ImportEmbeddingIndexServiceTest {
+
+    @Mock
+    private ImportEmbeddingIndexRepository importEmbeddingIndexRepository;
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private ImportEmbeddingIndexServiceImpl importEmbeddingIndexService;
+
+
+    private List<Double> createEmbedding() {
+        return Collections.nCopies(ImportEmbeddingIndex.EMBEDDING_DIMENSIONS, 0.1);
+    }
+
+    private DocumentImport createDocumentImport(String id, List<Double> embedding) {
+        var documentImport = new DocumentImport();
+        documentImport.setId(id);
+        documentImport.setEmbedding(embedding);
+        return documentImport;
+    }
+
+    @SuppressWarnings("unchecked")
+    private SearchHit<ImportEmbeddingIndex> createHit(String id, float score) {
+        SearchHit<ImportEmbeddingIndex> hit = mock(SearchHit.class);
+        when(hit.getId()).thenReturn(id);
+        when(hit.getScore()).thenReturn(score);
+        return hit;
+    }
+
+    @Test
+    public void shouldIndexEmbeddingOfSavedImport() {
+        // given
+        var documentImport = createDocumentImport("import-1", createEmbedding());
+
+        // when
+        importEmbeddingIndexService.indexEmbedding(documentImport);
+
+        // then
+        verify(importEmbeddingIndexRepository).save(argThat(index ->
+            index.getId().equals("import-1") &&
+                index.getEmbedding().length == ImportEmbeddingIndex.EMBEDDING_DIMENSIONS));
+    }
+
+    @Test
+    public void shouldSkipImportWithoutEmbedding() {
+        // given
+        var documentImport = createDocumentImport("import-1", null);
+
+        // when
+        importEmbeddingIndexService.indexEmbedding(documentImport);
+
+        // then
+        verify(importEmbeddingIndexRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReturnOnlyNeighboursAboveSimilarityThreshold() {
+        // given
+        var closeHit = createHit("import-1", 0.99f); // cosine 0.98
+        var distantHit = createHit("import-2", 0.9f); // cosine 0.8
+        SearchHits<ImportEmbeddingIndex> searchHits = mock(SearchHits.class);
+        when(searchHits.stream()).thenReturn(Stream.of(closeHit, distantHit));
+        when(elasticsearchOperations.search(any(Query.class),
+            eq(ImportEmbeddingIndex.class))).thenReturn(searchHits);
+
+        // when
+        var result = importEmbeddingIndexService.findSimilarImportIds(
+            new float[ImportEmbeddingIndex.EMBEDDING_DIMENSIONS], 5, 0.95);
+
+        // then
+        assertEquals(List.of("import-1"), result);
+    }
+
+    @Test
+    public void shouldNotSearchWithMalformedEmbedding() {
+        // when
+        var result = importEmbeddingIndexService.findSimilarImportIds(new float[3], 5, 0.95);
+
+        // then
+        assertTrue(result.isEmpty());
+        verify(elasticsearchOperations, never()).search(any(Query.class), any(Class.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReindexStoredEmbeddingsInBatches() {
+        // given
+        var imports = Stream.concat(
+            Stream.generate(() -> createDocumentImport("import", createEmbedding())).limit(501),
+            Stream.of(createDocumentImport("no-embedding", null)));
+        when(mongoTemplate.stream(any(org.springframework.data.mongodb.core.query.Query.class),
+            eq(DocumentImport.class), eq("documentImports"))).thenReturn(imports);
+
+        // when
+        importEmbeddingIndexService.reindexEmbeddings();
+
+        // then
+        verify(importEmbeddingIndexRepository, times(2)).saveAll(any());
+        verify(importEmbeddingIndexRepository).saveAll(argThat(batch ->
+            StreamSupport.stream(batch.spliterator(), false).count() == 1));
+    }
+}
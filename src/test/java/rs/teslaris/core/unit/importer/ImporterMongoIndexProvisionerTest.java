@@ -0,0 +1,47 @@
+package rs.teslaris.core.unit.importer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.index.Index;
+import rs.teslaris.core.util.persistence.MongoIndexProvisioner;
+import rs.teslaris.importer.model.common.DocumentImport;
+import rs.teslaris.importer.utility.ImporterMongoIndexProvisioner;
+import rs.teslaris.importer.utility.LoadProgressReport;
+
+@SpringBootTest
+public class ImporterMongoIndexProvisionerTest {
+
+    @Mock
+    private MongoIndexProvisioner mongoIndexProvisioner;
+
+    @InjectMocks
+    private ImporterMongoIndexProvisioner importerMongoIndexProvisioner;
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDeclareWizardIndexOnDocumentImports() {
+        // given
+        var captor = ArgumentCaptor.forClass(Map.class);
+
+        // when
+        importerMongoIndexProvisioner.provisionIndexes();
+
+        // then
+        verify(mongoIndexProvisioner).provisionIndexes(eq("importer"), captor.capture());
+        Map<Class<?>, List<Index>> declaredIndexes = captor.getValue();
+        assertTrue(declaredIndexes.containsKey(LoadProgressReport.class));
+        assertTrue(declaredIndexes.get(DocumentImport.class).stream().anyMatch(index ->
+            index.getIndexKeys().keySet().equals(Set.of("import_users_id", "is_loaded", "_id"))));
+    }
+}
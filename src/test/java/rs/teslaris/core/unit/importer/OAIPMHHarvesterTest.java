@@ -1,13 +1,23 @@
 package rs.teslaris.core.unit.importer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mockStatic;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.MockedStatic;
 import org.springframework.boot.test.context.SpringBootTest;
+import rs.teslaris.core.model.oaipmh.common.Metadata;
+import rs.teslaris.core.model.oaipmh.publication.Publication;
+import rs.teslaris.core.util.exceptionhandling.exception.LoadingException;
 import rs.teslaris.importer.service.impl.OAIPMHHarvesterImpl;
 import rs.teslaris.importer.utility.oaipmh.OAIPMHHarvestConfigurationLoader;
 
@@ -34,4 +44,60 @@ public class OAIPMHHarvesterTest {
             mocked.verify(OAIPMHHarvestConfigurationLoader::getAllSourceNames);
         }
     }
+
+    @Test
+    void shouldStreamNonDeletedRecordsAndReturnResumptionToken() throws IOException {
+        // Given
+        var response = "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\"><ListRecords>" +
+            harvestedRecord("1") +
+            "<record><header status=\"deleted\"><identifier>2</identifier></header></record>" +
+            harvestedRecord("3") +
+            "<resumptionToken cursor=\"0\">next-page</resumptionToken></ListRecords></OAI-PMH>";
+        var streamedRecords = new ArrayList<Metadata>();
+
+        // When
+        var resumptionToken = oaipmhHarvester.streamRecords(
+            new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)),
+            streamedRecords::add);
+
+        // Then
+        assertEquals(Optional.of("next-page"), resumptionToken);
+        assertEquals(List.of("Publications/1", "Publications/3"), streamedRecords.stream()
+            .map(metadata -> ((Publication) metadata.getPublication()).getOldId()).toList());
+    }
+
+    @Test
+    void shouldFinishStreamingWhenSourceReportsNoRecords() throws IOException {
+        // Given
+        var response = "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">" +
+            "<error code=\"noRecordsMatch\">No matching records.</error></OAI-PMH>";
+        var streamedRecords = new ArrayList<Metadata>();
+
+        // When
+        var resumptionToken = oaipmhHarvester.streamRecords(
+            new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)),
+            streamedRecords::add);
+
+        // Then
+        assertTrue(resumptionToken.isEmpty());
+        assertTrue(streamedRecords.isEmpty());
+    }
+
+    @Test
+    void shouldRejectMalformedResponse() {
+        // Given
+        var response = "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\"><ListRecords>";
+
+        // When & Then
+        assertThrows(LoadingException.class, () -> oaipmhHarvester.streamRecords(
+            new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)),
+            metadata -> {
+            }));
+    }
+
+    private String harvestedRecord(String id) {
+        return "<record><header><identifier>" + id + "</identifier></header><metadata>" +
+            "<Publication xmlns=\"https://www.openaire.eu/cerif-profile/1.1/\" " +
+            "id=\"Publications/" + id + "\"/></metadata></record>";
+    }
 }
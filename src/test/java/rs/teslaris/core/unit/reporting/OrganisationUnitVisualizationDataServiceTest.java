@@ -1,12 +1,14 @@
 package rs.teslaris.core.unit.reporting;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -14,10 +16,9 @@ import static org.mockito.Mockito.when;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.FieldValue;
 import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
-import co.elastic.clients.elasticsearch._types.aggregations.Buckets;
 import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
-import co.elastic.clients.elasticsearch._types.aggregations.MaxAggregate;
-import co.elastic.clients.elasticsearch._types.aggregations.MinAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.FiltersBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.HistogramBucket;
 import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
 import co.elastic.clients.elasticsearch._types.aggregations.SumAggregate;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
@@ -30,12 +31,14 @@ import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import rs.teslaris.core.dto.institution.OrganisationUnitOutputConfigurationDTO;
 import rs.teslaris.core.model.commontypes.LanguageTag;
@@ -43,6 +46,7 @@ import rs.teslaris.core.model.commontypes.MultiLingualContent;
 import rs.teslaris.core.service.interfaces.institution.OrganisationUnitService;
 import rs.teslaris.core.util.functional.Pair;
 import rs.teslaris.reporting.service.impl.visualizations.OrganisationUnitVisualizationDataServiceImpl;
+import rs.teslaris.reporting.utility.OrganisationUnitDashboardCache;
 import rs.teslaris.reporting.utility.QueryUtil;
 
 @SpringBootTest
@@ -54,6 +58,9 @@ class OrganisationUnitVisualizationDataServiceTest {
     @Mock
     private OrganisationUnitService organisationUnitService;
 
+    @Spy
+    private OrganisationUnitDashboardCache dashboardCache;
+
     @InjectMocks
     private OrganisationUnitVisualizationDataServiceImpl service;
 
@@ -66,40 +73,27 @@ class OrganisationUnitVisualizationDataServiceTest {
         var startYear = 2020;
         var endYear = 2022;
 
-        // Mock year range response
-        var mockMinAgg = mock(MinAggregate.class);
-        when(mockMinAgg.value()).thenReturn(2020.0);
-        var mockMaxAgg = mock(MaxAggregate.class);
-        when(mockMaxAgg.value()).thenReturn(2022.0);
-
-        var mockAggregations = mock(HashMap.class);
-        when(mockAggregations.get("earliestYear")).thenReturn(mockMinAgg);
-        when(mockAggregations.get("latestYear")).thenReturn(mockMaxAgg);
-
-        var mockRangeResponse = mock(SearchResponse.class);
-        when(mockRangeResponse.aggregations()).thenReturn(mockAggregations);
-
-        // Mock yearly count responses
         var mockBucket = mock(StringTermsBucket.class);
         when(mockBucket.key()).thenReturn(FieldValue.of("ARTICLE"));
         when(mockBucket.docCount()).thenReturn(5L);
 
-        var mockAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
-        when(mockAgg.sterms().buckets().array()).thenReturn(List.of(mockBucket));
-        when(mockAggregations.get("by_type")).thenReturn(mockAgg);
+        var mockTermsAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+        when(mockTermsAgg.sterms().buckets().array()).thenReturn(List.of(mockBucket));
+
+        var mockYearBucket = mock(HistogramBucket.class);
+        when(mockYearBucket.key()).thenReturn(2020.0);
+        when(mockYearBucket.aggregations()).thenReturn(Map.of("by_type", mockTermsAgg));
 
-        var mockYearlyAggregations = mock(HashMap.class);
-        when(mockYearlyAggregations.get("by_type")).thenReturn(mockAgg);
+        var mockHistogramAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+        when(mockHistogramAgg.histogram().buckets().array()).thenReturn(
+            List.of(mockYearBucket));
 
-        var mockYearlyResponse = mock(SearchResponse.class);
-        when(mockYearlyResponse.aggregations()).thenReturn(mockYearlyAggregations);
+        var mockResponse = mock(SearchResponse.class);
+        when(mockResponse.aggregations()).thenReturn(Map.of("by_year", mockHistogramAgg));
 
         when(elasticsearchClient.search(
             (Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>) any(), eq(Void.class)))
-            .thenReturn(mockRangeResponse) // For year range
-            .thenReturn(mockYearlyResponse) // For 2020
-            .thenReturn(mockYearlyResponse) // For 2021
-            .thenReturn(mockYearlyResponse); // For 2022
+            .thenReturn(mockResponse);
 
         // When
         var result =
@@ -110,6 +104,42 @@ class OrganisationUnitVisualizationDataServiceTest {
         assertEquals(2020, result.getFirst().year());
         assertEquals(1, result.getFirst().countsByCategory().size());
         assertEquals(5L, result.getFirst().countsByCategory().get("ARTICLE"));
+        assertTrue(result.get(1).countsByCategory().isEmpty());
+        verify(elasticsearchClient, times(1)).search(
+            (Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>) any(),
+            eq(Void.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldServeRepeatedPublicationCountsFromCache() throws IOException {
+        try (MockedStatic<QueryUtil> ignored = mockStatic(QueryUtil.class)) {
+            // Given
+            var organisationUnitId = 123;
+
+            var mockHistogramAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+            when(mockHistogramAgg.histogram().buckets().array()).thenReturn(List.of());
+
+            var mockResponse = mock(SearchResponse.class);
+            when(mockResponse.aggregations()).thenReturn(Map.of("by_year", mockHistogramAgg));
+
+            when(elasticsearchClient.search(
+                (Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>) any(),
+                eq(Void.class))).thenReturn(mockResponse);
+
+            // When
+            var first =
+                service.getPublicationCountsForOrganisationUnit(organisationUnitId, 2020, 2021);
+            var second =
+                service.getPublicationCountsForOrganisationUnit(organisationUnitId, 2020, 2021);
+
+            // Then
+            assertEquals(2, first.size());
+            assertSame(first, second);
+            verify(elasticsearchClient, times(1)).search(
+                (Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>) any(),
+                eq(Void.class));
+        }
     }
 
     @Test
@@ -124,13 +154,11 @@ class OrganisationUnitVisualizationDataServiceTest {
         var mockMinAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
         when(mockMinAgg.min().value()).thenReturn(Double.NaN);
         var mockMaxAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
-        when(mockMaxAgg.min().value()).thenReturn(Double.NaN);
-        var mockAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+        when(mockMaxAgg.max().value()).thenReturn(Double.NaN);
 
         var mockAggregations = mock(HashMap.class);
         when(mockAggregations.get("earliestYear")).thenReturn(mockMinAgg);
         when(mockAggregations.get("latestYear")).thenReturn(mockMaxAgg);
-        when(mockAggregations.get("by_type")).thenReturn(mockAgg);
 
         var mockResponse = mock(SearchResponse.class);
         when(mockResponse.aggregations()).thenReturn(mockAggregations);
@@ -167,14 +195,18 @@ class OrganisationUnitVisualizationDataServiceTest {
             when(mockBucket.docCount()).thenReturn(3L);
 
             var mockTermsAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
-            when(mockTermsAgg.sterms().buckets()).thenReturn(mock(Buckets.class));
             when(mockTermsAgg.sterms().buckets().array()).thenReturn(List.of(mockBucket));
 
-            var mockAggregations = mock(HashMap.class);
-            when(mockAggregations.get("by_m_category")).thenReturn(mockTermsAgg);
+            var mockCommissionBucket = mock(FiltersBucket.class);
+            when(mockCommissionBucket.aggregations()).thenReturn(
+                Map.of("by_m_category", mockTermsAgg));
+
+            var mockFiltersAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+            when(mockFiltersAgg.filters().buckets().keyed()).thenReturn(
+                Map.of("1", mockCommissionBucket));
 
             var mockResponse = mock(SearchResponse.class);
-            when(mockResponse.aggregations()).thenReturn(mockAggregations);
+            when(mockResponse.aggregations()).thenReturn(Map.of("by_commission", mockFiltersAgg));
 
             when(elasticsearchClient.search(
                 (Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>) any(),
@@ -225,18 +257,6 @@ class OrganisationUnitVisualizationDataServiceTest {
             var startYear = 2020;
             var endYear = 2022;
 
-            var mockMinAgg = mock(MinAggregate.class);
-            when(mockMinAgg.value()).thenReturn(2020.0);
-            var mockMaxAgg = mock(MaxAggregate.class);
-            when(mockMaxAgg.value()).thenReturn(2022.0);
-
-            var mockRangeAggregations = mock(HashMap.class);
-            when(mockRangeAggregations.get("earliestYear")).thenReturn(mockMinAgg);
-            when(mockRangeAggregations.get("latestYear")).thenReturn(mockMaxAgg);
-
-            var mockRangeResponse = mock(SearchResponse.class);
-            when(mockRangeResponse.aggregations()).thenReturn(mockRangeAggregations);
-
             queryUtilMock.when(
                     () -> QueryUtil.fetchCommissionsForOrganisationUnit(organisationUnitId))
                 .thenReturn(Set.of(new Pair<>(
@@ -250,20 +270,29 @@ class OrganisationUnitVisualizationDataServiceTest {
             var mockTermsAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
             when(mockTermsAgg.sterms().buckets().array()).thenReturn(List.of(mockBucket));
 
-            var mockYearlyAggregations = mock(HashMap.class);
-            when(mockYearlyAggregations.get("by_m_category")).thenReturn(mockTermsAgg);
-            when(mockRangeAggregations.get("by_m_category")).thenReturn(mockTermsAgg);
+            var mockYearBucket = mock(HistogramBucket.class);
+            when(mockYearBucket.key()).thenReturn(2020.0);
+            when(mockYearBucket.aggregations()).thenReturn(Map.of("by_m_category", mockTermsAgg));
 
-            var mockYearlyResponse = mock(SearchResponse.class);
-            when(mockYearlyResponse.aggregations()).thenReturn(mockYearlyAggregations);
+            var mockHistogramAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+            when(mockHistogramAgg.histogram().buckets().array()).thenReturn(
+                List.of(mockYearBucket));
+
+            var mockCommissionBucket = mock(FiltersBucket.class);
+            when(mockCommissionBucket.aggregations()).thenReturn(
+                Map.of("by_year", mockHistogramAgg));
+
+            var mockFiltersAgg = mock(Aggregate.class, RETURNS_DEEP_STUBS);
+            when(mockFiltersAgg.filters().buckets().keyed()).thenReturn(
+                Map.of("1", mockCommissionBucket));
+
+            var mockResponse = mock(SearchResponse.class);
+            when(mockResponse.aggregations()).thenReturn(Map.of("by_commission", mockFiltersAgg));
 
             when(elasticsearchClient.search(
                 (Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>) any(),
                 eq(Void.class)))
-                .thenReturn(mockRangeResponse) // For year range
-                .thenReturn(mockYearlyResponse) // For 2020
-                .thenReturn(mockYearlyResponse) // For 2021
-                .thenReturn(mockYearlyResponse); // For 2022
+                .thenReturn(mockResponse);
 
             // When
             var result =
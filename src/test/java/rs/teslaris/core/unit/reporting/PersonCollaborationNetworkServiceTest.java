@@ -8,6 +8,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,11 +20,14 @@ import co.elastic.clients.elasticsearch._types.aggregations.LongTermsBucket;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -32,7 +36,9 @@ import rs.teslaris.core.indexmodel.DocumentPublicationIndex;
 import rs.teslaris.core.indexmodel.PersonIndex;
 import rs.teslaris.core.indexrepository.PersonIndexRepository;
 import rs.teslaris.core.service.interfaces.commontypes.SearchService;
+import rs.teslaris.reporting.dto.PersonNode;
 import rs.teslaris.reporting.service.impl.visualizations.PersonCollaborationNetworkServiceImpl;
+import rs.teslaris.reporting.utility.CollaborationNetworkCache;
 import rs.teslaris.reporting.utility.CollaborationType;
 
 @SpringBootTest
@@ -47,6 +53,9 @@ class PersonCollaborationNetworkServiceTest {
     @Mock
     private SearchService<DocumentPublicationIndex> searchService;
 
+    @Spy
+    private CollaborationNetworkCache collaborationNetworkCache = new CollaborationNetworkCache();
+
     @InjectMocks
     private PersonCollaborationNetworkServiceImpl collaborationService;
 
@@ -188,4 +197,88 @@ class PersonCollaborationNetworkServiceTest {
                 targetPersonId, "INVALID_TYPE", 2020, 2024, pageable)
         );
     }
+
+    private LongTermsBucket createAuthorBucket(long authorId, long... collaboratorIds) {
+        var collaboratorBuckets = new ArrayList<LongTermsBucket>();
+        for (var collaboratorId : collaboratorIds) {
+            collaboratorBuckets.add(
+                new LongTermsBucket.Builder().key(collaboratorId).docCount(2L).build());
+        }
+
+        var collaboratorsAgg = new LongTermsAggregate.Builder()
+            .buckets(new Buckets.Builder<LongTermsBucket>().array(collaboratorBuckets).build())
+            .build();
+
+        return new LongTermsBucket.Builder()
+            .key(authorId)
+            .docCount(5L)
+            .aggregations("collaborators", Aggregate.of(a -> a.lterms(collaboratorsAgg)))
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private SearchResponse<Void> createLevelResponse(LongTermsBucket... authorBuckets) {
+        var authorsAgg = new LongTermsAggregate.Builder()
+            .buckets(new Buckets.Builder<LongTermsBucket>().array(List.of(authorBuckets)).build())
+            .build();
+
+        SearchResponse<Void> response = mock(SearchResponse.class);
+        when(response.aggregations()).thenReturn(
+            Map.of("authors", Aggregate.of(a -> a.lterms(authorsAgg))));
+        return response;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExpandEachLevelWithSingleSearchAndServeRepeatedRequestFromCache()
+        throws IOException {
+        // given
+        var firstLevel = createLevelResponse(createAuthorBucket(1, 1, 2, 3));
+        var secondLevel = createLevelResponse(createAuthorBucket(2, 1, 2, 3, 4),
+            createAuthorBucket(3, 2, 3));
+        when(elasticsearchClient.search(any(Function.class), eq(Void.class)))
+            .thenReturn(firstLevel, secondLevel);
+        when(personIndexRepository.findByDatabaseIdIn(anyList(), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of()));
+
+        // when
+        var result =
+            collaborationService.findCollaborationNetwork(1, 2, CollaborationType.COAUTHORSHIP,
+                2020, 2024);
+        var cachedResult =
+            collaborationService.findCollaborationNetwork(1, 2, CollaborationType.COAUTHORSHIP,
+                2020, 2024);
+
+        // then
+        assertEquals(4, result.nodes().size());
+        assertEquals(List.of("1", "2", "3", "4"),
+            result.nodes().stream().map(PersonNode::id).sorted().toList());
+        assertEquals(3, result.links().size());
+        assertEquals(result, cachedResult);
+        verify(elasticsearchClient, times(2)).search(any(Function.class), eq(Void.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldEvictCachedNetworkWhenPublicationOfMemberIsIndexed() throws IOException {
+        // given
+        var emptyLevel = createLevelResponse();
+        when(elasticsearchClient.search(any(Function.class), eq(Void.class)))
+            .thenReturn(emptyLevel);
+        when(personIndexRepository.findByDatabaseIdIn(anyList(), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of()));
+        collaborationService.findCollaborationNetwork(1, 1, CollaborationType.COAUTHORSHIP,
+            2020, 2024);
+
+        var publication = new DocumentPublicationIndex();
+        publication.setAuthorIds(List.of(1, 7));
+
+        // when
+        collaborationNetworkCache.onAfterSave(publication, null);
+        collaborationService.findCollaborationNetwork(1, 1, CollaborationType.COAUTHORSHIP,
+            2020, 2024);
+
+        // then
+        verify(elasticsearchClient, times(2)).search(any(Function.class), eq(Void.class));
+    }
 }